@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.access.status.factory.AccessStatusServiceFactory;
+import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * Consumer keeping the stored access status of items up to date: the status is calculated again for every item that
+ * was modified, or whose bundles or bitstreams were modified. Changes of the policies of a bitstream are notified as
+ * modifications of the bitstream.
+ * Nothing is done unless the stored status is enabled by {@code access.status.store.enabled}.
+ */
+public class AccessStatusConsumer implements Consumer {
+
+    private AccessStatusService accessStatusService;
+    private ItemService itemService;
+
+    private final Set<UUID> itemIds = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        accessStatusService = AccessStatusServiceFactory.getInstance().getAccessStatusService();
+        itemService = ContentServiceFactory.getInstance().getItemService();
+    }
+
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        if (!accessStatusService.isStoreEnabled()) {
+            return;
+        }
+        if (event.getEventType() == Event.DELETE && event.getSubjectType() == Constants.ITEM) {
+            // The stored status of a deleted item is deleted with it
+            return;
+        }
+        DSpaceObject subject = event.getSubject(context);
+        if (subject == null) {
+            return;
+        }
+        switch (event.getSubjectType()) {
+            case Constants.ITEM:
+                itemIds.add(subject.getID());
+                break;
+            case Constants.BUNDLE:
+                addItems((Bundle) subject);
+                break;
+            case Constants.BITSTREAM:
+                for (Bundle bundle : ((Bitstream) subject).getBundles()) {
+                    addItems(bundle);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void addItems(Bundle bundle) {
+        for (Item item : bundle.getItems()) {
+            itemIds.add(item.getID());
+        }
+    }
+
+    @Override
+    public void end(Context context) throws Exception {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        context.turnOffAuthorisationSystem();
+        try {
+            for (UUID itemId : itemIds) {
+                Item item = itemService.find(context, itemId);
+                if (item != null) {
+                    accessStatusService.storeAccessStatus(context, item);
+                }
+            }
+        } finally {
+            context.restoreAuthSystemState();
+            itemIds.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context context) throws Exception {
+    }
+}
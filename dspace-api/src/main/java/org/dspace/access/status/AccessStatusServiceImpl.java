@@ -10,14 +10,20 @@ package org.dspace.access.status;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.access.status.dao.ItemAccessStatusDAO;
 import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.service.PluginService;
 import org.dspace.services.ConfigurationService;
@@ -43,6 +49,12 @@ public class AccessStatusServiceImpl implements AccessStatusService {
     @Autowired(required = true)
     protected PluginService pluginService;
 
+    @Autowired(required = true)
+    protected ItemService itemService;
+
+    @Autowired(required = true)
+    protected ItemAccessStatusDAO itemAccessStatusDAO;
+
     /**
      * Initialize the bean (after dependency injection has already taken place).
      * Ensures the configurationService is injected, so that we can get the plugin
@@ -77,11 +89,21 @@ public class AccessStatusServiceImpl implements AccessStatusService {
 
     @Override
     public AccessStatus getAccessStatus(Context context, Item item) throws SQLException {
+        if (Strings.CI.equals(itemCalculationType, DefaultAccessStatusHelper.STATUS_FOR_ANONYMOUS)) {
+            AccessStatus stored = getStoredAccessStatus(context, item);
+            if (stored != null) {
+                return stored;
+            }
+        }
         return helper.getAccessStatusFromItem(context, item, forever_date, itemCalculationType);
     }
 
     @Override
     public AccessStatus getAnonymousAccessStatus(Context context, Item item) throws SQLException {
+        AccessStatus stored = getStoredAccessStatus(context, item);
+        if (stored != null) {
+            return stored;
+        }
         return helper.getAnonymousAccessStatusFromItem(context, item, forever_date);
     }
 
@@ -90,6 +112,71 @@ public class AccessStatusServiceImpl implements AccessStatusService {
         return helper.getAccessStatusFromBitstream(context, bitstream, forever_date, bitstreamCalculationType);
     }
 
+    @Override
+    public boolean isStoreEnabled() {
+        return configurationService.getBooleanProperty("access.status.store.enabled", false);
+    }
+
+    @Override
+    public AccessStatus storeAccessStatus(Context context, Item item) throws SQLException {
+        AccessStatus accessStatus = helper.getAnonymousAccessStatusFromItem(context, item, forever_date);
+        ItemAccessStatus stored = itemAccessStatusDAO.findByID(context, ItemAccessStatus.class, item.getID());
+        if (stored == null) {
+            stored = new ItemAccessStatus(item.getID());
+            stored.setStatus(accessStatus.getStatus());
+            stored.setAvailabilityDate(accessStatus.getAvailabilityDate());
+            itemAccessStatusDAO.create(context, stored);
+        } else if (!Objects.equals(stored.getStatus(), accessStatus.getStatus())
+            || !Objects.equals(stored.getAvailabilityDate(), accessStatus.getAvailabilityDate())) {
+            stored.setStatus(accessStatus.getStatus());
+            stored.setAvailabilityDate(accessStatus.getAvailabilityDate());
+            itemAccessStatusDAO.save(context, stored);
+        }
+        return accessStatus;
+    }
+
+    @Override
+    public int updateAvailableAccessStatus(Context context, LocalDate date) throws SQLException, AuthorizeException {
+        List<UUID> itemIds = itemAccessStatusDAO.findItemIdsAvailableBy(context, date);
+        int updated = 0;
+        context.turnOffAuthorisationSystem();
+        try {
+            for (UUID itemId : itemIds) {
+                Item item = itemService.find(context, itemId);
+                if (item == null) {
+                    continue;
+                }
+                storeAccessStatus(context, item);
+                // the status has changed, fire a modify event so that the item is indexed again
+                itemService.updateLastModified(context, item);
+                updated++;
+            }
+        } finally {
+            context.restoreAuthSystemState();
+        }
+        return updated;
+    }
+
+    /**
+     * Read the stored anonymous access status of an item. A status whose availability date has been reached is no
+     * longer valid, it is calculated again until the stored status is updated.
+     *
+     * @param context the DSpace context
+     * @param item the item
+     * @return the stored access status, or null if there is no valid stored status
+     */
+    private AccessStatus getStoredAccessStatus(Context context, Item item) throws SQLException {
+        if (item == null || !isStoreEnabled()) {
+            return null;
+        }
+        ItemAccessStatus stored = itemAccessStatusDAO.findByID(context, ItemAccessStatus.class, item.getID());
+        if (stored == null
+            || (stored.getAvailabilityDate() != null && !stored.getAvailabilityDate().isAfter(LocalDate.now()))) {
+            return null;
+        }
+        return stored.toAccessStatus();
+    }
+
     private String getAccessStatusCalculationType(String key) {
         String value = configurationService.getProperty(key, DefaultAccessStatusHelper.STATUS_FOR_ANONYMOUS);
         if (!Strings.CI.equals(value, DefaultAccessStatusHelper.STATUS_FOR_ANONYMOUS) &&
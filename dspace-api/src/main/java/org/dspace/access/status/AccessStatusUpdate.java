@@ -0,0 +1,135 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.cli.ParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.access.status.factory.AccessStatusServiceFactory;
+import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.utils.DSpace;
+
+/**
+ * {@link DSpaceRunnable} implementation updating the stored access status of items. By default only the items whose
+ * embargo ended are updated, so that they are shown and indexed as open access from the day the embargo ends.
+ */
+public class AccessStatusUpdate extends DSpaceRunnable<AccessStatusUpdateScriptConfiguration<AccessStatusUpdate>> {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final int PAGE_SIZE = 100;
+
+    private AccessStatusService accessStatusService;
+    private ItemService itemService;
+
+    private boolean help = false;
+    private boolean all = false;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public AccessStatusUpdateScriptConfiguration<AccessStatusUpdate> getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+                           .getServiceByName("access-status-update", AccessStatusUpdateScriptConfiguration.class);
+    }
+
+    /**
+     * Update the items whose embargo ended, used for the scheduled update configured by
+     * {@code access.status.store.cron}.
+     */
+    public static void runScheduled() throws Exception {
+        AccessStatusUpdate script = new AccessStatusUpdate();
+        script.setup();
+        script.internalRun();
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        accessStatusService = AccessStatusServiceFactory.getInstance().getAccessStatusService();
+        itemService = ContentServiceFactory.getInstance().getItemService();
+        if (commandLine == null) {
+            return;
+        }
+        help = commandLine.hasOption('h');
+        all = commandLine.hasOption('a');
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+        if (!accessStatusService.isStoreEnabled()) {
+            logInfo("The access status of items is not stored, see access.status.store.enabled");
+            return;
+        }
+
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        try {
+            if (all) {
+                int stored = storeAll(context);
+                logInfo("Stored the access status of " + stored + " items");
+            } else {
+                int updated = accessStatusService.updateAvailableAccessStatus(context, LocalDate.now());
+                logInfo("Updated the access status of " + updated + " items whose embargo ended");
+            }
+            context.complete();
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * Calculate and store the access status of all items, committing every page of items.
+     */
+    private int storeAll(Context context) throws Exception {
+        context.turnOffAuthorisationSystem();
+        try {
+            int stored = 0;
+            List<Item> page;
+            do {
+                page = new ArrayList<>();
+                Iterator<Item> items = itemService.findAll(context, PAGE_SIZE, stored);
+                while (items.hasNext()) {
+                    page.add(items.next());
+                }
+                for (Item item : page) {
+                    accessStatusService.storeAccessStatus(context, item);
+                }
+                context.commit();
+                for (Item item : page) {
+                    context.uncacheEntity(item);
+                }
+                stored += page.size();
+            } while (page.size() == PAGE_SIZE);
+            return stored;
+        } finally {
+            context.restoreAuthSystemState();
+        }
+    }
+
+    private void logInfo(String message) {
+        if (handler != null) {
+            handler.logInfo(message);
+        } else {
+            log.info(message);
+        }
+    }
+}
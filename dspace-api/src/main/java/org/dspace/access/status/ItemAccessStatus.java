@@ -0,0 +1,96 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.dspace.content.AccessStatus;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * The anonymous access status of an item, stored when the item, its bundles or its bitstreams change so that it does
+ * not have to be computed from the policies of the bitstreams on every request.
+ */
+@Entity
+@Table(name = "item_access_status")
+public class ItemAccessStatus implements ReloadableEntity<UUID> {
+
+    @Id
+    @Column(name = "item_id")
+    private UUID itemId;
+
+    @Column(name = "status", length = 64, nullable = false)
+    private String status;
+
+    @Column(name = "availability_date")
+    private LocalDate availabilityDate;
+
+    /**
+     * Protected constructor, create object using:
+     * {@link org.dspace.access.status.service.AccessStatusService#storeAccessStatus(org.dspace.core.Context,
+     * org.dspace.content.Item)}
+     */
+    protected ItemAccessStatus() {
+    }
+
+    protected ItemAccessStatus(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    @Override
+    public UUID getID() {
+        return itemId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getAvailabilityDate() {
+        return availabilityDate;
+    }
+
+    public void setAvailabilityDate(LocalDate availabilityDate) {
+        this.availabilityDate = availabilityDate;
+    }
+
+    /**
+     * @return the stored status as an access status
+     */
+    public AccessStatus toAccessStatus() {
+        return new AccessStatus(status, availabilityDate);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Class<?> objClass = HibernateProxyHelper.getClassWithoutInitializingProxy(o);
+        if (getClass() != objClass) {
+            return false;
+        }
+        final ItemAccessStatus that = (ItemAccessStatus) o;
+        return this.getID() != null && this.getID().equals(that.getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getID() == null ? 0 : getID().hashCode();
+    }
+}
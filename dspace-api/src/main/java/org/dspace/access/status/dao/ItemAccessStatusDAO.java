@@ -0,0 +1,34 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.access.status.ItemAccessStatus;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the ItemAccessStatus object.
+ * The implementation of this class is responsible for all database calls for the ItemAccessStatus object and is
+ * autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface ItemAccessStatusDAO extends GenericDAO<ItemAccessStatus> {
+
+    /**
+     * @param context the DSpace context
+     * @param date    the date
+     * @return the ids of the items whose stored availability date is on or before the given date
+     * @throws SQLException if database error
+     */
+    public List<UUID> findItemIdsAvailableBy(Context context, LocalDate date) throws SQLException;
+}
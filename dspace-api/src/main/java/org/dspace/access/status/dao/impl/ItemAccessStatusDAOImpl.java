@@ -0,0 +1,40 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.dao.impl;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.access.status.ItemAccessStatus;
+import org.dspace.access.status.dao.ItemAccessStatusDAO;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the ItemAccessStatus object.
+ * This class is responsible for all database calls for the ItemAccessStatus object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class ItemAccessStatusDAOImpl extends AbstractHibernateDAO<ItemAccessStatus> implements ItemAccessStatusDAO {
+
+    protected ItemAccessStatusDAOImpl() {
+        super();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> findItemIdsAvailableBy(Context context, LocalDate date) throws SQLException {
+        Query query = createQuery(context, "SELECT s.itemId FROM ItemAccessStatus s " +
+            "WHERE s.availabilityDate <= :date ORDER BY s.itemId");
+        query.setParameter("date", date);
+        return query.getResultList();
+    }
+}
@@ -8,7 +8,9 @@
 package org.dspace.access.status.service;
 
 import java.sql.SQLException;
+import java.time.LocalDate;
 
+import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Item;
@@ -33,6 +35,8 @@ import org.dspace.core.Context;
  * # This default access status helper provides an item status based on the policies of the primary
  * # bitstream (or first bitstream in the original bundles if no primary file is specified).
  * plugin.single.org.dspace.access.status.AccessStatusHelper = org.dspace.access.status.DefaultAccessStatusHelper
+ * # read the anonymous access status of items from the status stored by the "accessstatus" event consumer
+ * access.status.store.enabled = false
  * }
  */
 public interface AccessStatusService {
@@ -66,4 +70,33 @@ public interface AccessStatusService {
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     public AccessStatus getAccessStatus(Context context, Bitstream bitstream) throws SQLException;
+
+    /**
+     * @return true if the anonymous access status of items is stored and read from the database, as configured by
+     * {@code access.status.store.enabled}
+     */
+    public boolean isStoreEnabled();
+
+    /**
+     * Calculate the anonymous access status of an item and store it, so that it is read from the database from now
+     * on.
+     *
+     * @param context the DSpace context
+     * @param item the item
+     * @return the access status
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public AccessStatus storeAccessStatus(Context context, Item item) throws SQLException;
+
+    /**
+     * Calculate and store the access status of all items whose stored availability date has been reached, i.e. whose
+     * embargo ended. The items are marked as modified, so that they are indexed again.
+     *
+     * @param context the DSpace context
+     * @param date the current date
+     * @return the number of items updated
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     * @throws AuthorizeException if the items cannot be marked as modified
+     */
+    public int updateAvailableAccessStatus(Context context, LocalDate date) throws SQLException, AuthorizeException;
 }
@@ -8,9 +8,11 @@
 package org.dspace.app.bulkedit;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -123,6 +125,12 @@ public class DSpaceCSV implements Serializable {
      */
     protected Map<String, String> ignore;
 
+    /**
+     * The sorted headings written by {@link #writeHeadings(Writer)}, which define the columns of the lines written
+     * by {@link #writeItem(Writer, Item)}
+     */
+    protected List<String> writtenHeadings;
+
 
     /**
      * Create a new instance of a CSV line holder
@@ -442,10 +450,76 @@ public class DSpaceCSV implements Serializable {
      * @throws Exception if something goes wrong with adding the Item
      */
     public final void addItem(Item i) throws Exception {
+        DSpaceCSVLine line = createLine(i);
+        if (line != null) {
+            lines.add(line);
+            counter++;
+        }
+    }
+
+    /**
+     * Add the headings of the metadata of a DSpace item without adding the item, so that the headings are known
+     * before any item is written. The headings come from the same metadata as the lines, including virtual metadata
+     * such as the relation fields of entities. Fields that are not exported are skipped.
+     *
+     * @param i The DSpace item
+     */
+    public void addHeadings(Item i) {
+        // Items without an owning collection are not exported, see createLine
+        if (i.getOwningCollection() == null) {
+            return;
+        }
+        List<MetadataValue> md = itemService.getMetadata(i, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
+        for (MetadataValue value : md) {
+            MetadataField metadataField = value.getMetadataField();
+            String key = getHeading(metadataField, value.getLanguage());
+            if ((exportAll || okToExport(metadataField)) && !headings.contains(key)) {
+                headings.add(key);
+            }
+        }
+    }
+
+    /**
+     * Write the heading line of the CSV file. The headings known at this point are the columns of all lines written
+     * afterwards with {@link #writeItem(Writer, Item)}, see {@link #addHeadings(Item)}.
+     *
+     * @param out the writer to write to
+     * @throws IOException if the line cannot be written
+     */
+    public void writeHeadings(Writer out) throws IOException {
+        writtenHeadings = new ArrayList<>(headings);
+        Collections.sort(writtenHeadings);
+        out.write(getHeadingLine(writtenHeadings));
+        out.write("\n");
+    }
+
+    /**
+     * Write a DSpace item as a line of the CSV file, without holding the line in this object. Values of fields
+     * without a heading written by {@link #writeHeadings(Writer)} are left out.
+     *
+     * @param out the writer to write to
+     * @param i   The DSpace item
+     * @throws IOException if the line cannot be written
+     */
+    public void writeItem(Writer out, Item i) throws IOException {
+        DSpaceCSVLine line = createLine(i);
+        if (line != null) {
+            out.write(line.toCSV(writtenHeadings, fieldSeparator, valueSeparator));
+            out.write("\n");
+        }
+    }
+
+    /**
+     * Create the CSV line of a DSpace item, adding the headings of its metadata fields
+     *
+     * @param i The DSpace item
+     * @return the line, or null if the item has no owning collection
+     */
+    protected DSpaceCSVLine createLine(Item i) {
         // If the item does not have an "owningCollection" the the below "getHandle()" call will fail
         // This should not happen but is here for safety.
         if (i.getOwningCollection() == null) {
-            return;
+            return null;
         }
 
         // Create the CSV line
@@ -468,20 +542,7 @@ public class DSpaceCSV implements Serializable {
         List<MetadataValue> md = itemService.getMetadata(i, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
         for (MetadataValue value : md) {
             MetadataField metadataField = value.getMetadataField();
-            MetadataSchema metadataSchema = metadataField.getMetadataSchema();
-            // Get the key (schema.element)
-            String key = metadataSchema.getName() + "." + metadataField.getElement();
-
-            // Add the qualifier if there is one (schema.element.qualifier)
-            if (metadataField.getQualifier() != null) {
-                key = key + "." + metadataField.getQualifier();
-            }
-
-            // Add the language if there is one (schema.element.qualifier[language])
-            //if ((value.language != null) && (!"".equals(value.language)))
-            if (value.getLanguage() != null) {
-                key = key + "[" + value.getLanguage() + "]";
-            }
+            String key = getHeading(metadataField, value.getLanguage());
 
             // Store the item
             if (exportAll || okToExport(metadataField)) {
@@ -497,8 +558,31 @@ public class DSpaceCSV implements Serializable {
                 }
             }
         }
-        lines.add(line);
-        counter++;
+        return line;
+    }
+
+    /**
+     * Get the heading of a metadata field in the given language
+     *
+     * @param metadataField the metadata field
+     * @param language      the language, may be null
+     * @return the heading, in the form schema.element[.qualifier][[language]]
+     */
+    protected String getHeading(MetadataField metadataField, String language) {
+        MetadataSchema metadataSchema = metadataField.getMetadataSchema();
+        // Get the key (schema.element)
+        String key = metadataSchema.getName() + "." + metadataField.getElement();
+
+        // Add the qualifier if there is one (schema.element.qualifier)
+        if (metadataField.getQualifier() != null) {
+            key = key + "." + metadataField.getQualifier();
+        }
+
+        // Add the language if there is one (schema.element.qualifier[language])
+        if (language != null) {
+            key = key + "[" + language + "]";
+        }
+        return key;
     }
 
     /**
@@ -626,12 +710,9 @@ public class DSpaceCSV implements Serializable {
     public final String[] getCSVLinesAsStringArray() {
         // Create the headings line
         String[] csvLines = new String[counter + 1];
-        csvLines[0] = "id" + fieldSeparator + "collection";
         List<String> headingsCopy = new ArrayList<>(headings);
         Collections.sort(headingsCopy);
-        for (String value : headingsCopy) {
-            csvLines[0] = csvLines[0] + fieldSeparator + value;
-        }
+        csvLines[0] = getHeadingLine(headingsCopy);
 
         Iterator<DSpaceCSVLine> i = lines.iterator();
         int c = 1;
@@ -642,6 +723,20 @@ public class DSpaceCSV implements Serializable {
         return csvLines;
     }
 
+    /**
+     * Get the heading line of the CSV file
+     *
+     * @param sortedHeadings the headings of the metadata columns, in order
+     * @return the CSV formatted heading line
+     */
+    protected String getHeadingLine(List<String> sortedHeadings) {
+        StringBuilder headingLine = new StringBuilder("id").append(fieldSeparator).append("collection");
+        for (String value : sortedHeadings) {
+            headingLine.append(fieldSeparator).append(value);
+        }
+        return headingLine.toString();
+    }
+
     /**
      * Creates and returns an InputStream from the CSV Lines in this DSpaceCSV
      * @return  The InputStream created from the CSVLines in this DSpaceCSV
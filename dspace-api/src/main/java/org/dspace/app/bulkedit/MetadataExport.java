@@ -7,6 +7,11 @@
  */
 package org.dspace.app.bulkedit;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.UUID;
 
@@ -61,10 +66,19 @@ public class MetadataExport extends DSpaceRunnable<MetadataExportScriptConfigura
         } catch (SQLException e) {
             handler.handleException(e);
         }
-        DSpaceCSV dSpaceCSV = metadataDSpaceCsvExportService
-            .handleExport(context, exportAllItems, exportAllMetadata, identifier,
-                          handler);
-        handler.writeFilestream(context, filename, dSpaceCSV.getInputStream(), EXPORT_CSV);
+        // Write the CSV to a temporary file while exporting, instead of building it in memory
+        File csvFile = File.createTempFile("metadata-export", ".csv");
+        try {
+            try (OutputStream out = new FileOutputStream(csvFile)) {
+                metadataDSpaceCsvExportService
+                    .handleExport(context, exportAllItems, exportAllMetadata, identifier, out, handler);
+            }
+            try (InputStream in = new FileInputStream(csvFile)) {
+                handler.writeFilestream(context, filename, in, EXPORT_CSV);
+            }
+        } finally {
+            csvFile.delete();
+        }
         context.restoreAuthSystemState();
         context.complete();
     }
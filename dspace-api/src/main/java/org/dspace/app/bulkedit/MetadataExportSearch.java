@@ -8,6 +8,11 @@
 
 package org.dspace.app.bulkedit;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -145,9 +150,18 @@ public class MetadataExportSearch extends DSpaceRunnable<MetadataExportSearchScr
 
         Iterator<Item> itemIterator = searchService.iteratorSearch(context, dso, discoverQuery);
         handler.logDebug("creating dspacecsv");
-        DSpaceCSV dSpaceCSV = metadataDSpaceCsvExportService.export(context, itemIterator, true, handler);
-        handler.logDebug("writing to file " + getFileNameOrExportFile());
-        handler.writeFilestream(context, getFileNameOrExportFile(), dSpaceCSV.getInputStream(), EXPORT_CSV);
+        File csvFile = File.createTempFile("metadata-export-search", ".csv");
+        try {
+            try (OutputStream out = new FileOutputStream(csvFile)) {
+                metadataDSpaceCsvExportService.export(context, itemIterator, true, out, handler);
+            }
+            handler.logDebug("writing to file " + getFileNameOrExportFile());
+            try (InputStream in = new FileInputStream(csvFile)) {
+                handler.writeFilestream(context, getFileNameOrExportFile(), in, EXPORT_CSV);
+            }
+        } finally {
+            csvFile.delete();
+        }
         context.restoreAuthSystemState();
         context.complete();
 
@@ -132,6 +132,28 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
      */
     protected ArrayList<String> relationValidationErrors = new ArrayList<>();
 
+    /**
+     * Objects resolved from handles in the CSV, kept for the preview and the import run.
+     *
+     * @see #resolveHandle(Context, String)
+     */
+    protected Map<String, DSpaceObject> resolvedHandles = new HashMap<>();
+
+    /**
+     * UUIDs of the items found in the database for metadata value references, null if no item was found. Kept for
+     * the preview and the import run.
+     *
+     * @see #resolveEntityRef(Context, String)
+     */
+    protected Map<String, UUID> resolvedReferences = new HashMap<>();
+
+    /**
+     * Authority values found for the values of authority controlled fields, by field and value.
+     *
+     * @see #getBulkEditValueFromCSV(Context, String, String, String, String, String, AuthorityValue)
+     */
+    protected Map<String, List<AuthorityValue>> authorityValues = new HashMap<>();
+
     /**
      * Counter of rows processed in a CSV.
      */
@@ -360,7 +382,12 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
 
         // Process each change
         rowCount = 1;
+        int prefetchCount = configurationService.getIntProperty("bulkedit.prefetch.count", 100);
         for (DSpaceCSVLine line : toImport) {
+            // Load the items of the next rows at once
+            if (prefetchCount > 0 && (rowCount - 1) % prefetchCount == 0) {
+                prefetchItems(c, rowCount - 1, prefetchCount);
+            }
             // Resolve target references to other items
             populateRefAndRowMap(line, line.getID());
             line = resolveEntityRefs(c, line);
@@ -507,7 +534,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                 for (String handle : collections) {
                     try {
                         // Resolve the handle to the collection
-                        collection = (Collection) handleService.resolveToObject(c, handle);
+                        collection = (Collection) resolveHandle(c, handle);
 
                         // Check it resolved OK
                         if (collection == null) {
@@ -534,7 +561,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                 // Record the addition to collections
                 boolean first = true;
                 for (String handle : collections) {
-                    Collection extra = (Collection) handleService.resolveToObject(c, handle);
+                    Collection extra = (Collection) resolveHandle(c, handle);
                     if (first) {
                         whatHasChanged.setOwningCollection(extra);
                     } else {
@@ -547,7 +574,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                 if (change) {
                     // Create the item
                     String collectionHandle = line.get("collection").get(0);
-                    collection = (Collection) handleService.resolveToObject(c, collectionHandle);
+                    collection = (Collection) resolveHandle(c, collectionHandle);
                     wsItem = workspaceItemService.create(c, collection, useTemplate);
                     item = wsItem.getItem();
 
@@ -592,7 +619,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                     if (line.get("collection").size() > 0) {
                         for (int i = 1; i < collections.size(); i++) {
                             String handle = collections.get(i);
-                            Collection extra = (Collection) handleService.resolveToObject(c, handle);
+                            Collection extra = (Collection) resolveHandle(c, handle);
                             collectionService.addItem(c, extra, item);
                         }
                     }
@@ -626,6 +653,46 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         return changes;
     }
 
+    /**
+     * Load the items of a range of CSV lines from the database in a single query, so that looking them up while
+     * processing the lines does not need a query per line.
+     *
+     * @param c     The relevant DSpace Context
+     * @param from  the index of the first line
+     * @param count the number of lines
+     * @throws SQLException if database error
+     */
+    protected void prefetchItems(Context c, int from, int count) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        for (DSpaceCSVLine line : toImport.subList(from, Math.min(from + count, toImport.size()))) {
+            if (line.getID() != null) {
+                ids.add(line.getID());
+            }
+        }
+        itemService.findByIds(c, ids);
+    }
+
+    /**
+     * Resolve a handle of the CSV to its object. Handles are resolved once, later lookups of the same handle only
+     * reload the object into the context.
+     *
+     * @param c      The relevant DSpace Context
+     * @param handle the handle
+     * @return the object, or null if the handle does not resolve
+     * @throws SQLException if database error
+     */
+    protected DSpaceObject resolveHandle(Context c, String handle) throws SQLException {
+        DSpaceObject dso = resolvedHandles.get(handle);
+        if (dso != null) {
+            return c.reloadEntity(dso);
+        }
+        dso = handleService.resolveToObject(c, handle);
+        if (dso != null) {
+            resolvedHandles.put(handle, dso);
+        }
+        return dso;
+    }
+
     /**
      * Compare an item metadata with a line from CSV, and optionally update the item.
      *
@@ -1144,11 +1211,15 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
             }
 
             // look up the value and authority in solr
-            List<AuthorityValue> byValue = authorityValueService.findByValue(schema, element, qualifier, value);
+            String field = schema + "_" + element + (StringUtils.isNotBlank(qualifier) ? "_" + qualifier : "");
+            List<AuthorityValue> byValue = authorityValues.get(field + ":" + value);
+            if (byValue == null) {
+                byValue = authorityValueService.findByValue(schema, element, qualifier, value);
+                authorityValues.put(field + ":" + value, byValue);
+            }
             AuthorityValue authorityValue = null;
             if (byValue.isEmpty()) {
                 String toGenerate = fromAuthority.generateString() + value;
-                String field = schema + "_" + element + (StringUtils.isNotBlank(qualifier) ? "_" + qualifier : "");
                 authorityValue = authorityValueService.generate(toGenerate, value, field);
                 dcv.setAuthority(toGenerate);
             } else {
@@ -1555,6 +1626,9 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         }
         if (reference.contains("::virtual::")) {
             return UUID.fromString(StringUtils.substringBefore(reference, "::virtual::"));
+        } else if (resolvedReferences.containsKey(reference)) {
+            // metadata value reference that was looked up in the database before
+            uuid = resolvedReferences.get(reference);
         } else if (!reference.startsWith("rowName:")) { // Not a rowName ref; so it's a metadata value reference
             MetadataValueService metadataValueService = ContentServiceFactory.getInstance().getMetadataValueService();
             MetadataFieldService metadataFieldService =
@@ -1581,6 +1655,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                                                           "Ambiguous reference; multiple matches in db: " + reference);
                     }
                 }
+                resolvedReferences.put(reference, uuid);
             } catch (SQLException e) {
                 throw new MetadataImportException("Error in CSV row " + rowCount + ":\n" +
                                                       "Error looking up item by metadata reference: " + reference, e);
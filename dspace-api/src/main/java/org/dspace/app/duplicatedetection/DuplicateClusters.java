@@ -0,0 +1,245 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.duplicatedetection;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.opencsv.CSVWriterBuilder;
+import com.opencsv.ICSVWriter;
+import org.apache.commons.cli.ParseException;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.dspace.content.DuplicateSignature;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.DuplicateDetectionService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+
+/**
+ * {@link DSpaceRunnable} implementation reporting the clusters of near-duplicate items of the whole repository, from
+ * the MinHash signatures stored in the search index by the signature based duplicate detection.
+ * <p>
+ * The signatures of all items are read from the index into memory. For every band, the items are sorted by the hash
+ * of the band, and the items sharing a band are compared with each other (with at most the configured number of
+ * previous items of the same band, so that very common bands do not make the comparisons quadratic). Items whose
+ * similarity reaches the threshold are merged into the same cluster. The clusters are written as a CSV file with one
+ * line per item, largest clusters first.
+ */
+public class DuplicateClusters extends DSpaceRunnable<DuplicateClustersScriptConfiguration<DuplicateClusters>> {
+
+    private static final String DEFAULT_FILENAME = "duplicate-clusters.csv";
+
+    private DuplicateDetectionService duplicateDetectionService;
+    private ItemService itemService;
+    private SolrSearchCore solrSearchCore;
+    private ConfigurationService configurationService;
+
+    private boolean help = false;
+    private String filename = DEFAULT_FILENAME;
+
+    private final List<UUID> itemIds = new ArrayList<>();
+    private final List<DuplicateSignature> signatures = new ArrayList<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DuplicateClustersScriptConfiguration<DuplicateClusters> getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+                           .getServiceByName("duplicate-clusters", DuplicateClustersScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        duplicateDetectionService = ContentServiceFactory.getInstance().getDuplicateDetectionService();
+        itemService = ContentServiceFactory.getInstance().getItemService();
+        solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+                                              .getServicesByType(SolrSearchCore.class).get(0);
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        help = commandLine.hasOption('h');
+        if (commandLine.hasOption('f')) {
+            filename = commandLine.getOptionValue('f');
+        }
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+        if (!duplicateDetectionService.isSignatureEnabled()) {
+            handler.logWarning("The signatures of items are not indexed, see duplicate.signature.enable");
+            return;
+        }
+
+        loadSignatures();
+        handler.logInfo("Loaded the signatures of " + itemIds.size() + " items");
+        List<List<Integer>> clusters = findClusters();
+        handler.logInfo("Found " + clusters.size() + " clusters of potential duplicates");
+
+        File file = File.createTempFile("duplicate-clusters", ".csv");
+        Context context = null;
+        try {
+            context = new Context(Context.Mode.READ_ONLY);
+            context.turnOffAuthorisationSystem();
+            writeClusters(context, clusters, file);
+            try (InputStream is = new FileInputStream(file)) {
+                handler.writeFilestream(context, filename, is, "CSV");
+            }
+            context.restoreAuthSystemState();
+            context.complete();
+        } finally {
+            file.delete();
+            if (context != null && context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * Read the ids and signatures of all items from the index, in pages.
+     */
+    protected void loadSignatures() throws SolrServerException, IOException {
+        SolrQuery solrQuery = new SolrQuery();
+        solrQuery.setQuery("*:*");
+        solrQuery.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+        solrQuery.addFilterQuery(DuplicateDetectionService.SIGNATURE_FIELD + ":[* TO *]");
+        solrQuery.addField(SearchUtils.RESOURCE_ID_FIELD);
+        solrQuery.addField(DuplicateDetectionService.SIGNATURE_FIELD);
+        solrQuery.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        solrQuery.setRows(configurationService.getIntProperty("duplicate.signature.clusters.batch-size", 1000));
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+            for (SolrDocument document : response.getResults()) {
+                DuplicateSignature signature = DuplicateSignature.decode(
+                    (String) document.getFirstValue(DuplicateDetectionService.SIGNATURE_FIELD));
+                if (signature != null) {
+                    itemIds.add(UUID.fromString((String) document.getFirstValue(SearchUtils.RESOURCE_ID_FIELD)));
+                    signatures.add(signature);
+                }
+            }
+            String nextCursorMark = response.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+                break;
+            }
+            cursorMark = nextCursorMark;
+        }
+    }
+
+    /**
+     * Compare the items sharing a band and merge the similar ones into clusters.
+     *
+     * @return the clusters of more than one item, as indexes of the loaded items, largest clusters first
+     */
+    protected List<List<Integer>> findClusters() {
+        int size = signatures.size();
+        int bands = duplicateDetectionService.getSignatureBands();
+        double threshold = duplicateDetectionService.getSignatureThreshold();
+        int window = configurationService.getIntProperty("duplicate.signature.clusters.window", 100);
+
+        int[][] bandHashes = new int[size][];
+        for (int i = 0; i < size; i++) {
+            bandHashes[i] = signatures.get(i).getBandHashes(bands);
+        }
+        int[] parents = new int[size];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+        }
+
+        long[] keys = new long[size];
+        for (int band = 0; band < bands; band++) {
+            // sort the items by the hash of the band, keeping the index of the item in the lower bits
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) bandHashes[i][band] << 32) | i;
+            }
+            Arrays.sort(keys);
+            int start = 0;
+            for (int end = 1; end <= size; end++) {
+                if (end < size && (keys[end] >>> 32) == (keys[start] >>> 32)) {
+                    continue;
+                }
+                for (int j = start + 1; j < end; j++) {
+                    int item = (int) keys[j];
+                    for (int k = Math.max(start, j - window); k < j; k++) {
+                        int other = (int) keys[k];
+                        if (find(parents, item) != find(parents, other)
+                            && signatures.get(item).similarity(signatures.get(other)) >= threshold) {
+                            parents[find(parents, item)] = find(parents, other);
+                        }
+                    }
+                }
+                start = end;
+            }
+        }
+
+        Map<Integer, List<Integer>> clustersByRoot = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            clustersByRoot.computeIfAbsent(find(parents, i), root -> new ArrayList<>()).add(i);
+        }
+        List<List<Integer>> clusters = new ArrayList<>();
+        for (List<Integer> cluster : clustersByRoot.values()) {
+            if (cluster.size() > 1) {
+                clusters.add(cluster);
+            }
+        }
+        clusters.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        return clusters;
+    }
+
+    private static int find(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    protected void writeClusters(Context context, List<List<Integer>> clusters, File file) throws Exception {
+        try (ICSVWriter writer = new CSVWriterBuilder(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)).build()) {
+            writer.writeNext(new String[] {"cluster", "id", "handle", "title"});
+            int number = 0;
+            for (List<Integer> cluster : clusters) {
+                number++;
+                for (int index : cluster) {
+                    Item item = itemService.find(context, itemIds.get(index));
+                    if (item == null) {
+                        continue;
+                    }
+                    writer.writeNext(new String[] {String.valueOf(number), item.getID().toString(),
+                        item.getHandle(), item.getName()});
+                    context.uncacheEntity(item);
+                }
+            }
+        }
+    }
+}
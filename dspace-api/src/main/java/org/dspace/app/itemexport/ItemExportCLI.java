@@ -24,6 +24,8 @@ import org.dspace.core.Context;
  */
 public class ItemExportCLI extends ItemExport {
 
+    protected long zipVolumeSize = 0;
+
     @Override
     protected void validate() {
         super.validate();
@@ -56,7 +58,7 @@ public class ItemExportCLI extends ItemExport {
                 items = itemService.findByCollection(context, collection);
             }
             itemExportService.exportAsZip(context, items, destDirName, zipFileName,
-                    seqStart, migrate, excludeBitstreams);
+                    seqStart, migrate, excludeBitstreams, zipVolumeSize);
         } else {
             if (item != null) {
                 // it's only a single item
@@ -85,6 +87,7 @@ public class ItemExportCLI extends ItemExport {
             zip = true;
             zipFileName = commandLine.getOptionValue('z');
         }
+        zipVolumeSize = getPositiveIntOption("s", 0, "volume size in megabytes") * 1024L * 1024L;
     }
 
     @Override
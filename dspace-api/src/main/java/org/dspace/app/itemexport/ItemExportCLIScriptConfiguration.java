@@ -37,6 +37,9 @@ public class ItemExportCLIScriptConfiguration extends ItemExportScriptConfigurat
         options.addOption(Option.builder("z").longOpt("zip")
                 .desc("export as zip file (specify filename e.g. export.zip)")
                 .hasArg().required(false).build());
+        options.addOption(Option.builder("s").longOpt("split")
+                .desc("split the zip file into volumes of at most this size in megabytes")
+                .hasArg().required(false).build());
         options.addOption(Option.builder("m").longOpt("migrate")
                 .desc("export for migration (remove handle and metadata that will be re-created in new system)")
                 .hasArg(false).required(false).build());
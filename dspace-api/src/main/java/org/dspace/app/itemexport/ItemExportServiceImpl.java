@@ -8,6 +8,7 @@
 package org.dspace.app.itemexport;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -15,7 +16,9 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.Instant;
@@ -23,6 +26,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -38,6 +42,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.itemexport.service.ItemExportService;
+import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
@@ -61,6 +66,7 @@ import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -103,6 +109,10 @@ public class ItemExportServiceImpl implements ItemExportService {
     protected HandleService handleService;
     @Autowired(required = true)
     protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected AuthorizeService authorizeService;
+    @Autowired(required = true)
+    protected BitstreamStorageService bitstreamStorageService;
 
     /**
      * log4j logger
@@ -201,15 +211,34 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, Item i, File destDir, boolean migrate)
         throws Exception {
+        // Save each of the schemas into it's own metadata file
+        for (String schema : getMetadataSchemas(i)) {
+            writeMetadata(c, schema, i, destDir, migrate);
+        }
+    }
+
+    /**
+     * @param i DSpace Item
+     * @return the names of the schemas used by the metadata of the item
+     */
+    protected Set<String> getMetadataSchemas(Item i) {
         Set<String> schemas = new HashSet<>();
         List<MetadataValue> dcValues = itemService.getMetadata(i, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
         for (MetadataValue metadataValue : dcValues) {
             schemas.add(metadataValue.getMetadataField().getMetadataSchema().getName());
         }
+        return schemas;
+    }
 
-        // Save each of the schemas into it's own metadata file
-        for (String schema : schemas) {
-            writeMetadata(c, schema, i, destDir, migrate);
+    /**
+     * @param schema schema
+     * @return the name of the file holding the metadata of the schema
+     */
+    protected String getMetadataFileName(String schema) {
+        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
+            return "dublin_core.xml";
+        } else {
+            return "metadata_" + schema + ".xml";
         }
     }
 
@@ -225,101 +254,106 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, String schema, Item i,
                                  File destDir, boolean migrate) throws Exception {
-        String filename;
-        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
-            filename = "dublin_core.xml";
-        } else {
-            filename = "metadata_" + schema + ".xml";
-        }
-
-        File outFile = new File(destDir, filename);
+        File outFile = new File(destDir, getMetadataFileName(schema));
 
         logInfo("Attempting to create file " + outFile);
 
         if (outFile.createNewFile()) {
-            BufferedOutputStream out = new BufferedOutputStream(
-                new FileOutputStream(outFile));
+            try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(outFile))) {
+                writeMetadata(c, schema, i, out, migrate);
+            }
+        } else {
+            throw new Exception("Cannot create dublin_core.xml in " + destDir);
+        }
+    }
 
-            List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
-                                                                      Item.ANY);
+    /**
+     * output the item's metadata of one schema to a stream
+     *
+     * @param c       DSpace context
+     * @param schema  schema
+     * @param i       DSpace Item
+     * @param out     the stream to write to
+     * @param migrate Whether to use the migrate option or not
+     * @throws Exception if error
+     */
+    protected void writeMetadata(Context c, String schema, Item i,
+                                 OutputStream out, boolean migrate) throws Exception {
+        List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
+                                                                  Item.ANY);
 
-            // XML preamble
-            byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
-                .getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        // XML preamble
+        byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
+            .getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
-            utf8 = dcTag.getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
+        utf8 = dcTag.getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dateIssued = null;
-            String dateAccessioned = null;
+        String dateIssued = null;
+        String dateAccessioned = null;
 
-            for (MetadataValue dcv : dcorevalues) {
-                MetadataField metadataField = dcv.getMetadataField();
-                String qualifier = metadataField.getQualifier();
+        for (MetadataValue dcv : dcorevalues) {
+            MetadataField metadataField = dcv.getMetadataField();
+            String qualifier = metadataField.getQualifier();
 
-                if (qualifier == null) {
-                    qualifier = "none";
-                }
+            if (qualifier == null) {
+                qualifier = "none";
+            }
 
-                String language = dcv.getLanguage();
+            String language = dcv.getLanguage();
 
-                if (language != null) {
-                    language = " language=\"" + language + "\"";
-                } else {
-                    language = "";
-                }
+            if (language != null) {
+                language = " language=\"" + language + "\"";
+            } else {
+                language = "";
+            }
 
-                utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
-                    + "qualifier=\"" + qualifier + "\""
-                    + language + ">"
-                    + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-
-                if (!migrate ||
-                    (migrate && !(
-                        ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
-                            ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
-                                (dcv.getValue() != null && dcv.getValue().startsWith(
-                                    handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
-                            ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
-                    out.write(utf8, 0, utf8.length);
-                }
+            utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
+                + "qualifier=\"" + qualifier + "\""
+                + language + ">"
+                + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
+                .getBytes("UTF-8");
 
-                // Store the date issued and accession to see if they are different
-                // because we need to keep date.issued if they are, when migrating
-                if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
-                    dateIssued = dcv.getValue();
-                }
-                if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
-                    dateAccessioned = dcv.getValue();
-                }
+            if (!migrate ||
+                (migrate && !(
+                    ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
+                        ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
+                            (dcv.getValue() != null && dcv.getValue().startsWith(
+                                handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
+                        ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
+                out.write(utf8, 0, utf8.length);
             }
 
-            // When migrating, only keep date.issued if it is different to date.accessioned
-            if (migrate &&
-                (dateIssued != null) &&
-                (dateAccessioned != null) &&
-                !dateIssued.equals(dateAccessioned)) {
-                utf8 = ("  <dcvalue element=\"date\" "
-                    + "qualifier=\"issued\">"
-                    + Utils.addEntities(dateIssued) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-                out.write(utf8, 0, utf8.length);
+            // Store the date issued and accession to see if they are different
+            // because we need to keep date.issued if they are, when migrating
+            if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
+                dateIssued = dcv.getValue();
+            }
+            if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
+                dateAccessioned = dcv.getValue();
             }
+        }
 
-            utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        // When migrating, only keep date.issued if it is different to date.accessioned
+        if (migrate &&
+            (dateIssued != null) &&
+            (dateAccessioned != null) &&
+            !dateIssued.equals(dateAccessioned)) {
+            utf8 = ("  <dcvalue element=\"date\" "
+                + "qualifier=\"issued\">"
+                + Utils.addEntities(dateIssued) + "</dcvalue>\n")
+                .getBytes("UTF-8");
             out.write(utf8, 0, utf8.length);
-
-            out.close();
-        } else {
-            throw new Exception("Cannot create dublin_core.xml in " + destDir);
         }
+
+        utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
     }
 
     /**
@@ -365,22 +399,33 @@ public class ItemExportServiceImpl implements ItemExportService {
         File outFile = new File(destDir, "collections");
         if (outFile.createNewFile()) {
             try (PrintWriter out = new PrintWriter(new FileWriter(outFile))) {
-                Collection owningCollection = item.getOwningCollection();
-                // The owning collection is null for workspace and workflow items
-                if (owningCollection != null) {
-                    out.println(owningCollection.getHandle());
-                }
-                for (Collection collection : item.getCollections()) {
-                    if (!collection.equals(owningCollection)) {
-                        out.println(collection.getHandle());
-                    }
-                }
+                writeCollections(item, out);
             }
         } else {
             throw new IOException("Cannot create 'collections' in " + destDir);
         }
     }
 
+    /**
+     * Write the handles of all Collections which contain this Item, the
+     * "owning" Collection first.
+     *
+     * @param item list collections holding this Item.
+     * @param out write the handles here.
+     */
+    protected void writeCollections(Item item, PrintWriter out) {
+        Collection owningCollection = item.getOwningCollection();
+        // The owning collection is null for workspace and workflow items
+        if (owningCollection != null) {
+            out.println(owningCollection.getHandle());
+        }
+        for (Collection collection : item.getCollections()) {
+            if (!collection.equals(owningCollection)) {
+                out.println(collection.getHandle());
+            }
+        }
+    }
+
     /**
      * Create both the bitstreams and the contents file. Any bitstreams that
      * were originally registered will be marked in the contents file as such.
@@ -407,24 +452,10 @@ public class ItemExportServiceImpl implements ItemExportService {
                 // bundles can have multiple bitstreams now...
                 List<Bitstream> bitstreams = bundle.getBitstreams();
 
-                String bundleName = bundle.getName();
-
                 for (Bitstream bitstream : bitstreams) {
                     String myName = bitstream.getName();
                     String oldName = myName;
 
-                    String description = bitstream.getDescription();
-                    if (!StringUtils.isEmpty(description)) {
-                        description = "\tdescription:" + description;
-                    } else {
-                        description = "";
-                    }
-
-                    String primary = "";
-                    if (bitstream.equals(bundle.getPrimaryBitstream())) {
-                        primary = "\tprimary:true ";
-                    }
-
                     int myPrefix = 1; // only used with name conflict
 
                     boolean isDone = false; // done when bitstream is finally
@@ -463,16 +494,7 @@ public class ItemExportServiceImpl implements ItemExportService {
                     }
 
                     // write the manifest file entry
-                    if (bitstreamService.isRegisteredBitstream(bitstream)) {
-                        out.println("-r -s " + bitstream.getStoreNumber()
-                                        + " -f " + myName +
-                                        "\tbundle:" + bundleName +
-                                        primary + description);
-                    } else {
-                        out.println(myName + "\tbundle:" + bundleName +
-                                        primary + description);
-                    }
-
+                    out.println(getContentsLine(bitstream, bundle, myName));
                 }
             }
 
@@ -483,37 +505,164 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * @param bitstream the exported bitstream
+     * @param bundle    the bundle of the bitstream
+     * @param name      the name of the exported file
+     * @return the line of the bitstream in the contents file
+     */
+    protected String getContentsLine(Bitstream bitstream, Bundle bundle, String name) {
+        String description = bitstream.getDescription();
+        if (!StringUtils.isEmpty(description)) {
+            description = "\tdescription:" + description;
+        } else {
+            description = "";
+        }
+
+        String primary = "";
+        if (bitstream.equals(bundle.getPrimaryBitstream())) {
+            primary = "\tprimary:true ";
+        }
+
+        if (bitstreamService.isRegisteredBitstream(bitstream)) {
+            return "-r -s " + bitstream.getStoreNumber()
+                + " -f " + name +
+                "\tbundle:" + bundle.getName() +
+                primary + description;
+        } else {
+            return name + "\tbundle:" + bundle.getName() +
+                primary + description;
+        }
+    }
+
     @Override
     public void exportAsZip(Context context, Iterator<Item> items,
                             String destDirName, String zipFileName,
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception {
-        String workDir = getExportWorkDirectory() +
-            System.getProperty("file.separator") +
-            zipFileName;
-
-        File wkDir = new File(workDir);
-        if (!wkDir.exists() && !wkDir.mkdirs()) {
-            logError("Unable to create working directory");
-        }
+        exportAsZip(context, items, destDirName, zipFileName, seqStart, migrate, excludeBitstreams, 0);
+    }
 
+    @Override
+    public List<File> exportAsZip(Context context, Iterator<Item> items,
+                                  String destDirName, String zipFileName,
+                                  int seqStart, boolean migrate,
+                                  boolean excludeBitstreams, long volumeSize) throws Exception {
         File dnDir = new File(destDirName);
         if (!dnDir.exists() && !dnDir.mkdirs()) {
             logError("Unable to create destination directory");
         }
 
-        try {
-            // export the items using normal export method (this exports items to our workDir)
-            exportItem(context, items, workDir, seqStart, migrate, excludeBitstreams);
+        // the items are written straight into the zip file, no working directory is needed
+        try (ItemExportZipWriter zip = createZipWriter(new File(dnDir, zipFileName), volumeSize)) {
+            exportItem(context, items, "", seqStart, migrate, excludeBitstreams, zip);
+            return zip.finish();
+        }
+    }
 
-            // now zip up the workDir directory created above
-            zip(workDir, destDirName + System.getProperty("file.separator") + zipFileName);
-        } finally {
-            // Cleanup workDir created above, if it still exists
-            if (wkDir.exists()) {
-                deleteDirectory(wkDir);
+    /**
+     * Create a writer of a zip file, reading the bitstreams ahead of the writer as configured by
+     * {@code org.dspace.app.itemexport.zip.threads} and {@code org.dspace.app.itemexport.zip.buffer.size}.
+     *
+     * @param target     the zip file to create
+     * @param volumeSize the maximum size of a volume in bytes, 0 to write a single zip file
+     * @return the writer
+     */
+    protected ItemExportZipWriter createZipWriter(File target, long volumeSize) {
+        int threads = configurationService.getIntProperty("org.dspace.app.itemexport.zip.threads", 4);
+        long bufferSize = configurationService.getLongProperty("org.dspace.app.itemexport.zip.buffer.size", 64);
+        return new ItemExportZipWriter(target, volumeSize, threads, bufferSize * 1024 * 1024);
+    }
+
+    /**
+     * Export items into a zip file, every item into a directory named by its sequence number.
+     *
+     * @param c                 DSpace context
+     * @param i                 the items to export
+     * @param prefix            the path of the item directories in the zip file, empty or ending with "/"
+     * @param seqStart          the first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @param zip               the zip file to write to
+     * @throws Exception if error
+     */
+    protected void exportItem(Context c, Iterator<Item> i, String prefix, int seqStart, boolean migrate,
+                              boolean excludeBitstreams, ItemExportZipWriter zip) throws Exception {
+        int mySequenceNumber = seqStart;
+
+        logInfo("Beginning export");
+
+        while (i.hasNext()) {
+            logInfo("Exporting item to " + prefix + mySequenceNumber);
+            Item item = i.next();
+            exportItem(c, item, prefix + mySequenceNumber + "/", migrate, excludeBitstreams, zip);
+            c.uncacheEntity(item);
+            mySequenceNumber++;
+        }
+    }
+
+    /**
+     * Export an item into a zip file: the same files as
+     * {@link #exportItem(Context, Item, String, int, boolean, boolean)} creates in the item's export directory.
+     *
+     * @param c                 DSpace context
+     * @param myItem            the item to export
+     * @param itemDir           the path of the item's directory in the zip file, ending with "/"
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @param zip               the zip file to write to
+     * @throws Exception if error
+     */
+    protected void exportItem(Context c, Item myItem, String itemDir, boolean migrate,
+                              boolean excludeBitstreams, ItemExportZipWriter zip) throws Exception {
+        logInfo("Exporting Item " + myItem.getID() +
+                    (myItem.getHandle() != null ? ", handle " + myItem.getHandle() : "") +
+                    " to " + itemDir);
+
+        Set<String> schemas = getMetadataSchemas(myItem);
+        for (String schema : schemas) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeMetadata(c, schema, myItem, out, migrate);
+            zip.addEntry(itemDir + getMetadataFileName(schema), out.toByteArray());
+        }
+
+        // the names of the entries of the item, to make the names of the bitstreams unique
+        Set<String> names = new HashSet<>(Arrays.asList("contents", "collections", "handle"));
+        for (String schema : schemas) {
+            names.add(getMetadataFileName(schema));
+        }
+        StringWriter contents = new StringWriter();
+        try (PrintWriter out = new PrintWriter(contents)) {
+            for (Bundle bundle : myItem.getBundles()) {
+                for (Bitstream bitstream : bundle.getBitstreams()) {
+                    String myName = bitstream.getName();
+                    if (!excludeBitstreams) {
+                        int myPrefix = 1; // only used with name conflict
+                        while (!names.add(myName)) {
+                            myName = myPrefix + "_" + bitstream.getName();
+                            myPrefix++;
+                        }
+                        authorizeService.authorizeAction(c, bitstream, Constants.READ);
+                        zip.addEntry(itemDir + myName, bitstream.getSizeBytes(),
+                                     () -> bitstreamStorageService.retrieve(c, bitstream));
+                    }
+                    out.println(getContentsLine(bitstream, bundle, myName));
+                }
             }
         }
+        zip.addEntry(itemDir + "contents", contents.toString().getBytes(StandardCharsets.UTF_8));
+
+        StringWriter collections = new StringWriter();
+        try (PrintWriter out = new PrintWriter(collections)) {
+            writeCollections(myItem, out);
+        }
+        zip.addEntry(itemDir + "collections", collections.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (!migrate && myItem.getHandle() != null) {
+            zip.addEntry(itemDir + "handle", (myItem.getHandle() + System.lineSeparator())
+                .getBytes(StandardCharsets.UTF_8));
+        }
+        zip.endItem();
     }
 
     @Override
@@ -683,43 +832,28 @@ public class ItemExportServiceImpl implements ItemExportService {
 
                         String fileName = assembleFileName("item", eperson,
                                                            LocalDate.now());
-                        String workParentDir = getExportWorkDirectory()
-                            + System.getProperty("file.separator")
-                            + fileName;
                         String downloadDir = getExportDownloadDirectory(eperson);
                         File dnDir = new File(downloadDir);
                         if (!dnDir.exists() && !dnDir.mkdirs()) {
                             logError("Unable to create download directory");
                         }
 
-                        Iterator<String> iter = itemsMap.keySet().iterator();
-                        while (iter.hasNext()) {
-                            String keyName = iter.next();
-                            List<UUID> uuids = itemsMap.get(keyName);
-                            List<Item> items = new ArrayList<>();
-                            for (UUID uuid : uuids) {
-                                items.add(itemService.find(context, uuid));
-                            }
-                            iitems = items.iterator();
-
-                            String workDir = workParentDir
-                                + System.getProperty("file.separator")
-                                + keyName;
+                        // export the items straight into the zip file, one directory per key
+                        try (ItemExportZipWriter zip = createZipWriter(new File(dnDir, fileName + ".zip"), 0)) {
+                            Iterator<String> iter = itemsMap.keySet().iterator();
+                            while (iter.hasNext()) {
+                                String keyName = iter.next();
+                                List<UUID> uuids = itemsMap.get(keyName);
+                                List<Item> items = new ArrayList<>();
+                                for (UUID uuid : uuids) {
+                                    items.add(itemService.find(context, uuid));
+                                }
+                                iitems = items.iterator();
 
-                            File wkDir = new File(workDir);
-                            if (!wkDir.exists() && !wkDir.mkdirs()) {
-                                logError("Unable to create working directory");
+                                exportItem(context, iitems, keyName + "/", 1, migrate, false, zip);
                             }
-
-
-                            // export the items using normal export method
-                            exportItem(context, iitems, workDir, 1, migrate, false);
+                            zip.finish();
                         }
-
-                        // now zip up the export directory created above
-                        zip(workParentDir, downloadDir
-                            + System.getProperty("file.separator")
-                            + fileName + ".zip");
                         // email message letting user know the file is ready for
                         // download
                         emailSuccessMessage(context, eperson, fileName + ".zip");
@@ -0,0 +1,277 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.itemexport;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.dspace.core.Utils;
+
+/**
+ * Writes the entries of exported items straight into a zip file, without exporting the items to a working
+ * directory first.
+ * <p>
+ * The entries of an item are collected until {@link #endItem()} is called, and items are written in the order they
+ * were added. The content of bitstreams is read ahead of the writer by a pool of threads, into memory that is bounded
+ * by the configured buffer size; bitstreams that do not fit are read by the writer itself. The streams of prefetched
+ * bitstreams are opened by the caller, so only the reading happens on the prefetch threads.
+ * <p>
+ * The zip file may be split into volumes of a maximum size. Items are never split across volumes, every volume is a
+ * complete zip file that can be imported on its own. The first volume has the requested name, the following volumes
+ * get a "_2", "_3", ... suffix before the extension. Each volume is written to a temporary file first and renamed
+ * once it is complete.
+ * <p>
+ * This class is not thread safe, all methods must be called from the same thread.
+ */
+public class ItemExportZipWriter implements AutoCloseable {
+
+    private final File target;
+    private final long volumeSize;
+    private final int maxPendingItems;
+    private final long bufferSize;
+    private final ExecutorService prefetcher;
+
+    private final Deque<List<Entry>> pendingItems = new ArrayDeque<>();
+    private List<Entry> currentItem = new ArrayList<>();
+    private long bufferedBytes = 0;
+
+    private final List<File> volumes = new ArrayList<>();
+    private File volumeFile;
+    private ZipOutputStream zip;
+    private int volumeEntries = 0;
+
+    /**
+     * @param target     the zip file to create
+     * @param volumeSize the maximum size of a volume in bytes, 0 to write a single zip file
+     * @param threads    the number of threads reading bitstreams ahead of the writer, 0 to read them in the writer
+     * @param bufferSize the maximum number of bytes of bitstreams held in memory
+     */
+    public ItemExportZipWriter(File target, long volumeSize, int threads, long bufferSize) {
+        this.target = target;
+        this.volumeSize = volumeSize;
+        this.maxPendingItems = Math.max(1, threads);
+        this.bufferSize = threads > 0 ? bufferSize : 0;
+        if (threads > 0) {
+            prefetcher = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "item-export-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            prefetcher = null;
+        }
+    }
+
+    /**
+     * Add an entry of the current item.
+     *
+     * @param name the name of the entry in the zip file
+     * @param data the content of the entry
+     */
+    public void addEntry(String name, byte[] data) {
+        currentItem.add(new Entry(name, data.length, data, null, null, null));
+    }
+
+    /**
+     * Add an entry of the current item whose content is read from a stream. If the content fits into the buffer it is
+     * opened right away and read ahead by the prefetch threads, otherwise it is opened when the entry is written.
+     *
+     * @param name   the name of the entry in the zip file
+     * @param size   the size of the content
+     * @param source opens the stream of the content, the stream is closed by this writer
+     * @throws Exception if the stream cannot be opened or pending items cannot be written
+     */
+    public void addEntry(String name, long size, Callable<InputStream> source) throws Exception {
+        if (prefetcher != null && size <= bufferSize && reserve(size)) {
+            InputStream is = source.call();
+            Future<byte[]> content = prefetcher.submit(() -> {
+                try (InputStream in = is) {
+                    return in.readAllBytes();
+                }
+            });
+            currentItem.add(new Entry(name, size, null, is, content, null));
+        } else {
+            currentItem.add(new Entry(name, size, null, null, null, source));
+        }
+    }
+
+    /**
+     * Complete the current item. The oldest pending items are written once more items are pending than there are
+     * prefetch threads.
+     *
+     * @throws Exception if an item cannot be written
+     */
+    public void endItem() throws Exception {
+        pendingItems.add(currentItem);
+        currentItem = new ArrayList<>();
+        while (pendingItems.size() > maxPendingItems) {
+            writeItem(pendingItems.poll());
+        }
+    }
+
+    /**
+     * Write all pending items and complete the zip file.
+     *
+     * @return the volumes written, in order
+     * @throws Exception if an item cannot be written
+     */
+    public List<File> finish() throws Exception {
+        if (!currentItem.isEmpty()) {
+            endItem();
+        }
+        while (!pendingItems.isEmpty()) {
+            writeItem(pendingItems.poll());
+        }
+        if (zip == null) {
+            // always create the zip file, even if there was nothing to export
+            openVolume();
+        }
+        closeVolume();
+        return volumes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (prefetcher != null) {
+            prefetcher.shutdownNow();
+        }
+        // release the streams of the bitstreams that were not written
+        pendingItems.add(currentItem);
+        for (List<Entry> item : pendingItems) {
+            for (Entry entry : item) {
+                if (entry.content != null) {
+                    entry.content.cancel(true);
+                    IOUtils.closeQuietly(entry.stream);
+                }
+            }
+        }
+        pendingItems.clear();
+        currentItem = new ArrayList<>();
+        if (zip != null) {
+            zip.close();
+            zip = null;
+            if (!volumeFile.delete()) {
+                throw new IOException("Unable to delete incomplete zip file " + volumeFile);
+            }
+        }
+    }
+
+    /**
+     * Reserve buffer memory for a bitstream, writing pending items to release memory if needed.
+     *
+     * @param size the size of the bitstream
+     * @return true if the memory was reserved
+     * @throws Exception if an item cannot be written
+     */
+    protected boolean reserve(long size) throws Exception {
+        while (bufferedBytes + size > bufferSize && !pendingItems.isEmpty()) {
+            writeItem(pendingItems.poll());
+        }
+        if (bufferedBytes + size > bufferSize) {
+            return false;
+        }
+        bufferedBytes += size;
+        return true;
+    }
+
+    protected void writeItem(List<Entry> item) throws Exception {
+        long itemSize = 0;
+        for (Entry entry : item) {
+            itemSize += entry.size;
+        }
+        if (zip == null) {
+            openVolume();
+        } else if (volumeSize > 0 && volumeEntries > 0 && volumeFile.length() + itemSize > volumeSize) {
+            closeVolume();
+            openVolume();
+        }
+
+        for (Entry entry : item) {
+            zip.putNextEntry(new ZipEntry(entry.name));
+            if (entry.data != null) {
+                zip.write(entry.data);
+            } else if (entry.content != null) {
+                byte[] data;
+                try {
+                    data = entry.content.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+                zip.write(data);
+                bufferedBytes -= entry.size;
+            } else {
+                try (InputStream is = entry.source.call()) {
+                    Utils.bufferedCopy(is, zip);
+                }
+            }
+            zip.closeEntry();
+            volumeEntries++;
+        }
+    }
+
+    protected void openVolume() throws IOException {
+        File volume = target;
+        if (!volumes.isEmpty()) {
+            String extension = FilenameUtils.getExtension(target.getName());
+            volume = new File(target.getParentFile(), FilenameUtils.getBaseName(target.getName()) + "_"
+                + (volumes.size() + 1) + (extension.isEmpty() ? "" : "." + extension));
+        }
+        volumes.add(volume);
+        volumeFile = new File(volume.getPath() + "_tmp");
+        zip = new ZipOutputStream(new FileOutputStream(volumeFile));
+        zip.setLevel(9);
+        volumeEntries = 0;
+    }
+
+    protected void closeVolume() throws IOException {
+        zip.finish();
+        zip.close();
+        zip = null;
+        File volume = volumes.get(volumes.size() - 1);
+        if (!volumeFile.renameTo(volume)) {
+            throw new IOException("Unable to rename " + volumeFile + " to " + volume);
+        }
+    }
+
+    /**
+     * An entry of an item, with its content either in memory, being prefetched or to be opened when written.
+     */
+    protected static class Entry {
+        private final String name;
+        private final long size;
+        private final byte[] data;
+        private final InputStream stream;
+        private final Future<byte[]> content;
+        private final Callable<InputStream> source;
+
+        Entry(String name, long size, byte[] data, InputStream stream, Future<byte[]> content,
+              Callable<InputStream> source) {
+            this.name = name;
+            this.size = size;
+            this.data = data;
+            this.stream = stream;
+            this.content = content;
+            this.source = source;
+        }
+    }
+}
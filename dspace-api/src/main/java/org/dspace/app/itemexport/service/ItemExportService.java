@@ -7,6 +7,7 @@
  */
 package org.dspace.app.itemexport.service;
 
+import java.io.File;
 import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.Iterator;
@@ -68,6 +69,28 @@ public interface ItemExportService {
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception;
 
+    /**
+     * Method to perform an export and save it as a zip file, optionally split
+     * into volumes. The items are written straight into the zip file, without
+     * a working directory. Items are never split across volumes, so every
+     * volume can be imported on its own.
+     *
+     * @param context           The DSpace Context
+     * @param items             The items to export
+     * @param destDirName       The directory to save the export in
+     * @param zipFileName       The name to save the (first) zip file as
+     * @param seqStart          The first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @param volumeSize        The maximum size of a volume in bytes, 0 for a single zip file
+     * @return the zip files written
+     * @throws Exception if error
+     */
+    public List<File> exportAsZip(Context context, Iterator<Item> items,
+                                  String destDirName, String zipFileName,
+                                  int seqStart, boolean migrate,
+                                  boolean excludeBitstreams, long volumeSize) throws Exception;
+
     /**
      * Convenience method to create export a single Community, Collection, or
      * Item
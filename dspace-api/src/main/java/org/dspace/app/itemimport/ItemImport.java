@@ -76,6 +76,7 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
     protected boolean useWorkflow = false;
     protected boolean useWorkflowSendEmail = false;
     protected boolean isQuiet = false;
+    protected int threads = 1;
     protected boolean commandLineCollections = false;
     protected boolean zip = false;
     protected boolean remoteUrl = false;
@@ -148,6 +149,8 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             isQuiet = true;
         }
 
+        threads = getPositiveIntOption("t", threads, "number of threads");
+
         setZip();
     }
 
@@ -218,6 +221,7 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             itemImportService.setUseWorkflow(useWorkflow);
             itemImportService.setUseWorkflowSendEmail(useWorkflowSendEmail);
             itemImportService.setQuiet(isQuiet);
+            itemImportService.setThreads(threads);
             itemImportService.setHandler(handler);
 
             try {
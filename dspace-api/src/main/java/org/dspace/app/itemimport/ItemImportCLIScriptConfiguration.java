@@ -67,6 +67,10 @@ public class ItemImportCLIScriptConfiguration extends ItemImportScriptConfigurat
         options.addOption(Option.builder("R").longOpt("resume")
                 .desc("resume a failed import (add only)")
                 .hasArg(false).required(false).build());
+        options.addOption(Option.builder("t").longOpt("threads")
+                .desc("number of threads importing items in parallel, each with its own database connection; "
+                    + "items are committed in batches (default 1)")
+                .hasArg().required(false).build());
         options.addOption(Option.builder("q").longOpt("quiet")
                 .desc("don't display metadata")
                 .hasArg(false).required(false).build());
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.URL;
 import java.nio.file.Path;
 import java.sql.SQLException;
@@ -46,6 +47,7 @@ import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.xml.parsers.DocumentBuilder;
@@ -64,6 +66,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.itemimport.service.ItemImportService;
@@ -101,6 +104,7 @@ import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
 import org.dspace.core.Email;
 import org.dspace.core.I18nUtil;
 import org.dspace.core.LogHelper;
@@ -192,6 +196,7 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     protected boolean useWorkflow = false;
     protected boolean useWorkflowSendEmail = false;
     protected boolean isQuiet = false;
+    protected int threads = 1;
 
     //remember which folder item was imported from
     Map<String, Item> itemFolderMap = null;
@@ -259,11 +264,6 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
             logDebug("Adding items from directory: " + sourceDir);
             logDebug("Generating mapfile: " + mapFile);
 
-            boolean directoryFileCollections = false;
-            if (mycollections == null) {
-                directoryFileCollections = true;
-            }
-
             if (!isTest) {
                 // get the directory names of items to skip (will be in keys of
                 // hash)
@@ -287,40 +287,31 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
             Arrays.sort(dircontents, ComparatorUtils.naturalComparator());
 
-            for (int i = 0; i < dircontents.length; i++) {
-                if (skipItems.containsKey(dircontents[i])) {
-                    logInfo("Skipping import of " + dircontents[i]);
+            if (threads > 1) {
+                addItemsInParallel(c, mycollections, sourceDir, dircontents, skipItems, mapOut, template);
+            } else {
+                for (int i = 0; i < dircontents.length; i++) {
+                    if (skipItems.containsKey(dircontents[i])) {
+                        logInfo("Skipping import of " + dircontents[i]);
 
-                    //we still need the item in the map for relationship linking
-                    String skippedHandle = skipItems.get(dircontents[i]);
-                    Item skippedItem = (Item) handleService.resolveToObject(c, skippedHandle);
-                    itemFolderMap.put(dircontents[i], skippedItem);
+                        //we still need the item in the map for relationship linking
+                        String skippedHandle = skipItems.get(dircontents[i]);
+                        Item skippedItem = (Item) handleService.resolveToObject(c, skippedHandle);
+                        itemFolderMap.put(dircontents[i], skippedItem);
 
-                } else {
-                    List<Collection> clist;
-                    if (directoryFileCollections) {
-                        String path = sourceDir + File.separatorChar + dircontents[i];
-                        try {
-                            List<Collection> cols = processCollectionFile(c, path, "collections");
-                            if (cols == null) {
-                                logError("No collections specified for item " + dircontents[i] + ". Skipping.");
-                                continue;
-                            }
-                            clist = cols;
-                        } catch (IllegalArgumentException e) {
-                            logError(e.getMessage() + " Skipping.");
+                    } else {
+                        List<Collection> clist = getItemCollections(c, mycollections, sourceDir, dircontents[i]);
+                        if (clist == null) {
                             continue;
                         }
-                    } else {
-                        clist = mycollections;
-                    }
 
-                    Item item = addItem(c, clist, sourceDir, dircontents[i], mapOut, template);
+                        Item item = addItem(c, clist, sourceDir, dircontents[i], mapOut, template);
 
-                    itemFolderMap.put(dircontents[i], item);
+                        itemFolderMap.put(dircontents[i], item);
 
-                    c.uncacheEntity(item);
-                    logInfo(i + " " + dircontents[i]);
+                        c.uncacheEntity(item);
+                        logInfo(i + " " + dircontents[i]);
+                    }
                 }
             }
 
@@ -335,6 +326,217 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     }
 
+    /**
+     * Get the collections an item is imported into: the given collections, or the collections listed in the
+     * 'collections' file of the item.
+     *
+     * @param c             DSpace Context
+     * @param mycollections the collections given for all items, null to read the 'collections' file
+     * @param sourceDir     the import source directory
+     * @param itemname      the directory of the item
+     * @return the collections, or null if the item should be skipped
+     * @throws Exception if error occurs
+     */
+    protected List<Collection> getItemCollections(Context c, List<Collection> mycollections, String sourceDir,
+                                                  String itemname) throws Exception {
+        if (mycollections != null) {
+            return mycollections;
+        }
+        String path = sourceDir + File.separatorChar + itemname;
+        try {
+            List<Collection> cols = processCollectionFile(c, path, "collections");
+            if (cols == null) {
+                logError("No collections specified for item " + itemname + ". Skipping.");
+            }
+            return cols;
+        } catch (IllegalArgumentException e) {
+            logError(e.getMessage() + " Skipping.");
+            return null;
+        }
+    }
+
+    /**
+     * Import the items on several worker threads. Every worker has its own context, acting as the same user as the
+     * given context, and commits its items in batches of {@code org.dspace.app.batchitemimport.batch.size}. While one
+     * worker stores bitstreams, the others can work on the database.
+     * <p>
+     * The lines of the mapfile are written once the items are committed, in the order of the item directories, so an
+     * interrupted import can be resumed. When a worker fails the remaining items are skipped and the uncommitted items
+     * of all workers are rolled back; the mapfile lists exactly the items that were imported.
+     *
+     * @param c             DSpace Context
+     * @param mycollections the collections given for all items, null to read the 'collections' files
+     * @param sourceDir     the import source directory
+     * @param dircontents   the sorted directories of the items
+     * @param skipItems     the directories and handles of the items imported before, when resuming
+     * @param mapOut        the mapfile, null in test mode
+     * @param template      whether to use collection template item as starting point
+     * @throws Exception if error occurs
+     */
+    protected void addItemsInParallel(Context c, List<Collection> mycollections, String sourceDir,
+                                      String[] dircontents, Map<String, String> skipItems, PrintWriter mapOut,
+                                      boolean template) throws Exception {
+        int batchSize = configurationService.getIntProperty("org.dspace.app.batchitemimport.batch.size", 20);
+        UUID userId = c.getCurrentUser() != null ? c.getCurrentUser().getID() : null;
+        boolean ignoreAuthorization = c.ignoreAuthorization();
+        List<UUID> collectionIds = null;
+        if (mycollections != null) {
+            collectionIds = new ArrayList<>();
+            for (Collection collection : mycollections) {
+                collectionIds.add(collection.getID());
+            }
+        }
+        final List<UUID> itemCollectionIds = collectionIds;
+
+        MapfileWriter mapfileWriter = new MapfileWriter(mapOut);
+        Map<String, UUID> importedItems = new ConcurrentHashMap<>();
+        // the items of every worker that are not committed yet
+        List<List<Pair<Integer, String>>> uncommitted = new ArrayList<>();
+
+        logInfo("Importing items on " + threads + " threads");
+        ContextWorkerPool<Integer> pool = new ContextWorkerPool<>("item-import", threads, () -> {
+            Context workerContext = new Context(Context.Mode.BATCH_EDIT);
+            if (userId != null) {
+                workerContext.setCurrentUser(ePersonService.find(workerContext, userId));
+            }
+            if (ignoreAuthorization) {
+                workerContext.turnOffAuthorisationSystem();
+            }
+            return workerContext;
+        }, workerContext -> {
+            List<Pair<Integer, String>> batch = new ArrayList<>();
+            synchronized (uncommitted) {
+                uncommitted.add(batch);
+            }
+            List<Collection> workerCollections = null;
+            if (itemCollectionIds != null) {
+                workerCollections = new ArrayList<>();
+                for (UUID collectionId : itemCollectionIds) {
+                    workerCollections.add(collectionService.find(workerContext, collectionId));
+                }
+            }
+            final List<Collection> collections = workerCollections;
+            return i -> {
+                String itemname = dircontents[i];
+                List<Collection> clist = getItemCollections(workerContext, collections, sourceDir, itemname);
+                if (clist == null) {
+                    mapfileWriter.add(i, null);
+                    return;
+                }
+                StringWriter mapLine = new StringWriter();
+                Item item = addItem(workerContext, clist, sourceDir, itemname,
+                                    mapOut != null ? new PrintWriter(mapLine) : null, template);
+                if (item != null) {
+                    importedItems.put(itemname, item.getID());
+                    workerContext.uncacheEntity(item);
+                }
+                batch.add(Pair.of(i, StringUtils.trimToNull(mapLine.toString())));
+                logInfo(i + " " + itemname);
+                if (batch.size() >= batchSize) {
+                    workerContext.commit();
+                    mapfileWriter.addAll(batch);
+                    batch.clear();
+                }
+            };
+        });
+
+        boolean completed = false;
+        try {
+            for (int i = 0; i < dircontents.length && !pool.hasFailed(); i++) {
+                if (skipItems.containsKey(dircontents[i])) {
+                    logInfo("Skipping import of " + dircontents[i]);
+
+                    //we still need the item in the map for relationship linking
+                    String skippedHandle = skipItems.get(dircontents[i]);
+                    Item skippedItem = (Item) handleService.resolveToObject(c, skippedHandle);
+                    itemFolderMap.put(dircontents[i], skippedItem);
+                    mapfileWriter.add(i, null);
+                } else {
+                    pool.submit(i);
+                }
+            }
+            pool.awaitCompletion();
+            completed = true;
+        } catch (Exception e) {
+            pool.fail(e);
+            throw e;
+        } finally {
+            // the workers commit their last batches, or roll them back if the import failed
+            pool.close();
+            if (completed) {
+                for (List<Pair<Integer, String>> batch : uncommitted) {
+                    mapfileWriter.addAll(batch);
+                }
+            }
+            mapfileWriter.close();
+        }
+
+        //we still need the items in the map for relationship linking
+        for (Map.Entry<String, UUID> importedItem : importedItems.entrySet()) {
+            itemFolderMap.put(importedItem.getKey(), itemService.find(c, importedItem.getValue()));
+        }
+    }
+
+    /**
+     * Writes the lines of the mapfile in the order of the item directories, while the items are imported in any
+     * order.
+     */
+    protected static class MapfileWriter {
+        private final PrintWriter mapOut;
+        private final Map<Integer, String> pending = new TreeMap<>();
+        private int next = 0;
+
+        public MapfileWriter(PrintWriter mapOut) {
+            this.mapOut = mapOut;
+        }
+
+        /**
+         * @param index the index of the item directory
+         * @param line  the line of the item, null if the item has no line
+         */
+        public synchronized void add(int index, String line) {
+            pending.put(index, line);
+            Iterator<Map.Entry<Integer, String>> lines = pending.entrySet().iterator();
+            while (lines.hasNext()) {
+                Map.Entry<Integer, String> entry = lines.next();
+                if (entry.getKey() != next) {
+                    break;
+                }
+                write(entry.getValue());
+                lines.remove();
+                next++;
+            }
+            if (mapOut != null) {
+                mapOut.flush();
+            }
+        }
+
+        public synchronized void addAll(List<Pair<Integer, String>> lines) {
+            for (Pair<Integer, String> line : lines) {
+                add(line.getLeft(), line.getRight());
+            }
+        }
+
+        /**
+         * Write the lines still waiting for lines of earlier items, which were not imported.
+         */
+        public synchronized void close() {
+            for (String line : pending.values()) {
+                write(line);
+            }
+            pending.clear();
+            if (mapOut != null) {
+                mapOut.flush();
+            }
+        }
+
+        private void write(String line) {
+            if (mapOut != null && line != null) {
+                mapOut.println(line);
+            }
+        }
+    }
+
      /**
       * Add relationships from a 'relationships' manifest file.
       * 
@@ -2417,6 +2619,11 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         this.isQuiet = isQuiet;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     @Override
     public void setHandler(DSpaceRunnableHandler handler) {
         this.handler = handler;
@@ -244,6 +244,15 @@ public interface ItemImportService {
      */
     public void setQuiet(boolean isQuiet);
 
+    /**
+     * Set the number of threads importing items in parallel, each with its
+     * own database connection. With more than one thread the items are
+     * committed in batches while they are imported.
+     *
+     * @param threads the number of threads
+     */
+    public void setThreads(int threads);
+
     /**
      * Set the DSpace Runnable Handler
      * @param handler
@@ -21,6 +21,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.util.XMLUtils;
 import org.dspace.core.Context;
+import org.dspace.core.MailOutbox;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.DSpaceRunnable.StepResult;
 import org.dspace.scripts.configuration.ScriptConfiguration;
@@ -84,6 +85,9 @@ public class ScriptLauncher {
             throw new IllegalStateException(message, e);
         }
 
+        // Leave the sending of queued mail to the webapp, unless configured otherwise
+        MailOutbox.setCommandLine(true);
+
         // Load up the ScriptLauncher's configuration
         Document commandConfigs = getConfig();
 
@@ -36,6 +36,8 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.addOption("i", "identifier", true,
             "ONLY process bitstreams belonging to the provided handle identifier");
         options.addOption("m", "maximum", true, "process no more than maximum items");
+        options.addOption("t", "threads", true,
+            "number of threads filtering items in parallel, each with its own database connection (default 1)");
         options.addOption("h", "help", false, "help");
 
         Option pluginOption = Option.builder("p")
@@ -17,6 +17,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.Strings;
@@ -38,8 +42,11 @@ import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
 import org.dspace.core.SelfNamedPlugin;
+import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
@@ -55,8 +62,17 @@ import org.springframework.beans.factory.annotation.Autowired;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; and -m [max] limits processing to a
  * maximum number of items.
+ * <p>
+ * When more than one thread is configured, items are found on the calling thread and filtered by a pool of worker
+ * threads, each with its own context. The number of bitstreams a single filter works on at the same time can be
+ * limited with {@code filter.<class-name>[.<plugin-name>].concurrency}, e.g. for memory hungry ImageMagick filters.
  */
 public class MediaFilterServiceImpl implements MediaFilterService, InitializingBean {
+    /**
+     * Marks filters without a concurrency limit in {@link #filterPermits}.
+     */
+    private static final Semaphore NO_LIMIT = new Semaphore(0);
+
     @Autowired(required = true)
     protected AuthorizeService authorizeService;
     @Autowired(required = true)
@@ -74,15 +90,23 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Autowired(required = true)
     protected ItemService itemService;
     @Autowired(required = true)
+    protected EPersonService ePersonService;
+    @Autowired(required = true)
     protected ConfigurationService configurationService;
 
     protected DSpaceRunnableHandler handler;
 
     protected int max2Process = Integer.MAX_VALUE;  // maximum number items to process
 
-    protected int processed = 0;   // number items processed
+    protected AtomicInteger processed = new AtomicInteger();   // number items processed
+
+    protected ThreadLocal<Item> currentItem = new ThreadLocal<>();   // current item being processed by this thread
 
-    protected Item currentItem = null;   // current item being processed
+    protected int threads = 1;   // number of threads filtering items
+
+    protected ContextWorkerPool<UUID> itemPool = null;   // workers filtering items, if more than one thread
+
+    protected final Map<String, Semaphore> filterPermits = new ConcurrentHashMap<>();
 
     protected List<FormatFilter> filterClasses = null;
 
@@ -115,13 +139,32 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersAllItems(Context context) throws Exception {
+        runWithWorkers(context, () -> findAllItems(context));
+    }
+
+    @Override
+    public void applyFiltersCommunity(Context context, Community community) throws Exception {
+        runWithWorkers(context, () -> findCommunityItems(context, community));
+    }
+
+    @Override
+    public void applyFiltersCollection(Context context, Collection collection) throws Exception {
+        runWithWorkers(context, () -> findCollectionItems(context, collection));
+    }
+
+    @Override
+    public void applyFiltersItem(Context c, Item item) throws Exception {
+        runWithWorkers(c, () -> applyOrSubmitItem(c, item));
+    }
+
+    protected void findAllItems(Context context) throws Exception {
         if (skipList != null) {
             //if a skip-list exists, we need to filter community-by-community
             //so we can respect what is in the skip-list
             List<Community> topLevelCommunities = communityService.findAllTop(context);
 
             for (Community topLevelCommunity : topLevelCommunities) {
-                applyFiltersCommunity(context, topLevelCommunity);
+                findCommunityItems(context, topLevelCommunity);
             }
         } else if (fromDate != null) {
             Iterator<Item> itemIterator =
@@ -129,20 +172,19 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             context,
                             fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant()
                     );
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+            while (itemIterator.hasNext() && processed.get() < max2Process) {
+                applyOrSubmitItem(context, itemIterator.next());
             }
         } else {
             //otherwise, just find every item and process
             Iterator<Item> itemIterator = itemService.findAll(context);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+            while (itemIterator.hasNext() && processed.get() < max2Process) {
+                applyOrSubmitItem(context, itemIterator.next());
             }
         }
     }
 
-    @Override
-    public void applyFiltersCommunity(Context context, Community community)
+    protected void findCommunityItems(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
         // ensure that the community is attached to the current hibernate session
         // as we are committing after each item (handles, sub-communties and
@@ -151,20 +193,19 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         if (!inSkipList(community.getHandle())) {
             List<Community> subcommunities = community.getSubcommunities();
             for (Community subcommunity : subcommunities) {
-                applyFiltersCommunity(context, subcommunity);
+                findCommunityItems(context, subcommunity);
             }
             // ensure that the community is attached to the current hibernate session
             // as we are committing after each item
             community = context.reloadEntity(community);
             List<Collection> collections = community.getCollections();
             for (Collection collection : collections) {
-                applyFiltersCollection(context, collection);
+                findCollectionItems(context, collection);
             }
         }
     }
 
-    @Override
-    public void applyFiltersCollection(Context context, Collection collection)
+    protected void findCollectionItems(Context context, Collection collection)
         throws Exception {
         // ensure that the collection is attached to the current hibernate session
         // as we are committing after each item (handles are lazy attributes)
@@ -172,32 +213,116 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         //only apply filters if collection not in skip-list
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+            while (itemIterator.hasNext() && processed.get() < max2Process) {
+                applyOrSubmitItem(context, itemIterator.next());
             }
         }
     }
 
-    @Override
-    public void applyFiltersItem(Context c, Item item) throws Exception {
+    /**
+     * Filter the item on this thread, or hand it to the workers if there are any.
+     *
+     * @param c    the context of the calling thread
+     * @param item the item
+     * @throws Exception if error
+     */
+    protected void applyOrSubmitItem(Context c, Item item) throws Exception {
         //only apply filters if item not in skip-list
         if (!inSkipList(item.getHandle())) {
-            //cache this item in MediaFilterManager
-            //so it can be accessed by MediaFilters as necessary
-            currentItem = item;
+            if (itemPool != null) {
+                if (itemPool.hasFailed()) {
+                    return;
+                }
+                itemPool.submit(item.getID());
+                c.uncacheEntity(item);
+            } else {
+                filterAndCommitItem(c, item);
+            }
+        }
+    }
 
+    /**
+     * Filter the item and commit the result.
+     *
+     * @param c    the context
+     * @param item the item
+     * @throws Exception if error
+     */
+    protected void filterAndCommitItem(Context c, Item item) throws Exception {
+        //cache this item in MediaFilterManager
+        //so it can be accessed by MediaFilters as necessary
+        currentItem.set(item);
+        try {
             if (filterItem(c, item)) {
                 // increment processed count
-                ++processed;
+                processed.incrementAndGet();
             }
             // clear item objects from context cache and internal cache
-            c.uncacheEntity(currentItem);
+            c.uncacheEntity(item);
             // commit after each item to release DB resources
             c.commit();
-            currentItem = null;
+        } finally {
+            currentItem.remove();
         }
     }
 
+    /**
+     * Run the given item discovery. With more than one thread, a pool of workers is started for the duration of the
+     * run, and this method returns once all items handed to it have been filtered.
+     *
+     * @param context   the context of the calling thread
+     * @param discovery finds the items and calls {@link #applyOrSubmitItem(Context, Item)} for each of them
+     * @throws Exception if error
+     */
+    protected void runWithWorkers(Context context, ItemDiscovery discovery) throws Exception {
+        if (threads <= 1 || itemPool != null) {
+            discovery.run();
+            return;
+        }
+        itemPool = createItemPool(context);
+        try {
+            discovery.run();
+            itemPool.awaitCompletion();
+        } catch (Exception e) {
+            itemPool.fail(e);
+            throw e;
+        } finally {
+            itemPool.close();
+            itemPool = null;
+        }
+    }
+
+    /**
+     * Create the workers filtering items. Every worker has its own context, acting as the same user as the given
+     * context.
+     *
+     * @param context the context of the calling thread
+     * @return the pool of workers
+     */
+    protected ContextWorkerPool<UUID> createItemPool(Context context) {
+        UUID userId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        boolean ignoreAuthorization = context.ignoreAuthorization();
+        return new ContextWorkerPool<>("filter-media", threads, () -> {
+            Context workerContext = new Context();
+            if (userId != null) {
+                EPerson user = ePersonService.find(workerContext, userId);
+                workerContext.setCurrentUser(user);
+            }
+            if (ignoreAuthorization) {
+                workerContext.turnOffAuthorisationSystem();
+            }
+            return workerContext;
+        }, workerContext -> itemId -> {
+            if (processed.get() >= max2Process) {
+                return;
+            }
+            Item item = itemService.find(workerContext, itemId);
+            if (item != null) {
+                filterAndCommitItem(workerContext, item);
+            }
+        });
+    }
+
     @Override
     public boolean filterItem(Context context, Item myItem) throws Exception {
         // get 'original' bundles
@@ -238,13 +363,14 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             //  <class-name><separator><plugin-name>
             //For other MediaFilters, map key is just:
             //  <class-name>
-            List<String> fmts = filterFormats.get(filterClass.getClass().getName() +
-                                                      (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : ""));
+            String filterKey = filterClass.getClass().getName() +
+                (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : "");
+            List<String> fmts = filterFormats.get(filterKey);
 
             if (fmts.contains(myBitstream.getFormat(context).getShortDescription())) {
                 try {
                     // only update item if bitstream not skipped
-                    if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                    if (processBitstreamWithPermit(context, myItem, myBitstream, filterClass, filterKey)) {
                         itemService.update(context, myItem); // Make sure new bitstream has a sequence
                         // number
                         filtered = true;
@@ -299,7 +425,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 if (applyFilter) {
                     try {
                         // only update item if bitstream not skipped
-                        if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                        if (processBitstreamWithPermit(context, myItem, myBitstream, filterClass, filterKey)) {
                             itemService.update(context, myItem); // Make sure new bitstream has a sequence
                             // number
                             filtered = true;
@@ -315,6 +441,42 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return filtered;
     }
 
+    /**
+     * Process the bitstream once the filter allows another concurrent run, see {@link #getFilterPermits(String)}.
+     */
+    protected boolean processBitstreamWithPermit(Context context, Item item, Bitstream source,
+                                                 FormatFilter formatFilter, String filterKey) throws Exception {
+        Semaphore permits = getFilterPermits(filterKey);
+        if (permits == null) {
+            return processBitstream(context, item, source, formatFilter);
+        }
+        permits.acquire();
+        try {
+            return processBitstream(context, item, source, formatFilter);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Get the permits limiting how many bitstreams a filter may process at the same time, as configured by
+     * {@code filter.<class-name>[.<plugin-name>].concurrency}.
+     *
+     * @param filterKey the class name of the filter, followed by the plugin name for SelfNamedPlugins
+     * @return the permits, or null if the filter is not limited
+     */
+    protected Semaphore getFilterPermits(String filterKey) {
+        if (threads <= 1) {
+            return null;
+        }
+        Semaphore permits = filterPermits.computeIfAbsent(filterKey, key -> {
+            int concurrency = configurationService.getIntProperty(
+                "filter." + key.replace(FILTER_PLUGIN_SEPARATOR, ".") + ".concurrency", 0);
+            return concurrency > 0 && concurrency < threads ? new Semaphore(concurrency, true) : NO_LIMIT;
+        });
+        return permits == NO_LIMIT ? null : permits;
+    }
+
     @Override
     public boolean processBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
         throws Exception {
@@ -493,7 +655,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public Item getCurrentItem() {
-        return currentItem;
+        return currentItem.get();
     }
 
     @Override
@@ -576,6 +738,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         this.isForce = isForce;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
     @Override
     public void setMax2Process(int max2Process) {
         this.max2Process = max2Process;
@@ -605,4 +772,12 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    /**
+     * Finds the items to filter.
+     */
+    @FunctionalInterface
+    protected interface ItemDiscovery {
+        void run() throws Exception;
+    }
 }
@@ -139,6 +139,13 @@ public interface MediaFilterService {
 
     public void setMax2Process(int max2Process);
 
+    /**
+     * Set the number of threads filtering items in parallel. Each thread uses its own context.
+     *
+     * @param threads the number of threads, 1 to filter all items on the calling thread
+     */
+    public void setThreads(int threads);
+
     public void setFilterClasses(List<FormatFilter> filterClasses);
 
     public void setSkipList(List<String> skipList);
@@ -106,6 +106,8 @@ import org.dspace.workflow.WorkflowException;
  *       -i {identifier-handle-of-object}
  *       [-a] --- also recursively disseminate all child objects of this object
  *       [-o {name}={value} [ -o {name}={value} ..]]
+ *              --- e.g. "-a -o threads=4 -o checkpoint={file}" writes the Item packages on 4 threads,
+ *                  and skips the packages of unchanged Items written by a previous (or interrupted) run
  *       {package-filename}
  *
  *   The &quot;-d&quot; switch chooses a Dissemination packager, and is required.
@@ -14,9 +14,15 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.Logger;
@@ -24,14 +30,16 @@ import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
-import org.dspace.discovery.IndexableObject;
+import org.dspace.core.ContextWorkerPool;
 import org.dspace.discovery.IndexingService;
-import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.discovery.indexobject.IndexableItem;
-import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -51,9 +59,13 @@ public class SolrDatabaseResyncCli extends DSpaceRunnable<SolrDatabaseResyncCliS
 
     private IndexingService indexingService;
     private SolrSearchCore solrSearchCore;
-    private IndexObjectFactoryFactory indexObjectServiceFactory;
+    private ItemService itemService;
     private ConfigurationService configurationService;
 
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+
     private int timeUntilReindex = 0;
     private String maxTime;
 
@@ -75,7 +87,7 @@ public class SolrDatabaseResyncCli extends DSpaceRunnable<SolrDatabaseResyncCliS
                             .getServiceByName(IndexingService.class.getName(), IndexingService.class);
         solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
                             .getServicesByType(SolrSearchCore.class).get(0);
-        indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
+        itemService = ContentServiceFactory.getInstance().getItemService();
         configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
     }
 
@@ -97,7 +109,12 @@ public class SolrDatabaseResyncCli extends DSpaceRunnable<SolrDatabaseResyncCliS
         }
     }
 
-    private void performStatusUpdate(Context context) throws SearchServiceException, SolrServerException, IOException {
+    /**
+     * Process the documents with "predb" status in pages, iterating over them with a cursor so that documents
+     * updated or removed meanwhile do not shift the following pages. With more than one thread configured, the pages
+     * are processed by workers with their own contexts. All changes are committed to Solr once, at the end.
+     */
+    private void performStatusUpdate(Context context) throws Exception {
         SolrQuery solrQuery = new SolrQuery();
         solrQuery.setQuery("*:*");
         solrQuery.addFilterQuery(STATUS_FIELD + ":" + STATUS_FIELD_PREDB);
@@ -107,64 +124,127 @@ public class SolrDatabaseResyncCli extends DSpaceRunnable<SolrDatabaseResyncCliS
         solrQuery.addFilterQuery(dateRangeFilter);
         solrQuery.addField(SearchUtils.RESOURCE_ID_FIELD);
         solrQuery.addField(SearchUtils.RESOURCE_UNIQUE_ID);
-        solrQuery.setRows(0);
-        QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
-        if (response != null && response.getResults() != null) {
-            long nrOfPreDBResults = response.getResults().getNumFound();
-            if (nrOfPreDBResults > 0) {
-                logInfoAndOut(nrOfPreDBResults + " items found to process");
-                int batchSize = configurationService.getIntProperty("script.solr-database-resync.batch-size", 100);
-                for (int start = 0; start < nrOfPreDBResults; start += batchSize) {
-                    solrQuery.setStart(start);
-                    solrQuery.setRows(batchSize);
-                    performStatusUpdateOnNextBatch(context, solrQuery);
+        solrQuery.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        solrQuery.setRows(configurationService.getIntProperty("script.solr-database-resync.batch-size", 100));
+        int threads = configurationService.getIntProperty("script.solr-database-resync.threads", 1);
+
+        ContextWorkerPool<SolrDocumentList> pool = threads > 1 ? createPool(threads) : null;
+        try {
+            long nrOfPreDBResults = -1;
+            String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            while (pool == null || !pool.hasFailed()) {
+                solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+                QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+                if (response == null || response.getResults() == null) {
+                    break;
+                }
+                if (nrOfPreDBResults < 0) {
+                    nrOfPreDBResults = response.getResults().getNumFound();
+                    if (nrOfPreDBResults == 0) {
+                        break;
+                    }
+                    logInfoAndOut(nrOfPreDBResults + " items found to process");
+                }
+                if (!response.getResults().isEmpty()) {
+                    if (pool != null) {
+                        pool.submit(response.getResults());
+                    } else {
+                        performStatusUpdateOnNextBatch(context, response.getResults());
+                    }
+                    logInfoAndOut(processed.get() + " of " + nrOfPreDBResults + " items processed");
+                }
+                String nextCursorMark = response.getNextCursorMark();
+                if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+                    break;
                 }
+                cursorMark = nextCursorMark;
+            }
+            if (pool != null) {
+                pool.awaitCompletion();
+            }
+        } catch (Exception e) {
+            if (pool != null) {
+                pool.fail(e);
+            }
+            throw e;
+        } finally {
+            if (pool != null) {
+                pool.close();
             }
         }
 
         indexingService.commit();
+        logInfoAndOut(processed.get() + " items processed: " + updated.get() + " updated, " + removed.get()
+                          + " removed from solr");
     }
 
-    private void performStatusUpdateOnNextBatch(Context context, SolrQuery solrQuery)
-            throws SolrServerException, IOException {
-        QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+    /**
+     * Create the workers processing the pages of documents, every worker using its own context.
+     *
+     * @param threads the number of workers
+     * @return the pool of workers
+     */
+    private ContextWorkerPool<SolrDocumentList> createPool(int threads) {
+        return new ContextWorkerPool<>("solr-database-resync", threads, () -> {
+            Context workerContext = new Context(Context.Mode.READ_ONLY);
+            workerContext.turnOffAuthorisationSystem();
+            return workerContext;
+        }, workerContext -> page -> performStatusUpdateOnNextBatch(workerContext, page));
+    }
 
-        for (SolrDocument doc : response.getResults()) {
+    /**
+     * Look up which items of a page of documents still exist in a single query, then remove the "predb" status of
+     * their documents and remove the documents of the other items, each in a single request.
+     */
+    private void performStatusUpdateOnNextBatch(Context context, SolrDocumentList documents)
+            throws SolrServerException, IOException {
+        Map<UUID, String> uniqueIds = new LinkedHashMap<>();
+        List<String> toRemove = new ArrayList<>();
+        for (SolrDocument doc : documents) {
             String uuid = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
             String uniqueId = (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID);
-            logDebugAndOut("Processing item with UUID: " + uuid);
-
-            Optional<IndexableObject> indexableObject = Optional.empty();
             try {
-                indexableObject = indexObjectServiceFactory
-                        .getIndexableObjectFactory(uniqueId).findIndexableObject(context, uuid);
-            } catch (SQLException e) {
-                log.warn("An exception occurred when attempting to retrieve item with UUID \"" + uuid +
-                        "\" from the database, removing related solr document", e);
+                uniqueIds.put(UUID.fromString(uuid), uniqueId);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                log.warn("Invalid UUID \"" + uuid + "\" of solr document " + uniqueId + ", removing it");
+                toRemove.add(uniqueId);
             }
+        }
 
-            try {
-                if (indexableObject.isPresent()) {
-                    logDebugAndOut("Item exists in DB, updating solr document");
-                    updateItem(context, indexableObject.get());
-                } else {
-                    logDebugAndOut("Item doesn't exist in DB, removing solr document");
-                    removeItem(context, uniqueId);
-                }
-            } catch (SQLException | IOException e) {
-                log.error(e.getMessage(), e);
+        Set<UUID> existingIds = new HashSet<>();
+        try {
+            existingIds.addAll(itemService.findExistingIds(context, new ArrayList<>(uniqueIds.keySet())));
+        } catch (SQLException e) {
+            log.warn("An exception occurred when attempting to retrieve items with UUIDs " + uniqueIds.keySet() +
+                    " from the database, removing related solr documents", e);
+        }
+
+        List<String> toUpdate = new ArrayList<>();
+        for (Map.Entry<UUID, String> entry : uniqueIds.entrySet()) {
+            if (existingIds.contains(entry.getKey())) {
+                toUpdate.add(entry.getValue());
+            } else {
+                toRemove.add(entry.getValue());
             }
         }
+        log.debug("Updating {} solr documents of items existing in DB, removing {} others", toUpdate.size(),
+                  toRemove.size());
+
+        updateItems(context, toUpdate);
+        removeItems(context, toRemove);
+        updated.addAndGet(toUpdate.size());
+        removed.addAndGet(toRemove.size());
+        processed.addAndGet(documents.size());
     }
 
-    private void updateItem(Context context, IndexableObject indexableObject) throws SolrServerException, IOException {
+    private void updateItems(Context context, List<String> uniqueIds) throws SolrServerException, IOException {
         Map<String,Object> fieldModifier = new HashMap<>(1);
         fieldModifier.put("remove", STATUS_FIELD_PREDB);
-        indexingService.atomicUpdate(context, indexableObject.getUniqueIndexID(), STATUS_FIELD, fieldModifier);
+        indexingService.atomicUpdate(context, uniqueIds, STATUS_FIELD, fieldModifier);
     }
 
-    private void removeItem(Context context, String uniqueId) throws IOException, SQLException {
-        indexingService.unIndexContent(context, uniqueId);
+    private void removeItems(Context context, List<String> uniqueIds) throws SolrServerException, IOException {
+        indexingService.unIndexContent(context, uniqueIds);
     }
 
     private String getMaxTime() {
@@ -180,8 +260,12 @@ public class SolrDatabaseResyncCli extends DSpaceRunnable<SolrDatabaseResyncCliS
     }
 
     private void logInfoAndOut(String message) {
-        log.info(message);
-        System.out.println(message);
+        if (handler != null) {
+            handler.logInfo(message);
+        } else {
+            log.info(message);
+            System.out.println(message);
+        }
     }
 
     private void logDebugAndOut(String message) {
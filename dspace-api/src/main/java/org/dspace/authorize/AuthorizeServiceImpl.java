@@ -340,6 +340,14 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                 c.cacheAuthorizedAction(o, action, e, true, null);
                 return true;
             }
+
+            // workflow policies may be granted on the item only, see workflow.policies.item-only
+            if (ignoreCustomPolicies && (o instanceof Bundle || o instanceof Bitstream)
+                && configurationService.getBooleanProperty("workflow.policies.item-only", false)
+                && isAuthorizedByWorkflowItem(c, o, action, e)) {
+                c.cacheAuthorizedAction(o, action, e, true, null);
+                return true;
+            }
         }
         // default authorization is denial
         c.cacheAuthorizedAction(o, action, e, false, null);
@@ -362,6 +370,30 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     }
 
 
+    // check whether the workflow policies of any item in workflow owning the bundle or bitstream grant the action
+    protected boolean isAuthorizedByWorkflowItem(Context ctx, DSpaceObject o, int action, EPerson e)
+        throws SQLException {
+        List<Bundle> bundles = o instanceof Bundle ? Arrays.asList((Bundle) o) : ((Bitstream) o).getBundles();
+        for (Bundle bundle : bundles) {
+            for (Item item : bundle.getItems()) {
+                if (workflowItemService.findByItem(ctx, item) == null) {
+                    continue;
+                }
+                for (ResourcePolicy rp : getPoliciesActionFilter(ctx, item, action)) {
+                    if (!ResourcePolicy.TYPE_WORKFLOW.equals(rp.getRpType())
+                        || !resourcePolicyService.isDateValid(rp)) {
+                        continue;
+                    }
+                    if ((rp.getEPerson() != null && rp.getEPerson().equals(e))
+                        || (rp.getGroup() != null && groupService.isMember(ctx, e, rp.getGroup()))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     ///////////////////////////////////////////////
     // admin check methods
     ///////////////////////////////////////////////
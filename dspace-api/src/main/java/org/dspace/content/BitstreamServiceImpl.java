@@ -393,6 +393,11 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDuplicateInternalIdentifier(context, bitstream);
     }
 
+    @Override
+    public int countAssetReferences(Context context, Bitstream bitstream, Integer storeNumber) throws SQLException {
+        return bitstreamDAO.countAssetReferences(context, bitstream, storeNumber);
+    }
+
     @Override
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException {
         return bitstreamDAO.findByItem(context, item);
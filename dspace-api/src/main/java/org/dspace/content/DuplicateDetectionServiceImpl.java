@@ -11,14 +11,21 @@ import static java.util.Comparator.comparing;
 import static java.util.Comparator.naturalOrder;
 
 import java.sql.SQLException;
+import java.text.Normalizer;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.velocity.exception.ResourceNotFoundException;
 import org.dspace.app.itemupdate.MetadataUtilities;
 import org.dspace.authorize.AuthorizeException;
@@ -33,6 +40,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverResult;
+import org.dspace.discovery.DiscoverResult.SearchDocument;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchServiceException;
@@ -56,6 +64,8 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class DuplicateDetectionServiceImpl implements DuplicateDetectionService {
 
+    private static final Pattern YEAR = Pattern.compile("\\d{4}");
+
     @Autowired
     ConfigurationService configurationService;
     @Autowired
@@ -268,6 +278,10 @@ public class DuplicateDetectionServiceImpl implements DuplicateDetectionService
             throw new IllegalArgumentException("Cannot get duplicates for template item");
         }
 
+        if (isSignatureEnabled()) {
+            return searchDuplicatesBySignature(context, item);
+        }
+
         // Build normalised comparison value
         String comparisonValue = buildComparisonValue(context, item);
 
@@ -302,6 +316,157 @@ public class DuplicateDetectionServiceImpl implements DuplicateDetectionService
 
     }
 
+    /**
+     * Search discovery for the items sharing at least one band of the MinHash signature of the given item, and keep
+     * those whose estimated similarity reaches the threshold, most similar first
+     *
+     * @param context DSpace context
+     * @param item The item to check
+     * @return DiscoverResult with the potential duplicates. Null if the item has no signature.
+     * @throws SearchServiceException if an error was encountered during the discovery search itself.
+     */
+    protected DiscoverResult searchDuplicatesBySignature(Context context, Item item) throws SearchServiceException {
+        DuplicateSignature signature = buildSignature(context, item);
+        if (signature == null) {
+            log.warn("empty item signature, ignoring for duplicate search");
+            return null;
+        }
+        SearchService searchService = SearchUtils.getSearchService();
+
+        // A cheap term query for the candidates sharing a band
+        List<String> bandQueries = new ArrayList<>();
+        for (String term : signature.getBandTerms(getSignatureBands())) {
+            bandQueries.add(SIGNATURE_BAND_FIELD + ":" + searchService.escapeQueryChars(term));
+        }
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("(" + String.join(" OR ", bandQueries) + ")");
+        discoverQuery.addFilterQueries("(search.resourcetype:Item OR " +
+                "search.resourcetype:WorkspaceItem OR " +
+                "search.resourcetype:XmlWorkflowItem OR search.resourcetype:WorkflowItem)");
+        discoverQuery.addFilterQueries("-search.resourceid:" + item.getID());
+        discoverQuery.addSearchField(SIGNATURE_FIELD);
+        discoverQuery.setMaxResults(configurationService.getIntProperty("duplicate.signature.candidates", 100));
+        DiscoverResult candidates = searchService.search(context, discoverQuery);
+
+        // Score the candidates in memory
+        double threshold = getSignatureThreshold();
+        List<Pair<IndexableObject, Double>> duplicates = new ArrayList<>();
+        for (IndexableObject candidate : candidates.getIndexableObjects()) {
+            for (SearchDocument document : candidates.getSearchDocument(candidate)) {
+                List<String> values = document.getSearchFieldValues(SIGNATURE_FIELD);
+                if (!values.isEmpty()) {
+                    double similarity = signature.similarity(DuplicateSignature.decode(values.get(0)));
+                    if (similarity >= threshold) {
+                        duplicates.add(Pair.of(candidate, similarity));
+                    }
+                    break;
+                }
+            }
+        }
+        duplicates.sort(comparing(Pair<IndexableObject, Double>::getRight).reversed());
+
+        DiscoverResult result = new DiscoverResult();
+        for (Pair<IndexableObject, Double> duplicate : duplicates) {
+            result.addIndexableObject(duplicate.getLeft());
+        }
+        result.setStart(0);
+        result.setMaxResults(duplicates.size());
+        result.setTotalSearchResults(duplicates.size());
+        result.setSearchTime(candidates.getSearchTime());
+        return result;
+    }
+
+    @Override
+    public boolean isSignatureEnabled() {
+        return configurationService.getBooleanProperty("duplicate.signature.enable", false);
+    }
+
+    @Override
+    public int getSignatureBands() {
+        return configurationService.getIntProperty("duplicate.signature.bands", 16);
+    }
+
+    @Override
+    public double getSignatureThreshold() {
+        return configurationService.getPropertyAsType("duplicate.signature.threshold", 0.8);
+    }
+
+    @Override
+    public DuplicateSignature buildSignature(Context context, Item item) {
+        Set<String> shingles = new HashSet<>();
+        // Character shingles of the titles
+        int shingleSize = configurationService.getIntProperty("duplicate.signature.shingle.size", 4);
+        for (String field : configurationService.getArrayProperty("duplicate.signature.title.field",
+                new String[]{"dc.title"})) {
+            for (String value : getValues(item, field)) {
+                String title = normaliseSignatureValue(value);
+                if (title.length() <= shingleSize) {
+                    if (!title.isEmpty()) {
+                        shingles.add("t:" + title);
+                    }
+                    continue;
+                }
+                for (int i = 0; i + shingleSize <= title.length(); i++) {
+                    shingles.add("t:" + title.substring(i, i + shingleSize));
+                }
+            }
+        }
+        // Family names of the authors, i.e. the part before the comma, or the last word
+        for (String field : configurationService.getArrayProperty("duplicate.signature.author.field",
+                new String[]{"dc.contributor.author"})) {
+            for (String value : getValues(item, field)) {
+                String name = value.contains(",") ? value.substring(0, value.indexOf(','))
+                                                  : value.substring(value.trim().lastIndexOf(' ') + 1);
+                name = normaliseSignatureValue(name);
+                if (!name.isEmpty()) {
+                    shingles.add("a:" + name);
+                }
+            }
+        }
+        // Years
+        for (String field : configurationService.getArrayProperty("duplicate.signature.year.field",
+                new String[]{"dc.date.issued"})) {
+            for (String value : getValues(item, field)) {
+                Matcher matcher = YEAR.matcher(value);
+                if (matcher.find()) {
+                    shingles.add("y:" + matcher.group());
+                }
+            }
+        }
+        return DuplicateSignature.of(shingles, configurationService.getIntProperty("duplicate.signature.hashes", 64));
+    }
+
+    /**
+     * @param item  The DSpace item
+     * @param field The metadata field, in compound form
+     * @return the non-null values of the field
+     */
+    private List<String> getValues(Item item, String field) {
+        List<String> values = new ArrayList<>();
+        try {
+            String[] fieldParts = MetadataUtilities.parseCompoundForm(field);
+            for (MetadataValue metadataValue : itemService.getMetadata(item, fieldParts[0], fieldParts[1],
+                    (fieldParts.length > 2 ? fieldParts[2] : null), Item.ANY)) {
+                if (metadataValue.getValue() != null) {
+                    values.add(metadataValue.getValue());
+                }
+            }
+        } catch (ParseException e) {
+            log.error("Error parsing configured field for deduplication signature: item={}, field={}",
+                    item.getID(), field);
+        }
+        return values;
+    }
+
+    /**
+     * Normalise a value for the signature: accents and case are removed, and any sequence of characters other than
+     * letters and digits is replaced by a single space.
+     */
+    private String normaliseSignatureValue(String value) {
+        String normalised = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return normalised.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
     /**
      * Build a comparison value string made up of values of configured fields, used when indexing and querying
      * items for deduplication
@@ -0,0 +1,149 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * MinHash signature of the set of shingles of an item, used for near-duplicate detection.
+ * <p>
+ * The share of positions where the signatures of two items are equal estimates the Jaccard similarity of their
+ * shingle sets. For the lookup of candidates the signature is split into bands of rows (locality sensitive hashing):
+ * items sharing the hash of at least one band are candidates, which makes items with a high similarity very likely
+ * to be found by a simple term query on the band hashes.
+ */
+public class DuplicateSignature {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final int[] minHashes;
+
+    public DuplicateSignature(int[] minHashes) {
+        this.minHashes = minHashes;
+    }
+
+    /**
+     * Compute the signature of a set of shingles.
+     *
+     * @param shingles  the shingles
+     * @param numHashes the length of the signature
+     * @return the signature, or null if there are no shingles
+     */
+    public static DuplicateSignature of(Collection<String> shingles, int numHashes) {
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] minHashes = new int[numHashes];
+        Arrays.fill(minHashes, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            // derive all hash functions from two independent hashes of the shingle
+            ByteBuffer hash = ByteBuffer.wrap(HASH_FUNCTION.hashString(shingle, StandardCharsets.UTF_8).asBytes());
+            long hash1 = hash.getLong();
+            long hash2 = hash.getLong();
+            for (int i = 0; i < numHashes; i++) {
+                int value = (int) ((hash1 + i * hash2) >>> 32);
+                if (value < minHashes[i]) {
+                    minHashes[i] = value;
+                }
+            }
+        }
+        return new DuplicateSignature(minHashes);
+    }
+
+    /**
+     * @param encoded a signature encoded by {@link #encode()}
+     * @return the signature, or null if it is not a valid encoded signature
+     */
+    public static DuplicateSignature decode(String encoded) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length == 0 || bytes.length % Integer.BYTES != 0) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] minHashes = new int[bytes.length / Integer.BYTES];
+        for (int i = 0; i < minHashes.length; i++) {
+            minHashes[i] = buffer.getInt();
+        }
+        return new DuplicateSignature(minHashes);
+    }
+
+    /**
+     * @return the signature encoded as a string, to be stored in the index
+     */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(minHashes.length * Integer.BYTES);
+        for (int minHash : minHashes) {
+            buffer.putInt(minHash);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    /**
+     * Hash the bands of the signature. The rows that do not fill a whole band are ignored.
+     *
+     * @param bands the number of bands
+     * @return the hash of every band
+     */
+    public int[] getBandHashes(int bands) {
+        int rows = minHashes.length / bands;
+        int[] bandHashes = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            bandHashes[band] = Arrays.hashCode(Arrays.copyOfRange(minHashes, band * rows, (band + 1) * rows));
+        }
+        return bandHashes;
+    }
+
+    /**
+     * @param bands the number of bands
+     * @return the terms to index and query for the bands of the signature, made of the band number and its hash
+     */
+    public List<String> getBandTerms(int bands) {
+        int[] bandHashes = getBandHashes(bands);
+        List<String> terms = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            terms.add(band + "_" + Integer.toHexString(bandHashes[band]));
+        }
+        return terms;
+    }
+
+    /**
+     * @param other the other signature
+     * @return the estimated Jaccard similarity of the shingles of both signatures, between 0 and 1. Signatures of a
+     * different length are not comparable and have a similarity of 0.
+     */
+    public double similarity(DuplicateSignature other) {
+        if (other == null || other.minHashes.length != minHashes.length) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < minHashes.length; i++) {
+            if (minHashes[i] == other.minHashes[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / minHashes.length;
+    }
+
+    public int size() {
+        return minHashes.length;
+    }
+}
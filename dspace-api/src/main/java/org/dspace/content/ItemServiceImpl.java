@@ -343,6 +343,16 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAll(context, true);
     }
 
+    @Override
+    public List<Item> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return itemDAO.findByIds(context, ids);
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        return itemDAO.findExistingIds(context, ids);
+    }
+
     @Override
     public Iterator<Item> findAll(Context context, Integer limit, Integer offset) throws SQLException {
         return itemDAO.findAll(context, true, limit, offset);
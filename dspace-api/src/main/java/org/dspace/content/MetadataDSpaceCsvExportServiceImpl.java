@@ -7,14 +7,23 @@
  */
 package org.dspace.content;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import com.google.common.collect.AbstractIterator;
+import org.apache.commons.collections4.ListUtils;
 import org.dspace.app.bulkedit.DSpaceCSV;
 import org.dspace.app.util.service.DSpaceObjectUtils;
 import org.dspace.content.service.ItemService;
@@ -45,6 +54,30 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
     @Override
     public DSpaceCSV handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata, String identifier,
                                   DSpaceRunnableHandler handler) throws Exception {
+        Iterator<Item> toExport = findItemsToExport(context, exportAllItems, identifier, handler);
+        DSpaceCSV csv = this.export(context, toExport, exportAllMetadata, handler);
+        return csv;
+    }
+
+    @Override
+    public void handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata, String identifier,
+                             OutputStream out, DSpaceRunnableHandler handler) throws Exception {
+        Iterator<Item> toExport = findItemsToExport(context, exportAllItems, identifier, handler);
+        export(context, toExport, exportAllMetadata, out, handler);
+    }
+
+    /**
+     * Find the items to export: all items of the repository, or the items of the given community, collection or item.
+     *
+     * @param context        The relevant DSpace context
+     * @param exportAllItems whether the entire repository should be exported
+     * @param identifier     The handle or UUID of the Community, Collection or Item to export
+     * @param handler        the handler to log to
+     * @return the items to export
+     * @throws SQLException if database error
+     */
+    private Iterator<Item> findItemsToExport(Context context, boolean exportAllItems, String identifier,
+                                             DSpaceRunnableHandler handler) throws SQLException {
         Iterator<Item> toExport = null;
 
         if (exportAllItems) {
@@ -79,9 +112,7 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
                         Constants.typeText[dso.getType()], "Item | Collection | Community"));
             }
         }
-
-        DSpaceCSV csv = this.export(context, toExport, exportAllMetadata, handler);
-        return csv;
+        return toExport;
     }
 
     @Override
@@ -105,6 +136,48 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
         return csv;
     }
 
+    @Override
+    public void export(Context context, Iterator<Item> toExport, boolean exportAll, OutputStream out,
+                       DSpaceRunnableHandler handler) throws Exception {
+        Context.Mode originalMode = context.getCurrentMode();
+        context.setMode(Context.Mode.READ_ONLY);
+
+        // First pass: collect the ids of the items until we reach the limit, and the columns of their metadata.
+        // The columns come from the same metadata as the lines, including virtual metadata, and only the headings
+        // are kept in memory.
+        int itemExportLimit = getCsvExportLimit();
+        DSpaceCSV csv = new DSpaceCSV(exportAll);
+        List<UUID> ids = new ArrayList<>();
+        while (toExport.hasNext() && ids.size() < itemExportLimit) {
+            Item item = toExport.next();
+            ids.add(item.getID());
+            csv.addHeadings(item);
+            context.uncacheEntity(item);
+        }
+        List<List<UUID>> batches = ListUtils.partition(ids,
+            Math.max(1, configurationService.getIntProperty("bulkedit.export.batch.size", 100)));
+
+        // Second pass: load the items batch by batch, and write them as they are loaded
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.writeHeadings(writer);
+        for (List<UUID> batch : batches) {
+            Map<UUID, Item> items = new HashMap<>();
+            for (Item item : itemService.findByIds(context, batch)) {
+                items.put(item.getID(), item);
+            }
+            for (UUID id : batch) {
+                Item item = items.get(id);
+                if (item != null) {
+                    csv.writeItem(writer, item);
+                    context.uncacheEntity(item);
+                }
+            }
+        }
+        writer.flush();
+
+        context.setMode(originalMode);
+    }
+
     @Override
     public DSpaceCSV export(Context context, Community community,
                             boolean exportAll, DSpaceRunnableHandler handler) throws Exception {
@@ -122,28 +195,54 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
      */
     private Iterator<Item> buildFromCommunity(Context context, Community community)
         throws SQLException {
-        Set<Item> result = new HashSet<>();
+        Set<UUID> result = new LinkedHashSet<>();
+        addFromCommunity(context, community, result);
+
+        // Only the ids are kept, the items are loaded while iterating
+        Iterator<UUID> ids = result.iterator();
+        return new AbstractIterator<Item>() {
+            @Override
+            protected Item computeNext() {
+                try {
+                    while (ids.hasNext()) {
+                        Item item = itemService.find(context, ids.next());
+                        if (item != null) {
+                            return item;
+                        }
+                    }
+                    return endOfData();
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
 
+    /**
+     * Add the ids of the items in a Community (including its sub-Communities and Collections) to the given set
+     *
+     * @param context   DSpace context
+     * @param community The community to build from
+     * @param result    the set of item ids to add to
+     * @throws SQLException if database error
+     */
+    private void addFromCommunity(Context context, Community community, Set<UUID> result)
+        throws SQLException {
         // Add all the collections
         List<Collection> collections = community.getCollections();
         for (Collection collection : collections) {
             // Never obtain more items than the configured limit
             Iterator<Item> items = itemService.findByCollection(context, collection, getCsvExportLimit(), 0);
             while (result.size() < getCsvExportLimit() && items.hasNext()) {
-                result.add(items.next());
+                result.add(items.next().getID());
             }
         }
 
         // Add all the sub-communities
         List<Community> communities = community.getSubcommunities();
         for (Community subCommunity : communities) {
-            Iterator<Item> items = buildFromCommunity(context, subCommunity);
-            while (result.size() < getCsvExportLimit() && items.hasNext()) {
-                result.add(items.next());
-            }
+            addFromCommunity(context, subCommunity, result);
         }
-
-        return result.iterator();
     }
 
     @Override
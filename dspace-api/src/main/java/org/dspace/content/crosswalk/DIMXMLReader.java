@@ -0,0 +1,183 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.crosswalk;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.dspace.content.authority.Choices;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * {@link XMLReader} generating the SAX events of a DIM document from a list of metadata values, instead of parsing
+ * its input. It lets DIM be streamed into a transformation without building a JDOM tree first.
+ * <p>
+ * The events are the same as the ones of the DIM element built by
+ * {@link XSLTDisseminationCrosswalk#createDIM(org.dspace.content.DSpaceObject, List)}. As a fragment, only the
+ * field elements are generated, without the enclosing dim element.
+ */
+class DIMXMLReader implements XMLReader {
+
+    private static final String NAMESPACES_FEATURE = "http://xml.org/sax/features/namespaces";
+
+    private static final String NAMESPACE_PREFIXES_FEATURE = "http://xml.org/sax/features/namespace-prefixes";
+
+    private static final String DIM_URI = XSLTCrosswalk.DIM_NS.getURI();
+
+    private static final String DIM_PREFIX = XSLTCrosswalk.DIM_NS.getPrefix();
+
+    private final String dspaceType;
+
+    private final List<MetadataValueDTO> values;
+
+    private final boolean fragment;
+
+    private ContentHandler contentHandler;
+
+    private DTDHandler dtdHandler;
+
+    private EntityResolver entityResolver;
+
+    private ErrorHandler errorHandler;
+
+    /**
+     * @param dspaceType the type of the DSpace object, as text
+     * @param values     the metadata values of the DSpace object
+     * @param fragment   true to generate the field elements only
+     */
+    DIMXMLReader(String dspaceType, List<MetadataValueDTO> values, boolean fragment) {
+        this.dspaceType = dspaceType;
+        this.values = values;
+        this.fragment = fragment;
+    }
+
+    @Override
+    public void parse(InputSource input) throws IOException, SAXException {
+        if (contentHandler == null) {
+            return;
+        }
+        contentHandler.startDocument();
+        contentHandler.startPrefixMapping(DIM_PREFIX, DIM_URI);
+        if (!fragment) {
+            AttributesImpl attributes = new AttributesImpl();
+            addAttribute(attributes, "dspaceType", dspaceType);
+            contentHandler.startElement(DIM_URI, "dim", DIM_PREFIX + ":dim", attributes);
+        }
+        for (MetadataValueDTO value : values) {
+            AttributesImpl attributes = new AttributesImpl();
+            addAttribute(attributes, "mdschema", value.getSchema());
+            addAttribute(attributes, "element", value.getElement());
+            addAttribute(attributes, "qualifier", value.getQualifier());
+            addAttribute(attributes, "lang", value.getLanguage());
+            if (value.getAuthority() != null) {
+                addAttribute(attributes, "authority", value.getAuthority());
+                addAttribute(attributes, "confidence", Choices.getConfidenceText(value.getConfidence()));
+            }
+            contentHandler.startElement(DIM_URI, "field", DIM_PREFIX + ":field", attributes);
+            String text = XSLTDisseminationCrosswalk.checkedString(value.getValue());
+            if (text != null && !text.isEmpty()) {
+                contentHandler.characters(text.toCharArray(), 0, text.length());
+            }
+            contentHandler.endElement(DIM_URI, "field", DIM_PREFIX + ":field");
+        }
+        if (!fragment) {
+            contentHandler.endElement(DIM_URI, "dim", DIM_PREFIX + ":dim");
+        }
+        contentHandler.endPrefixMapping(DIM_PREFIX);
+        contentHandler.endDocument();
+    }
+
+    private static void addAttribute(AttributesImpl attributes, String name, String value) {
+        if (value != null) {
+            attributes.addAttribute("", name, name, "CDATA", value);
+        }
+    }
+
+    @Override
+    public void parse(String systemId) throws IOException, SAXException {
+        parse(new InputSource(systemId));
+    }
+
+    @Override
+    public boolean getFeature(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+        if (NAMESPACES_FEATURE.equals(name)) {
+            return true;
+        }
+        if (NAMESPACE_PREFIXES_FEATURE.equals(name)) {
+            return false;
+        }
+        throw new SAXNotRecognizedException(name);
+    }
+
+    @Override
+    public void setFeature(String name, boolean value) throws SAXNotRecognizedException, SAXNotSupportedException {
+        if (getFeature(name) != value) {
+            throw new SAXNotSupportedException(name);
+        }
+    }
+
+    @Override
+    public Object getProperty(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+        throw new SAXNotRecognizedException(name);
+    }
+
+    @Override
+    public void setProperty(String name, Object value) throws SAXNotRecognizedException, SAXNotSupportedException {
+        throw new SAXNotRecognizedException(name);
+    }
+
+    @Override
+    public void setEntityResolver(EntityResolver resolver) {
+        this.entityResolver = resolver;
+    }
+
+    @Override
+    public EntityResolver getEntityResolver() {
+        return entityResolver;
+    }
+
+    @Override
+    public void setDTDHandler(DTDHandler handler) {
+        this.dtdHandler = handler;
+    }
+
+    @Override
+    public DTDHandler getDTDHandler() {
+        return dtdHandler;
+    }
+
+    @Override
+    public void setContentHandler(ContentHandler handler) {
+        this.contentHandler = handler;
+    }
+
+    @Override
+    public ContentHandler getContentHandler() {
+        return contentHandler;
+    }
+
+    @Override
+    public void setErrorHandler(ErrorHandler handler) {
+        this.errorHandler = handler;
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+}
@@ -9,10 +9,14 @@ package org.dspace.content.crosswalk;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import javax.xml.transform.Source;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
@@ -71,6 +75,10 @@ import org.jdom2.Namespace;
  * was modified since it was last loaded.  This lets you edit and test
  * stylesheets without restarting DSpace.
  * <p>
+ * Every stylesheet is compiled once and shared by all plugin instances using
+ * it. As a <code>Transformer</code> must not be used by several threads at
+ * once, every thread gets its own transformer of the compiled stylesheet.
+ * <p>
  * You must use the <code>PluginService</code> to instantiate an
  * XSLT crosswalk plugin, e.g.
  * <pre> IngestionCrosswalk xwalk = CoreServiceFactory.getInstance().getPluginService().getPlugin(IngestionCrosswalk
@@ -130,18 +138,27 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
         return aliasList.toArray(new String[aliasList.size()]);
     }
 
-    private Transformer transformer = null;
+    /**
+     * Compiled stylesheets, by the absolute path of the stylesheet file.
+     */
+    private static final Map<String, CompiledStylesheet> STYLESHEETS = new ConcurrentHashMap<>();
+
+    /**
+     * Transformers of the current thread, by the absolute path of the stylesheet file.
+     */
+    private static final ThreadLocal<Map<String, CachedTransformer>> TRANSFORMERS =
+        ThreadLocal.withInitial(HashMap::new);
+
     private File transformFile = null;
-    private long transformLastModified = 0;
 
     /**
-     * Initialize the Transformation stylesheet from configured stylesheet file.
+     * Find the configured stylesheet file.
      *
      * @param direction the direction of xwalk, either "submission" or
      *                  "dissemination"
-     * @return transformer or null if there was error initializing.
+     * @return stylesheet file or null if it is not configured.
      */
-    protected Transformer getTransformer(String direction) {
+    protected File getStylesheetFile(String direction) {
         if (transformFile == null) {
             String myAlias = getPluginInstanceName();
             if (myAlias == null) {
@@ -162,27 +179,92 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
                 transformFile = new File(parent, fname);
             }
         }
+        return transformFile;
+    }
 
-        // load if first time, or reload if stylesheet changed:
-        if (transformer == null ||
-            transformFile.lastModified() > transformLastModified) {
-            try {
-                LOG.debug(
-                    (transformer == null ? "Loading {} XSLT stylesheet from {}"
-                            : "Reloading {} XSLT stylesheet from {}"),
-                    getPluginInstanceName(), transformFile.toString());
-
-                Source transformSource
-                    = new StreamSource(new FileInputStream(transformFile));
-                TransformerFactory transformerFactory
-                    = TransformerFactory.newInstance();
-                transformer = transformerFactory.newTransformer(transformSource);
-                transformLastModified = transformFile.lastModified();
-            } catch (TransformerConfigurationException | FileNotFoundException e) {
+    /**
+     * Get the compiled stylesheet from configured stylesheet file. It is
+     * compiled the first time, or again if the file changed since.
+     *
+     * @param direction the direction of xwalk, either "submission" or
+     *                  "dissemination"
+     * @return compiled stylesheet or null if there was error compiling.
+     */
+    protected Templates getTemplates(String direction) {
+        File file = getStylesheetFile(direction);
+        if (file == null) {
+            return null;
+        }
+        long lastModified = file.lastModified();
+        CompiledStylesheet stylesheet = STYLESHEETS.compute(file.getAbsolutePath(), (path, current) -> {
+            if (current != null && current.lastModified >= lastModified) {
+                return current;
+            }
+            LOG.debug(
+                (current == null ? "Loading {} XSLT stylesheet from {}"
+                        : "Reloading {} XSLT stylesheet from {}"),
+                getPluginInstanceName(), path);
+            try (InputStream input = new FileInputStream(file)) {
+                Templates templates = TransformerFactory.newInstance().newTemplates(new StreamSource(input));
+                return new CompiledStylesheet(templates, lastModified);
+            } catch (TransformerConfigurationException | IOException e) {
                 LOG.error("Failed to initialize XSLTCrosswalk({}):  {}",
                           getPluginInstanceName(), e.toString());
+                return current;
             }
+        });
+        return stylesheet == null ? null : stylesheet.templates;
+    }
+
+    /**
+     * Get a transformer of the configured stylesheet for the current thread.
+     * The transformer is reset, so parameters set by a previous use are gone.
+     * It must not be handed to other threads.
+     *
+     * @param direction the direction of xwalk, either "submission" or
+     *                  "dissemination"
+     * @return transformer or null if there was error initializing.
+     */
+    protected Transformer getTransformer(String direction) {
+        Templates templates = getTemplates(direction);
+        if (templates == null) {
+            return null;
+        }
+        Map<String, CachedTransformer> transformers = TRANSFORMERS.get();
+        String path = transformFile.getAbsolutePath();
+        CachedTransformer cached = transformers.get(path);
+        if (cached != null && cached.templates == templates) {
+            cached.transformer.reset();
+            return cached.transformer;
+        }
+        try {
+            Transformer transformer = templates.newTransformer();
+            transformers.put(path, new CachedTransformer(templates, transformer));
+            return transformer;
+        } catch (TransformerConfigurationException e) {
+            LOG.error("Failed to initialize XSLTCrosswalk({}):  {}",
+                      getPluginInstanceName(), e.toString());
+            return null;
+        }
+    }
+
+    private static class CompiledStylesheet {
+        private final Templates templates;
+        private final long lastModified;
+
+        CompiledStylesheet(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static class CachedTransformer {
+        private final Templates templates;
+        private final Transformer transformer;
+
+        CachedTransformer(Templates templates, Transformer transformer) {
+            this.templates = templates;
+            this.transformer = transformer;
         }
-        return transformer;
     }
 }
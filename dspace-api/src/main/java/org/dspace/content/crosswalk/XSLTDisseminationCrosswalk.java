@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
+import javax.xml.transform.sax.SAXSource;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.LogManager;
@@ -52,7 +53,7 @@ import org.jdom2.Verifier;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
 import org.jdom2.transform.JDOMResult;
-import org.jdom2.transform.JDOMSource;
+import org.xml.sax.InputSource;
 
 /**
  * Configurable XSLT-driven dissemination Crosswalk
@@ -226,9 +227,8 @@ public class XSLTDisseminationCrosswalk
         }
 
         try {
-            Document ddim = new Document(createDIM(dso));
             JDOMResult result = new JDOMResult();
-            xform.transform(new JDOMSource(ddim), result);
+            xform.transform(createDIMSource(dso, false), result);
             Element root = result.getDocument().getRootElement();
             root.detach();
             return root;
@@ -271,7 +271,7 @@ public class XSLTDisseminationCrosswalk
 
         try {
             JDOMResult result = new JDOMResult();
-            xform.transform(new JDOMSource(createDIM(dso).getChildren()), result);
+            xform.transform(createDIMSource(dso, true), result);
             List<Content> contentList = result.getResult();
             // Transform List<Content> into List<Element>
             List<Element> elementList = contentList.stream()
@@ -339,77 +339,110 @@ public class XSLTDisseminationCrosswalk
      * @return element
      */
     public static Element createDIM(DSpaceObject dso) {
+        return createDIM(dso, dimMetadata(dso));
+    }
+
+    /**
+     * Generate an intermediate representation of a DSpace object as a source
+     * streaming the DIM to a transformation, without building a JDOM tree.
+     *
+     * @param dso      The DSpace object to build a representation of.
+     * @param fragment true for the DIM fields only, without the dim element
+     *                 enclosing them.
+     * @return source
+     */
+    public static SAXSource createDIMSource(DSpaceObject dso, boolean fragment) {
+        return createDIMSource(dso, dimMetadata(dso), fragment);
+    }
+
+    /**
+     * Generate an intermediate representation of a DSpace object as a source
+     * streaming the DIM to a transformation, without building a JDOM tree.
+     *
+     * @param dso      The DSpace object to build a representation of.
+     * @param dcvs     list of metadata
+     * @param fragment true for the DIM fields only, without the dim element
+     *                 enclosing them.
+     * @return source
+     */
+    public static SAXSource createDIMSource(DSpaceObject dso, List<MetadataValueDTO> dcvs, boolean fragment) {
+        return new SAXSource(new DIMXMLReader(Constants.typeText[dso.getType()], dcvs, fragment),
+                             new InputSource());
+    }
+
+    /**
+     * Get the metadata of a DSpace object to represent in DIM.
+     *
+     * @param dso The DSpace object.
+     * @return list of metadata
+     */
+    protected static List<MetadataValueDTO> dimMetadata(DSpaceObject dso) {
+        List<MetadataValueDTO> dcvs = new ArrayList<>();
         if (dso.getType() == Constants.ITEM) {
             Item item = (Item) dso;
-            return createDIM(dso, item2Metadata(item));
-        } else {
-            Element dim = new Element("dim", DIM_NS);
-            String type = Constants.typeText[dso.getType()];
-            dim.setAttribute("dspaceType", type);
-
-            if (dso.getType() == Constants.COLLECTION) {
-                Collection collection = (Collection) dso;
-
-                String description = collectionService.getMetadataFirstValue(collection,
-                        CollectionService.MD_INTRODUCTORY_TEXT, Item.ANY);
-                String description_abstract = collectionService.getMetadataFirstValue(collection,
-                        CollectionService.MD_SHORT_DESCRIPTION, Item.ANY);
-                String description_table = collectionService.getMetadataFirstValue(collection,
-                        CollectionService.MD_SIDEBAR_TEXT, Item.ANY);
-                String identifier_uri = "hdl:" + collection.getHandle();
-                String provenance = collectionService.getMetadataFirstValue(collection,
-                        CollectionService.MD_PROVENANCE_DESCRIPTION, Item.ANY);
-                String rights = collectionService.getMetadataFirstValue(collection,
-                        CollectionService.MD_COPYRIGHT_TEXT, Item.ANY);
-                String rights_license = collectionService.getMetadataFirstValue(collection,
-                        CollectionService.MD_LICENSE, Item.ANY);
-                String title = collectionService.getMetadataFirstValue(collection,
-                        CollectionService.MD_NAME, Item.ANY);
-
-                dim.addContent(createField("dc", "description", null, null, description));
-                dim.addContent(createField("dc", "description", "abstract", null, description_abstract));
-                dim.addContent(createField("dc", "description", "tableofcontents", null, description_table));
-                dim.addContent(createField("dc", "identifier", "uri", null, identifier_uri));
-                dim.addContent(createField("dc", "provenance", null, null, provenance));
-                dim.addContent(createField("dc", "rights", null, null, rights));
-                dim.addContent(createField("dc", "rights", "license", null, rights_license));
-                dim.addContent(createField("dc", "title", null, null, title));
-            } else if (dso.getType() == Constants.COMMUNITY) {
-                Community community = (Community) dso;
-
-                String description = communityService.getMetadataFirstValue(community,
-                        CommunityService.MD_INTRODUCTORY_TEXT, Item.ANY);
-                String description_abstract = communityService.getMetadataFirstValue(community,
-                        CommunityService.MD_SHORT_DESCRIPTION, Item.ANY);
-                String description_table = communityService.getMetadataFirstValue(community,
-                        CommunityService.MD_SIDEBAR_TEXT, Item.ANY);
-                String identifier_uri = "hdl:" + community.getHandle();
-                String rights = communityService.getMetadataFirstValue(community,
-                        CommunityService.MD_COPYRIGHT_TEXT, Item.ANY);
-                String title = communityService.getMetadataFirstValue(community,
-                        CommunityService.MD_NAME, Item.ANY);
-
-                dim.addContent(createField("dc", "description", null, null, description));
-                dim.addContent(createField("dc", "description", "abstract", null, description_abstract));
-                dim.addContent(createField("dc", "description", "tableofcontents", null, description_table));
-                dim.addContent(createField("dc", "identifier", "uri", null, identifier_uri));
-                dim.addContent(createField("dc", "rights", null, null, rights));
-                dim.addContent(createField("dc", "title", null, null, title));
-            } else if (dso.getType() == Constants.SITE) {
-                Site site = (Site) dso;
-
-                String identifier_uri = "hdl:" + site.getHandle();
-                String title = site.getName();
-                String url = site.getURL();
-
-                //FIXME: adding two URIs for now (site handle and URL), in case site isn't using handles
-                dim.addContent(createField("dc", "identifier", "uri", null, identifier_uri));
-                dim.addContent(createField("dc", "identifier", "uri", null, url));
-                dim.addContent(createField("dc", "title", null, null, title));
-            }
-            // XXX FIXME: Nothing to crosswalk for bitstream?
-            return dim;
+            return item2Metadata(item);
+        } else if (dso.getType() == Constants.COLLECTION) {
+            Collection collection = (Collection) dso;
+
+            String description = collectionService.getMetadataFirstValue(collection,
+                    CollectionService.MD_INTRODUCTORY_TEXT, Item.ANY);
+            String description_abstract = collectionService.getMetadataFirstValue(collection,
+                    CollectionService.MD_SHORT_DESCRIPTION, Item.ANY);
+            String description_table = collectionService.getMetadataFirstValue(collection,
+                    CollectionService.MD_SIDEBAR_TEXT, Item.ANY);
+            String identifier_uri = "hdl:" + collection.getHandle();
+            String provenance = collectionService.getMetadataFirstValue(collection,
+                    CollectionService.MD_PROVENANCE_DESCRIPTION, Item.ANY);
+            String rights = collectionService.getMetadataFirstValue(collection,
+                    CollectionService.MD_COPYRIGHT_TEXT, Item.ANY);
+            String rights_license = collectionService.getMetadataFirstValue(collection,
+                    CollectionService.MD_LICENSE, Item.ANY);
+            String title = collectionService.getMetadataFirstValue(collection,
+                    CollectionService.MD_NAME, Item.ANY);
+
+            dcvs.add(new MetadataValueDTO("dc", "description", null, null, description));
+            dcvs.add(new MetadataValueDTO("dc", "description", "abstract", null, description_abstract));
+            dcvs.add(new MetadataValueDTO("dc", "description", "tableofcontents", null, description_table));
+            dcvs.add(new MetadataValueDTO("dc", "identifier", "uri", null, identifier_uri));
+            dcvs.add(new MetadataValueDTO("dc", "provenance", null, null, provenance));
+            dcvs.add(new MetadataValueDTO("dc", "rights", null, null, rights));
+            dcvs.add(new MetadataValueDTO("dc", "rights", "license", null, rights_license));
+            dcvs.add(new MetadataValueDTO("dc", "title", null, null, title));
+        } else if (dso.getType() == Constants.COMMUNITY) {
+            Community community = (Community) dso;
+
+            String description = communityService.getMetadataFirstValue(community,
+                    CommunityService.MD_INTRODUCTORY_TEXT, Item.ANY);
+            String description_abstract = communityService.getMetadataFirstValue(community,
+                    CommunityService.MD_SHORT_DESCRIPTION, Item.ANY);
+            String description_table = communityService.getMetadataFirstValue(community,
+                    CommunityService.MD_SIDEBAR_TEXT, Item.ANY);
+            String identifier_uri = "hdl:" + community.getHandle();
+            String rights = communityService.getMetadataFirstValue(community,
+                    CommunityService.MD_COPYRIGHT_TEXT, Item.ANY);
+            String title = communityService.getMetadataFirstValue(community,
+                    CommunityService.MD_NAME, Item.ANY);
+
+            dcvs.add(new MetadataValueDTO("dc", "description", null, null, description));
+            dcvs.add(new MetadataValueDTO("dc", "description", "abstract", null, description_abstract));
+            dcvs.add(new MetadataValueDTO("dc", "description", "tableofcontents", null, description_table));
+            dcvs.add(new MetadataValueDTO("dc", "identifier", "uri", null, identifier_uri));
+            dcvs.add(new MetadataValueDTO("dc", "rights", null, null, rights));
+            dcvs.add(new MetadataValueDTO("dc", "title", null, null, title));
+        } else if (dso.getType() == Constants.SITE) {
+            Site site = (Site) dso;
+
+            String identifier_uri = "hdl:" + site.getHandle();
+            String title = site.getName();
+            String url = site.getURL();
+
+            //FIXME: adding two URIs for now (site handle and URL), in case site isn't using handles
+            dcvs.add(new MetadataValueDTO("dc", "identifier", "uri", null, identifier_uri));
+            dcvs.add(new MetadataValueDTO("dc", "identifier", "uri", null, url));
+            dcvs.add(new MetadataValueDTO("dc", "title", null, null, title));
         }
+        // XXX FIXME: Nothing to crosswalk for bitstream?
+        return dcvs;
     }
 
     protected static List<MetadataValueDTO> item2Metadata(Item item) {
@@ -424,20 +457,6 @@ public class XSLTDisseminationCrosswalk
     }
 
 
-    /**
-     * Create a new DIM field element with the given attributes.
-     *
-     * @param schema    The schema the DIM field belongs to.
-     * @param element   The element the DIM field belongs to.
-     * @param qualifier The qualifier the DIM field belongs to.
-     * @param language  The language the DIM field belongs to.
-     * @param value     The value of the DIM field.
-     * @return A new DIM field element
-     */
-    private static Element createField(String schema, String element, String qualifier, String language, String value) {
-        return createField(schema, element, qualifier, language, value, null, -1);
-    }
-
     /**
      * Create a new DIM field element with the given attributes.
      *
@@ -473,7 +492,7 @@ public class XSLTDisseminationCrosswalk
     }
 
     // Return string with non-XML characters (i.e. low control chars) excised.
-    private static String checkedString(String value) {
+    static String checkedString(String value) {
         if (value == null) {
             return null;
         }
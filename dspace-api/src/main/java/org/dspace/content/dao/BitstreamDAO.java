@@ -45,6 +45,8 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    public int countAssetReferences(Context context, Bitstream bitstream, Integer storeNumber) throws SQLException;
+
     int countRows(Context context) throws SQLException;
 
     int countDeleted(Context context) throws SQLException;
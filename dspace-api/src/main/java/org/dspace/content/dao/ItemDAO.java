@@ -215,4 +215,25 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
                    boolean discoverable)
         throws SQLException;
 
+    /**
+     * Find the items with the given ids, loading their metadata in the same query. Ids of items that do not exist
+     * are ignored.
+     *
+     * @param context context
+     * @param ids     the ids of the items
+     * @return the items found, in no particular order
+     * @throws SQLException if database error
+     */
+    List<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
+
+    /**
+     * Find which of the given ids are ids of existing items, without loading the items.
+     *
+     * @param context context
+     * @param ids     the ids to check
+     * @return the ids of the existing items, in no particular order
+     * @throws SQLException if database error
+     */
+    List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException;
+
 }
@@ -165,6 +165,16 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return countLong(context, criteriaQuery, criteriaBuilder, bitstreamRoot);
     }
 
+    @Override
+    public int countAssetReferences(Context context, Bitstream bitstream, Integer storeNumber) throws SQLException {
+        Query query = createQuery(context, "SELECT count(*) FROM Bitstream b WHERE b.internalId = :internalId " +
+            "AND b.storeNumber = :storeNumber AND b.deleted <> true AND b.id <> :id");
+        query.setParameter("internalId", bitstream.getInternalId());
+        query.setParameter("storeNumber", storeNumber);
+        query.setParameter("id", bitstream.getID());
+        return count(query);
+    }
+
     @Override
     public int countRows(Context context) throws SQLException {
         return count(createQuery(context, "SELECT count(*) from Bitstream"));
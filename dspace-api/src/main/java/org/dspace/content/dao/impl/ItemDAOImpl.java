@@ -479,4 +479,27 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return count(query);
 
     }
+
+    @Override
+    public List<Item> findByIds(Context context, List<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context,
+                "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.metadata WHERE i.id IN (:ids)");
+        query.setParameter("ids", ids);
+        return list(query);
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context, "SELECT i.id FROM Item i WHERE i.id IN (:ids)");
+        query.setParameter("ids", ids);
+        @SuppressWarnings("unchecked")
+        List<UUID> uuids = query.getResultList();
+        return uuids;
+    }
 }
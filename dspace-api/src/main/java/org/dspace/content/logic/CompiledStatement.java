@@ -0,0 +1,167 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A logical statement compiled into a Discovery filter query, see {@link LogicalStatement#compile}.
+ * The query selects a superset of the items the statement is true for. If the compilation is exact, the query
+ * selects exactly these items, otherwise the statement still has to be evaluated for each selected item.
+ * A null query selects all items: this is the result of statements that cannot be compiled.
+ */
+public class CompiledStatement {
+
+    /** Filter query matching no document */
+    static final String MATCH_NONE = "-*:*";
+
+    private static final CompiledStatement UNCOMPILED = new CompiledStatement(null, false);
+    private static final CompiledStatement ALL = new CompiledStatement(null, true);
+    private static final CompiledStatement NONE = new CompiledStatement(MATCH_NONE, true);
+
+    private final String query;
+    private final boolean exact;
+
+    private CompiledStatement(String query, boolean exact) {
+        this.query = query;
+        this.exact = exact;
+    }
+
+    /**
+     * @param query filter query selecting exactly the items the statement is true for
+     * @return the compiled statement
+     */
+    public static CompiledStatement exact(String query) {
+        return new CompiledStatement(query, true);
+    }
+
+    /**
+     * @param query filter query selecting a superset of the items the statement is true for
+     * @return the compiled statement, still to be evaluated for each selected item
+     */
+    public static CompiledStatement superset(String query) {
+        return new CompiledStatement(query, false);
+    }
+
+    /**
+     * @return the result for statements that cannot be compiled: all items, each to be evaluated
+     */
+    public static CompiledStatement uncompiled() {
+        return UNCOMPILED;
+    }
+
+    /**
+     * @return a statement true for all items
+     */
+    public static CompiledStatement all() {
+        return ALL;
+    }
+
+    /**
+     * @return a statement true for no item
+     */
+    public static CompiledStatement none() {
+        return NONE;
+    }
+
+    /**
+     * @return the filter query, or null if all items are selected
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return true if the query selects exactly the items the statement is true for
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Combine compiled statements with AND. The conjunction of supersets is still a superset, so the
+     * compiled sub-statements narrow down the selection even when others cannot be compiled.
+     * @param statements compiled sub-statements
+     * @return the compiled conjunction
+     */
+    public static CompiledStatement and(List<CompiledStatement> statements) {
+        List<String> queries = new ArrayList<>();
+        boolean exact = true;
+        for (CompiledStatement statement : statements) {
+            exact &= statement.exact;
+            if (MATCH_NONE.equals(statement.query) && statement.exact) {
+                return NONE;
+            }
+            if (statement.query != null) {
+                queries.add(statement.query);
+            }
+        }
+        return new CompiledStatement(join(queries, " AND "), exact);
+    }
+
+    /**
+     * Combine compiled statements with OR. The disjunction of supersets is still a superset, but any
+     * sub-statement selecting all items makes the disjunction select all items.
+     * @param statements compiled sub-statements
+     * @return the compiled disjunction
+     */
+    public static CompiledStatement or(List<CompiledStatement> statements) {
+        List<String> queries = new ArrayList<>();
+        boolean exact = true;
+        for (CompiledStatement statement : statements) {
+            exact &= statement.exact;
+            if (statement.query == null) {
+                return statement.exact ? ALL : UNCOMPILED;
+            }
+            if (!MATCH_NONE.equals(statement.query)) {
+                queries.add(statement.query);
+            }
+        }
+        if (queries.isEmpty()) {
+            return exact ? NONE : UNCOMPILED;
+        }
+        return new CompiledStatement(join(queries, " OR "), exact);
+    }
+
+    /**
+     * Negate a compiled statement. Only an exact query can be negated, the negation of a superset selects
+     * all items.
+     * @param statement compiled sub-statement
+     * @return the compiled negation
+     */
+    public static CompiledStatement not(CompiledStatement statement) {
+        if (!statement.exact) {
+            return UNCOMPILED;
+        }
+        if (statement.query == null) {
+            return NONE;
+        }
+        if (MATCH_NONE.equals(statement.query)) {
+            return ALL;
+        }
+        return new CompiledStatement("(*:* AND NOT (" + statement.query + "))", true);
+    }
+
+    private static String join(List<String> queries, String operator) {
+        if (queries.isEmpty()) {
+            return null;
+        }
+        if (queries.size() == 1) {
+            return queries.get(0);
+        }
+        StringBuilder result = new StringBuilder("(");
+        for (int i = 0; i < queries.size(); i++) {
+            if (i > 0) {
+                result.append(operator);
+            }
+            result.append('(').append(queries.get(i)).append(')');
+        }
+        return result.append(')').toString();
+    }
+}
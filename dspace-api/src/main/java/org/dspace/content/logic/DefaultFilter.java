@@ -45,6 +45,11 @@ public class DefaultFilter implements Filter {
         return this.statement.getResult(context, item);
     }
 
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        return this.statement.compile(context);
+    }
+
     @Override
     public void setBeanName(String name) {
         log.debug("Initialize bean " + name);
@@ -27,4 +27,17 @@ public interface LogicalStatement {
      * @throws LogicalStatementException
      */
     boolean getResult(Context context, Item item) throws LogicalStatementException;
+
+    /**
+     * Compile this statement into a Discovery filter query selecting the items it is true for, so that the
+     * matching items can be found with one query instead of evaluating the statement for every item.
+     * Statements that cannot be expressed as a query return {@link CompiledStatement#uncompiled()}, which
+     * is the default: the statement is then evaluated for each item selected by the rest of the query.
+     * @param context   DSpace context
+     * @return compiled statement
+     * @throws LogicalStatementException
+     */
+    default CompiledStatement compile(Context context) throws LogicalStatementException {
+        return CompiledStatement.uncompiled();
+    }
 }
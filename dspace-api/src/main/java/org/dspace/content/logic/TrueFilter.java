@@ -28,6 +28,11 @@ public class TrueFilter implements Filter {
         return true;
     }
 
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        return CompiledStatement.all();
+    }
+
     @Override
     public void setBeanName(String name) {
         log.debug("Initialize bean " + name);
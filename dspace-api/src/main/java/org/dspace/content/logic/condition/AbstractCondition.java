@@ -7,11 +7,15 @@
  */
 package org.dspace.content.logic.condition;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.ItemService;
@@ -82,6 +86,36 @@ public abstract class AbstractCondition implements Condition {
         return true;
     }
 
+    /**
+     * Compile a condition on the collections or communities of an item to a query of the given location field
+     * of the search index
+     * @param context   DSpace context
+     * @param field     location field of the search index
+     * @param handles   handles of the collections or communities
+     * @param exact     true if the location field holds exactly the objects checked by the condition
+     * @return compiled statement
+     * @throws LogicalStatementException
+     */
+    protected CompiledStatement compileLocations(Context context, String field, List<String> handles,
+                                                 boolean exact) throws LogicalStatementException {
+        StringBuilder query = new StringBuilder();
+        try {
+            for (String handle : handles) {
+                DSpaceObject dso = handleService.resolveToObject(context, handle);
+                if (dso != null) {
+                    query.append(query.length() == 0 ? field + ":(" : " OR ").append(dso.getID());
+                }
+            }
+        } catch (SQLException | IllegalStateException e) {
+            throw new LogicalStatementException(e);
+        }
+        if (query.length() == 0) {
+            return exact ? CompiledStatement.none() : CompiledStatement.uncompiled();
+        }
+        query.append(')');
+        return exact ? CompiledStatement.exact(query.toString()) : CompiledStatement.superset(query.toString());
+    }
+
     @Override
     public void setItemService(ItemService itemService) {
         this.itemService = itemService;
@@ -15,6 +15,7 @@ import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
 
@@ -76,4 +77,17 @@ public class InCollectionCondition extends AbstractCondition {
 
         return false;
     }
+
+    /**
+     * Compile to the collections of archived items in the search index. The parent object of items still in
+     * submission is not known to the index, but these items are not indexed as items either.
+     * @param context   DSpace context
+     * @return compiled statement
+     * @throws LogicalStatementException
+     */
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        List<String> collectionHandles = (List<String>)getParameters().get("collections");
+        return compileLocations(context, "location.coll", collectionHandles, true);
+    }
 }
@@ -16,6 +16,7 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
 
@@ -87,4 +88,17 @@ public class InCommunityCondition extends AbstractCondition {
 
         return false;
     }
+
+    /**
+     * Compile to the communities of items in the search index. The index holds all ancestor communities, while
+     * only the direct parent communities of the collections count here, so the query is a superset.
+     * @param context   DSpace context
+     * @return compiled statement
+     * @throws LogicalStatementException
+     */
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        List<String> communityHandles = (List<String>)getParameters().get("communities");
+        return compileLocations(context, "location.comm", communityHandles, false);
+    }
 }
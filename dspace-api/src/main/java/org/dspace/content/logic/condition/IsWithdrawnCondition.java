@@ -10,6 +10,7 @@ package org.dspace.content.logic.condition;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
 
@@ -34,4 +35,9 @@ public class IsWithdrawnCondition extends AbstractCondition {
         log.debug("Result of isWithdrawn is " + item.isWithdrawn());
         return item.isWithdrawn();
     }
+
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        return CompiledStatement.exact("withdrawn:true");
+    }
 }
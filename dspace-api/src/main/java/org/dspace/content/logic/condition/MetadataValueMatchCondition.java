@@ -8,6 +8,8 @@
 package org.dspace.content.logic.condition;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +30,9 @@ public class MetadataValueMatchCondition extends AbstractCondition {
 
     private final static Logger log = LogManager.getLogger();
 
+    // Compiled patterns, so that the pattern is not compiled again for every value of every item
+    private final Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+
     /**
      * Return true if any value for a specified field in the item matches a specified regex pattern
      * Return false if not
@@ -48,17 +53,19 @@ public class MetadataValueMatchCondition extends AbstractCondition {
         String element = (fieldParts.length > 1 ? fieldParts[1] : null);
         String qualifier = (fieldParts.length > 2 ? fieldParts[2] : null);
 
+        if (!(getParameters().get("pattern") instanceof String)) {
+            return false;
+        }
+        String pattern = (String)getParameters().get("pattern");
+        Pattern p = compiledPatterns.computeIfAbsent(pattern, Pattern::compile);
+
         List<MetadataValue> values = itemService.getMetadata(item, schema, element, qualifier, Item.ANY);
         for (MetadataValue value : values) {
-            if (getParameters().get("pattern") instanceof String) {
-                String pattern = (String)getParameters().get("pattern");
-                log.debug("logic for " + item.getHandle() + ": pattern passed is " + pattern
-                    + ", checking value " + value.getValue());
-                Pattern p = Pattern.compile(pattern);
-                Matcher m = p.matcher(value.getValue());
-                if (m.find()) {
-                    return true;
-                }
+            log.debug("logic for " + item.getHandle() + ": pattern passed is " + pattern
+                + ", checking value " + value.getValue());
+            Matcher m = p.matcher(value.getValue());
+            if (m.find()) {
+                return true;
             }
         }
         return false;
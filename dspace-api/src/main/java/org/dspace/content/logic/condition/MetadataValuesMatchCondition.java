@@ -7,7 +7,10 @@
  */
 package org.dspace.content.logic.condition;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +31,9 @@ public class MetadataValuesMatchCondition extends AbstractCondition {
 
     private final static Logger log = LogManager.getLogger();
 
+    // Compiled patterns, so that the patterns are not compiled again for every value of every item
+    private final Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+
     /**
      * Return true if any value for a specified field in the item matches any of the specified regex patterns
      * Return false if not
@@ -48,24 +54,24 @@ public class MetadataValuesMatchCondition extends AbstractCondition {
         String element = (fieldParts.length > 1 ? fieldParts[1] : null);
         String qualifier = (fieldParts.length > 2 ? fieldParts[2] : null);
 
+        if (!(getParameters().get("patterns") instanceof List)) {
+            return false;
+        }
+        List<String> patternList = (List<String>)getParameters().get("patterns");
+        List<Pattern> patterns = new ArrayList<>(patternList.size());
+        for (String pattern : patternList) {
+            patterns.add(compiledPatterns.computeIfAbsent(pattern, Pattern::compile));
+        }
+
         List<MetadataValue> values = itemService.getMetadata(item, schema, element, qualifier, Item.ANY);
         for (MetadataValue value : values) {
-            if (getParameters().get("patterns") instanceof List) {
-                List<String> patternList = (List<String>)getParameters().get("patterns");
-                // If the list is empty, just return true and log error?
-                log.error("No patterns were passed for metadata value matching, defaulting to 'true'");
-                if (patternList == null) {
+            for (Pattern p : patterns) {
+                log.debug("logic for " + item.getHandle() + ": pattern passed is " + p.pattern()
+                    + ", checking value " + value.getValue());
+                Matcher m = p.matcher(value.getValue());
+                if (m.find()) {
                     return true;
                 }
-                for (String pattern : patternList) {
-                    log.debug("logic for " + item.getHandle() + ": pattern passed is " + pattern
-                        + ", checking value " + value.getValue());
-                    Pattern p = Pattern.compile(pattern);
-                    Matcher m = p.matcher(value.getValue());
-                    if (m.find()) {
-                        return true;
-                    }
-                }
             }
         }
         return false;
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -67,4 +68,18 @@ public abstract class AbstractOperator implements LogicalStatement {
     public boolean getResult(Context context, Item item) throws LogicalStatementException {
         return false;
     }
+
+    /**
+     * Compile all sub-statements, to be combined by the operator
+     * @param context   DSpace context
+     * @return the compiled sub-statements, in order
+     * @throws LogicalStatementException
+     */
+    protected List<CompiledStatement> compileStatements(Context context) throws LogicalStatementException {
+        List<CompiledStatement> compiled = new ArrayList<>();
+        for (LogicalStatement statement : getStatements()) {
+            compiled.add(statement.compile(context));
+        }
+        return compiled;
+    }
 }
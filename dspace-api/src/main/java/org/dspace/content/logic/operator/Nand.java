@@ -10,6 +10,7 @@ package org.dspace.content.logic.operator;
 import java.util.List;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -48,4 +49,9 @@ public class Nand extends AbstractOperator {
     public boolean getResult(Context context, Item item) throws LogicalStatementException {
         return !(new And(getStatements()).getResult(context, item));
     }
+
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        return CompiledStatement.not(CompiledStatement.and(compileStatements(context)));
+    }
 }
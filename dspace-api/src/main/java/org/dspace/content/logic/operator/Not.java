@@ -8,6 +8,7 @@
 package org.dspace.content.logic.operator;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -65,4 +66,9 @@ public class Not implements LogicalStatement {
     public boolean getResult(Context context, Item item) throws LogicalStatementException {
         return !statement.getResult(context, item);
     }
+
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        return CompiledStatement.not(statement.compile(context));
+    }
 }
@@ -10,6 +10,7 @@ package org.dspace.content.logic.operator;
 import java.util.List;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.CompiledStatement;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -56,4 +57,9 @@ public class Or extends AbstractOperator {
 
         return false;
     }
+
+    @Override
+    public CompiledStatement compile(Context context) throws LogicalStatementException {
+        return CompiledStatement.or(compileStatements(context));
+    }
 }
@@ -262,13 +262,16 @@ public abstract class AbstractMETSDisseminator
                 writeZipPackage(context, dso, params, outStream);
             } //end if/else
 
-            // Assuming no errors, log this dissemination
-            log.info(LogHelper.getHeader(context, "package_disseminate",
-                                          "Disseminated package file=" + pkgFile.getName() +
-                                              " for Object, type="
-                                              + Constants.typeText[dso.getType()] + ", handle="
-                                              + dso.getHandle() + ", dbID="
-                                              + String.valueOf(dso.getID())));
+            // Assuming no errors, log this dissemination. A part file is logged under its final name by
+            // AbstractPackageDisseminator, once it has been moved there.
+            if (!pkgFile.getName().endsWith(PART_SUFFIX)) {
+                log.info(LogHelper.getHeader(context, "package_disseminate",
+                                              "Disseminated package file=" + pkgFile.getName() +
+                                                  " for Object, type="
+                                                  + Constants.typeText[dso.getType()] + ", handle="
+                                                  + dso.getHandle() + ", dbID="
+                                                  + String.valueOf(dso.getID())));
+            }
         } catch (MetsException
                 | NoSuchMethodException | InstantiationException
                 | IllegalAccessException | InvocationTargetException e) {
@@ -1380,7 +1383,9 @@ public abstract class AbstractMETSDisseminator
             "* unauthorized=[value]      " +
             "If 'skip', skip over any files which the user doesn't have authorization to read. " +
             "If 'zero', create a zero-length file for any files the user doesn't have authorization to read. " +
-            "By default, an AuthorizationException will be thrown for any files the user cannot read.";
+            "By default, an AuthorizationException will be thrown for any files the user cannot read." +
+            "\n\n" +
+            getRecursiveParameterHelp();
     }
 
     /**
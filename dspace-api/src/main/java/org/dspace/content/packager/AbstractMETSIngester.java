@@ -136,12 +136,18 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
      * Initialize it with the Content (ORIGINAL) Bundle containing all of the
      * metadata bitstreams. Match an mdRef by finding the bitstream with the
      * same name.
+     * <p>
+     * The Zip package is opened once, on the first file read from it, and is
+     * shared by all metadata and content files of the package until the
+     * manager is closed at the end of the ingest.
      */
-    protected static final class MdrefManager implements METSManifest.Mdref {
+    protected static final class MdrefManager implements METSManifest.Mdref, AutoCloseable {
         private File packageFile = null;
 
         private final PackageParameters params;
 
+        private ZipFile zipPackage = null;
+
         // constructor initializes from package file
         private MdrefManager(File packageFile, PackageParameters params) {
             super();
@@ -169,11 +175,48 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
                     "Failed referencing mdRef element, because there is no package specified.");
             }
 
-            // Use the 'getFileInputStream()' method from the
-            // AbstractMETSIngester to retrieve the inputstream for the
-            // referenced external metadata file.
-            return AbstractMETSIngester.getFileInputStream(packageFile, params,
-                                                           path);
+            // Use the 'getFileInputStream()' method to retrieve the
+            // inputstream for the referenced external metadata file.
+            return getFileInputStream(path);
+        }
+
+        /**
+         * Retrieve the inputStream for a File referenced from a specific path
+         * within the METS package, reusing the open Zip package.
+         *
+         * @param path the File path (either path in Zip package or a URL)
+         * @return the InputStream for the file
+         * @throws MetadataValidationException if the file is not in the package
+         * @throws IOException                 if IO error
+         * @see AbstractMETSIngester#getFileInputStream(File, PackageParameters, String)
+         */
+        public InputStream getFileInputStream(String path)
+            throws MetadataValidationException, IOException {
+            if (params.getBooleanProperty("manifestOnly", false)) {
+                return AbstractMETSIngester.getFileInputStream(packageFile, params, path);
+            }
+            if (zipPackage == null) {
+                zipPackage = new ZipFile(packageFile);
+            }
+            ZipEntry entry = zipPackage.getEntry(path);
+            if (entry == null) {
+                throw new MetadataValidationException("Manifest file references file '"
+                                                          + path + "' not included in the zip.");
+            }
+            return zipPackage.getInputStream(entry);
+        }
+
+        /**
+         * Close the Zip package, if it was opened.
+         *
+         * @throws IOException if IO error
+         */
+        @Override
+        public void close() throws IOException {
+            if (zipPackage != null) {
+                zipPackage.close();
+                zipPackage = null;
+            }
         }
     } // end MdrefManager class
 
@@ -439,100 +482,101 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
 
         // initialize callback object which will retrieve external inputstreams
         // for any <mdRef>'s found in METS
-        MdrefManager callback = new MdrefManager(pkgFile, params);
+        try (MdrefManager callback = new MdrefManager(pkgFile, params)) {
 
-        // Crosswalk the sourceMD first, so that we make sure to fill in
-        // submitter info (and any other initial applicable info)
-        manifest.crosswalkObjectSourceMD(context, params, dso, callback);
+            // Crosswalk the sourceMD first, so that we make sure to fill in
+            // submitter info (and any other initial applicable info)
+            manifest.crosswalkObjectSourceMD(context, params, dso, callback);
 
-        // Next, crosswalk techMD, digiprovMD, rightsMD
-        manifest.crosswalkObjectOtherAdminMD(context, params, dso, callback);
+            // Next, crosswalk techMD, digiprovMD, rightsMD
+            manifest.crosswalkObjectOtherAdminMD(context, params, dso, callback);
 
-        // -- Step 4 --
-        // Run our Descriptive metadata (dublin core, etc) crosswalks!
-        crosswalkObjectDmd(context, dso, manifest, callback, manifest
-            .getItemDmds(), params);
+            // -- Step 4 --
+            // Run our Descriptive metadata (dublin core, etc) crosswalks!
+            crosswalkObjectDmd(context, dso, manifest, callback, manifest
+                .getItemDmds(), params);
 
-        // For Items, also sanity-check the metadata for minimum requirements.
-        if (type == Constants.ITEM) {
-            PackageUtils.checkItemMetadata((Item) dso);
-        }
+            // For Items, also sanity-check the metadata for minimum requirements.
+            if (type == Constants.ITEM) {
+                PackageUtils.checkItemMetadata((Item) dso);
+            }
 
-        // -- Step 5 --
-        // Add all content files as bitstreams on new DSpace Object
-        if (type == Constants.ITEM) {
-            Item item = (Item) dso;
+            // -- Step 5 --
+            // Add all content files as bitstreams on new DSpace Object
+            if (type == Constants.ITEM) {
+                Item item = (Item) dso;
 
-            //Check if this item is still in a user's workspace.
-            //It should be, as we haven't completed its install yet.
-            WorkspaceItem wsi = workspaceItemService.findByItem(context, item);
+                //Check if this item is still in a user's workspace.
+                //It should be, as we haven't completed its install yet.
+                WorkspaceItem wsi = workspaceItemService.findByItem(context, item);
 
-            // Get collection this item is being submitted to
-            Collection collection = item.getOwningCollection();
-            if (collection == null) {
-                // Get the collection this workspace item belongs to
-                if (wsi != null) {
-                    collection = wsi.getCollection();
+                // Get collection this item is being submitted to
+                Collection collection = item.getOwningCollection();
+                if (collection == null) {
+                    // Get the collection this workspace item belongs to
+                    if (wsi != null) {
+                        collection = wsi.getCollection();
+                    }
                 }
-            }
 
-            // save manifest as a bitstream in Item if desired
-            if (preserveManifest()) {
-                addManifestBitstream(context, item, manifest);
-            }
+                // save manifest as a bitstream in Item if desired
+                if (preserveManifest()) {
+                    addManifestBitstream(context, item, manifest);
+                }
 
-            // save all other bitstreams in Item
-            addBitstreams(context, item, manifest, pkgFile, params, callback);
+                // save all other bitstreams in Item
+                addBitstreams(context, item, manifest, pkgFile, params, callback);
 
-            // have subclass manage license since it may be extra package file.
-            addLicense(context, item, license, collection, params);
+                // have subclass manage license since it may be extra package file.
+                addLicense(context, item, license, collection, params);
 
-            // Subclass hook for final checks and rearrangements
-            // (this allows subclasses to do some final validation / changes as
-            // necessary)
-            finishObject(context, dso, params);
+                // Subclass hook for final checks and rearrangements
+                // (this allows subclasses to do some final validation / changes as
+                // necessary)
+                finishObject(context, dso, params);
 
-            // Finally, if item is still in the workspace, then we actually need
-            // to install it into the archive & assign its handle.
-            if (wsi != null) {
-                // Finish creating the item. This actually assigns the handle,
-                // and will either install item immediately or start a workflow, based on params
-                PackageUtils.finishCreateItem(context, wsi, handle, params);
-            } else {
-                // We should have a workspace item during ingest, so this code is only here for safety.
-                // Update the object to make sure all changes are committed
-                PackageUtils.updateDSpaceObject(context, dso);
-            }
-        } else if (type == Constants.COLLECTION || type == Constants.COMMUNITY) {
-            // Add logo if one is referenced from manifest
-            addContainerLogo(context, dso, manifest, pkgFile, params);
+                // Finally, if item is still in the workspace, then we actually need
+                // to install it into the archive & assign its handle.
+                if (wsi != null) {
+                    // Finish creating the item. This actually assigns the handle,
+                    // and will either install item immediately or start a workflow, based on params
+                    PackageUtils.finishCreateItem(context, wsi, handle, params);
+                } else {
+                    // We should have a workspace item during ingest, so this code is only here for safety.
+                    // Update the object to make sure all changes are committed
+                    PackageUtils.updateDSpaceObject(context, dso);
+                }
+            } else if (type == Constants.COLLECTION || type == Constants.COMMUNITY) {
+                // Add logo if one is referenced from manifest
+                addContainerLogo(context, dso, manifest, pkgFile, params, callback);
 
-            if (type == Constants.COLLECTION) {
-                //Add template item if one is referenced from manifest (only for Collections)
-                addTemplateItem(context, dso, manifest, pkgFile, params, callback);
-            }
+                if (type == Constants.COLLECTION) {
+                    //Add template item if one is referenced from manifest (only for Collections)
+                    addTemplateItem(context, dso, manifest, pkgFile, params, callback);
+                }
 
-            // Subclass hook for final checks and rearrangements
-            // (this allows subclasses to do some final validation / changes as
-            // necessary)
-            finishObject(context, dso, params);
+                // Subclass hook for final checks and rearrangements
+                // (this allows subclasses to do some final validation / changes as
+                // necessary)
+                finishObject(context, dso, params);
 
-            // Update the object to make sure all changes are committed
-            PackageUtils.updateDSpaceObject(context, dso);
-        } else if (type == Constants.SITE) {
-            // Do nothing by default -- Crosswalks will handle anything necessary to ingest at Site-level
+                // Update the object to make sure all changes are committed
+                PackageUtils.updateDSpaceObject(context, dso);
+            } else if (type == Constants.SITE) {
+                // Do nothing by default -- Crosswalks will handle anything necessary to ingest at Site-level
 
-            // Subclass hook for final checks and rearrangements
-            // (this allows subclasses to do some final validation / changes as
-            // necessary)
-            finishObject(context, dso, params);
+                // Subclass hook for final checks and rearrangements
+                // (this allows subclasses to do some final validation / changes as
+                // necessary)
+                finishObject(context, dso, params);
 
-            // Update the object to make sure all changes are committed
-            PackageUtils.updateDSpaceObject(context, dso);
-        } else {
-            throw new PackageValidationException(
-                "Unknown DSpace Object type in package, type="
-                    + String.valueOf(type));
+                // Update the object to make sure all changes are committed
+                PackageUtils.updateDSpaceObject(context, dso);
+            } else {
+                throw new PackageValidationException(
+                    "Unknown DSpace Object type in package, type="
+                        + String.valueOf(type));
+            }
         }
 
         return dso;
@@ -606,78 +650,80 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
 
         // initialize callback object which will retrieve external inputstreams
         // for any <mdRef>s found in METS
-        MdrefManager callback = new MdrefManager(pkgFile, params);
+        try (MdrefManager callback = new MdrefManager(pkgFile, params)) {
 
-        // Crosswalk the sourceMD first, so that we make sure to fill in
-        // submitter info (and any other initial applicable info)
-        manifest.crosswalkObjectSourceMD(context, params, dso, callback);
+            // Crosswalk the sourceMD first, so that we make sure to fill in
+            // submitter info (and any other initial applicable info)
+            manifest.crosswalkObjectSourceMD(context, params, dso, callback);
 
-        // Next, crosswalk techMD, digiprovMD, rightsMD
-        manifest.crosswalkObjectOtherAdminMD(context, params, dso, callback);
+            // Next, crosswalk techMD, digiprovMD, rightsMD
+            manifest.crosswalkObjectOtherAdminMD(context, params, dso, callback);
 
-        // -- Step 4 --
-        // Add all content files as bitstreams on new DSpace Object
-        if (dso.getType() == Constants.ITEM) {
-            Item item = (Item) dso;
+            // -- Step 4 --
+            // Add all content files as bitstreams on new DSpace Object
+            if (dso.getType() == Constants.ITEM) {
+                Item item = (Item) dso;
 
-            // save manifest as a bitstream in Item if desired
-            if (preserveManifest()) {
-                addManifestBitstream(context, item, manifest);
-            }
+                // save manifest as a bitstream in Item if desired
+                if (preserveManifest()) {
+                    addManifestBitstream(context, item, manifest);
+                }
 
-            // save all other bitstreams in Item
-            addBitstreams(context, item, manifest, pkgFile, params, callback);
-
-            // have subclass manage license since it may be extra package file.
-            Collection owningCollection = (Collection) ContentServiceFactory.getInstance().getDSpaceObjectService(dso)
-                                                                            .getParentObject(context, dso);
-            if (owningCollection == null) {
-                //We are probably dealing with an item that isn't archived yet
-                InProgressSubmission inProgressSubmission = workspaceItemService.findByItem(context, item);
-                if (inProgressSubmission == null) {
-                    inProgressSubmission = WorkflowServiceFactory.getInstance().getWorkflowItemService()
-                                                                 .findByItem(context, item);
+                // save all other bitstreams in Item
+                addBitstreams(context, item, manifest, pkgFile, params, callback);
+
+                // have subclass manage license since it may be extra package file.
+                Collection owningCollection = (Collection) ContentServiceFactory.getInstance()
+                                                                                .getDSpaceObjectService(dso)
+                                                                                .getParentObject(context, dso);
+                if (owningCollection == null) {
+                    //We are probably dealing with an item that isn't archived yet
+                    InProgressSubmission inProgressSubmission = workspaceItemService.findByItem(context, item);
+                    if (inProgressSubmission == null) {
+                        inProgressSubmission = WorkflowServiceFactory.getInstance().getWorkflowItemService()
+                                                                     .findByItem(context, item);
+                    }
+                    owningCollection = inProgressSubmission.getCollection();
                 }
-                owningCollection = inProgressSubmission.getCollection();
-            }
 
-            itemService.populateWithTemplateItemMetadata(context, owningCollection, params.useCollectionTemplate(),
-                item);
+                itemService.populateWithTemplateItemMetadata(context, owningCollection, params.useCollectionTemplate(),
+                    item);
 
-            addLicense(context, item, license, owningCollection
-                , params);
+                addLicense(context, item, license, owningCollection
+                    , params);
 
-            // FIXME ?
-            // should set lastModifiedTime e.g. when ingesting AIP.
-            // maybe only do it in the finishObject() callback for AIP.
+                // FIXME ?
+                // should set lastModifiedTime e.g. when ingesting AIP.
+                // maybe only do it in the finishObject() callback for AIP.
 
-        } else if (dso.getType() == Constants.COLLECTION || dso.getType() == Constants.COMMUNITY) {
-            // Add logo if one is referenced from manifest
-            addContainerLogo(context, dso, manifest, pkgFile, params);
-        } else if (dso.getType() == Constants.SITE) {
-            // Do nothing -- Crosswalks will handle anything necessary to replace at Site-level
-        }
+            } else if (dso.getType() == Constants.COLLECTION || dso.getType() == Constants.COMMUNITY) {
+                // Add logo if one is referenced from manifest
+                addContainerLogo(context, dso, manifest, pkgFile, params, callback);
+            } else if (dso.getType() == Constants.SITE) {
+                // Do nothing -- Crosswalks will handle anything necessary to replace at Site-level
+            }
 
-        // -- Step 5 --
-        // Run our Descriptive metadata (dublin core, etc) crosswalks!
-        crosswalkObjectDmd(context, dso, manifest, callback, manifest
-            .getItemDmds(), params);
+            // -- Step 5 --
+            // Run our Descriptive metadata (dublin core, etc) crosswalks!
+            crosswalkObjectDmd(context, dso, manifest, callback, manifest
+                .getItemDmds(), params);
 
-        // For Items, also sanity-check the metadata for minimum requirements.
-        if (dso.getType() == Constants.ITEM) {
-            PackageUtils.checkItemMetadata((Item) dso);
-        }
+            // For Items, also sanity-check the metadata for minimum requirements.
+            if (dso.getType() == Constants.ITEM) {
+                PackageUtils.checkItemMetadata((Item) dso);
+            }
 
-        // -- Step 6 --
-        // Finish things up!
+            // -- Step 6 --
+            // Finish things up!
 
-        // Subclass hook for final checks and rearrangements
-        // (this allows subclasses to do some final validation / changes as
-        // necessary)
-        finishObject(context, dso, params);
+            // Subclass hook for final checks and rearrangements
+            // (this allows subclasses to do some final validation / changes as
+            // necessary)
+            finishObject(context, dso, params);
 
-        // Update the object to make sure all changes are committed
-        PackageUtils.updateDSpaceObject(context, dso);
+            // Update the object to make sure all changes are committed
+            PackageUtils.updateDSpaceObject(context, dso);
+        }
 
         return dso;
     }
@@ -737,9 +783,6 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
 
             // retrieve path/name of file in manifest
             String path = METSManifest.getFileName(mfile);
-            // extract the file input stream from package (or retrieve
-            // externally, if it is an externally referenced file)
-            InputStream fileStream = getFileInputStream(pkgFile, params, path);
 
             // retrieve bundle name from manifest
             String bundleName = METSManifest.getBundleName(mfile);
@@ -753,8 +796,13 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
                 bundle = bundleService.create(context, item, bundleName);
             }
 
-            // Create the bitstream in the bundle & initialize its name
-            Bitstream bitstream = bitstreamService.create(context, bundle, fileStream);
+            // Create the bitstream in the bundle & initialize its name,
+            // streaming its content from the package (or retrieving it
+            // externally, if it is an externally referenced file)
+            Bitstream bitstream;
+            try (InputStream fileStream = mdRefCallback.getFileInputStream(path)) {
+                bitstream = bitstreamService.create(context, bundle, fileStream);
+            }
             bitstream.setName(context, path);
 
             // Set bitstream sequence id, if known
@@ -883,6 +931,7 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
      * @param pkgFile  the full package file (which may include content files if a
      *                 zip)
      * @param params   Ingestion Parameters
+     * @param callback the MdrefManager, which reads the files of the package
      * @throws SQLException                if database error
      * @throws IOException                 if IO error
      * @throws AuthorizeException          if authorization error
@@ -890,7 +939,8 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
      * @throws PackageValidationException  if package validation error
      */
     protected void addContainerLogo(Context context, DSpaceObject dso,
-                                    METSManifest manifest, File pkgFile, PackageParameters params)
+                                    METSManifest manifest, File pkgFile, PackageParameters params,
+                                    MdrefManager callback)
         throws SQLException, IOException, AuthorizeException,
         MetadataValidationException, PackageValidationException {
 
@@ -910,14 +960,13 @@ public abstract class AbstractMETSIngester extends AbstractPackageIngester {
 
                     // extract the file input stream from package (or retrieve
                     // externally, if it is an externally referenced file)
-                    InputStream fileStream = getFileInputStream(pkgFile,
-                                                                params, path);
-
-                    // Add this logo to the Community/Collection
-                    if (dso.getType() == Constants.COLLECTION) {
-                        collectionService.setLogo(context, ((Collection) dso), fileStream);
-                    } else {
-                        communityService.setLogo(context, ((Community) dso), fileStream);
+                    try (InputStream fileStream = callback.getFileInputStream(path)) {
+                        // Add this logo to the Community/Collection
+                        if (dso.getType() == Constants.COLLECTION) {
+                            collectionService.setLogo(context, ((Collection) dso), fileStream);
+                        } else {
+                            communityService.setLogo(context, ((Community) dso), fileStream);
+                        }
                     }
 
                     break;
@@ -9,11 +9,19 @@ package org.dspace.content.packager;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
@@ -25,6 +33,11 @@ import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
+import org.dspace.core.LogHelper;
+import org.dspace.core.Utils;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
 
 /**
  * An abstract implementation of a DSpace Package Disseminator, which
@@ -35,6 +48,11 @@ import org.dspace.core.Context;
  * method of the PackageIngester interface.  This method is setup to
  * recursively call disseminate() method.
  * <P>
+ * A recursive dissemination may write the Item packages on several threads
+ * (the "threads" option), and may keep a checkpoint file (the "checkpoint"
+ * option) which lets a later dissemination into the same directory skip the
+ * Item packages which are still current, see {@link PackageCheckpoint}.
+ * <P>
  * All Package disseminators should either extend this abstract class
  * or implement <code>PackageDisseminator</code> to better suit their needs.
  *
@@ -44,13 +62,41 @@ import org.dspace.core.Context;
  */
 public abstract class AbstractPackageDisseminator
     implements PackageDisseminator {
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * Suffix of the file a package is written to, before it is moved to its final name
+     */
+    protected static final String PART_SUFFIX = ".part";
+
     /**
      * List of all successfully disseminated package files
      */
     private List<File> packageFileList = new ArrayList<File>();
 
+    /**
+     * Set of all successfully disseminated package files, for fast lookups
+     */
+    private Set<File> packageFiles = new HashSet<>();
+
+    /**
+     * Items handed to the workers, so that mapped Items are disseminated once
+     */
+    private Set<UUID> submittedItems = new HashSet<>();
+
+    /**
+     * Workers disseminating the Item packages, when the "threads" option is more than 1
+     */
+    private ContextWorkerPool<Pair<UUID, File>> itemPool = null;
+
+    /**
+     * Checkpoint of the dissemination, when the "checkpoint" option is set
+     */
+    private PackageCheckpoint checkpoint = null;
+
     protected final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
     protected final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    protected final EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
 
     /**
      * Recursively export one or more DSpace Objects as a series of packages.
@@ -92,19 +138,74 @@ public abstract class AbstractPackageDisseminator
             params.setRecursiveModeEnabled(true);
         }
 
-        // If this object package has NOT already been disseminated
-        // NOTE: This ensures we don't accidentally disseminate the same object
-        // TWICE, e.g. when an Item is mapped into multiple Collections.
-        if (!getPackageList().contains(pkgFile)) {
-            // Disseminate the object using provided PackageDisseminator
-            disseminate(context, dso, params, pkgFile);
+        //Disseminate Items on several threads, if requested
+        int threads = 1;
+        if (params.getProperty("threads") != null) {
+            try {
+                threads = Utils.parsePositiveInt(params.getProperty("threads"), "number of threads");
+            } catch (IllegalArgumentException e) {
+                throw new PackageException(e.getMessage(), e);
+            }
+        }
+        //Resume from (and keep) a checkpoint, if requested
+        String checkpointFile = params.getProperty("checkpoint");
+        if (checkpointFile != null && !checkpointFile.isEmpty()) {
+            checkpoint = new PackageCheckpoint(new File(checkpointFile));
+        }
+        if (threads > 1) {
+            itemPool = createItemPool(context, params, threads);
+        }
+        try {
+            disseminateTree(context, dso, params, pkgFile);
+            if (itemPool != null) {
+                itemPool.awaitCompletion();
+            }
+        } catch (PackageException | CrosswalkException | AuthorizeException | SQLException | IOException e) {
+            if (itemPool != null) {
+                itemPool.fail(e);
+            }
+            throw e;
+        } catch (Exception e) {
+            if (itemPool != null) {
+                itemPool.fail(e);
+            }
+            throw new PackageException(e);
+        } finally {
+            if (itemPool != null) {
+                itemPool.close();
+                itemPool = null;
+            }
+            submittedItems.clear();
+            if (checkpoint != null) {
+                checkpoint.close();
+                checkpoint = null;
+            }
         }
 
-        //check if package was disseminated
-        if (pkgFile.exists()) {
-            //add to list of successfully disseminated packages
-            addToPackageList(pkgFile);
+        //return list of all successfully disseminated packages
+        return getPackageList();
+    }
 
+    /**
+     * Disseminate the given DSpace Object and, recursively, all its child
+     * objects. The Items of a Collection are handed to the workers, if any.
+     *
+     * @param context DSpace context.
+     * @param dso     DSpace object
+     * @param params  Properties-style list of options specific to this packager
+     * @param pkgFile File where the package of the object should be written
+     * @throws PackageException   if package cannot be created
+     * @throws CrosswalkException if crosswalk error
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    protected void disseminateTree(Context context, DSpaceObject dso,
+                                   PackageParameters params, File pkgFile)
+        throws PackageException, CrosswalkException,
+        AuthorizeException, SQLException, IOException {
+        //check if package was disseminated
+        if (disseminateObject(this, context, dso, params, pkgFile)) {
             //We can only recursively disseminate non-Items
             //(NOTE: Items have no children, as Bitstreams/Bundles are created from Item packages)
             if (dso.getType() != Constants.ITEM) {
@@ -127,7 +228,12 @@ public abstract class AbstractPackageDisseminator
 
                             //disseminate all items (recursively!)
                             String childFileName = pkgDirectory + PackageUtils.getPackageName(item, fileExtension);
-                            disseminateAll(context, item, params, new File(childFileName));
+                            if (itemPool == null) {
+                                disseminateTree(context, item, params, new File(childFileName));
+                            } else if (submittedItems.add(item.getID())) {
+                                submitItem(item.getID(), new File(childFileName));
+                                context.uncacheEntity(item);
+                            }
                         }
 
                         break;
@@ -139,7 +245,7 @@ public abstract class AbstractPackageDisseminator
                             //disseminate all sub-communities (recursively!)
                             String childFileName = pkgDirectory + PackageUtils
                                 .getPackageName(subcommunity, fileExtension);
-                            disseminateAll(context, subcommunity, params, new File(childFileName));
+                            disseminateTree(context, subcommunity, params, new File(childFileName));
                         }
 
                         //Also find all Collections in this Community and disseminate
@@ -148,7 +254,7 @@ public abstract class AbstractPackageDisseminator
                             //disseminate all collections (recursively!)
                             String childFileName = pkgDirectory + PackageUtils
                                 .getPackageName(collections.get(i), fileExtension);
-                            disseminateAll(context, collections.get(i), params, new File(childFileName));
+                            disseminateTree(context, collections.get(i), params, new File(childFileName));
                         }
 
                         break;
@@ -159,7 +265,7 @@ public abstract class AbstractPackageDisseminator
                             //disseminate all top-level communities (recursively!)
                             String childFileName = pkgDirectory + PackageUtils
                                 .getPackageName(topCommunity, fileExtension);
-                            disseminateAll(context, topCommunity, params, new File(childFileName));
+                            disseminateTree(context, topCommunity, params, new File(childFileName));
                         }
 
                         break;
@@ -168,9 +274,123 @@ public abstract class AbstractPackageDisseminator
                 } //end switch
             } //end if not an Item
         } //end if pkgFile exists
+    }
 
-        //return list of all successfully disseminated packages
-        return getPackageList();
+    /**
+     * Disseminate a single object of a recursive dissemination, unless its
+     * package was already disseminated or is current in the checkpoint. The
+     * package is written to a temporary file first, which is then renamed, so
+     * that an interrupted dissemination never leaves an incomplete package.
+     *
+     * @param disseminator the disseminator writing the package
+     * @param context      DSpace context.
+     * @param dso          DSpace object
+     * @param params       Properties-style list of options specific to this packager
+     * @param pkgFile      File where the package of the object should be written
+     * @return true if the package of the object exists
+     */
+    private boolean disseminateObject(AbstractPackageDisseminator disseminator, Context context, DSpaceObject dso,
+                                      PackageParameters params, File pkgFile)
+        throws PackageException, CrosswalkException,
+        AuthorizeException, SQLException, IOException {
+        // If this object package has NOT already been disseminated
+        // NOTE: This ensures we don't accidentally disseminate the same object
+        // TWICE, e.g. when an Item is mapped into multiple Collections.
+        if (!isInPackageList(pkgFile)) {
+            Item item = dso.getType() == Constants.ITEM ? (Item) dso : null;
+            if (item != null && checkpoint != null && checkpoint.isCurrent(pkgFile, item)) {
+                log.debug("Skipping current package {} of Item {}", pkgFile.getName(), item.getID());
+            } else {
+                // Disseminate the object using provided PackageDisseminator
+                File partFile = new File(pkgFile.getPath() + PART_SUFFIX);
+                Files.deleteIfExists(partFile.toPath());
+                try {
+                    disseminator.disseminate(context, dso, params, partFile);
+                    if (partFile.exists()) {
+                        Files.move(partFile.toPath(), pkgFile.toPath(),
+                                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        log.info(LogHelper.getHeader(context, "package_disseminate",
+                                                     "Disseminated package file=" + pkgFile.getName()
+                                                         + " for Object, type=" + Constants.typeText[dso.getType()]
+                                                         + ", handle=" + dso.getHandle() + ", dbID=" + dso.getID()));
+                        if (item != null && checkpoint != null) {
+                            checkpoint.record(pkgFile, item);
+                        }
+                    }
+                } finally {
+                    Files.deleteIfExists(partFile.toPath());
+                }
+            }
+        }
+
+        if (pkgFile.exists()) {
+            //add to list of successfully disseminated packages
+            addToPackageList(pkgFile);
+            return true;
+        }
+        return false;
+    }
+
+    private void submitItem(UUID itemId, File pkgFile) throws PackageException {
+        try {
+            itemPool.submit(Pair.of(itemId, pkgFile));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PackageException(e);
+        }
+    }
+
+    /**
+     * Create the workers disseminating the Item packages. Every worker has its
+     * own context, acting as the same user as the given context, and its own
+     * instance of this disseminator, so that disseminators do not need to be
+     * thread safe.
+     *
+     * @param context the context of the calling thread
+     * @param params  Properties-style list of options specific to this packager
+     * @param threads the number of workers
+     * @return the pool of workers
+     */
+    protected ContextWorkerPool<Pair<UUID, File>> createItemPool(Context context, PackageParameters params,
+                                                                 int threads) {
+        UUID userId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        boolean ignoreAuthorization = context.ignoreAuthorization();
+        return new ContextWorkerPool<>("packager", threads, () -> {
+            Context workerContext = new Context(Context.Mode.READ_ONLY);
+            if (userId != null) {
+                workerContext.setCurrentUser(ePersonService.find(workerContext, userId));
+            }
+            if (ignoreAuthorization) {
+                workerContext.turnOffAuthorisationSystem();
+            }
+            return workerContext;
+        }, workerContext -> {
+            AbstractPackageDisseminator disseminator = getClass().getDeclaredConstructor().newInstance();
+            return task -> {
+                Item item = itemService.find(workerContext, task.getLeft());
+                if (item == null) {
+                    return;
+                }
+                disseminateObject(disseminator, workerContext, item, params, task.getRight());
+                workerContext.uncacheEntity(item);
+            };
+        });
+    }
+
+    /**
+     * Describe the options of recursive disseminations, to be added to the
+     * {@link PackageDisseminator#getParameterHelp()} of disseminators.
+     *
+     * @return the help of the options
+     */
+    protected String getRecursiveParameterHelp() {
+        return "* threads=[number]      " +
+            "In recursive mode (-a), the number of threads writing the Item packages (defaults to 1)." +
+            "\n\n" +
+            "* checkpoint=[file]      " +
+            "In recursive mode (-a), the file recording the Item packages written. Item packages recorded by a " +
+            "previous run, whose Item was not modified since, are not written again. This lets an interrupted run " +
+            "be resumed, and a repeated run only write the packages of modified Items.";
     }
 
     /**
@@ -178,13 +398,21 @@ public abstract class AbstractPackageDisseminator
      *
      * @param f added File.
      */
-    protected void addToPackageList(File f) {
+    protected synchronized void addToPackageList(File f) {
         //add to list of successfully disseminated packages
-        if (!packageFileList.contains(f)) {
+        if (packageFiles.add(f)) {
             packageFileList.add(f);
         }
     }
 
+    /**
+     * @param f package File
+     * @return true if the File was successfully disseminated by this instance of the Disseminator
+     */
+    protected synchronized boolean isInPackageList(File f) {
+        return packageFiles.contains(f);
+    }
+
     /**
      * Return List of all package Files which have been disseminated
      * this instance of the Disseminator.
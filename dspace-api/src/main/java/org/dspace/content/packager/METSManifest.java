@@ -14,8 +14,10 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.logging.log4j.LogManager;
@@ -182,6 +184,11 @@ public class METSManifest {
     protected List<Element> contentFiles = null;
     protected List<Element> bundleFiles = null;
 
+    /**
+     * amdSec, dmdSec and file elements by element name and ID, built on first lookup
+     */
+    protected Map<String, Element> elementsById = null;
+
     /**
      * builder to use for mdRef streams, inherited from create()
      */
@@ -541,7 +548,7 @@ public class METSManifest {
             throw new MetadataValidationException(
                 "fptr for Primary Bitstream is missing the required FILEID attribute.");
         }
-        Element result = getElementByXPath("descendant::mets:file[@ID=\"" + id + "\"]", false);
+        Element result = getElementById("file", id, false);
         if (result == null) {
             throw new MetadataValidationException(
                 "Cannot find file element for Primary Bitstream: looking for ID=" + id);
@@ -895,6 +902,46 @@ public class METSManifest {
         }
     }
 
+    /**
+     * Find the amdSec, dmdSec or file element with the given ID. The elements are indexed by their ID the first time,
+     * so that the lookups of packages with many files and metadata sections do not each evaluate an XPath
+     * expression over the whole manifest. The first of several elements with the same ID is returned, as by XPath.
+     *
+     * @param name   local name of the element, "amdSec", "dmdSec" or "file"
+     * @param id     value of the ID attribute
+     * @param nullOk true to return null when there is no such element
+     * @return the element, or null if it was not found and nullOk is true
+     * @throws MetadataValidationException if there is no such element and nullOk is false
+     */
+    protected Element getElementById(String name, String id, boolean nullOk)
+        throws MetadataValidationException {
+        if (elementsById == null) {
+            elementsById = new HashMap<>();
+            for (Element child : mets.getChildren()) {
+                if (metsNS.equals(child.getNamespace())
+                    && ("amdSec".equals(child.getName()) || "dmdSec".equals(child.getName()))) {
+                    indexElementById(child);
+                }
+            }
+            for (Element file : mets.getDescendants(Filters.element("file", metsNS))) {
+                indexElementById(file);
+            }
+        }
+        Element result = elementsById.get(name + "#" + id);
+        if (result == null && !nullOk) {
+            throw new MetadataValidationException(
+                "METSManifest: Failed to find element, name=\"" + name + "\", ID=\"" + id + "\"");
+        }
+        return result;
+    }
+
+    private void indexElementById(Element element) {
+        String id = element.getAttributeValue("ID");
+        if (id != null) {
+            elementsById.putIfAbsent(element.getName() + "#" + id, element);
+        }
+    }
+
     // Find crosswalk for the indicated metadata type (e.g. "DC", "MODS")
     protected Object getCrosswalk(String type, Class clazz) {
         /**
@@ -954,7 +1001,7 @@ public class METSManifest {
             Element[] result = new Element[dmdID.length];
 
             for (int i = 0; i < dmdID.length; ++i) {
-                result[i] = getElementByXPath("mets:dmdSec[@ID=\"" + dmdID[i] + "\"]", false);
+                result[i] = getElementById("dmdSec", dmdID[i], false);
             }
             return result;
         } else {
@@ -983,7 +1030,7 @@ public class METSManifest {
         String[] amdID = amds.split("\\s+");
         List<Element> resultList = new ArrayList<>();
         for (int i = 0; i < amdID.length; ++i) {
-            List rmds = getElementByXPath("mets:amdSec[@ID=\"" + amdID[i] + "\"]", false).
+            List rmds = getElementById("amdSec", amdID[i], false).
                                                                                              getChildren("rightsMD",
                                                                                                          metsNS);
             if (rmds.size() > 0) {
@@ -1035,7 +1082,7 @@ public class METSManifest {
         throws MetadataValidationException, PackageValidationException,
         CrosswalkException, IOException, SQLException, AuthorizeException {
         for (String amdID : getAmdIDs()) {
-            Element amdSec = getElementByXPath("mets:amdSec[@ID=\"" + amdID + "\"]", false);
+            Element amdSec = getElementById("amdSec", amdID, false);
             for (Iterator ti = amdSec.getChildren("techMD", metsNS).iterator(); ti.hasNext(); ) {
                 crosswalkXmd(context, params, dso, (Element) ti.next(), callback, false);
             }
@@ -1070,7 +1117,7 @@ public class METSManifest {
         boolean result = false;
 
         for (String amdID : getAmdIDs()) {
-            Element amdSec = getElementByXPath("mets:amdSec[@ID=\"" + amdID + "\"]", false);
+            Element amdSec = getElementById("amdSec", amdID, false);
             for (Iterator ti = amdSec.getChildren("sourceMD", metsNS).iterator(); ti.hasNext(); ) {
                 crosswalkXmd(context, params, dso, (Element) ti.next(), callback, false);
                 result = true;
@@ -1215,7 +1262,7 @@ public class METSManifest {
                                    String fileId, Mdref callback)
         throws MetadataValidationException, PackageValidationException,
         CrosswalkException, IOException, SQLException, AuthorizeException {
-        Element file = getElementByXPath("descendant::mets:file[@ID=\"" + fileId + "\"]", false);
+        Element file = getElementById("file", fileId, false);
         if (file == null) {
             throw new MetadataValidationException(
                 "Failed in Bitstream crosswalk, Could not find file element with ID=" + fileId);
@@ -1230,7 +1277,7 @@ public class METSManifest {
         }
         String[] amdID = amds.split("\\s+");
         for (int i = 0; i < amdID.length; ++i) {
-            Element amdSec = getElementByXPath("mets:amdSec[@ID=\"" + amdID[i] + "\"]", false);
+            Element amdSec = getElementById("amdSec", amdID[i], false);
             for (Iterator ti = amdSec.getChildren("techMD", metsNS).iterator(); ti.hasNext(); ) {
                 crosswalkXmd(context, params, bitstream, (Element) ti.next(), callback, false);
             }
@@ -1264,7 +1311,7 @@ public class METSManifest {
         }
         String[] amdID = amds.split("\\s+");
         for (int i = 0; i < amdID.length; ++i) {
-            Element amdSec = getElementByXPath("mets:amdSec[@ID=\"" + amdID[i] + "\"]", false);
+            Element amdSec = getElementById("amdSec", amdID[i], false);
             for (Iterator ti = amdSec.getChildren("techMD", metsNS).iterator(); ti.hasNext(); ) {
                 crosswalkXmd(context, params, bundle, (Element) ti.next(), callback, false);
             }
@@ -0,0 +1,100 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.packager;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.content.Item;
+
+/**
+ * Checkpoint of a recursive dissemination, kept in a file listing every Item
+ * package written, with the last modified date of its Item and the size of the
+ * package.
+ * <p>
+ * A package is current when its Item was not modified since it was recorded
+ * and the package file is still there with the same size. Current packages are
+ * not written again, so that an interrupted dissemination resumes where it
+ * stopped, and a repeated dissemination into the same directory only writes
+ * the packages of the Items changed since.
+ * <p>
+ * Every package is appended to the file as soon as it is written, as a line
+ * "name TAB last-modified TAB size". The last line of a package wins.
+ *
+ * @see AbstractPackageDisseminator#disseminateAll
+ */
+class PackageCheckpoint implements Closeable {
+
+    private final Map<String, String> packages = new ConcurrentHashMap<>();
+
+    private final Writer writer;
+
+    /**
+     * Read the packages recorded in the checkpoint file, if it exists, and
+     * open it to record the packages written from now on.
+     *
+     * @param file the checkpoint file
+     * @throws IOException if the file cannot be read or written
+     */
+    PackageCheckpoint(File file) throws IOException {
+        if (file.exists()) {
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    if (tab > 0) {
+                        packages.put(line.substring(0, tab), line.substring(tab + 1));
+                    }
+                }
+            }
+        }
+        writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                                         StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * @param pkgFile the package file of the Item
+     * @param item    the Item
+     * @return true if the package was recorded for the current state of the Item and was not changed since
+     */
+    boolean isCurrent(File pkgFile, Item item) {
+        String recorded = packages.get(pkgFile.getName());
+        return recorded != null && pkgFile.exists() && recorded.equals(state(pkgFile, item));
+    }
+
+    /**
+     * Record the package just written for an Item.
+     *
+     * @param pkgFile the package file of the Item
+     * @param item    the Item
+     * @throws IOException if the checkpoint file cannot be written
+     */
+    synchronized void record(File pkgFile, Item item) throws IOException {
+        String state = state(pkgFile, item);
+        packages.put(pkgFile.getName(), state);
+        writer.write(pkgFile.getName() + "\t" + state + "\n");
+        writer.flush();
+    }
+
+    private static String state(File pkgFile, Item item) {
+        return item.getLastModified().toEpochMilli() + "\t" + pkgFile.length();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
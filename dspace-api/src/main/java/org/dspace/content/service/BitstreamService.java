@@ -218,6 +218,20 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    /**
+     * Count the other bitstreams which are not deleted and share the stored file of the given bitstream in an
+     * assetstore, i.e. which have the same internal identifier in that assetstore. A bitstream cloned for a new item
+     * version shares the stored file of the original bitstream, so the file may only be removed from the assetstore
+     * once it is no longer referenced.
+     *
+     * @param context     the dspace context
+     * @param bitstream   the bitstream
+     * @param storeNumber the assetstore
+     * @return the number of other bitstreams referencing the stored file
+     * @throws SQLException if database error
+     */
+    public int countAssetReferences(Context context, Bitstream bitstream, Integer storeNumber) throws SQLException;
+
     int countTotal(Context context) throws SQLException;
 
     int countDeletedBitstreams(Context context) throws SQLException;
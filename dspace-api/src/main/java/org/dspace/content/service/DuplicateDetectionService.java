@@ -15,6 +15,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.DuplicateDetectionServiceImpl;
+import org.dspace.content.DuplicateSignature;
 import org.dspace.content.Item;
 import org.dspace.content.virtual.PotentialDuplicate;
 import org.dspace.core.Context;
@@ -35,6 +36,16 @@ public interface DuplicateDetectionService {
      */
     Logger log = LogManager.getLogger(DuplicateDetectionService.class);
 
+    /**
+     * Solr field storing the encoded MinHash signature of an item
+     */
+    String SIGNATURE_FIELD = "deduplication_signature_s";
+
+    /**
+     * Solr field storing the terms of the bands of the MinHash signature of an item
+     */
+    String SIGNATURE_BAND_FIELD = "deduplication_band_keyword";
+
     /**
      * Get a list of PotentialDuplicate objects (wrappers with some metadata included for previewing) that
      * are identified as potential duplicates of the given item
@@ -64,7 +75,10 @@ public interface DuplicateDetectionService {
 
     /**
      * Search discovery for potential duplicates of a given item. The search uses levenshtein distance (configurable)
-     * and a single-term "comparison value" constructed out of the item title
+     * and a single-term "comparison value" constructed out of the item title.
+     * If the signature based detection is enabled, the items sharing a band of the MinHash signature of the item are
+     * looked up instead, and only those whose estimated similarity reaches the configured threshold are returned,
+     * most similar first.
      *
      * @param context DSpace context
      * @param item The item to check
@@ -82,4 +96,29 @@ public interface DuplicateDetectionService {
      * @return a constructed, normalised string
      */
     String buildComparisonValue(Context context, Item item);
+
+    /**
+     * @return true if duplicates are detected by the MinHash signatures of items, as configured by
+     * {@code duplicate.signature.enable}
+     */
+    boolean isSignatureEnabled();
+
+    /**
+     * @return the number of bands the MinHash signatures are split into for the candidate lookup
+     */
+    int getSignatureBands();
+
+    /**
+     * @return the minimum estimated similarity of the signatures of two items to be considered as duplicates
+     */
+    double getSignatureThreshold();
+
+    /**
+     * Build the MinHash signature of an item from the shingles of its title, the family names of its authors and its
+     * year, used when indexing and querying items for deduplication
+     * @param context DSpace context
+     * @param item The DSpace item
+     * @return the signature, or null if the item has none of the configured metadata
+     */
+    DuplicateSignature buildSignature(Context context, Item item);
 }
@@ -105,6 +105,28 @@ public interface ItemService
      */
     Iterator<Item> findAll(Context context) throws SQLException;
 
+    /**
+     * Find the items with the given ids in a single query, together with their metadata. This is meant to load
+     * many items at once, after which {@link #find(Context, UUID)} returns them without a further query for as long
+     * as they stay in the context.
+     *
+     * @param context DSpace context object
+     * @param ids     the ids of the items, ids of items that do not exist are ignored
+     * @return the items found, in no particular order
+     * @throws SQLException if database error
+     */
+    List<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
+
+    /**
+     * Find which of the given ids are ids of existing items, in a single query and without loading the items.
+     *
+     * @param context DSpace context object
+     * @param ids     the ids to check
+     * @return the ids of the existing items, in no particular order
+     * @throws SQLException if database error
+     */
+    List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * Get all the items in the archive. Only items with the "in archive" flag
      * set are included. The order of the list is indeterminate.
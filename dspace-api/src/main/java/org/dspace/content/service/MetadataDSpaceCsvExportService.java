@@ -7,6 +7,7 @@
  */
 package org.dspace.content.service;
 
+import java.io.OutputStream;
 import java.util.Iterator;
 
 import org.dspace.app.bulkedit.DSpaceCSV;
@@ -36,6 +37,23 @@ public interface MetadataDSpaceCsvExportService {
     public DSpaceCSV handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata,
                                   String identifier, DSpaceRunnableHandler dSpaceRunnableHandler) throws Exception;
 
+    /**
+     * This method will export DSpaceObject objects in the same way as
+     * {@link #handleExport(Context, boolean, boolean, String, DSpaceRunnableHandler)}, but writes the CSV to the
+     * given stream while the items are exported, see {@link #export(Context, Iterator, boolean, OutputStream,
+     * DSpaceRunnableHandler)}
+     * @param context           The relevant DSpace context
+     * @param exportAllItems    A boolean indicating whether or not the entire repository should be exported
+     * @param exportAllMetadata Defines if all metadata should be exported or only the allowed ones
+     * @param identifier        The handle or UUID for the DSpaceObject to be exported, can be a Community,
+     *                          Collection or Item
+     * @param out               The stream to write the CSV to, it is not closed
+     * @throws Exception        If something goes wrong
+     */
+    public void handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata,
+                             String identifier, OutputStream out, DSpaceRunnableHandler dSpaceRunnableHandler)
+        throws Exception;
+
     /**
      * This method will export all the Items in the given toExport iterator to a DSpaceCSV
      * @param context       The relevant DSpace context
@@ -47,6 +65,19 @@ public interface MetadataDSpaceCsvExportService {
     public DSpaceCSV export(Context context, Iterator<Item> toExport,
                             boolean exportAll, DSpaceRunnableHandler handler) throws Exception;
 
+    /**
+     * This method will export all the Items in the given toExport iterator as CSV to the given stream. The columns
+     * are derived from the metadata fields used by the items first, then the items are loaded in batches and every
+     * line is written as soon as its item is loaded, so neither the items nor the lines are held in memory
+     * @param context       The relevant DSpace context
+     * @param toExport      The iterator containing the items to export
+     * @param exportAll     Defines if all metadata should be exported or only the allowed ones
+     * @param out           The stream to write the CSV to, it is not closed
+     * @throws Exception    If something goes wrong
+     */
+    public void export(Context context, Iterator<Item> toExport, boolean exportAll, OutputStream out,
+                       DSpaceRunnableHandler handler) throws Exception;
+
     /**
      * This method will export all the Items within the given Community to a DSpaceCSV
      * @param context       The relevant DSpace context
@@ -0,0 +1,106 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.contentreport;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentReportServiceFactory;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.contentreport.service.ContentReportService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * Consumer keeping the stored filter results of the Filtered Collections report up to date: the filters are
+ * evaluated again for every item that was modified, or whose bundles or bitstreams were modified.
+ * Nothing is done unless the stored results are enabled by {@code contentreport.filteredcollections.stored}.
+ */
+public class ContentReportConsumer implements Consumer {
+
+    private ContentReportService contentReportService;
+    private ItemService itemService;
+
+    private final Set<UUID> itemIds = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        contentReportService = ContentReportServiceFactory.getInstance().getContentReportService();
+        itemService = ContentServiceFactory.getInstance().getItemService();
+    }
+
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        if (!contentReportService.getStoredFilteredCollectionsEnabled()) {
+            return;
+        }
+        if (event.getEventType() == Event.DELETE && event.getSubjectType() == Constants.ITEM) {
+            // The stored results of a deleted item are deleted with it
+            return;
+        }
+        DSpaceObject subject = event.getSubject(context);
+        switch (event.getSubjectType()) {
+            case Constants.ITEM:
+                if (subject != null) {
+                    itemIds.add(subject.getID());
+                }
+                break;
+            case Constants.BUNDLE:
+                if (subject != null) {
+                    addItems((Bundle) subject);
+                }
+                break;
+            case Constants.BITSTREAM:
+                if (subject != null) {
+                    for (Bundle bundle : ((Bitstream) subject).getBundles()) {
+                        addItems(bundle);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void addItems(Bundle bundle) {
+        for (Item item : bundle.getItems()) {
+            itemIds.add(item.getID());
+        }
+    }
+
+    @Override
+    public void end(Context context) throws Exception {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        context.turnOffAuthorisationSystem();
+        try {
+            for (UUID itemId : itemIds) {
+                Item item = itemService.find(context, itemId);
+                if (item != null) {
+                    contentReportService.storeItemFilters(context, item);
+                }
+            }
+        } finally {
+            context.restoreAuthSystemState();
+            itemIds.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context context) throws Exception {
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.contentreport;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * The stored result of evaluating all {@link Filter}s against one item, used to compute the Filtered Collections
+ * report without evaluating the filters again. The result is kept as a bit mask, where bit <i>n</i> is set if the
+ * item matches the filter with ordinal <i>n</i>.
+ */
+@Entity
+@Table(name = "contentreport_item")
+public class ContentReportItem implements ReloadableEntity<UUID> {
+
+    @Id
+    @Column(name = "item_id")
+    private UUID itemId;
+
+    @Column(name = "filters", nullable = false)
+    private long filters;
+
+    /**
+     * Protected constructor, create object using:
+     * {@link org.dspace.contentreport.service.ContentReportService#storeItemFilters(org.dspace.core.Context,
+     * org.dspace.content.Item)}
+     */
+    protected ContentReportItem() {
+    }
+
+    protected ContentReportItem(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    @Override
+    public UUID getID() {
+        return itemId;
+    }
+
+    /**
+     * @return the bit mask of the filters matching the item
+     */
+    public long getFilters() {
+        return filters;
+    }
+
+    public void setFilters(long filters) {
+        this.filters = filters;
+    }
+
+    /**
+     * @param filters the filters
+     * @return the bit mask of the given filters
+     */
+    public static long toMask(Collection<Filter> filters) {
+        long mask = 0;
+        for (Filter filter : filters) {
+            mask |= toMask(filter);
+        }
+        return mask;
+    }
+
+    /**
+     * @param filter the filter
+     * @return the bit mask of the given filter
+     */
+    public static long toMask(Filter filter) {
+        return 1L << filter.ordinal();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Class<?> objClass = HibernateProxyHelper.getClassWithoutInitializingProxy(o);
+        if (getClass() != objClass) {
+            return false;
+        }
+        final ContentReportItem that = (ContentReportItem) o;
+        return this.getID() != null && this.getID().equals(that.getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getID() == null ? 0 : getID().hashCode();
+    }
+}
@@ -9,8 +9,10 @@ package org.dspace.contentreport;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -22,8 +24,10 @@ import org.dspace.content.MetadataField;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataFieldService;
+import org.dspace.contentreport.dao.ContentReportItemDAO;
 import org.dspace.contentreport.service.ContentReportService;
 import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -32,6 +36,9 @@ public class ContentReportServiceImpl implements ContentReportService {
     private static final Logger log = org.apache.logging.log4j.LogManager
             .getLogger(ContentReportServiceImpl.class);
 
+    /** Number of items handed to a worker at once when storing the filter results of all items */
+    private static final int BATCH_SIZE = 100;
+
     @Autowired
     protected ConfigurationService configurationService;
     @Autowired
@@ -40,6 +47,8 @@ public class ContentReportServiceImpl implements ContentReportService {
     private ItemService itemService;
     @Autowired
     private MetadataFieldService metadataFieldService;
+    @Autowired
+    private ContentReportItemDAO contentReportItemDAO;
 
     /**
      * Returns <code>true<</code> if Content Reports are enabled.
@@ -50,8 +59,19 @@ public class ContentReportServiceImpl implements ContentReportService {
         return configurationService.getBooleanProperty("contentreport.enable");
     }
 
+    /**
+     * Returns <code>true</code> if the Filtered Collections report is computed from the stored filter results
+     * of the items.
+     * @return <code>true</code> if the stored filter results are used
+     */
+    @Override
+    public boolean getStoredFilteredCollectionsEnabled() {
+        return configurationService.getBooleanProperty("contentreport.filteredcollections.stored", false);
+    }
+
     /**
      * Retrieves item statistics per collection according to a set of Boolean filters.
+     * The stored filter results are used if enabled and available.
      * @param context DSpace context
      * @param filters Set of filters
      * @return a list of collections with the requested statistics for each of them
@@ -60,6 +80,10 @@ public class ContentReportServiceImpl implements ContentReportService {
     public List<FilteredCollection> findFilteredCollections(Context context, java.util.Collection<Filter> filters) {
         List<FilteredCollection> colls = new ArrayList<>();
         try {
+            Map<UUID, Map<Long, Long>> storedCounts = null;
+            if (getStoredFilteredCollectionsEnabled() && contentReportItemDAO.countRows(context) > 0) {
+                storedCounts = contentReportItemDAO.countByCollectionAndFilters(context);
+            }
             List<Collection> collections = collectionService.findAll(context);
             for (Collection collection : collections) {
                 FilteredCollection coll = new FilteredCollection();
@@ -74,27 +98,11 @@ public class ContentReportServiceImpl implements ContentReportService {
                 }
                 colls.add(coll);
 
-                Iterator<Item> items = itemService.findAllByCollection(context, collection);
-                int nbTotalItems = 0;
-                while (items.hasNext()) {
-                    Item item = items.next();
-                    nbTotalItems++;
-                    boolean matchesAllFilters = true;
-                    for (Filter filter : filters) {
-                        if (filter.testItem(context, item)) {
-                            coll.addValue(filter, 1);
-                        } else {
-                            // This ensures the requested filter is present in the collection record
-                            // even when there are no matching items.
-                            coll.addValue(filter, 0);
-                            matchesAllFilters = false;
-                        }
-                    }
-                    if (matchesAllFilters) {
-                        coll.addAllFiltersValue(1);
-                    }
+                if (storedCounts != null) {
+                    countStoredItems(coll, storedCounts.getOrDefault(collection.getID(), Map.of()), filters);
+                } else {
+                    countItems(context, coll, collection, filters);
                 }
-                coll.setTotalItems(nbTotalItems);
                 coll.seal();
             }
         } catch (SQLException e) {
@@ -103,6 +111,107 @@ public class ContentReportServiceImpl implements ContentReportService {
         return colls;
     }
 
+    /**
+     * Evaluates the filters against every item of a collection.
+     */
+    private void countItems(Context context, FilteredCollection coll, Collection collection,
+            java.util.Collection<Filter> filters) throws SQLException {
+        Iterator<Item> items = itemService.findAllByCollection(context, collection);
+        int nbTotalItems = 0;
+        while (items.hasNext()) {
+            Item item = items.next();
+            nbTotalItems++;
+            boolean matchesAllFilters = true;
+            for (Filter filter : filters) {
+                if (filter.testItem(context, item)) {
+                    coll.addValue(filter, 1);
+                } else {
+                    // This ensures the requested filter is present in the collection record
+                    // even when there are no matching items.
+                    coll.addValue(filter, 0);
+                    matchesAllFilters = false;
+                }
+            }
+            if (matchesAllFilters) {
+                coll.addAllFiltersValue(1);
+            }
+            context.uncacheEntity(item);
+        }
+        coll.setTotalItems(nbTotalItems);
+    }
+
+    /**
+     * Adds up the stored filter results of the items of a collection.
+     * @param counts the number of items of the collection per filter bit mask
+     */
+    private void countStoredItems(FilteredCollection coll, Map<Long, Long> counts,
+            java.util.Collection<Filter> filters) {
+        long allFiltersMask = ContentReportItem.toMask(filters);
+        Map<Filter, Integer> values = new EnumMap<>(Filter.class);
+        int nbTotalItems = 0;
+        int nbAllFilters = 0;
+        for (Map.Entry<Long, Long> count : counts.entrySet()) {
+            long mask = count.getKey();
+            int nbItems = count.getValue().intValue();
+            nbTotalItems += nbItems;
+            for (Filter filter : filters) {
+                int matching = (mask & ContentReportItem.toMask(filter)) != 0 ? nbItems : 0;
+                values.merge(filter, matching, Integer::sum);
+            }
+            if ((mask & allFiltersMask) == allFiltersMask) {
+                nbAllFilters += nbItems;
+            }
+        }
+        coll.setValues(values);
+        coll.setAllFiltersValue(nbAllFilters);
+        coll.setTotalItems(nbTotalItems);
+    }
+
+    @Override
+    public int storeFilteredCollections(Context context, int threads) throws Exception {
+        int nbItems = 0;
+        try (ContextWorkerPool<List<UUID>> pool = new ContextWorkerPool<>("filtered-collections", threads,
+                () -> new Context(Context.Mode.BATCH_EDIT), workerContext -> itemIds -> {
+                    for (UUID itemId : itemIds) {
+                        Item item = itemService.find(workerContext, itemId);
+                        if (item != null) {
+                            storeItemFilters(workerContext, item);
+                        }
+                    }
+                    workerContext.commit();
+                    workerContext.uncacheEntities();
+                })) {
+            List<UUID> itemIds = contentReportItemDAO.findItemIdsInCollections(context, null, BATCH_SIZE);
+            while (!itemIds.isEmpty() && !pool.hasFailed()) {
+                pool.submit(itemIds);
+                nbItems += itemIds.size();
+                itemIds = contentReportItemDAO.findItemIdsInCollections(context,
+                        itemIds.get(itemIds.size() - 1), BATCH_SIZE);
+            }
+            pool.awaitCompletion();
+        }
+        return nbItems;
+    }
+
+    @Override
+    public void storeItemFilters(Context context, Item item) throws SQLException {
+        long mask = 0;
+        for (Filter filter : Filter.values()) {
+            if (filter.testItem(context, item)) {
+                mask |= ContentReportItem.toMask(filter);
+            }
+        }
+        ContentReportItem stored = contentReportItemDAO.findByID(context, ContentReportItem.class, item.getID());
+        if (stored == null) {
+            stored = new ContentReportItem(item.getID());
+            stored.setFilters(mask);
+            contentReportItemDAO.create(context, stored);
+        } else if (stored.getFilters() != mask) {
+            stored.setFilters(mask);
+            contentReportItemDAO.save(context, stored);
+        }
+    }
+
     /**
      * Retrieves a list of items according to a set of criteria.
      * @param context DSpace context
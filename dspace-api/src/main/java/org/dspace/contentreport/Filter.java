@@ -21,13 +21,19 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.contentreport.ItemFilterUtil.BundleName;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
@@ -283,8 +289,7 @@ public enum Filter {
                 .flatMap(List::stream)
                 .anyMatch(bit -> {
                     try {
-                        if (!getAuthorizeService()
-                                .authorizeActionBoolean(getAnonymousContext(), bit, org.dspace.core.Constants.READ)) {
+                        if (!isAnonymousReadable(context, bit)) {
                             return true;
                         }
                     } catch (SQLException e) {
@@ -304,8 +309,7 @@ public enum Filter {
                 .flatMap(List::stream)
                 .anyMatch(bit -> {
                     try {
-                        if (!getAuthorizeService()
-                                .authorizeActionBoolean(getAnonymousContext(), bit, org.dspace.core.Constants.READ)) {
+                        if (!isAnonymousReadable(context, bit)) {
                             return true;
                         }
                     } catch (SQLException e) {
@@ -320,8 +324,7 @@ public enum Filter {
     @JsonProperty("has_restricted_metadata")
     HAS_RESTRICTED_METADATA(FilterCategory.PERMISSION, (context, item) -> {
         try {
-            return !getAuthorizeService()
-                    .authorizeActionBoolean(getAnonymousContext(), item, org.dspace.core.Constants.READ);
+            return !isAnonymousReadable(context, item);
         } catch (SQLException e) {
             getLog().warn("SQL Exception testing item metadata access " + e.getMessage(), e);
             return false;
@@ -330,7 +333,8 @@ public enum Filter {
 
     private static final Logger log = LogManager.getLogger();
     private static AuthorizeService authorizeService;
-    private static Context anonymousContext;
+    private static ResourcePolicyService resourcePolicyService;
+    private static GroupService groupService;
 
     private String id;
     private FilterCategory category;
@@ -370,11 +374,40 @@ public enum Filter {
         return authorizeService;
     }
 
-    private static Context getAnonymousContext() {
-        if (anonymousContext == null) {
-            anonymousContext = new Context();
+    private static ResourcePolicyService getResourcePolicyService() {
+        if (resourcePolicyService == null) {
+            resourcePolicyService = AuthorizeServiceFactory.getInstance().getResourcePolicyService();
         }
-        return anonymousContext;
+        return resourcePolicyService;
+    }
+
+    private static GroupService getGroupService() {
+        if (groupService == null) {
+            groupService = EPersonServiceFactory.getInstance().getGroupService();
+        }
+        return groupService;
+    }
+
+    /**
+     * Tells whether an anonymous user may read the given object. The READ policies of the object are checked in the
+     * caller's context, so neither its current user nor a disabled authorization system affect the result, and no
+     * separate context has to be opened on the thread of the caller.
+     *
+     * @param context the caller's context
+     * @param dso     the object to check
+     * @return true if a valid READ policy grants access to the anonymous group
+     * @throws SQLException if database error
+     */
+    private static boolean isAnonymousReadable(Context context, DSpaceObject dso) throws SQLException {
+        Group anonymous = getGroupService().findByName(context, Group.ANONYMOUS);
+        for (ResourcePolicy policy : getAuthorizeService().getPoliciesActionFilter(context, dso, Constants.READ)) {
+            Group group = policy.getGroup();
+            if (group != null && getResourcePolicyService().isDateValid(policy)
+                    && (group.equals(anonymous) || getGroupService().isParentOf(context, group, anonymous))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @JsonCreator
@@ -167,7 +167,7 @@ public class FilteredCollection implements Cloneable, Serializable {
      */
     public void addAllFiltersValue(int delta) {
         checkSealed();
-        allFiltersValue++;
+        allFiltersValue += delta;
     }
 
     /**
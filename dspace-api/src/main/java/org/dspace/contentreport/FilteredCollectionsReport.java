@@ -0,0 +1,76 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.contentreport;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.content.factory.ContentReportServiceFactory;
+import org.dspace.contentreport.service.ContentReportService;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.utils.DSpace;
+
+/**
+ * {@link DSpaceRunnable} implementation evaluating the filters of the Filtered Collections report against all items
+ * in a collection and storing the results, so the report can be computed without evaluating the filters again.
+ * The stored results are kept up to date by the "contentreport" event consumer afterwards.
+ */
+public class FilteredCollectionsReport
+        extends DSpaceRunnable<FilteredCollectionsReportScriptConfiguration<FilteredCollectionsReport>> {
+
+    private ContentReportService contentReportService;
+
+    private boolean help = false;
+    private int threads = 1;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FilteredCollectionsReportScriptConfiguration<FilteredCollectionsReport> getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+                           .getServiceByName("filtered-collections-report",
+                                             FilteredCollectionsReportScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        contentReportService = ContentReportServiceFactory.getInstance().getContentReportService();
+        help = commandLine.hasOption('h');
+        if (commandLine.hasOption('t')) {
+            try {
+                threads = Integer.parseInt(commandLine.getOptionValue('t'));
+            } catch (NumberFormatException e) {
+                threads = 0;
+            }
+            if (threads < 1) {
+                throw new ParseException("Invalid number of threads " + commandLine.getOptionValue('t'));
+            }
+        }
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+        if (!contentReportService.getStoredFilteredCollectionsEnabled()) {
+            handler.logWarning("The stored filter results are not used by the Filtered Collections report, " +
+                "see contentreport.filteredcollections.stored");
+        }
+
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            int nbItems = contentReportService.storeFilteredCollections(context, threads);
+            handler.logInfo("Stored the filter results of " + nbItems + " items");
+            context.complete();
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+}
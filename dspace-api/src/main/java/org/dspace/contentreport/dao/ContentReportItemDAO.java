@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.contentreport.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.contentreport.ContentReportItem;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the ContentReportItem object.
+ * The implementation of this class is responsible for all database calls for the ContentReportItem object and is
+ * autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface ContentReportItemDAO extends GenericDAO<ContentReportItem> {
+
+    /**
+     * @param context the DSpace context
+     * @return the number of stored items
+     * @throws SQLException if database error
+     */
+    public int countRows(Context context) throws SQLException;
+
+    /**
+     * Count the stored items of every collection (including mapped items) per filter bit mask.
+     *
+     * @param context the DSpace context
+     * @return the number of items per bit mask, per collection id
+     * @throws SQLException if database error
+     */
+    public Map<UUID, Map<Long, Long>> countByCollectionAndFilters(Context context) throws SQLException;
+
+    /**
+     * Page through the ids of all items which are in at least one collection, in id order.
+     *
+     * @param context the DSpace context
+     * @param after   the last id of the previous page, null for the first page
+     * @param limit   the size of the page
+     * @return the ids of the page
+     * @throws SQLException if database error
+     */
+    public List<UUID> findItemIdsInCollections(Context context, UUID after, int limit) throws SQLException;
+}
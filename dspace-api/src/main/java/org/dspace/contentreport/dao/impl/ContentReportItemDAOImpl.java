@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.contentreport.dao.impl;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.contentreport.ContentReportItem;
+import org.dspace.contentreport.dao.ContentReportItemDAO;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the ContentReportItem object.
+ * This class is responsible for all database calls for the ContentReportItem object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class ContentReportItemDAOImpl extends AbstractHibernateDAO<ContentReportItem>
+    implements ContentReportItemDAO {
+
+    protected ContentReportItemDAOImpl() {
+        super();
+    }
+
+    @Override
+    public int countRows(Context context) throws SQLException {
+        return count(createQuery(context, "SELECT count(*) FROM ContentReportItem"));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<UUID, Map<Long, Long>> countByCollectionAndFilters(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT c.id, r.filters, count(r) FROM ContentReportItem r, Item i " +
+            "JOIN i.collections c WHERE r.itemId = i.id GROUP BY c.id, r.filters");
+        Map<UUID, Map<Long, Long>> result = new HashMap<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            result.computeIfAbsent((UUID) row[0], id -> new HashMap<>()).put((Long) row[1], (Long) row[2]);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> findItemIdsInCollections(Context context, UUID after, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT i.id FROM Item i WHERE i.collections IS NOT EMPTY" +
+            (after != null ? " AND i.id > :after" : "") + " ORDER BY i.id");
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.List;
 
+import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
 import org.dspace.contentreport.Filter;
 import org.dspace.contentreport.FilteredCollection;
@@ -26,14 +27,42 @@ public interface ContentReportService {
      */
     boolean getEnabled();
 
+    /**
+     * Returns <code>true</code> if the Filtered Collections report is computed from the stored filter results
+     * of the items (see {@link #storeFilteredCollections(Context, int)}) rather than by evaluating the filters
+     * against every item on each request.
+     * @return <code>true</code> if the stored filter results are used
+     */
+    boolean getStoredFilteredCollectionsEnabled();
+
     /**
      * Retrieves item statistics per collection according to a set of Boolean filters.
+     * The stored filter results are used if enabled and available.
      * @param context DSpace context
      * @param filters Set of filters
      * @return a list of collections with the requested statistics for each of them
      */
     List<FilteredCollection> findFilteredCollections(Context context, Collection<Filter> filters);
 
+    /**
+     * Evaluates all filters against every item in a collection and stores the results, which are used to compute
+     * the Filtered Collections report afterwards. The items are evaluated on the given number of worker threads,
+     * each with its own context.
+     * @param context DSpace context
+     * @param threads number of worker threads
+     * @return the number of items evaluated
+     * @throws Exception if an item could not be evaluated
+     */
+    int storeFilteredCollections(Context context, int threads) throws Exception;
+
+    /**
+     * Evaluates all filters against one item and stores the result.
+     * @param context DSpace context
+     * @param item the item
+     * @throws SQLException if database error
+     */
+    void storeItemFilters(Context context, Item item) throws SQLException;
+
     /**
      * Retrieves a list of items according to a set of criteria.
      * @param context DSpace context
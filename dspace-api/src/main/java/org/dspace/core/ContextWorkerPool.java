@@ -0,0 +1,249 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A bounded pool of worker threads for batch jobs that process many objects, where every worker owns its own
+ * {@link Context} for its whole life. A context is bound to the thread that created it, so contexts are created,
+ * used and completed on the worker threads only.
+ * <p>
+ * Tasks are handed to the workers through a bounded queue: {@link #submit(Object)} blocks while the queue is full,
+ * which keeps the producer from running far ahead of the workers. When a task fails the worker's context is rolled
+ * back, the first failure is kept and all remaining tasks are skipped; {@link #awaitCompletion()} rethrows it.
+ * Processors that want to continue after an error should handle it themselves.
+ * <p>
+ * Typical use:
+ * <pre>
+ * try (ContextWorkerPool&lt;UUID&gt; pool = new ContextWorkerPool&lt;&gt;("my-job", threads, contextFactory,
+ *         context -&gt; id -&gt; process(context, id))) {
+ *     for (UUID id : ids) {
+ *         pool.submit(id);
+ *     }
+ *     pool.awaitCompletion();
+ * }
+ * </pre>
+ *
+ * @param <T> the type of the tasks
+ */
+public class ContextWorkerPool<T> implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * Creates the processor of a worker thread. It is called once on every worker thread, with the context owned by
+     * that worker, so it may set up per-worker state such as task instances or caches.
+     *
+     * @param <T> the type of the tasks
+     */
+    @FunctionalInterface
+    public interface WorkerFactory<T> {
+        /**
+         * @param context the context owned by the worker
+         * @return the processor used for all tasks of the worker
+         * @throws Exception if the worker cannot be set up
+         */
+        TaskProcessor<T> create(Context context) throws Exception;
+    }
+
+    /**
+     * Processes the tasks of one worker thread.
+     *
+     * @param <T> the type of the tasks
+     */
+    @FunctionalInterface
+    public interface TaskProcessor<T> {
+        /**
+         * @param task the task to process
+         * @throws Exception if the task failed
+         */
+        void process(T task) throws Exception;
+    }
+
+    private final Object poison = new Object();
+
+    private final BlockingQueue<Object> queue;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    private final Callable<Context> contextFactory;
+
+    private final WorkerFactory<T> workerFactory;
+
+    private final Object lock = new Object();
+
+    private long pending = 0;
+
+    /**
+     * Start the worker threads.
+     *
+     * @param name           prefix of the worker thread names
+     * @param threads        the number of workers
+     * @param contextFactory creates the context of a worker, called on the worker thread
+     * @param workerFactory  creates the processor of a worker, called on the worker thread
+     */
+    public ContextWorkerPool(String name, int threads, Callable<Context> contextFactory,
+                             WorkerFactory<T> workerFactory) {
+        int size = Math.max(threads, 1);
+        this.queue = new ArrayBlockingQueue<>(size * 4);
+        this.contextFactory = contextFactory;
+        this.workerFactory = workerFactory;
+        for (int i = 0; i < size; i++) {
+            Thread worker = new Thread(this::work, name + "-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Hand a task to the workers, waiting while the queue is full.
+     *
+     * @param task the task
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void submit(T task) throws InterruptedException {
+        synchronized (lock) {
+            pending++;
+        }
+        queue.put(task);
+    }
+
+    /**
+     * @return true if a task failed, in which case all remaining tasks are skipped
+     */
+    public boolean hasFailed() {
+        return failure.get() != null;
+    }
+
+    /**
+     * Record a failure that happened outside of the pool, e.g. while producing tasks, so that the remaining tasks
+     * are skipped.
+     *
+     * @param e the failure
+     */
+    public void fail(Exception e) {
+        failure.compareAndSet(null, e);
+    }
+
+    /**
+     * Wait until all tasks submitted so far have been processed (or skipped).
+     *
+     * @throws Exception the first failure of a task, if any
+     */
+    public void awaitCompletion() throws Exception {
+        synchronized (lock) {
+            while (pending > 0) {
+                lock.wait();
+            }
+        }
+        Exception e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Stop the workers and wait for them to end. Every worker completes its context, or aborts it if the pool
+     * failed.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < workers.size(); i++) {
+            try {
+                queue.put(poison);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void work() {
+        Context context = null;
+        TaskProcessor<T> processor = null;
+        try {
+            context = contextFactory.call();
+            processor = workerFactory.create(context);
+        } catch (Exception e) {
+            log.error("Unable to start worker {}", Thread.currentThread().getName(), e);
+            fail(e);
+        }
+
+        while (true) {
+            Object task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (task == poison) {
+                break;
+            }
+            try {
+                if (!hasFailed()) {
+                    processor.process((T) task);
+                }
+            } catch (Exception e) {
+                log.error("Worker {} failed to process {}", Thread.currentThread().getName(), task, e);
+                fail(e);
+                rollback(context);
+            } finally {
+                synchronized (lock) {
+                    pending--;
+                    lock.notifyAll();
+                }
+            }
+        }
+
+        if (context != null && context.isValid()) {
+            try {
+                if (hasFailed()) {
+                    context.abort();
+                } else {
+                    context.complete();
+                }
+            } catch (SQLException e) {
+                log.error("Unable to complete the context of worker {}", Thread.currentThread().getName(), e);
+                context.abort();
+            }
+        }
+    }
+
+    private void rollback(Context context) {
+        try {
+            if (context != null && context.isValid()) {
+                context.rollback();
+            }
+        } catch (SQLException e) {
+            log.error("Unable to roll back the context of worker {}", Thread.currentThread().getName(), e);
+        }
+    }
+}
@@ -347,7 +347,8 @@ public class Email {
 
     /**
      * Sends the email.  If sending is disabled then the assembled message is
-     * logged instead.
+     * logged instead.  If the mail outbox is enabled, the message is queued in
+     * the {@link MailOutbox} and sent in the background.
      *
      * @throws MessagingException if there was a problem sending the mail.
      * @throws IOException        if IO error
@@ -358,6 +359,8 @@ public class Email {
         ConfigurationService config = DSpaceServicesFactory.getInstance().getConfigurationService();
         if (isMailServerDisabled(config)) {
             LOG.info(format(message, body));
+        } else if (isOutboxEnabled(config)) {
+            MailOutbox.getInstance().enqueue(message);
         } else {
             Transport.send(message);
         }
@@ -541,6 +544,10 @@ public class Email {
         return config.getBooleanProperty("mail.server.disabled", false);
     }
 
+    private static boolean isOutboxEnabled(ConfigurationService config) {
+        return config.getBooleanProperty("mail.outbox.enabled", false);
+    }
+
     /**
      * Flatten the email into a string.
      *
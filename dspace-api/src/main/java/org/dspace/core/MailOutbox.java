@@ -0,0 +1,450 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * A persistent queue of outgoing mail. Messages are written as RFC 822 files to a spool directory by
+ * {@link #enqueue(MimeMessage)}, which returns immediately, and are delivered by a background sender that reuses a
+ * single SMTP {@link Transport} connection for a whole batch of messages.
+ * <p>
+ * The sender honours a maximum sending rate, retries messages that failed because of a transient error with an
+ * increasing delay, and moves messages that could not be delivered after the maximum number of attempts (or that were
+ * rejected by the server) to the {@code failed} subdirectory of the spool directory. As the spool lives on disk,
+ * messages queued by a process that ends before they were sent are delivered by the next running sender.
+ * <p>
+ * Several processes may run a sender over the same spool directory (e.g. the REST webapp and a command-line tool).
+ * Before reading a message, a sender claims it by atomically renaming it to a name owned by its process, so each
+ * message is sent by one sender only. Claims left behind by a process that died while sending are released after
+ * an hour. Command-line tools only queue messages and leave them to the webapp, which starts its sender when it starts
+ * up, unless {@code mail.outbox.cli.sender} is enabled.
+ * <p>
+ * Configuration:
+ * <ul>
+ *   <li>{@code mail.outbox.enabled}: queue mail instead of sending it from the calling thread (default false)</li>
+ *   <li>{@code mail.outbox.dir}: the spool directory (default {@code ${dspace.dir}/var/mail-outbox})</li>
+ *   <li>{@code mail.outbox.batch-size}: messages sent over one connection (default 100)</li>
+ *   <li>{@code mail.outbox.rate}: maximum messages per second, 0 for unlimited (default 10)</li>
+ *   <li>{@code mail.outbox.max-attempts}: delivery attempts before giving up on a message (default 5)</li>
+ *   <li>{@code mail.outbox.retry-delay}: seconds to wait after the first failed attempt, multiplied by the number of
+ *   attempts for later ones (default 60)</li>
+ *   <li>{@code mail.outbox.poll-interval}: seconds between two checks of the spool directory (default 30)</li>
+ *   <li>{@code mail.outbox.cli.sender}: also run the background sender in command-line tools (default false)</li>
+ * </ul>
+ */
+public class MailOutbox {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String EXTENSION = ".eml";
+
+    private static final String FAILED_DIRECTORY = "failed";
+
+    /**
+     * Spooled messages are named {@code <enqueue time>-<sequence>-<uuid>.<attempts>.eml}, so that sorting by name
+     * sends them in the order they were queued.
+     */
+    private static final Pattern FILE_NAME = Pattern.compile("^(\\d+-[0-9a-f\\-]+)\\.(\\d+)\\.eml$");
+
+    /**
+     * Suffix of the messages being sent, preceded by the identifier of the process that claimed them.
+     */
+    private static final String CLAIM_EXTENSION = ".claimed";
+
+    private static final long CLAIM_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final String PROCESS_ID = ProcessHandle.current().pid() + "-" + UUID.randomUUID();
+
+    private static MailOutbox instance;
+
+    private static volatile boolean commandLine;
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private final File directory;
+
+    private final int batchSize;
+
+    private final long minIntervalMillis;
+
+    private final int maxAttempts;
+
+    private final long retryDelayMillis;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    /**
+     * When the last message was sent, kept across drains so that the rate also holds between two batches. Only used
+     * while holding the drain lock.
+     */
+    private long lastSent;
+
+    private volatile ScheduledExecutorService sender;
+
+    private volatile Supplier<Session> sessionSupplier;
+
+    /**
+     * @param directory        the spool directory
+     * @param batchSize        the maximum number of messages sent over one connection
+     * @param rate             the maximum number of messages sent per second, 0 or less for unlimited
+     * @param maxAttempts      the number of delivery attempts after which a message is given up
+     * @param retryDelayMillis the delay after the first failed attempt, multiplied by the attempt count for later ones
+     */
+    public MailOutbox(File directory, int batchSize, int rate, int maxAttempts, long retryDelayMillis) {
+        this.directory = directory;
+        this.batchSize = Math.max(batchSize, 1);
+        this.minIntervalMillis = rate > 0 ? 1000L / rate : 0;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryDelayMillis = Math.max(retryDelayMillis, 0);
+    }
+
+    /**
+     * Mark this JVM as a command-line tool, which only queues messages unless {@code mail.outbox.cli.sender} is set.
+     * @param commandLine true when running a command-line tool
+     */
+    public static void setCommandLine(boolean commandLine) {
+        MailOutbox.commandLine = commandLine;
+    }
+
+    /**
+     * Return the outbox configured for this DSpace instance, starting its background sender on first use (except in
+     * command-line tools that are not configured to run one).
+     * @return the shared outbox
+     */
+    public static synchronized MailOutbox getInstance() {
+        if (instance == null) {
+            ConfigurationService config = DSpaceServicesFactory.getInstance().getConfigurationService();
+            String dir = config.getProperty("mail.outbox.dir",
+                                            config.getProperty("dspace.dir") + File.separator + "var"
+                                                + File.separator + "mail-outbox");
+            instance = new MailOutbox(new File(dir),
+                                      config.getIntProperty("mail.outbox.batch-size", 100),
+                                      config.getIntProperty("mail.outbox.rate", 10),
+                                      config.getIntProperty("mail.outbox.max-attempts", 5),
+                                      config.getLongProperty("mail.outbox.retry-delay", 60) * 1000);
+            if (!commandLine || config.getBooleanProperty("mail.outbox.cli.sender", false)) {
+                instance.start(() -> DSpaceServicesFactory.getInstance().getEmailService().getSession(),
+                               config.getLongProperty("mail.outbox.poll-interval", 30) * 1000);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start the background sender of the configured outbox if {@code mail.outbox.enabled} is set. The webapp calls
+     * this when it starts, so that messages queued by command-line tools are sent even if it sends no mail itself.
+     */
+    public static void startIfEnabled() {
+        if (DSpaceServicesFactory.getInstance().getConfigurationService()
+                                 .getBooleanProperty("mail.outbox.enabled", false)) {
+            getInstance();
+        }
+    }
+
+    /**
+     * Write the message to the spool directory and wake up the background sender, if running.
+     * @param message the message to send
+     * @throws MessagingException if the message cannot be serialized
+     * @throws IOException        if the message cannot be written to the spool directory
+     */
+    public void enqueue(MimeMessage message) throws MessagingException, IOException {
+        ensureDirectory(directory);
+        message.saveChanges();
+        String name = String.format("%d-%06d-%s", System.currentTimeMillis(),
+                                    sequence.getAndIncrement() % 1000000, UUID.randomUUID());
+        File temp = new File(directory, name + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+            message.writeTo(out);
+        }
+        // Only expose complete messages to the sender
+        Files.move(temp.toPath(), new File(directory, name + ".0" + EXTENSION).toPath(),
+                   StandardCopyOption.ATOMIC_MOVE);
+        ScheduledExecutorService current = sender;
+        if (current != null && !current.isShutdown()) {
+            current.execute(this::drainQuietly);
+        }
+    }
+
+    /**
+     * Send up to one batch of pending messages over a single connection.
+     * If another thread is already sending, this returns immediately. Messages claimed by another process are
+     * skipped.
+     * @param session the mail session used to open the transport and read spooled messages
+     * @return the number of messages sent
+     */
+    public int drain(Session session) {
+        if (!drainLock.tryLock()) {
+            return 0;
+        }
+        Transport transport = null;
+        int sent = 0;
+        try {
+            releaseStaleClaims();
+            for (File pending : getPendingMessages()) {
+                if (sent >= batchSize) {
+                    break;
+                }
+                Matcher matcher = FILE_NAME.matcher(pending.getName());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                int attempts = Integer.parseInt(matcher.group(2));
+                if (attempts > 0
+                    && pending.lastModified() + retryDelayMillis * attempts > System.currentTimeMillis()) {
+                    continue;
+                }
+                long lastAttempt = pending.lastModified();
+                File file = claim(pending);
+                if (file == null) {
+                    continue;
+                }
+                try {
+                    MimeMessage message;
+                    try (InputStream in = Files.newInputStream(file.toPath())) {
+                        message = new MimeMessage(session, in);
+                    } catch (IOException | MessagingException e) {
+                        log.error("Unreadable message {} moved to failed messages", pending.getName(), e);
+                        moveToFailed(file, pending.getName());
+                        continue;
+                    }
+                    Address[] recipients = message.getAllRecipients();
+                    if (recipients == null || recipients.length == 0) {
+                        log.warn("Message {} has no recipients, moved to failed messages", pending.getName());
+                        moveToFailed(file, pending.getName());
+                        continue;
+                    }
+                    try {
+                        if (transport == null || !transport.isConnected()) {
+                            transport = session.getTransport();
+                            transport.connect();
+                        }
+                        throttle();
+                        transport.sendMessage(message, recipients);
+                        lastSent = System.currentTimeMillis();
+                        sent++;
+                        Files.delete(file.toPath());
+                    } catch (SendFailedException e) {
+                        // The server rejected the message or its recipients: retrying won't help
+                        log.error("Message {} was rejected, moved to failed messages", pending.getName(), e);
+                        moveToFailed(file, pending.getName());
+                    } catch (MessagingException e) {
+                        // Connection problem: keep the message, retry later and stop this batch
+                        log.warn("Unable to send message {} (attempt {}): {}", pending.getName(), attempts + 1,
+                                 e.getMessage());
+                        retryLater(file, pending, matcher.group(1), attempts + 1);
+                        break;
+                    }
+                } finally {
+                    // Put back a message that is still claimed, e.g. after an unexpected error
+                    release(file, pending, lastAttempt);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Unable to process the mail outbox {}", directory.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(transport);
+            drainLock.unlock();
+        }
+        return sent;
+    }
+
+    /**
+     * @return the number of messages waiting to be sent
+     */
+    public int getPendingCount() {
+        return getPendingMessages().size();
+    }
+
+    /**
+     * @return the number of messages that were given up on
+     */
+    public int getFailedCount() {
+        String[] names = new File(directory, FAILED_DIRECTORY).list((dir, name) -> name.endsWith(EXTENSION));
+        return names == null ? 0 : names.length;
+    }
+
+    /**
+     * Start sending queued messages in the background, checking the spool directory at the given interval.
+     * Pending messages are also given one more chance to be sent when the JVM shuts down.
+     * @param sessionSupplier supplies the mail session to send with
+     * @param pollIntervalMillis the interval between two checks of the spool directory
+     */
+    public synchronized void start(Supplier<Session> sessionSupplier, long pollIntervalMillis) {
+        if (sender != null) {
+            return;
+        }
+        sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sessionSupplier = sessionSupplier;
+        long interval = Math.max(pollIntervalMillis, 1000);
+        sender.scheduleWithFixedDelay(this::drainQuietly, 0, interval, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drainQuietly, "mail-outbox-shutdown"));
+    }
+
+    /**
+     * Stop the background sender. Messages still in the spool directory stay there.
+     */
+    public synchronized void stop() {
+        if (sender != null) {
+            sender.shutdownNow();
+            sender = null;
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            Supplier<Session> supplier = sessionSupplier;
+            if (supplier != null) {
+                // Keep going while full batches are sent, the rate limit paces the loop
+                while (drain(supplier.get()) >= batchSize) {
+                    log.debug("Sent a full batch from the mail outbox, continuing");
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while sending mail from the outbox", e);
+        }
+    }
+
+    private List<File> getPendingMessages() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+
+    private void throttle() {
+        long wait = lastSent + minIntervalMillis - System.currentTimeMillis();
+        if (lastSent > 0 && wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Claim a pending message for this process by renaming it, so that no other sender reads it.
+     * @param pending the pending message
+     * @return the claimed file, or null if another sender claimed or sent the message first
+     */
+    private File claim(File pending) throws IOException {
+        File claimed = new File(directory, pending.getName() + "." + PROCESS_ID + CLAIM_EXTENSION);
+        try {
+            Files.move(pending.toPath(), claimed.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        // The modification time of a claim records when it was taken, to release it if this process dies
+        Files.setLastModifiedTime(claimed.toPath(), FileTime.fromMillis(System.currentTimeMillis()));
+        return claimed;
+    }
+
+    /**
+     * Give a message that is still claimed by this process back to the queue.
+     */
+    private void release(File claimed, File pending, long lastAttempt) throws IOException {
+        try {
+            Files.move(claimed.toPath(), pending.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            Files.setLastModifiedTime(pending.toPath(), FileTime.fromMillis(lastAttempt));
+        } catch (NoSuchFileException e) {
+            // The message was sent, rescheduled or moved to the failed messages
+        }
+    }
+
+    /**
+     * Give the messages claimed by a sender that did not finish with them in time back to the queue.
+     */
+    private void releaseStaleClaims() throws IOException {
+        File[] claims = directory.listFiles((dir, name) -> name.endsWith(CLAIM_EXTENSION));
+        if (claims == null) {
+            return;
+        }
+        long staleBefore = System.currentTimeMillis() - CLAIM_TIMEOUT_MILLIS;
+        for (File claimed : claims) {
+            int end = claimed.getName().indexOf(EXTENSION + ".");
+            if (end < 0 || claimed.lastModified() >= staleBefore) {
+                continue;
+            }
+            log.warn("Releasing message {} that was claimed more than an hour ago", claimed.getName());
+            release(claimed, new File(directory, claimed.getName().substring(0, end) + EXTENSION),
+                    System.currentTimeMillis());
+        }
+    }
+
+    private void retryLater(File file, File pending, String baseName, int attempts) throws IOException {
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on message {} after {} attempts, moved to failed messages", pending.getName(),
+                      attempts);
+            moveToFailed(file, pending.getName());
+            return;
+        }
+        File renamed = new File(directory, baseName + "." + attempts + EXTENSION);
+        Files.move(file.toPath(), renamed.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        // The modification time records the last attempt, to compute when to retry
+        renamed.setLastModified(System.currentTimeMillis());
+    }
+
+    private void moveToFailed(File file, String name) throws IOException {
+        File failed = new File(directory, FAILED_DIRECTORY);
+        ensureDirectory(failed);
+        Files.move(file.toPath(), new File(failed, name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void ensureDirectory(File dir) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            throw new IOException("Unable to create directory " + dir.getAbsolutePath());
+        }
+    }
+
+    private static void closeQuietly(Transport transport) {
+        if (transport != null && transport.isConnected()) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing mail transport", e);
+            }
+        }
+    }
+}
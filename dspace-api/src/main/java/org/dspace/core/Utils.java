@@ -311,6 +311,28 @@ public final class Utils {
         return qint * multiplier;
     }
 
+    /**
+     * Parse a command-line or configuration value that must be a positive number, e.g. a number of threads.
+     *
+     * @param value       the value to parse
+     * @param description what the value stands for, used in the error message, e.g. "number of threads"
+     * @return the parsed value, at least 1
+     * @throws IllegalArgumentException if the value is not a positive number
+     */
+    public static int parsePositiveInt(String value, String description) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(StringUtils.trimToEmpty(value));
+        } catch (NumberFormatException e) {
+            parsed = 0;
+        }
+        if (parsed < 1) {
+            throw new IllegalArgumentException("Bad " + description + " '" + value
+                                                   + "': a positive number is required");
+        }
+        return parsed;
+    }
+
     /**
      * Translates timestamp from an ISO 8601-standard format, which
      * is commonly used in XML and RDF documents.
@@ -25,6 +25,7 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataValue;
 import org.dspace.curate.AbstractCurationTask;
+import org.dspace.curate.Concurrent;
 import org.dspace.curate.Curator;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -40,6 +41,7 @@ import org.dspace.services.factory.DSpaceServicesFactory;
  * @author Stuart Lewis
  */
 
+@Concurrent
 public class BasicLinkChecker extends AbstractCurationTask {
 
     // The status of the link checking of this item
@@ -28,6 +28,7 @@ import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.curate.AbstractCurationTask;
+import org.dspace.curate.Concurrent;
 import org.dspace.curate.Curator;
 import org.dspace.curate.Suspendable;
 
@@ -42,6 +43,7 @@ import org.dspace.curate.Suspendable;
  * @author wbossons
  */
 
+@Concurrent
 @Suspendable(invoked = Curator.Invoked.INTERACTIVE)
 public class ClamScan extends AbstractCurationTask {
     protected final int DEFAULT_CHUNK_SIZE = 4096;//2048
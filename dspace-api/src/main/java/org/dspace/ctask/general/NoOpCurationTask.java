@@ -12,8 +12,10 @@ import java.io.IOException;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.curate.AbstractCurationTask;
+import org.dspace.curate.Concurrent;
 import org.dspace.curate.Curator;
 
+@Concurrent
 public class NoOpCurationTask extends AbstractCurationTask {
 
     protected int status = Curator.CURATE_UNSET;
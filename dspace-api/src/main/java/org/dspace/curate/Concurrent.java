@@ -0,0 +1,23 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation type for CurationTasks. A task is concurrent if separate
+ * instances of it may be performed on different items at the same time,
+ * each in its own context. The Curator may then distribute the items of
+ * a container over several worker threads.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Concurrent {
+}
@@ -63,6 +63,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     private String reporter;
     private Map<String, String> parameters;
     private boolean verbose;
+    private int threads = 1;
 
     @Override
     public void internalRun() throws Exception {
@@ -139,6 +140,9 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
         } else {
             curator.curate(context, this.id);
         }
+        for (String summary : curator.getTaskSummaries()) {
+            super.handler.logInfo(summary);
+        }
     }
 
     /**
@@ -206,6 +210,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
         }
 
         curator.addParameters(parameters);
+        curator.setThreads(threads);
         // we are operating in batch mode, if anyone cares.
         curator.setInvoked(Curator.Invoked.BATCH);
         return curator;
@@ -303,6 +308,9 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
             verbose = true;
         }
 
+        // threads
+        this.threads = getPositiveIntOption("n", 1, "number of threads");
+
         // scope
         if (this.commandLine.getOptionValue('s') != null) {
             this.scope = this.commandLine.getOptionValue('s');
@@ -64,6 +64,8 @@ public enum CurationClientOptions {
             "reporting");
         options.addOption("s", "scope", true,
             "transaction scope to impose: use 'object', 'curation', or 'open'. If absent, 'open' applies");
+        options.addOption("n", "threads", true,
+            "number of threads performing concurrent tasks on the items of a container. If absent, 1 applies");
         options.addOption("v", "verbose", false, "report activity to stdout");
         options.addOption("h", "help", false, "help");
 
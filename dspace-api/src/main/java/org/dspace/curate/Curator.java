@@ -13,9 +13,14 @@ import java.text.MessageFormat;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,7 +34,10 @@ import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
 import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
@@ -90,6 +98,9 @@ public class Curator {
     protected Invoked iMode = null;
     protected TaskResolver resolver = new TaskResolver();
     protected TxScope txScope = TxScope.OPEN;
+    protected int threads = 1;
+    // performs the items of containers concurrently, while a concurrent task runs with threads > 1
+    protected ContextWorkerPool<UUID> itemPool = null;
     protected CommunityService communityService;
     protected ItemService itemService;
     protected HandleService handleService;
@@ -228,6 +239,39 @@ public class Curator {
         return this;
     }
 
+    /**
+     * Sets the number of threads used to perform concurrent tasks upon the items
+     * of a container (Site, Community or Collection). Only tasks annotated as
+     * {@link Concurrent} are run in parallel; each worker thread uses its own
+     * context and its own instance of the task.
+     * <p>
+     * As the items are performed upon in no particular order, the status of a
+     * parallel run is the worst one of all objects performed upon (error, then
+     * fail, then skip, then success) instead of the status of the last one, and
+     * its result is the result of one of the objects that got that status.
+     *
+     * @param threads number of worker threads, 1 (the default) disables parallel execution
+     * @return this curator - to support concatenating invocation style
+     */
+    public Curator setThreads(int threads) {
+        this.threads = Math.max(threads, 1);
+        return this;
+    }
+
+    /**
+     * Returns a summary of the performance of every configured task: the number
+     * of objects it was performed on, per status, and the time spent in the task.
+     *
+     * @return one summary line per task, in performance order
+     */
+    public List<String> getTaskSummaries() {
+        List<String> summaries = new ArrayList<>();
+        for (String taskName : perfList) {
+            summaries.add(trMap.get(taskName).stats.summary(taskName));
+        }
+        return summaries;
+    }
+
     /**
      * Performs all configured tasks upon object identified by id. If
      * the object can be resolved as a handle, the DSO will be the
@@ -287,12 +331,34 @@ public class Curator {
             // do we need to iterate over the object ?
             if (type == Constants.ITEM || tr.task.isDistributive()) {
                 tr.run(dso);
-            } else if (type == Constants.COLLECTION) {
-                doCollection(tr, (Collection) dso);
-            } else if (type == Constants.COMMUNITY) {
-                doCommunity(tr, (Community) dso);
-            } else if (type == Constants.SITE) {
-                doSite(tr, (Site) dso);
+                continue;
+            }
+            boolean parallel = threads > 1 && tr.task.isConcurrent();
+            try {
+                if (parallel) {
+                    tr.startMerging();
+                    itemPool = createItemPool(tr);
+                }
+                if (type == Constants.COLLECTION) {
+                    doCollection(tr, (Collection) dso);
+                } else if (type == Constants.COMMUNITY) {
+                    doCommunity(tr, (Community) dso);
+                } else if (type == Constants.SITE) {
+                    doSite(tr, (Site) dso);
+                }
+                if (parallel) {
+                    itemPool.awaitCompletion();
+                }
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                if (itemPool != null) {
+                    itemPool.close();
+                    itemPool = null;
+                }
+                tr.stopMerging();
             }
         }
     }
@@ -516,6 +582,15 @@ public class Curator {
             Iterator<Item> iter = itemService.findByCollection(context, coll);
             while (iter.hasNext()) {
                 Item item = iter.next();
+                if (itemPool != null) {
+                    // hand the item over to the workers, stop once a worker failed or suspended the task
+                    if (tr.suspended || itemPool.hasFailed()) {
+                        return false;
+                    }
+                    itemPool.submit(item.getID());
+                    context.uncacheEntity(item);
+                    continue;
+                }
                 boolean shouldContinue = tr.run(item);
                 context.uncacheEntity(item);
                 if (!shouldContinue) {
@@ -524,10 +599,80 @@ public class Curator {
             }
         } catch (SQLException sqlE) {
             throw new IOException(sqlE.getMessage(), sqlE);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ie.getMessage(), ie);
         }
         return true;
     }
 
+    /**
+     * Create the worker pool performing the given task upon the items of containers.
+     * Every worker gets its own context, acting as the same user as the curation
+     * context, and its own curator with its own instance of the task. Reporter
+     * output of all workers goes to the reporter of this curator.
+     *
+     * @param tr TaskRunner of the concurrent task
+     * @return the started worker pool
+     * @throws SQLException if the curation context cannot be obtained
+     */
+    protected ContextWorkerPool<UUID> createItemPool(TaskRunner tr) throws SQLException {
+        Context curationContext = curationContext();
+        UUID userId = curationContext.getCurrentUser() != null ? curationContext.getCurrentUser().getID() : null;
+        Set<UUID> specialGroups = new HashSet<>(curationContext.getSpecialGroupUuids());
+        boolean ignoreAuthorization = curationContext.ignoreAuthorization();
+        Appendable sharedReporter = reporter == null ? null : new SynchronizedAppendable(reporter);
+        String taskName = tr.task.getName();
+
+        return new ContextWorkerPool<>("curate-" + taskName, threads, () -> {
+            Context context = new Context(Context.Mode.BATCH_EDIT);
+            if (userId != null) {
+                EPerson user = EPersonServiceFactory.getInstance().getEPersonService().find(context, userId);
+                context.setCurrentUser(user);
+            }
+            for (UUID groupId : specialGroups) {
+                context.setSpecialGroup(groupId);
+            }
+            if (ignoreAuthorization) {
+                context.turnOffAuthorisationSystem();
+            }
+            return context;
+        }, context -> {
+            // tasks may look up the curation context while being initialized
+            curationCtx.set(context);
+            Curator worker = new Curator(handler);
+            worker.addParameters(runParameters);
+            worker.setReporter(sharedReporter);
+            worker.setInvoked(iMode);
+            worker.setTransactionScope(txScope);
+            worker.addTask(taskName);
+            TaskRunner workerRunner = worker.trMap.get(taskName);
+            if (workerRunner == null) {
+                throw new IOException("Task: '" + taskName + "' could not be initialized for a worker");
+            }
+            // all workers account for the same task
+            workerRunner.stats = tr.stats;
+            return itemId -> {
+                if (tr.suspended) {
+                    return;
+                }
+                Item item = itemService.find(context, itemId);
+                if (item == null) {
+                    return;
+                }
+                boolean shouldContinue = workerRunner.run(item);
+                tr.merge(workerRunner.statusCode, workerRunner.result);
+                context.uncacheEntity(item);
+                if (txScope.equals(TxScope.OBJECT)) {
+                    context.commit();
+                }
+                if (!shouldContinue) {
+                    tr.suspended = true;
+                }
+            };
+        });
+    }
+
     /**
      * Record a 'visit' to a DSpace object and enforce any policies set
      * on this curator.
@@ -546,8 +691,14 @@ public class Curator {
 
     protected class TaskRunner {
         ResolvedTask task = null;
-        int statusCode = CURATE_UNSET;
-        String result = null;
+        volatile int statusCode = CURATE_UNSET;
+        volatile String result = null;
+        volatile boolean suspended = false;
+        TaskStatistics stats = new TaskStatistics();
+        // worst outcome so far of a parallel run, see merge
+        private boolean merging = false;
+        private int mergedStatus = CURATE_UNSET;
+        private String mergedResult = null;
 
         public TaskRunner(ResolvedTask task) {
             this.task = task;
@@ -558,7 +709,10 @@ public class Curator {
                 if (dso == null) {
                     throw new IOException("DSpaceObject is null");
                 }
+                long start = System.nanoTime();
                 statusCode = task.perform(dso);
+                record(statusCode, System.nanoTime() - start);
+                merge(statusCode, result);
                 String id = (dso.getHandle() != null) ? dso.getHandle() : "workflow item: " + dso.getID();
                 logInfo(logMessage(id));
                 visit(dso);
@@ -575,7 +729,10 @@ public class Curator {
                 if (c == null || id == null) {
                     throw new IOException("Context or identifier is null");
                 }
+                long start = System.nanoTime();
                 statusCode = task.perform(c, id);
+                record(statusCode, System.nanoTime() - start);
+                merge(statusCode, result);
                 logInfo(logMessage(id));
                 visit(null);
                 return !suspend(statusCode);
@@ -590,6 +747,70 @@ public class Curator {
             this.result = result;
         }
 
+        /**
+         * Start keeping the worst outcome of the objects performed upon, by this
+         * runner and by the workers of a parallel run.
+         */
+        synchronized void startMerging() {
+            merging = true;
+            mergedStatus = CURATE_UNSET;
+            mergedResult = null;
+        }
+
+        /**
+         * Account for the outcome of one performance while merging, keeping the
+         * worst status whatever the order in which the workers finish.
+         *
+         * @param code the status code of the performance
+         * @param res  the result of the performance, may be null
+         */
+        synchronized void merge(int code, String res) {
+            if (merging && severity(code) > severity(mergedStatus)) {
+                mergedStatus = code;
+                mergedResult = res;
+            }
+        }
+
+        /**
+         * Stop merging, and make the worst outcome the status and result of the run.
+         */
+        synchronized void stopMerging() {
+            if (merging) {
+                merging = false;
+                statusCode = mergedStatus;
+                result = mergedResult;
+            }
+        }
+
+        private int severity(int code) {
+            switch (code) {
+                case CURATE_ERROR:
+                    return 4;
+                case CURATE_FAIL:
+                    return 3;
+                case CURATE_SKIP:
+                    return 2;
+                case CURATE_SUCCESS:
+                    return 1;
+                default:
+                    return 0;
+            }
+        }
+
+        /**
+         * Accounts for one performance of the task, and reports progress every
+         * {@link TaskStatistics#PROGRESS_INTERVAL} objects.
+         *
+         * @param code    the status code of the performance
+         * @param elapsed the time spent, in nanoseconds
+         */
+        protected void record(int code, long elapsed) {
+            long count = stats.record(code, elapsed);
+            if (count % TaskStatistics.PROGRESS_INTERVAL == 0) {
+                logInfo("Curation task: " + task.getName() + " has been performed on " + count + " objects");
+            }
+        }
+
         protected boolean suspend(int code) {
             Invoked mode = task.getMode();
             if (mode != null && (mode.equals(Invoked.ANY) || mode.equals(iMode))) {
@@ -665,4 +886,65 @@ public class Curator {
             }
         }
     }
+
+    /**
+     * Counts the performances of a task per status code and the time spent in
+     * it. Shared by all workers performing the same task.
+     */
+    protected static class TaskStatistics {
+        static final int PROGRESS_INTERVAL = 1000;
+
+        private final LongAdder performed = new LongAdder();
+        private final LongAdder elapsed = new LongAdder();
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        long record(int code, long nanos) {
+            statusCounts.computeIfAbsent(code, c -> new LongAdder()).increment();
+            elapsed.add(nanos);
+            performed.increment();
+            return performed.sum();
+        }
+
+        String summary(String taskName) {
+            return MessageFormat.format("Curation task: {0} performed on {1} objects (success: {2}, fail: {3}, "
+                                            + "skip: {4}, error: {5}) in {6} ms",
+                                        taskName, String.valueOf(performed.sum()), count(CURATE_SUCCESS),
+                                        count(CURATE_FAIL), count(CURATE_SKIP), count(CURATE_ERROR),
+                                        String.valueOf(elapsed.sum() / 1000000));
+        }
+
+        private String count(int code) {
+            LongAdder adder = statusCounts.get(code);
+            return String.valueOf(adder == null ? 0 : adder.sum());
+        }
+    }
+
+    /**
+     * Serializes the output of concurrent workers to a shared reporter.
+     */
+    private static class SynchronizedAppendable implements Appendable {
+        private final Appendable delegate;
+
+        SynchronizedAppendable(Appendable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized Appendable append(CharSequence csq) throws IOException {
+            delegate.append(csq);
+            return this;
+        }
+
+        @Override
+        public synchronized Appendable append(CharSequence csq, int start, int end) throws IOException {
+            delegate.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public synchronized Appendable append(char c) throws IOException {
+            delegate.append(c);
+            return this;
+        }
+    }
 }
@@ -28,6 +28,7 @@ public class ResolvedTask {
     // annotation data
     private boolean distributive = false;
     private boolean mutative = false;
+    private boolean concurrent = false;
     private Curator.Invoked mode = null;
     private int[] codes = null;
 
@@ -39,6 +40,7 @@ public class ResolvedTask {
         Class ctClass = cTask.getClass();
         distributive = ctClass.isAnnotationPresent(Distributive.class);
         mutative = ctClass.isAnnotationPresent(Mutative.class);
+        concurrent = ctClass.isAnnotationPresent(Concurrent.class);
         Suspendable suspendAnno = (Suspendable) ctClass.getAnnotation(Suspendable.class);
         if (suspendAnno != null) {
             mode = suspendAnno.invoked();
@@ -110,6 +112,15 @@ public class ResolvedTask {
         return distributive;
     }
 
+    /**
+     * Returns whether task may be performed on several items concurrently
+     *
+     * @return whether task may be performed on several items concurrently
+     */
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
     /**
      * Returns whether task alters (mutates) it's target objects
      *
@@ -9,6 +9,7 @@ package org.dspace.discovery;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.solr.client.solrj.SolrServerException;
@@ -55,6 +56,14 @@ public interface IndexingService {
     void unIndexContent(Context context, String uniqueSearchID, boolean commit)
         throws IOException;
 
+    /**
+     * Unindex several documents in a single request, without committing
+     * @param context         The DSpace context
+     * @param uniqueSearchIDs The unique index IDs of the documents to remove
+     */
+    void unIndexContent(Context context, List<String> uniqueSearchIDs)
+        throws IOException, SolrServerException;
+
     void reIndexContent(Context context, IndexableObject dso)
         throws SQLException, IOException;
 
@@ -86,4 +95,15 @@ public interface IndexingService {
      */
     void atomicUpdate(Context context, String uniqueIndexId, String field, Map<String,Object> fieldModifier)
             throws SolrServerException, IOException;
+
+    /**
+     * Atomically update the index of a single field for several objects in a single request, see
+     * {@link #atomicUpdate(Context, String, String, Map)}
+     * @param context        The DSpace context
+     * @param uniqueIndexIds The unique index IDs of the objects to update the index for
+     * @param field          The field to update
+     * @param fieldModifier  The modifiers for the field to update, the same for all objects
+     */
+    void atomicUpdate(Context context, List<String> uniqueIndexIds, String field, Map<String,Object> fieldModifier)
+            throws SolrServerException, IOException;
 }
@@ -273,6 +273,13 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public void unIndexContent(Context context, List<String> searchUniqueIDs) throws IOException, SolrServerException {
+        if (!searchUniqueIDs.isEmpty() && solrSearchCore.getSolr() != null) {
+            solrSearchCore.getSolr().deleteById(searchUniqueIDs);
+        }
+    }
+
     /**
      * reIndexContent removes something from the index, then re-indexes it
      *
@@ -498,6 +505,23 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         solrSearchCore.getSolr().add(solrInputDocument);
     }
 
+    @Override
+    public void atomicUpdate(Context context, List<String> uniqueIndexIds, String field,
+                             Map<String, Object> fieldModifier) throws SolrServerException, IOException {
+        if (uniqueIndexIds.isEmpty()) {
+            return;
+        }
+        List<SolrInputDocument> solrInputDocuments = new ArrayList<>(uniqueIndexIds.size());
+        for (String uniqueIndexId : uniqueIndexIds) {
+            SolrInputDocument solrInputDocument = new SolrInputDocument();
+            solrInputDocument.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueIndexId);
+            solrInputDocument.addField(field, fieldModifier);
+            solrInputDocuments.add(solrInputDocument);
+        }
+
+        solrSearchCore.getSolr().add(solrInputDocuments);
+    }
+
     // //////////////////////////////////
     // Private
     // //////////////////////////////////
@@ -10,6 +10,7 @@ package org.dspace.discovery;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.common.SolrInputDocument;
 import org.apache.tika.utils.StringUtils;
+import org.dspace.content.DuplicateSignature;
 import org.dspace.content.Item;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.service.DuplicateDetectionService;
@@ -23,7 +24,9 @@ import org.dspace.workflow.WorkflowItem;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
- * Indexes special normalised values used for comparing items, to be used in e.g. basic duplicate detection
+ * Indexes special normalised values used for comparing items, to be used in e.g. basic duplicate detection.
+ * If the signature based duplicate detection is enabled, the MinHash signature of the item and the terms of its bands
+ * are indexed too.
  *
  * @author Kim Shepherd
  */
@@ -90,6 +93,15 @@ public class SolrServiceIndexComparisonPlugin implements SolrServiceIndexPlugin
                 document.addField(configurationService.getProperty("duplicate.comparison.solr.field",
                         "deduplication_keyword"), comparisonValue);
             }
+            if (duplicateDetectionService.isSignatureEnabled()) {
+                DuplicateSignature signature = duplicateDetectionService.buildSignature(context, item);
+                if (signature != null) {
+                    document.addField(DuplicateDetectionService.SIGNATURE_FIELD, signature.encode());
+                    for (String term : signature.getBandTerms(duplicateDetectionService.getSignatureBands())) {
+                        document.addField(DuplicateDetectionService.SIGNATURE_BAND_FIELD, term);
+                    }
+                }
+            }
         }
     }
 }
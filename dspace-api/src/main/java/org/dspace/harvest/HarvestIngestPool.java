@@ -0,0 +1,146 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.content.Collection;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.harvest.factory.HarvestServiceFactory;
+import org.jdom2.Element;
+
+/**
+ * Ingests the records of one harvested collection in parallel, on a {@link ContextWorkerPool}.
+ * <p>
+ * Every worker owns its own {@link Context} and {@link OAIHarvester} for the whole harvest. Records are handed out one
+ * page at a time through {@link #ingestPage}, which only returns once every record of the page has been ingested and
+ * committed, so a page is never partially skipped when the harvest moves on to the next resumption token. Records of
+ * a page that share an OAI identifier are ingested in page order by the same worker, as they update the same item.
+ */
+class HarvestIngestPool implements AutoCloseable {
+
+    private final UUID collectionId;
+
+    private final UUID epersonId;
+
+    private final String orePrefix;
+
+    private final Instant expirationTime;
+
+    private final ContextWorkerPool<List<RecordTask>> pool;
+
+    /**
+     * Start the worker threads.
+     * @param threads        the number of workers
+     * @param collectionId   the harvested collection
+     * @param epersonId      the user the workers act as, may be null
+     * @param orePrefix      the metadata prefix used to disseminate ORE
+     * @param expirationTime when the harvest times out, checked before every record
+     */
+    HarvestIngestPool(int threads, UUID collectionId, UUID epersonId, String orePrefix, Instant expirationTime) {
+        this.collectionId = collectionId;
+        this.epersonId = epersonId;
+        this.orePrefix = orePrefix;
+        this.expirationTime = expirationTime;
+        this.pool = new ContextWorkerPool<>("oai-harvest-" + collectionId, threads, this::createContext,
+                                            this::createWorker);
+    }
+
+    /**
+     * Ingest the given records in parallel and wait until all of them are done.
+     * @param records           the records of one ListRecords page
+     * @param firstRecordNumber the number of the first record of the page within the whole harvest
+     * @param totalListSize     the total number of records announced by the server, used for logging
+     * @throws Exception the first error raised by a worker; remaining records of the page are skipped
+     */
+    void ingestPage(List<Element> records, long firstRecordNumber, long totalListSize) throws Exception {
+        Map<String, List<RecordTask>> recordsById = new LinkedHashMap<>();
+        long recordNumber = firstRecordNumber;
+        for (Element record : records) {
+            String oaiId = record.getChild("header", OAIHarvester.OAI_NS)
+                                 .getChild("identifier", OAIHarvester.OAI_NS).getText();
+            recordsById.computeIfAbsent(oaiId, id -> new ArrayList<>())
+                       .add(new RecordTask(record, recordNumber++, totalListSize));
+        }
+        try {
+            for (List<RecordTask> tasks : recordsById.values()) {
+                pool.submit(tasks);
+            }
+            pool.awaitCompletion();
+        } catch (InterruptedException e) {
+            pool.fail(e);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * Skip the records that are not ingested yet, e.g. because the harvest failed outside of the pool.
+     * @param e the failure
+     */
+    void fail(Exception e) {
+        pool.fail(e);
+    }
+
+    /**
+     * Stop the workers, which complete their contexts, and wait for them to end.
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private Context createContext() throws Exception {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        if (epersonId != null) {
+            context.setCurrentUser(EPersonServiceFactory.getInstance().getEPersonService().find(context, epersonId));
+        }
+        return context;
+    }
+
+    private ContextWorkerPool.TaskProcessor<List<RecordTask>> createWorker(Context context) throws Exception {
+        Collection collection = ContentServiceFactory.getInstance().getCollectionService().find(context, collectionId);
+        OAIHarvester harvester = new OAIHarvester(context, collection, HarvestServiceFactory.getInstance()
+            .getHarvestedCollectionService().find(context, collection));
+        return tasks -> {
+            for (RecordTask task : tasks) {
+                // Skip the rest of the records once one failed, like the sequential harvest would
+                if (pool.hasFailed()) {
+                    return;
+                }
+                harvester.checkInterrupt(expirationTime);
+                harvester.ingestRecord(task.record, orePrefix, task.recordNumber, task.totalListSize);
+            }
+        };
+    }
+
+    private static class RecordTask {
+        private final Element record;
+        private final long recordNumber;
+        private final long totalListSize;
+
+        RecordTask(Element record, long recordNumber, long totalListSize) {
+            this.record = record;
+            this.recordNumber = recordNumber;
+            this.totalListSize = totalListSize;
+        }
+
+        @Override
+        public String toString() {
+            return "harvested record " + recordNumber;
+        }
+    }
+}
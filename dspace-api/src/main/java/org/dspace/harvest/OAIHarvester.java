@@ -27,6 +27,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathExpressionException;
 
@@ -91,7 +95,7 @@ public class OAIHarvester {
 
     private static final Namespace ATOM_NS = Namespace.getNamespace("http://www.w3.org/2005/Atom");
     private static final Namespace ORE_NS = Namespace.getNamespace("http://www.openarchives.org/ore/terms/");
-    private static final Namespace OAI_NS = Namespace.getNamespace("http://www.openarchives.org/OAI/2.0/");
+    static final Namespace OAI_NS = Namespace.getNamespace("http://www.openarchives.org/OAI/2.0/");
 
     public static final String OAI_ADDRESS_ERROR = "invalidAddress";
     public static final String OAI_SET_ERROR = "noSuchSet";
@@ -128,8 +132,6 @@ public class OAIHarvester {
     private Namespace metadataNS;
     private String metadataKey;
 
-    // DOMbuilder class for the DOM -> JDOM conversions
-    private static final DOMBuilder db = new DOMBuilder();
     // The point at which this thread should terminate itself
 
     /* Initialize the harvester with a collection object */
@@ -270,6 +272,9 @@ public class OAIHarvester {
 
         String dateGranularity;
 
+        HarvestIngestPool ingestPool = null;
+        ExecutorService prefetcher = null;
+
         try {
             // obtain the desired descriptive metadata format and verify that the OAI server actually provides it
             // do the same thing for ORE, which should be encoded in Atom and carry its namespace
@@ -332,9 +337,24 @@ public class OAIHarvester {
                     oaiSetId + " " + descMDPrefix);
             log.info("HTTP Request: " + listRecords.getRequestURL());
 
+            int ingestThreads = configurationService.getIntProperty("oai.harvester.ingestThreads", 1);
+            boolean prefetch = configurationService.getBooleanProperty("oai.harvester.prefetch", false);
+            if (ingestThreads > 1) {
+                ingestPool = new HarvestIngestPool(ingestThreads, targetCollection.getID(),
+                    ourContext.getCurrentUser() != null ? ourContext.getCurrentUser().getID() : null, OREPrefix,
+                    expirationTime);
+            }
+            if (prefetch) {
+                prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "oai-harvest-prefetch-" + targetCollection.getID());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+
             while (listRecords != null) {
                 records = new ArrayList<>();
-                oaiResponse = db.build(listRecords.getDocument());
+                oaiResponse = new DOMBuilder().build(listRecords.getDocument());
 
                 if (listRecords.getErrors() != null && listRecords.getErrors().getLength() > 0) {
                     for (int i = 0; i < listRecords.getErrors().getLength(); i++) {
@@ -366,34 +386,40 @@ public class OAIHarvester {
                     }
                 }
 
+                // Request the next page while the records of this one are ingested
+                resumptionToken = listRecords.getResumptionToken();
+                boolean hasNextPage = resumptionToken != null && resumptionToken.length() > 0;
+                Future<ListRecords> nextPage = null;
+                if (hasNextPage && prefetcher != null) {
+                    final String token = resumptionToken;
+                    nextPage = prefetcher.submit(() -> new ListRecords(oaiSource, token));
+                }
+
                 // Process the obtained records
-                if (!records.isEmpty()) {
+                if (!records.isEmpty() && ingestPool != null) {
+                    log.info("Found {} records to process in parallel", records::size);
+                    ingestPool.ingestPage(records, currentRecord + 1, totalListSize);
+                    currentRecord += records.size();
+                } else if (!records.isEmpty()) {
                     log.info("Found {} records to process", records::size);
                     for (Element record : records) {
-                        // check for STOP interrupt from the scheduler
-                        if (HarvestScheduler.getInterrupt() == HarvestScheduler.HARVESTER_INTERRUPT_STOP) {
-                            throw new HarvestingException("Harvest process for " + targetCollection
-                                .getID() + " interrupted by stopping the scheduler.");
-                        }
-                        // check for timeout
-                        if (expirationTime.isBefore(Instant.now())) {
-                            throw new HarvestingException(
-                                "runHarvest method timed out for collection " + targetCollection.getID());
-                        }
+                        checkInterrupt(expirationTime);
 
                         currentRecord++;
 
-                        processRecord(record, OREPrefix, currentRecord, totalListSize);
-                        ourContext.dispatchEvents();
-
-                        intermediateCommit();
+                        ingestRecord(record, OREPrefix, currentRecord, totalListSize);
                     }
                 }
 
                 // keep going if there are more records to process
-                resumptionToken = listRecords.getResumptionToken();
-                if (resumptionToken == null || resumptionToken.length() == 0) {
+                if (!hasNextPage) {
                     listRecords = null;
+                } else if (nextPage != null) {
+                    try {
+                        listRecords = nextPage.get();
+                    } catch (ExecutionException e) {
+                        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
                 } else {
                     listRecords = new ListRecords(oaiSource, resumptionToken);
                 }
@@ -414,6 +440,9 @@ public class OAIHarvester {
                 intermediateCommit();
             }
         } catch (HarvestingException hex) {
+            if (ingestPool != null) {
+                ingestPool.fail(hex);
+            }
             log.error("Harvesting error occurred while processing an OAI record: " + hex.getMessage(), hex);
             harvestRow.setHarvestMessage("Error occurred while processing an OAI record");
 
@@ -426,6 +455,9 @@ public class OAIHarvester {
             ourContext.complete();
             return;
         } catch (Exception ex) {
+            if (ingestPool != null) {
+                ingestPool.fail(ex);
+            }
             harvestRow.setHarvestMessage("Unknown error occurred while generating an OAI response");
             harvestRow.setHarvestStatus(HarvestedCollection.STATUS_UNKNOWN_ERROR);
             harvestedCollectionService.update(ourContext, harvestRow);
@@ -435,6 +467,7 @@ public class OAIHarvester {
             ourContext.complete();
             return;
         } finally {
+            shutdownWorkers(ingestPool, prefetcher);
             harvestedCollectionService.update(ourContext, harvestRow);
             ourContext.turnOffAuthorisationSystem();
             collectionService.update(ourContext, targetCollection);
@@ -456,6 +489,49 @@ public class OAIHarvester {
         ourContext.setMode(originalMode);
     }
 
+    /**
+     * Process a single record and commit it, so that every ingested record is checkpointed on its own.
+     *
+     * @param record        a JDOM Element containing the actual PMH record with descriptive metadata.
+     * @param OREPrefix     the metadataprefix value used by the remote PMH server to disseminate ORE.
+     * @param currentRecord current record number to log
+     * @param totalListSize The total number of records that this Harvest contains
+     * @throws Exception    if the record cannot be processed, see {@link #processRecord}
+     */
+    void ingestRecord(Element record, String OREPrefix, long currentRecord, long totalListSize) throws Exception {
+        processRecord(record, OREPrefix, currentRecord, totalListSize);
+        ourContext.dispatchEvents();
+        intermediateCommit();
+    }
+
+    /**
+     * Stop the harvest if the scheduler was stopped or the harvest ran for too long.
+     *
+     * @param expirationTime when the harvest times out
+     * @throws HarvestingException if the harvest must stop
+     */
+    void checkInterrupt(Instant expirationTime) throws HarvestingException {
+        // check for STOP interrupt from the scheduler
+        if (HarvestScheduler.getInterrupt() == HarvestScheduler.HARVESTER_INTERRUPT_STOP) {
+            throw new HarvestingException("Harvest process for " + targetCollection
+                .getID() + " interrupted by stopping the scheduler.");
+        }
+        // check for timeout
+        if (expirationTime.isBefore(Instant.now())) {
+            throw new HarvestingException(
+                "runHarvest method timed out for collection " + targetCollection.getID());
+        }
+    }
+
+    private void shutdownWorkers(HarvestIngestPool ingestPool, ExecutorService prefetcher) {
+        if (prefetcher != null) {
+            prefetcher.shutdownNow();
+        }
+        if (ingestPool != null) {
+            ingestPool.close();
+        }
+    }
+
     private void intermediateCommit() throws SQLException {
         ourContext.commit();
         reloadRequiredEntities();
@@ -772,7 +848,7 @@ public class OAIHarvester {
         // Query the OAI server for the metadata
         ListMetadataFormats lmf = new ListMetadataFormats(oaiSource);
 
-        Document lmfResponse = db.build(lmf.getDocument());
+        Document lmfResponse = new DOMBuilder().build(lmf.getDocument());
         List<Element> mdFormats = lmfResponse.getRootElement().getChild("ListMetadataFormats", OAI_NS)
                                              .getChildren("metadataFormat", OAI_NS);
 
@@ -856,7 +932,8 @@ public class OAIHarvester {
                 "OAI server returned the following errors during getDescMD execution: " + errorSet.toString());
         }
 
-        Document record = db.build(getRecord.getDocument());
+        // DOMBuilder is not thread-safe and records are fetched by several ingest workers at once
+        Document record = new DOMBuilder().build(getRecord.getDocument());
         Element root = record.getRootElement();
 
         return root.getChild("GetRecord", OAI_NS).getChild("record", OAI_NS).getChild("metadata", OAI_NS).getChildren();
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -35,8 +36,10 @@ import org.dspace.content.logic.TrueFilter;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
 import org.dspace.core.Email;
 import org.dspace.core.I18nUtil;
+import org.dspace.core.Utils;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.identifier.DOI;
@@ -65,6 +68,27 @@ public class DOIOrganiser {
     protected ConfigurationService configurationService;
     // This filter will override the default provider filter / behaviour
     protected Filter filter;
+    // Number of DOIs processed concurrently when processing all queued DOIs
+    protected int threads;
+    // Number of DOIs whose status is committed at once when processing all queued DOIs
+    protected int batchSize;
+    // DOIs processed since the last commit
+    private final List<String> uncommitted = new ArrayList<>();
+    // Whether the DOIs of a rolled back batch are being processed again
+    private boolean reprocessing = false;
+
+    /**
+     * An operation applied by the organiser to every queued DOI.
+     */
+    @FunctionalInterface
+    public interface DOIOperation {
+        /**
+         * @param organiser the organiser, owning the context to use
+         * @param doi       the DOI
+         * @throws SQLException if database error
+         */
+        void apply(DOIOrganiser organiser, DOI doi) throws SQLException;
+    }
 
     /**
      * Constructor to be called within the main() method
@@ -81,6 +105,8 @@ public class DOIOrganiser {
         this.configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
         this.filter = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
                 "always_true_filter", TrueFilter.class);
+        this.threads = configurationService.getIntProperty("identifier.doi.organiser.threads", 1);
+        this.batchSize = Math.max(configurationService.getIntProperty("identifier.doi.organiser.batch-size", 100), 1);
     }
 
     /**
@@ -127,6 +153,9 @@ public class DOIOrganiser {
                           "Perform online deletion for all identifiers queued for deletion.");
         options.addOption("q", "quiet", false,
                           "Turn the command line output off.");
+        options.addOption("t", "threads", true,
+                          "Number of DOIs to process concurrently with the -s, -r, -u and -d options. "
+                              + "Defaults to identifier.doi.organiser.threads, or 1.");
 
         Option filterDoi = Option.builder().optionalArg(true).longOpt("filter").hasArg().argName("filterName")
                 .desc("Use the specified filter name instead of the provider's filter. Defaults to a special " +
@@ -216,6 +245,16 @@ public class DOIOrganiser {
             }
         }
 
+        if (line.hasOption('t')) {
+            try {
+                organiser.threads = Utils.parsePositiveInt(line.getOptionValue('t'), "number of threads");
+            } catch (IllegalArgumentException ex) {
+                System.err.println(ex.getMessage());
+                LOG.fatal(ex);
+                System.exit(1);
+            }
+        }
+
         if (line.hasOption('s')) {
             try {
                 List<DOI> dois = doiService
@@ -224,19 +263,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be reserved.");
                 }
-
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.reserve(doi);
-                        context.commit();
-                    } catch (RuntimeException e) {
-                        System.err.format("DOI %s for object %s reservation failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
-                    }
-                }
+                organiser.processAll(dois, "reservation", DOIOrganiser::reserve);
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -251,18 +278,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be registered.");
                 }
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.register(doi);
-                        context.commit();
-                    } catch (SQLException e) {
-                        System.err.format("DOI %s for object %s registration failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
-                    }
-                }
+                organiser.processAll(dois, "registration", DOIOrganiser::register);
             } catch (SQLException ex) {
                 System.err.format("Error in database connection:  %s%n", ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -281,12 +297,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "whose metadata needs an update.");
                 }
-
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    organiser.update(doi);
-                    context.commit();
-                }
+                organiser.processAll(dois, "update", DOIOrganiser::update);
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -301,19 +312,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be deleted.");
                 }
-
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.delete(doi.getDoi());
-                        context.commit();
-                    } catch (SQLException e) {
-                        System.err.format("DOI %s for object %s deletion failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
-                    }
-                }
+                organiser.processAll(dois, "deletion", (o, doi) -> o.delete(doi.getDoi()));
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -381,6 +380,129 @@ public class DOIOrganiser {
 
     }
 
+    /**
+     * Apply an operation to DOIs queued for it. With more than one thread, the
+     * DOIs are processed by a pool of workers, each with its own context and
+     * organiser. The status changes are committed every batch-size DOIs; the
+     * changes of a failing DOI are rolled back without those of the other
+     * DOIs of its batch, and it stays queued for the next run.
+     *
+     * @param dois        the DOIs to process
+     * @param processName process name for display
+     * @param operation   the operation to apply to every DOI
+     * @throws SQLException if database error
+     */
+    public void processAll(List<DOI> dois, String processName, DOIOperation operation) throws SQLException {
+        List<String> identifiers = new ArrayList<>(dois.size());
+        for (DOI doi : dois) {
+            identifiers.add(doi.getDoi());
+        }
+        if (threads <= 1) {
+            for (String identifier : identifiers) {
+                process(identifier, processName, operation);
+            }
+            commit(true);
+            return;
+        }
+
+        ContextWorkerPool<String> pool = new ContextWorkerPool<>("doi-organiser", threads, () -> {
+            Context workerContext = new Context();
+            workerContext.turnOffAuthorisationSystem();
+            return workerContext;
+        }, workerContext -> {
+            DOIOrganiser worker = new DOIOrganiser(workerContext, provider);
+            worker.quiet = quiet;
+            worker.filter = filter;
+            worker.batchSize = batchSize;
+            // the pool completes the context of the worker, with its last uncommitted changes
+            return identifier -> worker.process(identifier, processName, operation);
+        });
+        try {
+            for (String identifier : identifiers) {
+                pool.submit(identifier);
+            }
+            pool.awaitCompletion();
+        } catch (SQLException e) {
+            pool.fail(e);
+            throw e;
+        } catch (Exception e) {
+            pool.fail(e);
+            throw new RuntimeException("Unable to process the DOIs queued for " + processName, e);
+        } finally {
+            pool.close();
+        }
+    }
+
+    /**
+     * Apply an operation to a DOI, reporting its failure without stopping.
+     *
+     * @param identifier  the DOI, without scheme
+     * @param processName process name for display
+     * @param operation   the operation to apply
+     */
+    private void process(String identifier, String processName, DOIOperation operation) {
+        DOI doi = null;
+        try {
+            doi = doiService.findByDoi(context, identifier);
+            if (null == doi) {
+                return;
+            }
+            operation.apply(this, doi);
+            uncommitted.add(identifier);
+            // DOIs processed again after a failure are committed one by one
+            commit(reprocessing);
+        } catch (RuntimeException | SQLException e) {
+            System.err.format("DOI %s for object %s %s failed, skipping:  %s%n",
+                    identifier, null == doi || null == doi.getDSpaceObject() ? "unknown"
+                        : doi.getDSpaceObject().getID().toString(),
+                    processName, e.getMessage());
+            discard(identifier, processName, operation);
+        }
+    }
+
+    /**
+     * Discard the changes of a failed DOI, keeping those of the DOIs processed
+     * before it since the last commit. Some changes of the failed DOI may
+     * already be flushed to the database, so the transaction is rolled back
+     * and the other DOIs processed since the last commit are processed again,
+     * each one committed on its own. A DOI failing again is rolled back alone.
+     *
+     * @param identifier  the failed DOI, without scheme
+     * @param processName process name for display
+     * @param operation   the operation applied to the DOIs
+     */
+    private void discard(String identifier, String processName, DOIOperation operation) {
+        try {
+            List<String> processed = new ArrayList<>(uncommitted);
+            processed.remove(identifier);
+            uncommitted.clear();
+            context.rollback();
+            // drop the rolled back state of the entities still cached
+            context.uncacheEntities();
+            if (reprocessing) {
+                // the DOI stays queued for the next run
+                return;
+            }
+            reprocessing = true;
+            try {
+                for (String other : processed) {
+                    process(other, processName, operation);
+                }
+            } finally {
+                reprocessing = false;
+            }
+        } catch (SQLException e) {
+            LOG.error("Unable to discard the changes of a failed DOI", e);
+        }
+    }
+
+    private void commit(boolean force) throws SQLException {
+        if (uncommitted.size() >= batchSize || (force && !uncommitted.isEmpty())) {
+            context.commit();
+            uncommitted.clear();
+        }
+    }
+
     /**
      * list DOIs queued for reservation or registration
      * @param processName   - process name for display
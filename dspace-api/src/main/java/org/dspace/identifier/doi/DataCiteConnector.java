@@ -18,14 +18,15 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
@@ -83,6 +84,10 @@ public class DataCiteConnector
         = "crosswalk.dissemination.DataCite.hostingInstitution";
     static final String CFG_NAMESPACE
         = "crosswalk.dissemination.DataCite.namespace";
+    static final String CFG_MAX_CONNECTIONS
+        = "identifier.doi.datacite.max-connections";
+    static final String CFG_RATE
+        = "identifier.doi.datacite.rate";
 
     /**
      * Stores the scheme used to connect to the DataCite server. It will be set
@@ -125,6 +130,20 @@ public class DataCiteConnector
     @Autowired
     protected HandleService handleService;
 
+    /**
+     * HTTP client shared by all requests, keeping the connections to DataCite
+     * open in a pool. Created on first use.
+     */
+    private CloseableHttpClient httpClient;
+
+    private final Object throttleLock = new Object();
+
+    /**
+     * Earliest time to send the next request, in nanoseconds, to respect the
+     * configured rate of requests.
+     */
+    private long nextRequestNanos = System.nanoTime();
+
     public DataCiteConnector() {
         this.xwalk = null;
         this.USERNAME = null;
@@ -248,6 +267,48 @@ public class DataCiteConnector
     }
 
 
+    /**
+     * @return the HTTP client shared by all requests, with a pool of at most
+     * identifier.doi.datacite.max-connections connections
+     */
+    protected synchronized CloseableHttpClient getHttpClient() {
+        if (null == this.httpClient) {
+            int maxConnections = configurationService.getIntProperty(CFG_MAX_CONNECTIONS, 10);
+            this.httpClient = DSpaceHttpClientFactory.getInstance().builder(true)
+                                                     .setMaxConnTotal(maxConnections)
+                                                     .setMaxConnPerRoute(maxConnections)
+                                                     .build();
+        }
+        return this.httpClient;
+    }
+
+    /**
+     * Wait until the next request may be sent, so that all threads together
+     * send at most identifier.doi.datacite.rate requests per second (0 for
+     * unlimited).
+     */
+    protected void throttle() {
+        int rate = configurationService.getIntProperty(CFG_RATE, 0);
+        if (rate <= 0) {
+            return;
+        }
+        long wait;
+        synchronized (throttleLock) {
+            long now = System.nanoTime();
+            // System.nanoTime() values may only be compared through their difference
+            long slot = nextRequestNanos - now > 0 ? nextRequestNanos : now;
+            nextRequestNanos = slot + TimeUnit.SECONDS.toNanos(1) / rate;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     public boolean isDOIReserved(Context context, String doi)
         throws DOIIdentifierException {
@@ -719,9 +780,10 @@ public class DataCiteConnector
         HttpClientContext httpContext = HttpClientContext.create();
         httpContext.setCredentialsProvider(credentialsProvider);
 
+        throttle();
+
         HttpEntity entity = null;
-        try (CloseableHttpClient httpclient = DSpaceHttpClientFactory.getInstance().build()) {
-            HttpResponse response = httpclient.execute(req, httpContext);
+        try (CloseableHttpResponse response = getHttpClient().execute(req, httpContext)) {
 
             StatusLine status = response.getStatusLine();
             int statusCode = status.getStatusCode();
@@ -0,0 +1,97 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.canvasdimension;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.iiif.canvasdimension.service.IIIFCanvasDimensionService;
+import org.dspace.iiif.util.IIIFSharedUtils;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer setting the IIIF canvas dimensions ("iiif.image.width" and "iiif.image.height") of the images of
+ * IIIF enabled items when they are installed or when images are added to them afterwards, so that the
+ * dimensions never have to be retrieved from the image server when a manifest is requested. Only the dimensions
+ * that can be read from the image content are set: the image server cannot retrieve images that are not committed
+ * yet, so the dimensions of e.g. jp2 images are left to the iiif-canvas-dimensions script.
+ */
+public class IIIFCanvasDimensionConsumer implements Consumer {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private IIIFCanvasDimensionService canvasDimensionService;
+
+    // The items already processed by the current dispatch
+    private final Set<UUID> itemIds = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        // The service is a prototype keeping its options: use an instance of our own.
+        canvasDimensionService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                      .getServicesByType(IIIFCanvasDimensionService.class).get(0);
+        canvasDimensionService.setIsQuiet(true);
+    }
+
+    /**
+     * The images are processed here rather than in {@link #end(Context)}, so that the events of the bitstream
+     * metadata changes are dispatched too, e.g. to remove the cached manifests. As consume() is called when the
+     * transaction is committed, all images added by the transaction are present by then.
+     */
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        DSpaceObject subject = event.getSubject(context);
+        if (subject == null) {
+            return;
+        }
+        if (event.getSubjectType() == Constants.ITEM && event.getEventType() == Event.INSTALL) {
+            processItem(context, (Item) subject);
+        } else if (event.getSubjectType() == Constants.BUNDLE && event.getEventType() == Event.ADD) {
+            for (Item item : ((Bundle) subject).getItems()) {
+                processItem(context, item);
+            }
+        }
+    }
+
+    private void processItem(Context context, Item item) {
+        // Items in submission are processed when they are installed
+        if (!item.isArchived() || !IIIFSharedUtils.isIIIFEnabled(item) || !itemIds.add(item.getID())) {
+            return;
+        }
+        context.turnOffAuthorisationSystem();
+        try {
+            if (canvasDimensionService.processNewImages(context, item)) {
+                log.debug("Set IIIF canvas dimensions for item " + item.getID());
+            }
+        } catch (Exception e) {
+            // The dimensions can still be set by the iiif-canvas-dimensions script later
+            log.error("Unable to set the IIIF canvas dimensions for item " + item.getID(), e);
+        } finally {
+            context.restoreAuthSystemState();
+        }
+    }
+
+    @Override
+    public void end(Context context) throws Exception {
+        itemIds.clear();
+    }
+
+    @Override
+    public void finish(Context context) throws Exception {
+    }
+}
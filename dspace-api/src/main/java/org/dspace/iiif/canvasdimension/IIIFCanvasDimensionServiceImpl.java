@@ -124,6 +124,17 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         }
     }
 
+    @Override
+    public boolean processNewImages(Context context, Item item) throws Exception {
+        boolean done = false;
+        for (Bundle bundle : IIIFSharedUtils.getIIIFBundles(item)) {
+            for (Bitstream bit : bundle.getBitstreams()) {
+                done |= processBitstream(context, bit, false);
+            }
+        }
+        return done;
+    }
+
     /**
      * Process all IIIF bundles for an item.
      * @param context
@@ -137,7 +148,7 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         for (Bundle bundle : bundles) {
             List<Bitstream> bitstreams = bundle.getBitstreams();
             for (Bitstream bit : bitstreams) {
-                done |= processBitstream(context, bit);
+                done |= processBitstream(context, bit, true);
                 context.uncacheEntity(bit);
             }
         }
@@ -157,11 +168,13 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
      * the bitstream is processed when forceProcessing is true.
      * @param context
      * @param bitstream
+     * @param queryImageServer whether the IIIF image server is asked for the dimensions the bitstream
+     *                         content cannot provide
      * @return
      * @throws Exception
      */
-    private boolean processBitstream(Context context, Bitstream bitstream) throws SQLException, AuthorizeException,
-        IOException {
+    private boolean processBitstream(Context context, Bitstream bitstream, boolean queryImageServer)
+        throws SQLException, AuthorizeException, IOException {
 
         boolean processed = false;
         boolean isImage = bitstream.getFormat(context).getMIMEType().contains("image/");
@@ -179,13 +192,13 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
                     stream = bitstreamService.retrieve(context, bitstream);
                     try {
                         dims = ImageDimensionReader.getImageDimensions(stream);
-                        if (dims == null) {
+                        if (dims == null && queryImageServer) {
                             // If image dimensions are not available try the iiif image server.
                             dims = iiifApiQuery.getImageDimensions(bitstream);
                         }
                     } catch (IOException e) {
                         // If an exception was raised by ImageIO, try the iiif image server.
-                        dims = iiifApiQuery.getImageDimensions(bitstream);
+                        dims = queryImageServer ? iiifApiQuery.getImageDimensions(bitstream) : null;
                     }
                 } finally {
                     if (stream != null) {
@@ -41,6 +41,19 @@ public interface IIIFCanvasDimensionService {
      */
     void processItem(Context context, Item item) throws Exception;
 
+    /**
+     * Set IIIF canvas dimensions for the images of an item that do not have them yet. Unlike
+     * {@link #processItem(Context, Item)}, no entity is removed from the context cache, so that this
+     * can be used while the item is still being processed, e.g. at ingest time. The dimensions are only
+     * read from the bitstream content, the IIIF image server is not queried as it cannot retrieve
+     * bitstreams that are not committed yet (e.g. jp2 images).
+     * @param context
+     * @param item
+     * @return true if the dimensions of any image were set
+     * @throws Exception
+     */
+    boolean processNewImages(Context context, Item item) throws Exception;
+
     /**
      * Set the force processing property. If true, existing canvas
      * metadata will be replaced.
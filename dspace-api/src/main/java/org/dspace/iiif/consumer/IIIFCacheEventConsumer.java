@@ -19,6 +19,8 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
+import org.dspace.iiif.manifest.service.IIIFManifestStore;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 
 /**
@@ -31,6 +33,9 @@ public class IIIFCacheEventConsumer implements Consumer {
     // When true all entries will be cleared from cache.
     private boolean clearAll = false;
 
+    // Persistent store of the manifests, shared by all nodes.
+    private IIIFManifestStore manifestStore;
+
     // Collects modified items for individual removal from cache.
     private final Set<DSpaceObject> toEvictFromManifestCache = new HashSet<>();
 
@@ -146,6 +151,17 @@ public class IIIFCacheEventConsumer implements Consumer {
                 }
             }
         }
+        // The stored manifests are invalidated in the current transaction, so all nodes see it once committed.
+        IIIFManifestStore manifestStore = getManifestStore();
+        if (manifestStore.isEnabled()) {
+            if (clearAll) {
+                manifestStore.invalidateAll(ctx);
+            } else {
+                for (DSpaceObject dso : toEvictFromManifestCache) {
+                    manifestStore.invalidate(ctx, dso.getID());
+                }
+            }
+        }
         if (canvasCacheEvictService != null) {
             for (DSpaceObject dso : toEvictFromCanvasCache) {
                 UUID uuid = dso.getID();
@@ -158,6 +174,14 @@ public class IIIFCacheEventConsumer implements Consumer {
         toEvictFromCanvasCache.clear();
     }
 
+    private IIIFManifestStore getManifestStore() {
+        if (manifestStore == null) {
+            manifestStore = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                 .getServicesByType(IIIFManifestStore.class).get(0);
+        }
+        return manifestStore;
+    }
+
     @Override
     public void finish(Context ctx) throws Exception {
 
@@ -0,0 +1,108 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * The IIIF manifest of an item, stored so that it is shared by all nodes serving the REST API and survives a
+ * restart, see {@link org.dspace.iiif.manifest.service.IIIFManifestStore}.
+ */
+@Entity
+@Table(name = "iiif_manifest")
+public class IIIFManifest implements ReloadableEntity<UUID> {
+
+    @Id
+    @Column(name = "item_id")
+    private UUID itemId;
+
+    @Column(name = "manifest", length = Length.LONG32)
+    private String manifest;
+
+    @Column(name = "created", nullable = false)
+    private Instant created;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Protected constructor, create object using:
+     * {@link org.dspace.iiif.manifest.service.IIIFManifestStore#getVersion(java.util.UUID)}
+     */
+    protected IIIFManifest() {
+    }
+
+    protected IIIFManifest(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    @Override
+    public UUID getID() {
+        return itemId;
+    }
+
+    /**
+     * @return the manifest as JSON, or null if it was invalidated or not stored yet
+     */
+    public String getManifest() {
+        return manifest;
+    }
+
+    public void setManifest(String manifest) {
+        this.manifest = manifest;
+    }
+
+    /**
+     * @return when the row was created or the manifest was stored
+     */
+    public Instant getCreated() {
+        return created;
+    }
+
+    public void setCreated(Instant created) {
+        this.created = created;
+    }
+
+    /**
+     * @return the number of times the manifest was invalidated
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Class<?> objClass = HibernateProxyHelper.getClassWithoutInitializingProxy(o);
+        if (getClass() != objClass) {
+            return false;
+        }
+        final IIIFManifest that = (IIIFManifest) o;
+        return this.getID() != null && this.getID().equals(that.getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getID() == null ? 0 : getID().hashCode();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.iiif.manifest.dao.IIIFManifestDAO;
+import org.dspace.iiif.manifest.service.IIIFManifestStore;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Service implementation for the IIIFManifest object.
+ * This class is responsible for all business logic calls for the IIIFManifest object and is autowired by spring.
+ * This class should never be accessed directly.
+ */
+public class IIIFManifestStoreImpl implements IIIFManifestStore {
+
+    private static final Logger log = LogManager.getLogger();
+
+    @Autowired
+    private IIIFManifestDAO iiifManifestDAO;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("iiif.manifest.store.enabled", false);
+    }
+
+    @Override
+    public String find(Context context, UUID itemId) throws SQLException {
+        IIIFManifest manifest = iiifManifestDAO.findByID(context, IIIFManifest.class, itemId);
+        return manifest != null ? manifest.getManifest() : null;
+    }
+
+    @Override
+    public long getVersion(UUID itemId) {
+        try (Context context = new Context()) {
+            IIIFManifest stored = iiifManifestDAO.findByID(context, IIIFManifest.class, itemId);
+            if (stored == null) {
+                // Create the row now, so that a change of the item while its manifest is generated is recorded
+                stored = new IIIFManifest(itemId);
+                stored.setCreated(Instant.now());
+                iiifManifestDAO.create(context, stored);
+            }
+            long version = stored.getVersion();
+            context.complete();
+            return version;
+        } catch (Exception e) {
+            // e.g. another node created the row of the item at the same time
+            log.debug("Unable to read the IIIF manifest version of item " + itemId + ": " + e.getMessage());
+            return NO_VERSION;
+        }
+    }
+
+    @Override
+    public void store(UUID itemId, String manifest, long version) {
+        if (version == NO_VERSION) {
+            return;
+        }
+        try (Context context = new Context()) {
+            // Waits for a transaction invalidating the manifest, and does not match its new version once committed
+            int stored = iiifManifestDAO.updateManifest(context, itemId, manifest, Instant.now(), version);
+            context.complete();
+            if (stored == 0) {
+                log.debug("IIIF manifest of item " + itemId + " not stored, the item changed meanwhile");
+            }
+        } catch (Exception e) {
+            log.warn("Unable to store the IIIF manifest of item " + itemId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void invalidate(Context context, UUID itemId) throws SQLException {
+        iiifManifestDAO.invalidateByItem(context, itemId);
+    }
+
+    @Override
+    public void invalidateAll(Context context) throws SQLException {
+        iiifManifestDAO.invalidateAll(context);
+    }
+}
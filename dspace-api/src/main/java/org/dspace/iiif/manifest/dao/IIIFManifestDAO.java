@@ -0,0 +1,58 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.iiif.manifest.IIIFManifest;
+
+/**
+ * Database Access Object interface class for the IIIFManifest object.
+ * The implementation of this class is responsible for all database calls for the IIIFManifest object and is
+ * autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface IIIFManifestDAO extends GenericDAO<IIIFManifest> {
+
+    /**
+     * Store the manifest of an item, unless the manifest was invalidated since the given version was read.
+     *
+     * @param context  the DSpace context
+     * @param itemId   the item id
+     * @param manifest the manifest as JSON
+     * @param created  when the manifest is stored
+     * @param version  the version read before generating the manifest
+     * @return the number of stored manifests, 0 if the version changed
+     * @throws SQLException if database error
+     */
+    public int updateManifest(Context context, UUID itemId, String manifest, Instant created, long version)
+        throws SQLException;
+
+    /**
+     * Remove the manifest of an item and increment its version.
+     *
+     * @param context the DSpace context
+     * @param itemId  the item id
+     * @return the number of invalidated manifests
+     * @throws SQLException if database error
+     */
+    public int invalidateByItem(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Remove all manifests and increment their versions.
+     *
+     * @param context the DSpace context
+     * @return the number of invalidated manifests
+     * @throws SQLException if database error
+     */
+    public int invalidateAll(Context context) throws SQLException;
+}
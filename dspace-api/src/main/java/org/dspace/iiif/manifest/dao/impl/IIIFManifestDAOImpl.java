@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.iiif.manifest.IIIFManifest;
+import org.dspace.iiif.manifest.dao.IIIFManifestDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the IIIFManifest object.
+ * This class is responsible for all database calls for the IIIFManifest object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class IIIFManifestDAOImpl extends AbstractHibernateDAO<IIIFManifest> implements IIIFManifestDAO {
+
+    protected IIIFManifestDAOImpl() {
+        super();
+    }
+
+    @Override
+    public int updateManifest(Context context, UUID itemId, String manifest, Instant created, long version)
+        throws SQLException {
+        Query query = createQuery(context, "UPDATE IIIFManifest SET manifest = :manifest, created = :created "
+            + "WHERE itemId = :itemId AND version = :version");
+        query.setParameter("manifest", manifest);
+        query.setParameter("created", created);
+        query.setParameter("itemId", itemId);
+        query.setParameter("version", version);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int invalidateByItem(Context context, UUID itemId) throws SQLException {
+        Query query = createQuery(context, "UPDATE IIIFManifest SET manifest = NULL, version = version + 1 "
+            + "WHERE itemId = :itemId");
+        query.setParameter("itemId", itemId);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int invalidateAll(Context context) throws SQLException {
+        return createQuery(context, "UPDATE IIIFManifest SET manifest = NULL, version = version + 1")
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest.service;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+
+/**
+ * Persistent store of the IIIF manifests of items, an alternative to the node-local "manifests" cache for
+ * installations with several nodes serving the REST API. The manifests are invalidated by the IIIF event consumer
+ * whenever an item, its bundles or its bitstreams change.
+ */
+public interface IIIFManifestStore {
+
+    /**
+     * Version returned when the version of a manifest could not be read, never matched when storing.
+     */
+    public static final long NO_VERSION = -1;
+
+    /**
+     * @return true if the manifests are stored, as configured by {@code iiif.manifest.store.enabled}
+     */
+    public boolean isEnabled();
+
+    /**
+     * @param context the DSpace context
+     * @param itemId  the item id
+     * @return the stored manifest of the item, or null if there is none
+     * @throws SQLException if database error
+     */
+    public String find(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Return the version of the manifest of an item, to be read before the item is loaded to generate its manifest
+     * and passed to {@link #store(UUID, String, long)}. The version is incremented whenever the manifest is
+     * invalidated. The row of the item is created in a transaction of its own if there is none yet.
+     *
+     * @param itemId the item id
+     * @return the version, or {@link #NO_VERSION} if it could not be read, e.g. if the item does not exist
+     */
+    public long getVersion(UUID itemId);
+
+    /**
+     * Store the manifest of an item in a transaction of its own, so that it can be called while a manifest is
+     * being requested. The manifest is not stored if it was invalidated since the given version was read, as it
+     * may have been generated from outdated data. Failures are logged only, as the manifest can be generated
+     * again.
+     *
+     * @param itemId   the item id
+     * @param manifest the manifest as JSON
+     * @param version  the version returned by {@link #getVersion(UUID)} before the manifest was generated
+     */
+    public void store(UUID itemId, String manifest, long version);
+
+    /**
+     * Invalidate the stored manifest of an item, in the current transaction.
+     *
+     * @param context the DSpace context
+     * @param itemId  the item id
+     * @throws SQLException if database error
+     */
+    public void invalidate(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Invalidate all stored manifests, in the current transaction.
+     *
+     * @param context the DSpace context
+     * @throws SQLException if database error
+     */
+    public void invalidateAll(Context context) throws SQLException;
+}
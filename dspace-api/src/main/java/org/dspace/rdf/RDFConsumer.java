@@ -10,12 +10,14 @@ package org.dspace.rdf;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.rdf.model.Model;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -35,17 +37,25 @@ import org.dspace.event.Consumer;
 import org.dspace.event.DetailType;
 import org.dspace.event.Event;
 import org.dspace.event.EventDetail;
+import org.dspace.rdf.factory.RDFFactory;
+import org.dspace.rdf.storage.RDFStorage;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.workflow.WorkflowItemService;
 import org.dspace.workflow.factory.WorkflowServiceFactory;
 
 /**
+ * Converts the DSpaceObjects changed within a transaction and stores them in
+ * the triple store. Every DSpaceObject is converted once per transaction, no
+ * matter how many events it got, and the converted data is stored in batches
+ * of {@code rdf.storage.batch-size} DSpaceObjects.
+ *
  * @author Pascal-Nicolas Becker (dspace -at- pascal -hyphen- becker -dot- de)
  */
 public class RDFConsumer implements Consumer {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(RDFConsumer.class);
 
-    protected Deque<DSOIdentifier> toConvert;
-    protected Deque<DSOIdentifier> toDelete;
+    protected Set<DSOIdentifier> toConvert;
+    protected Set<DSOIdentifier> toDelete;
 
     protected BitstreamService bitstreamService;
     protected BundleService bundleService;
@@ -66,10 +76,10 @@ public class RDFConsumer implements Consumer {
     public void consume(Context ctx, Event event)
         throws SQLException {
         if (this.toConvert == null) {
-            this.toConvert = new LinkedList<>();
+            this.toConvert = new LinkedHashSet<>();
         }
         if (this.toDelete == null) {
-            this.toDelete = new LinkedList<>();
+            this.toDelete = new LinkedHashSet<>();
         }
 
         int sType = event.getSubjectType();
@@ -130,7 +140,7 @@ public class RDFConsumer implements Consumer {
                     }
                     DSOIdentifier id = new DSOIdentifier(i, ctx);
                     if (!this.toDelete.contains(id) && !this.toConvert.contains(id)) {
-                        this.toConvert.addLast(id);
+                        this.toConvert.add(id);
                     }
                 }
 
@@ -174,7 +184,7 @@ public class RDFConsumer implements Consumer {
                 }
                 DSOIdentifier id = new DSOIdentifier(i, ctx);
                 if (!this.toDelete.contains(id) && !this.toConvert.contains(id)) {
-                    this.toConvert.addLast(id);
+                    this.toConvert.add(id);
                 }
             }
         }
@@ -210,7 +220,7 @@ public class RDFConsumer implements Consumer {
             }
 
             if (!this.toDelete.contains(id)) {
-                this.toDelete.addLast(id);
+                this.toDelete.add(id);
             }
             return;
         }
@@ -262,7 +272,7 @@ public class RDFConsumer implements Consumer {
 
             if (!this.toDelete.contains(id)
                 && !this.toConvert.contains(id)) {
-                this.toConvert.addLast(id);
+                this.toConvert.add(id);
             }
         }
     }
@@ -295,18 +305,14 @@ public class RDFConsumer implements Consumer {
             ctx.setMode(Context.Mode.READ_ONLY);
             if (toDelete == null) {
                 log.debug("Deletion queue does not exists, creating empty queue.");
-                this.toDelete = new LinkedList<>();
+                this.toDelete = new LinkedHashSet<>();
             }
             if (toConvert != null) {
                 log.debug("Starting conversion of DSpaceObjects.");
-                while (true) {
-                    DSOIdentifier id;
-                    try {
-                        id = toConvert.removeFirst();
-                    } catch (NoSuchElementException ex) {
-                        break;
-                    }
-
+                int batchSize = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                     .getIntProperty(RDFUtil.STORAGE_BATCH_SIZE_KEY, 1);
+                Map<String, Model> models = new LinkedHashMap<>();
+                for (DSOIdentifier id : toConvert) {
                     if (toDelete.contains(id)) {
                         log.debug("Skipping " + Constants.typeText[id.type] + " "
                                       + id.id.toString() + " as it is marked for "
@@ -315,24 +321,23 @@ public class RDFConsumer implements Consumer {
                     }
                     log.debug("Converting " + Constants.typeText[id.type] + " "
                                   + id.id.toString() + ".");
-                    convert(ctx, id);
+                    convert(ctx, id, models);
+                    if (models.size() >= batchSize) {
+                        store(models);
+                    }
                 }
+                store(models);
+                toConvert.clear();
                 log.debug("Conversion ended.");
             }
             log.debug("Starting to delete data from the triple store...");
-            while (true) {
-                DSOIdentifier id;
-                try {
-                    id = toDelete.removeFirst();
-                } catch (NoSuchElementException ex) {
-                    break;
-                }
-
+            for (DSOIdentifier id : toDelete) {
                 log.debug("Going to delete data from " +
                               Constants.typeText[id.type] + " "
                               + id.id.toString() + ".");
                 delete(ctx, id);
             }
+            toDelete.clear();
         } finally {
             // restore context mode
             ctx.setMode(oldMode);
@@ -340,15 +345,19 @@ public class RDFConsumer implements Consumer {
         log.debug("Deletion finished.");
     }
 
-    void convert(Context ctx, DSOIdentifier id) throws SQLException {
+    /**
+     * Convert a DSpaceObject and add the converted data to the models to
+     * store, by their identifier.
+     */
+    void convert(Context ctx, DSOIdentifier id, Map<String, Model> models) throws SQLException {
         Model m = null;
         try {
+            DSpaceObject dso;
             if (id.type == Constants.SITE) {
-                m = RDFUtil.convertAndStore(ctx, siteService.findSite(ctx));
-                return;
+                dso = siteService.findSite(ctx);
+            } else {
+                dso = ContentServiceFactory.getInstance().getDSpaceObjectService(id.type).find(ctx, id.id);
             }
-
-            DSpaceObject dso = ContentServiceFactory.getInstance().getDSpaceObjectService(id.type).find(ctx, id.id);
             if (dso == null) {
                 log.error("Cannot find " + Constants.typeText[id.type]
                               + " " + id.id + " unexpectedly! Will delete all "
@@ -356,7 +365,19 @@ public class RDFConsumer implements Consumer {
                 toDelete.add(id);
                 return;
             }
-            m = RDFUtil.convertAndStore(ctx, dso);
+            m = RDFUtil.convert(ctx, dso);
+            String identifier = RDFUtil.generateIdentifier(ctx, dso);
+            if (StringUtils.isEmpty(identifier)) {
+                throw new RDFMissingIdentifierException(dso.getType(), dso.getID());
+            }
+            if (m == null) {
+                // if data about this dso is stored in the triplestore already, we
+                // should remove it as a conversion currently result in no data
+                getStorage().delete(identifier);
+                return;
+            }
+            models.put(identifier, m);
+            m = null;
         } catch (AuthorizeException ex) {
             log.debug(Constants.typeText[id.type] + " " +
                           id.id.toString() + " couldn't be converted: "
@@ -386,12 +407,34 @@ public class RDFConsumer implements Consumer {
                          + "identifier could be generated: "
                          + ex.getMessage(), ex);
         } finally {
+            // the models to store are closed once they are stored
             if (m != null) {
                 m.close();
             }
         }
     }
 
+    /**
+     * Store the converted data in the triple store and clear the models.
+     */
+    void store(Map<String, Model> models) {
+        if (models.isEmpty()) {
+            return;
+        }
+        try {
+            getStorage().storeAll(models);
+        } finally {
+            for (Model model : models.values()) {
+                model.close();
+            }
+            models.clear();
+        }
+    }
+
+    protected RDFStorage getStorage() {
+        return RDFFactory.getInstance().getRDFStorage();
+    }
+
     void delete(Context context, DSOIdentifier id)
         throws SQLException {
         try {
@@ -78,6 +78,16 @@ public class RDFUtil {
      * endpoint will be used.
      */
     public static final String STORAGE_SPARQL_ENDPOINT_KEY = "rdf.storage.sparql.endpoint";
+    /**
+     * Property key to load the address of the SPARQL 1.1 update endpoint. If
+     * set, several converted DSpaceObjects are stored by a single request.
+     */
+    public static final String STORAGE_UPDATE_ENDPOINT_KEY = "rdf.storage.update.endpoint";
+    /**
+     * Property key to load the number of converted DSpaceObjects to store
+     * together.
+     */
+    public static final String STORAGE_BATCH_SIZE_KEY = "rdf.storage.batch-size";
     /**
      * Property key to load the username if authentication for the graph store
      * endpoint is required.
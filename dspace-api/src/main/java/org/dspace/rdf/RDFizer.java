@@ -8,10 +8,16 @@
 
 package org.dspace.rdf;
 
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.sql.SQLException;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -25,7 +31,13 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.Quad;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Collection;
@@ -38,6 +50,8 @@ import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.ContextWorkerPool;
+import org.dspace.core.Utils;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.rdf.factory.RDFFactory;
@@ -78,6 +92,32 @@ public class RDFizer {
      */
     protected Set<UUID> processed;
 
+    /**
+     * Number of threads converting items. Communities and collections are
+     * always converted by the calling thread.
+     */
+    protected int threads;
+
+    /**
+     * Number of converted DSpaceObjects stored together in the triple store.
+     */
+    protected int batchSize;
+
+    /**
+     * Converted models waiting to be stored, by their identifier.
+     */
+    protected final Map<String, Model> batch = new LinkedHashMap<>();
+
+    /**
+     * If set, the converted data is written as N-Quads to this stream instead
+     * of being stored in the triple store.
+     */
+    protected StreamRDF nquads;
+
+    protected OutputStream nquadsOutput;
+
+    protected ContextWorkerPool<UUID> itemPool = null;
+
     public RDFizer() {
         this.stdout = false;
         this.verbose = false;
@@ -92,6 +132,9 @@ public class RDFizer {
         this.itemService = contentServiceFactory.getItemService();
         this.handleService = HandleServiceFactory.getInstance().getHandleService();
         this.storage = RDFFactory.getInstance().getRDFStorage();
+
+        this.threads = 1;
+        this.batchSize = Math.max(configurationService.getIntProperty(RDFUtil.STORAGE_BATCH_SIZE_KEY, 1), 1);
     }
 
     /**
@@ -174,6 +217,60 @@ public class RDFizer {
         this.dryrun = dryrun;
     }
 
+    /**
+     * Set the number of threads converting items in parallel, every thread
+     * using its own context of an anonymous user.
+     *
+     * @param threads the number of threads
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Bad number of threads '" + threads
+                                                   + "': a positive number is required");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Set the number of converted DSpaceObjects to store together. The
+     * default is read from {@code rdf.storage.batch-size}.
+     *
+     * @param batchSize the number of DSpaceObjects per batch
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Write all converted data as N-Quads to the given stream instead of
+     * storing it in the triple store, e.g. to bulk load it into the triple
+     * store afterwards. Every DSpaceObject is written into its named graph.
+     * The stream is closed by {@link #finishNQuads()}.
+     *
+     * @param output the stream to write to
+     */
+    public void setNQuadsOutput(OutputStream output) {
+        this.nquadsOutput = output;
+        this.nquads = StreamRDFWriter.getWriterStream(output, RDFFormat.NQUADS);
+        this.nquads.start();
+    }
+
+    /**
+     * Finish writing N-Quads and close the stream, if N-Quads were written.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    public void finishNQuads() throws IOException {
+        if (nquads == null) {
+            return;
+        }
+        nquads.finish();
+        nquads = null;
+        nquadsOutput.close();
+        nquadsOutput = null;
+    }
+
     /**
      * Deletes all data stored in the triplestore (drops all named graphs and
      * cleans the default graph).
@@ -264,70 +361,195 @@ public class RDFizer {
             @Override
             protected void callback(DSpaceObject dso)
                 throws SQLException {
-                Model converted = null;
-                try {
-                    if (dryrun) {
-                        converted = RDFUtil.convert(context, dso);
-                    } else {
-                        converted = RDFUtil.convertAndStore(context, dso);
-                    }
-                } catch (ItemNotArchivedException ex) {
-                    if (!(dso instanceof Item)) {
-                        throw new IllegalStateException(ex.getMessage(), ex);
-                    }
-                    report("Skipping conversion of Item " + dso.getID()
-                               + " (handle " + dso.getHandle() + "): Item is not "
-                               + "archived.");
-                    return;
-                } catch (ItemWithdrawnException ex) {
-                    if (!(dso instanceof Item)) {
-                        throw new IllegalStateException(ex.getMessage(), ex);
-                    }
-                    report("Skipping conversion of Item " + dso.getID()
-                               + " (handle " + dso.getHandle() + "): Item is "
-                               + "withdrawn.");
-                    return;
-                } catch (ItemNotDiscoverableException ex) {
-                    if (!(dso instanceof Item)) {
-                        throw new IllegalStateException(ex.getMessage(), ex);
-                    }
-                    report("Skipping conversion of Item " + dso.getID()
-                               + " (handle " + dso.getHandle() + "): Item is not "
-                               + "discoverable.");
-                    return;
-                } catch (AuthorizeException ex) {
-                    report("Skipping conversion of " + contentServiceFactory.getDSpaceObjectService(dso)
-                                                                            .getTypeText(dso) + " "
-                               + dso.getID() + " (handle " + dso.getHandle() + ")"
-                               + ", not authorized: " + ex.getMessage());
-                    return;
-                } catch (RDFMissingIdentifierException ex) {
-                    String errormessage = "Skipping conversion of "
-                        + contentServiceFactory.getDSpaceObjectService(dso).getTypeText(dso) + " " + dso.getID()
-                        + " (handle " + dso.getHandle() + ").";
-                    log.error(errormessage, ex);
-                    System.err.println(errormessage
-                                           + " Error while converting: " + ex.getMessage());
+                convertDSO(context, dso);
+            }
+        };
 
+        if (threads <= 1) {
+            this.dspaceDFS(dso, callback, true, reset);
+            this.flush();
+            return;
+        }
+
+        itemPool = createItemPool();
+        try {
+            this.dspaceDFS(dso, callback, true, reset);
+            itemPool.awaitCompletion();
+        } catch (SQLException | RuntimeException ex) {
+            itemPool.fail(ex);
+            throw ex;
+        } catch (Exception ex) {
+            itemPool.fail(ex);
+            throw new IllegalStateException(ex.getMessage(), ex);
+        } finally {
+            itemPool.close();
+            itemPool = null;
+        }
+        this.flush();
+    }
+
+    /**
+     * Create the workers converting items, every worker using its own context
+     * of an anonymous user.
+     *
+     * @return the pool of workers
+     */
+    protected ContextWorkerPool<UUID> createItemPool() {
+        return new ContextWorkerPool<>("rdfizer", threads, () -> new Context(Context.Mode.READ_ONLY),
+            workerContext -> itemId -> {
+                Item item = itemService.find(workerContext, itemId);
+                if (item == null) {
                     return;
                 }
+                convertDSO(workerContext, item);
+                report("Processed Item " + item.getID() + " (handle " + item.getHandle() + ").");
+                workerContext.uncacheEntity(item);
+            });
+    }
 
-                if (stdout) {
-                    if (converted == null) {
-                        System.err.println(
-                            "Conversion of " + contentServiceFactory.getDSpaceObjectService(dso).getTypeText(dso)
-                                + " " + dso.getID() + " resulted in no data.");
-                    } else {
-                        converted.write(System.out, lang);
+    /**
+     * Convert a single DSpaceObject and store the converted data, or write it
+     * to stdout or as N-Quads.
+     *
+     * @param context the context to use for the conversion
+     * @param dso     the DSpaceObject to convert
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void convertDSO(Context context, DSpaceObject dso)
+        throws SQLException {
+        Model converted = null;
+        String identifier = null;
+        try {
+            converted = RDFUtil.convert(context, dso);
+            if (!dryrun) {
+                identifier = RDFUtil.generateIdentifier(context, dso);
+                if (StringUtils.isEmpty(identifier)) {
+                    if (converted != null) {
+                        converted.close();
                     }
+                    throw new RDFMissingIdentifierException(dso.getType(), dso.getID());
                 }
-                if (converted != null) {
-                    converted.close();
+            }
+        } catch (ItemNotArchivedException ex) {
+            if (!(dso instanceof Item)) {
+                throw new IllegalStateException(ex.getMessage(), ex);
+            }
+            report("Skipping conversion of Item " + dso.getID()
+                       + " (handle " + dso.getHandle() + "): Item is not "
+                       + "archived.");
+            return;
+        } catch (ItemWithdrawnException ex) {
+            if (!(dso instanceof Item)) {
+                throw new IllegalStateException(ex.getMessage(), ex);
+            }
+            report("Skipping conversion of Item " + dso.getID()
+                       + " (handle " + dso.getHandle() + "): Item is "
+                       + "withdrawn.");
+            return;
+        } catch (ItemNotDiscoverableException ex) {
+            if (!(dso instanceof Item)) {
+                throw new IllegalStateException(ex.getMessage(), ex);
+            }
+            report("Skipping conversion of Item " + dso.getID()
+                       + " (handle " + dso.getHandle() + "): Item is not "
+                       + "discoverable.");
+            return;
+        } catch (AuthorizeException ex) {
+            report("Skipping conversion of " + contentServiceFactory.getDSpaceObjectService(dso)
+                                                                    .getTypeText(dso) + " "
+                       + dso.getID() + " (handle " + dso.getHandle() + ")"
+                       + ", not authorized: " + ex.getMessage());
+            return;
+        } catch (RDFMissingIdentifierException ex) {
+            String errormessage = "Skipping conversion of "
+                + contentServiceFactory.getDSpaceObjectService(dso).getTypeText(dso) + " " + dso.getID()
+                + " (handle " + dso.getHandle() + ").";
+            log.error(errormessage, ex);
+            System.err.println(errormessage
+                                   + " Error while converting: " + ex.getMessage());
+
+            return;
+        }
+
+        if (stdout) {
+            if (converted == null) {
+                System.err.println(
+                    "Conversion of " + contentServiceFactory.getDSpaceObjectService(dso).getTypeText(dso)
+                        + " " + dso.getID() + " resulted in no data.");
+            } else {
+                synchronized (System.out) {
+                    converted.write(System.out, lang);
                 }
             }
-        };
+        }
+
+        if (dryrun) {
+            if (converted != null) {
+                converted.close();
+            }
+            return;
+        }
+        this.output(identifier, converted);
+    }
+
+    /**
+     * Hand converted data over to be stored in the triple store or written as
+     * N-Quads. Data to store is collected until a batch is full.
+     *
+     * @param identifier the identifier of the converted DSpaceObject
+     * @param model      the converted data, or null if the conversion resulted
+     *                   in no data, which deletes the data stored before
+     */
+    protected void output(String identifier, Model model) {
+        if (nquads != null) {
+            if (model != null) {
+                Node graph = NodeFactory.createURI(identifier);
+                synchronized (nquads) {
+                    model.getGraph().find().forEachRemaining(triple -> nquads.quad(new Quad(graph, triple)));
+                }
+                model.close();
+            }
+            return;
+        }
+        if (model == null) {
+            storage.delete(identifier);
+            return;
+        }
+        Map<String, Model> models;
+        synchronized (batch) {
+            batch.put(identifier, model);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            models = new LinkedHashMap<>(batch);
+            batch.clear();
+        }
+        this.store(models);
+    }
+
+    /**
+     * Store all converted data waiting in the current batch.
+     */
+    protected void flush() {
+        Map<String, Model> models;
+        synchronized (batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            models = new LinkedHashMap<>(batch);
+            batch.clear();
+        }
+        this.store(models);
+    }
 
-        this.dspaceDFS(dso, callback, true, reset);
+    protected void store(Map<String, Model> models) {
+        try {
+            storage.storeAll(models);
+        } finally {
+            for (Model model : models.values()) {
+                model.close();
+            }
+        }
     }
 
     protected void dspaceDFS(DSpaceObject dso, Callback callback, boolean check, boolean reset)
@@ -352,6 +574,21 @@ public class RDFizer {
             return;
         }
         markProcessed(dso);
+
+        // items are converted by the workers, if there are any. The workers
+        // check whether the items are public themselves.
+        if (itemPool != null && dso instanceof Item) {
+            if (!itemPool.hasFailed()) {
+                try {
+                    itemPool.submit(dso.getID());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(ex.getMessage(), ex);
+                }
+            }
+            context.uncacheEntity(dso);
+            return;
+        }
         // this is useful to debug depth first search, but it is really noisy.
         //log.debug("Processing " + contentServiceFactory.getDSpaceObjectService(dso).getTypeText(dso) + " " + dso
         // .getID() + ":" + dso.getHandle() + ".");
@@ -519,6 +756,16 @@ public class RDFizer {
             setStdout(true);
         }
 
+        if (line.hasOption("threads")) {
+            try {
+                setThreads(Utils.parsePositiveInt(line.getOptionValue("threads"), "number of threads"));
+            } catch (IllegalArgumentException ex) {
+                usage(options);
+                System.err.println("\n\n" + ex.getMessage());
+                System.exit(1);
+            }
+        }
+
         // check mutual exclusive arguments
         if (line.hasOption("delete") && line.hasOption("delete-all")) {
             usage(options);
@@ -548,6 +795,13 @@ public class RDFizer {
                                    + "with --delete or --deleta-all.");
             System.exit(1);
         }
+        if (line.hasOption("nquads")
+            && (line.hasOption("delete") || line.hasOption("delete-all"))) {
+            usage(options);
+            System.err.println("\n\nYou cannot use the option --nquads together "
+                                   + "with --delete or --delete-all.");
+            System.exit(1);
+        }
 
         // Run commands depending on CLI arguments.
         // process help first to prevent further evaluation of given options.
@@ -602,6 +856,17 @@ public class RDFizer {
             System.exit(0);
         }
 
+        if (line.hasOption("nquads")) {
+            try {
+                setNQuadsOutput(new BufferedOutputStream(new FileOutputStream(line.getOptionValue("nquads"))));
+            } catch (IOException ex) {
+                log.error(ex);
+                System.err.println("Cannot write to " + line.getOptionValue("nquads") + ": "
+                                       + ex.getMessage());
+                System.exit(1);
+            }
+        }
+
         if (line.hasOption("identifiers")) {
             String[] identifiers = line.getOptionValues("identifiers");
             report("Starting conversion of specified DSpaceObjects...");
@@ -630,6 +895,7 @@ public class RDFizer {
                 }
             }
             report("Conversion ended.");
+            this.finishCLIOutput();
             System.exit(0);
         }
 
@@ -644,6 +910,7 @@ public class RDFizer {
                 ex.printStackTrace(System.err);
                 System.exit(1);
             }
+            this.finishCLIOutput();
             System.exit(0);
         }
 
@@ -651,6 +918,16 @@ public class RDFizer {
         System.exit(0);
     }
 
+    protected void finishCLIOutput() {
+        try {
+            this.finishNQuads();
+        } catch (IOException ex) {
+            log.error(ex);
+            System.err.println("Cannot finish writing N-Quads: " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+
     protected DSpaceObject resolveHandle(String handle) {
         DSpaceObject dso = null;
         try {
@@ -744,14 +1021,33 @@ public class RDFizer {
                 .build();
         options.addOption(optDeleteAll);
 
+        Option optThreads = Option.builder("t")
+                .longOpt("threads")
+                .hasArg()
+                .argName("number")
+                .desc("Convert items using this number of threads. "
+                        + "Defaults to 1.")
+                .build();
+        options.addOption(optThreads);
+
+        Option optNQuads = Option.builder()
+                .longOpt("nquads")
+                .hasArg()
+                .argName("file")
+                .desc("Write all converted data as N-Quads into this file "
+                        + "instead of storing it in the triple store, e.g. to "
+                        + "bulk load it into the triple store afterwards.")
+                .build();
+        options.addOption(optNQuads);
+
         return options;
     }
 
     protected static void usage(Options options) {
         String cliSyntax = "[dspace-bin]/bin/dspace rdfizer [OPTIONS...]";
         String header = "";
-        String footer = "\nYou cannot use the options --convert-all, --identifiers " +
-            "or --stdout together with --delete or --delete-all.\n" +
+        String footer = "\nYou cannot use the options --convert-all, --identifiers, " +
+            "--stdout or --nquads together with --delete or --delete-all.\n" +
             "Please use at least one option out of --convert-all, --delete, " +
             "--delete-all or --identifiers.\n";
 
@@ -9,6 +9,7 @@
 package org.dspace.rdf.storage;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.jena.rdf.model.Model;
 
@@ -31,6 +32,20 @@ public interface RDFStorage {
      */
     public void store(String uri, Model model);
 
+    /**
+     * Store several models at once, replacing the data stored for their URIs.
+     * Implementations should send them to the triple store in as few requests
+     * as possible. Don't use this method directly, see
+     * {@link #store(String, Model)}.
+     *
+     * @param models The models to store, by their URIs.
+     */
+    public default void storeAll(Map<String, Model> models) {
+        for (Map.Entry<String, Model> entry : models.entrySet()) {
+            store(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Don't use this method directly, use
      * {@link org.dspace.rdf.RDFUtil#loadModel(String) RDFizer.loadModel(...)} instead.
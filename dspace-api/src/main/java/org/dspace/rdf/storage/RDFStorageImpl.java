@@ -11,8 +11,11 @@ package org.dspace.rdf.storage;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.http.auth.AuthEnv;
 import org.apache.jena.query.QueryExecution;
 import org.apache.jena.query.QuerySolution;
@@ -20,7 +23,12 @@ import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.apache.jena.rdfconnection.RDFConnectionRemote;
+import org.apache.jena.sparql.core.Quad;
 import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
+import org.apache.jena.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.sparql.modify.request.UpdateDrop;
+import org.apache.jena.update.UpdateRequest;
 import org.apache.logging.log4j.Logger;
 import org.dspace.rdf.RDFUtil;
 import org.dspace.services.ConfigurationService;
@@ -36,20 +44,58 @@ public class RDFStorageImpl
     @Autowired(required = true)
     protected ConfigurationService configurationService;
 
+    /**
+     * Connection to the graph store endpoint, shared by all requests so that
+     * the underlying HTTP connections are reused.
+     */
+    protected RDFConnection connection;
+
+    /**
+     * Connection to the SPARQL update endpoint, if one is configured.
+     */
+    protected RDFConnection updateConnection;
+
     @Override
     public void store(String uri, Model model) {
         RDFConnection connection = this.getConnection();
         connection.put(uri, model);
     }
 
+    /**
+     * If a SPARQL update endpoint is configured, all models are stored by a
+     * single update request, dropping and inserting their named graphs.
+     * Otherwise every model is put into the graph store on its own.
+     *
+     * @param models The models to store, by their URIs.
+     */
+    @Override
+    public void storeAll(Map<String, Model> models) {
+        String updateEndpoint = configurationService.getProperty(RDFUtil.STORAGE_UPDATE_ENDPOINT_KEY);
+        if (models.size() <= 1 || StringUtils.isEmpty(updateEndpoint)) {
+            RDFStorage.super.storeAll(models);
+            return;
+        }
+        UpdateRequest request = new UpdateRequest();
+        List<Quad> quads = new ArrayList<>();
+        for (Map.Entry<String, Model> entry : models.entrySet()) {
+            Node graph = NodeFactory.createURI(entry.getKey());
+            request.add(new UpdateDrop(graph, true));
+            entry.getValue().getGraph().find().forEachRemaining(triple -> quads.add(new Quad(graph, triple)));
+        }
+        request.add(new UpdateDataInsert(new QuadDataAcc(quads)));
+        this.getUpdateConnection(updateEndpoint).update(request);
+    }
+
     @Override
     public Model load(String uri) {
         RDFConnection connection = this.getConnection();
         return connection.fetch(uri);
     }
 
-    protected RDFConnection getConnection() {
-        RDFConnection connection;
+    protected synchronized RDFConnection getConnection() {
+        if (connection != null) {
+            return connection;
+        }
         if (configurationService.hasProperty(RDFUtil.STORAGE_GRAPHSTORE_LOGIN_KEY)
             && configurationService.hasProperty(RDFUtil.STORAGE_GRAPHSTORE_PASSWORD_KEY)) {
             AuthEnv.get()
@@ -64,6 +110,28 @@ public class RDFStorageImpl
         return connection;
     }
 
+    /**
+     * The SPARQL update endpoint uses the credentials of the graph store
+     * endpoint, as both change the stored data.
+     *
+     * @param endpoint The address of the SPARQL update endpoint.
+     * @return the connection to the SPARQL update endpoint
+     */
+    protected synchronized RDFConnection getUpdateConnection(String endpoint) {
+        if (updateConnection != null) {
+            return updateConnection;
+        }
+        if (configurationService.hasProperty(RDFUtil.STORAGE_GRAPHSTORE_LOGIN_KEY)
+            && configurationService.hasProperty(RDFUtil.STORAGE_GRAPHSTORE_PASSWORD_KEY)) {
+            AuthEnv.get()
+                   .registerUsernamePassword(endpoint,
+                                             configurationService.getProperty(RDFUtil.STORAGE_GRAPHSTORE_LOGIN_KEY),
+                                             configurationService.getProperty(RDFUtil.STORAGE_GRAPHSTORE_PASSWORD_KEY));
+        }
+        updateConnection = RDFConnectionRemote.service(endpoint).build();
+        return updateConnection;
+    }
+
     @Override
     public void delete(String uri) {
         this.getConnection().delete(uri);
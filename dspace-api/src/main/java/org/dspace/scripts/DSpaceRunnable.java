@@ -19,6 +19,7 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.cli.DSpaceSkipUnknownArgumentsParser;
+import org.dspace.core.Utils;
 import org.dspace.eperson.EPerson;
 import org.dspace.scripts.configuration.ScriptConfiguration;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
@@ -169,6 +170,27 @@ public abstract class DSpaceRunnable<T extends ScriptConfiguration> implements R
         handler.printHelp(getScriptConfiguration().getOptions(), getScriptConfiguration().getName());
     }
 
+    /**
+     * Return the value of an option that must be a positive number, e.g. a number of threads. A bad value is logged
+     * through the handler before being rejected.
+     * @param option       the option
+     * @param defaultValue the value to return when the option is not given
+     * @param description  what the value stands for, used in the error message, e.g. "number of threads"
+     * @return the value of the option, or the default value
+     * @throws IllegalArgumentException if the value of the option is not a positive number
+     */
+    protected int getPositiveIntOption(String option, int defaultValue, String description) {
+        if (!commandLine.hasOption(option)) {
+            return defaultValue;
+        }
+        try {
+            return Utils.parsePositiveInt(commandLine.getOptionValue(option), description);
+        } catch (IllegalArgumentException e) {
+            handler.logError(e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * This method will traverse all the options and it'll grab options defined as an InputStream type to then save
      * the filename specified by that option in a list of Strings that'll be returned in the end
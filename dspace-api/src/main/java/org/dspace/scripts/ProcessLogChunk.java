@@ -0,0 +1,47 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.scripts;
+
+/**
+ * A chunk of the log output of a {@link Process}, as returned when following the log of a process incrementally.
+ */
+public class ProcessLogChunk {
+
+    private final long nextOffset;
+
+    private final String content;
+
+    private final boolean complete;
+
+    public ProcessLogChunk(long nextOffset, String content, boolean complete) {
+        this.nextOffset = nextOffset;
+        this.content = content;
+        this.complete = complete;
+    }
+
+    /**
+     * @return the offset to pass on the next read to continue after this chunk
+     */
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * @return the log output contained in this chunk, possibly empty
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * @return true if the log is no longer being written to and this chunk reached its end
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
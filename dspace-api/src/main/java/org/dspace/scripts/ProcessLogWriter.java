@@ -0,0 +1,417 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.scripts;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps one open, buffered log channel per running {@link Process} so that log lines are no longer written by
+ * opening and closing the log file for every single message. Buffered output is flushed and synced to disk
+ * periodically by a background thread, and when the current log file grows beyond the configured maximum size it is
+ * rolled over to numbered backup files ({@code <name>.log.1}, {@code <name>.log.2}, ...).
+ * <p>
+ * Log output is addressed by absolute offsets, counting every byte written for the process since its channel was
+ * opened, including output that was rolled out of the retained files. The same offsets are used to follow a running
+ * process' log through {@link #read(File, String, long, int)} and to page through the stored log of a finished process
+ * through {@link #readStored(InputStream, long, long, int)}. When output was discarded because more than the
+ * configured number of backups were rolled, the log is marked with a {@link #getDiscardedLine(long) line} telling how
+ * many bytes are missing, both when reading it and at the start of the stored log.
+ */
+public class ProcessLogWriter {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final Pattern DISCARDED_LINE =
+        Pattern.compile("^\\[(\\d+) bytes of earlier log output discarded\\]$");
+
+    /**
+     * The number of bytes checked for a {@link #DISCARDED_LINE} at the start of a stored log
+     */
+    private static final int DISCARDED_LINE_MAX_LENGTH = 128;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * The number of discarded bytes of the closed log files that were not deleted yet, so they are read with the same
+     * offsets as while they were open
+     */
+    private final Map<String, Long> closedDiscarded = new ConcurrentHashMap<>();
+
+    private final long maxFileSize;
+
+    private final int maxBackups;
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param flushIntervalMillis the interval between two background flushes (and fsyncs) of all open channels
+     * @param maxFileSize         the size in bytes after which the current log file is rolled, 0 disables rolling
+     * @param maxBackups          the number of rolled files to keep per process
+     */
+    public ProcessLogWriter(long flushIntervalMillis, long maxFileSize, int maxBackups) {
+        this.maxFileSize = maxFileSize;
+        this.maxBackups = Math.max(maxBackups, 0);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "process-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(flushIntervalMillis, 10);
+        this.flusher.scheduleWithFixedDelay(this::flushAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Append a line to the log file with the given name in the given directory, opening a channel for it when
+     * none exists yet. The line is only buffered; it reaches the disk on the next background flush or when the
+     * channel is closed.
+     * @param directory the directory holding the process log files
+     * @param fileName  the name of the current log file
+     * @param line      the line to append, without line terminator
+     * @throws IOException if the log file cannot be opened or written
+     */
+    public void append(File directory, String fileName, String line) throws IOException {
+        Channel channel = channels.computeIfAbsent(fileName, name -> new Channel(new File(directory, name)));
+        channel.append(line);
+    }
+
+    /**
+     * Flush and close the channel of the given log file, if it is open. Afterwards all retained log output can be
+     * found in the files returned by {@link #getLogFiles(File, String)}.
+     * @param fileName the name of the current log file
+     * @return the number of bytes of log output that were discarded when rolling, the absolute offset of the first
+     *         retained byte
+     * @throws IOException if the buffered output cannot be written
+     */
+    public long close(String fileName) throws IOException {
+        Channel channel = channels.remove(fileName);
+        if (channel == null) {
+            return 0;
+        }
+        channel.close();
+        long discarded = channel.getDiscarded();
+        if (discarded > 0) {
+            closedDiscarded.put(fileName, discarded);
+        }
+        return discarded;
+    }
+
+    /**
+     * Return the existing log files for the given log file name, oldest rolled backup first and the current log file
+     * last.
+     * @param directory the directory holding the process log files
+     * @param fileName  the name of the current log file
+     * @return the log files in the order they were written
+     */
+    public List<File> getLogFiles(File directory, String fileName) {
+        List<File> files = new ArrayList<>();
+        for (int i = maxBackups; i > 0; i--) {
+            File backup = new File(directory, fileName + "." + i);
+            if (backup.exists()) {
+                files.add(backup);
+            }
+        }
+        File current = new File(directory, fileName);
+        if (current.exists()) {
+            files.add(current);
+        }
+        return files;
+    }
+
+    /**
+     * Delete the current log file and all of its rolled backups.
+     * @param directory the directory holding the process log files
+     * @param fileName  the name of the current log file
+     */
+    public void delete(File directory, String fileName) {
+        closedDiscarded.remove(fileName);
+        for (File file : getLogFiles(directory, fileName)) {
+            if (!file.delete()) {
+                log.warn("Unable to delete process log file {}", file.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Read at most {@code maxBytes} of log output starting at the given absolute offset, from the current log file and
+     * its rolled backups. If output before the offset was discarded, reading resumes at the oldest retained output,
+     * after a {@link #getDiscardedLine(long) line} telling how many bytes were skipped. Only complete lines are
+     * returned.
+     * @param directory the directory holding the process log files
+     * @param fileName  the name of the current log file
+     * @param offset    the absolute offset to start reading from
+     * @param maxBytes  the maximum number of bytes to return
+     * @return the chunk of log output that was read, never null
+     * @throws IOException if the log file cannot be read
+     */
+    public ProcessLogChunk read(File directory, String fileName, long offset, int maxBytes) throws IOException {
+        Channel channel = channels.get(fileName);
+        if (channel != null) {
+            return channel.read(directory, fileName, offset, maxBytes);
+        }
+        return read(getLogFiles(directory, fileName), closedDiscarded.getOrDefault(fileName, 0L), offset, maxBytes,
+                    true);
+    }
+
+    /**
+     * Read at most {@code maxBytes} of a stored log, starting at the given absolute offset. The stored log is the
+     * concatenation of the {@link #getLogFiles(File, String) log files}, preceded by a
+     * {@link #getDiscardedLine(long) line} telling how many bytes were discarded, if any. The offsets are the same as
+     * the ones of {@link #read(File, String, long, int)} while the process was running.
+     * @param stored   the stored log
+     * @param size     the size in bytes of the stored log
+     * @param offset   the absolute offset to start reading from
+     * @param maxBytes the maximum number of bytes to return
+     * @return the chunk of log output that was read, never null
+     * @throws IOException if the stored log cannot be read
+     */
+    public static ProcessLogChunk readStored(InputStream stored, long size, long offset, int maxBytes)
+        throws IOException {
+        InputStream in = new BufferedInputStream(stored);
+        // The stored log starts with a line telling how much output was discarded, if any
+        in.mark(DISCARDED_LINE_MAX_LENGTH);
+        byte[] head = IOUtils.toByteArray(in, Math.min(size, DISCARDED_LINE_MAX_LENGTH));
+        in.reset();
+        long discarded = 0;
+        long headLength = 0;
+        int newline = indexOf(head, (byte) '\n');
+        if (newline >= 0) {
+            Matcher matcher = DISCARDED_LINE.matcher(new String(head, 0, newline, StandardCharsets.UTF_8).trim());
+            if (matcher.matches()) {
+                discarded = Long.parseLong(matcher.group(1));
+                headLength = newline + 1;
+            }
+        }
+
+        long start = Math.max(offset, discarded);
+        long position = headLength + start - discarded;
+        long available = size - position;
+        String skipped = offset < discarded ? getDiscardedLine(discarded - Math.max(offset, 0)) + "\n" : "";
+        if (available <= 0) {
+            return new ProcessLogChunk(discarded + size - headLength, skipped, true);
+        }
+        IOUtils.skipFully(in, position);
+        byte[] buffer = IOUtils.toByteArray(in, (int) Math.min(available, Math.max(maxBytes, 1)));
+        int length = completeLinesLength(buffer, available);
+        return new ProcessLogChunk(start + length, skipped + new String(buffer, 0, length, StandardCharsets.UTF_8),
+                                   length == available);
+    }
+
+    /**
+     * @param discarded a number of bytes
+     * @return the line marking that the given number of bytes of log output were discarded
+     */
+    public static String getDiscardedLine(long discarded) {
+        return "[" + discarded + " bytes of earlier log output discarded]";
+    }
+
+    private static ProcessLogChunk read(List<File> files, long discarded, long offset, int maxBytes,
+                                        boolean finished) throws IOException {
+        long start = Math.max(offset, discarded);
+        String skipped = offset < discarded ? getDiscardedLine(discarded - Math.max(offset, 0)) + "\n" : "";
+        long fileStart = discarded;
+        for (int i = 0; i < files.size(); i++) {
+            File file = files.get(i);
+            long fileLength = file.length();
+            if (start < fileStart + fileLength) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                    long position = start - fileStart;
+                    long available = fileLength - position;
+                    byte[] buffer = new byte[(int) Math.min(available, Math.max(maxBytes, 1))];
+                    raf.seek(position);
+                    raf.readFully(buffer);
+                    // Lines never span two files, so the chunk ends with a complete line
+                    int length = completeLinesLength(buffer, available);
+                    String content = new String(buffer, 0, length, StandardCharsets.UTF_8);
+                    boolean last = i == files.size() - 1 && length == available;
+                    return new ProcessLogChunk(start + length, skipped + content, finished && last);
+                }
+            }
+            fileStart += fileLength;
+        }
+        return new ProcessLogChunk(Math.max(fileStart, discarded), skipped, finished);
+    }
+
+    /**
+     * @return the length of the complete lines at the start of the buffer, never handing out a partial line unless a
+     *         single line is larger than the buffer
+     */
+    private static int completeLinesLength(byte[] buffer, long available) {
+        if (buffer.length < available) {
+            int lastNewline = lastIndexOf(buffer, (byte) '\n');
+            if (lastNewline >= 0) {
+                return lastNewline + 1;
+            }
+        }
+        return buffer.length;
+    }
+
+    /**
+     * Flush and close all open channels and stop the background flusher.
+     */
+    public void shutdown() {
+        flusher.shutdown();
+        for (String fileName : new ArrayList<>(channels.keySet())) {
+            try {
+                close(fileName);
+            } catch (IOException e) {
+                log.error("Unable to close process log {}", fileName, e);
+            }
+        }
+    }
+
+    private void flushAll() {
+        for (Channel channel : channels.values()) {
+            try {
+                channel.flush(true);
+            } catch (IOException e) {
+                log.error("Unable to flush process log {}", channel.file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    private static int indexOf(byte[] buffer, byte value) {
+        for (int i = 0; i < buffer.length; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] buffer, byte value) {
+        for (int i = buffer.length - 1; i >= 0; i--) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A single open log file. All methods synchronize on the channel, so appends from the script thread, background
+     * flushes and tail reads never interleave.
+     */
+    private class Channel {
+
+        private final File file;
+
+        private FileOutputStream stream;
+
+        private BufferedWriter writer;
+
+        private long size;
+
+        private long discarded;
+
+        private boolean dirty;
+
+        Channel(File file) {
+            this.file = file;
+        }
+
+        synchronized void append(String line) throws IOException {
+            if (writer == null) {
+                open();
+            }
+            byte[] bytes = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+            if (maxFileSize > 0 && size > 0 && size + bytes.length > maxFileSize) {
+                roll();
+            }
+            writer.write(line);
+            writer.newLine();
+            size += bytes.length;
+            dirty = true;
+        }
+
+        synchronized void flush(boolean sync) throws IOException {
+            if (writer == null || !dirty) {
+                return;
+            }
+            writer.flush();
+            if (sync) {
+                stream.getFD().sync();
+                dirty = false;
+            }
+        }
+
+        synchronized long getDiscarded() {
+            return discarded;
+        }
+
+        synchronized ProcessLogChunk read(File directory, String fileName, long offset, int maxBytes)
+            throws IOException {
+            // Make sure everything appended so far is visible to the reader, and don't roll while reading
+            flush(false);
+            return ProcessLogWriter.read(getLogFiles(directory, fileName), discarded, offset, maxBytes, false);
+        }
+
+        synchronized void close() throws IOException {
+            if (writer != null) {
+                writer.flush();
+                stream.getFD().sync();
+                writer.close();
+                writer = null;
+                stream = null;
+            }
+        }
+
+        private void open() throws IOException {
+            size = file.length();
+            stream = new FileOutputStream(file, true);
+            writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        }
+
+        private void roll() throws IOException {
+            close();
+            if (maxBackups > 0) {
+                File oldest = new File(file.getParentFile(), file.getName() + "." + maxBackups);
+                if (oldest.exists()) {
+                    long length = oldest.length();
+                    if (oldest.delete()) {
+                        discarded += length;
+                    } else {
+                        log.warn("Unable to delete rolled process log {}", oldest.getAbsolutePath());
+                    }
+                }
+                for (int i = maxBackups - 1; i > 0; i--) {
+                    File backup = new File(file.getParentFile(), file.getName() + "." + i);
+                    if (backup.exists()) {
+                        backup.renameTo(new File(file.getParentFile(), file.getName() + "." + (i + 1)));
+                    }
+                }
+                file.renameTo(new File(file.getParentFile(), file.getName() + ".1"));
+            } else if (file.delete()) {
+                discarded += size;
+            } else {
+                log.warn("Unable to truncate process log {}", file.getAbsolutePath());
+            }
+            open();
+        }
+    }
+}
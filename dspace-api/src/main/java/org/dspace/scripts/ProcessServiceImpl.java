@@ -7,18 +7,18 @@
  */
 package org.dspace.scripts;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +27,7 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.Logger;
@@ -48,12 +49,13 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.scripts.service.ProcessService;
 import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * The implementation for the {@link ProcessService} class
  */
-public class ProcessServiceImpl implements ProcessService {
+public class ProcessServiceImpl implements ProcessService, DisposableBean {
 
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(ProcessService.class);
 
@@ -75,6 +77,8 @@ public class ProcessServiceImpl implements ProcessService {
     @Autowired
     private ConfigurationService configurationService;
 
+    private volatile ProcessLogWriter processLogWriter;
+
     @Override
     public Process create(Context context, EPerson ePerson, String scriptName,
                           List<DSpaceCommandLineParameter> parameters,
@@ -294,30 +298,52 @@ public class ProcessServiceImpl implements ProcessService {
     @Override
     public void appendLog(int processId, String scriptName, String output, ProcessLogLevel processLogLevel)
             throws IOException {
+        getProcessLogWriter().append(getLogsDirectory(), getLogFileName(processId, scriptName),
+                                     formatLogLine(processId, scriptName, output, processLogLevel));
+    }
+
+    @Override
+    public void createLogBitstream(Context context, Process process)
+            throws IOException, SQLException, AuthorizeException {
         File logsDir = getLogsDirectory();
-        File tempFile = new File(logsDir, processId + "-" + scriptName + ".log");
-        FileWriter out = new FileWriter(tempFile, true);
-        try {
-            try (BufferedWriter writer = new BufferedWriter(out)) {
-                writer.append(formatLogLine(processId, scriptName, output, processLogLevel));
-                writer.newLine();
+        String logFileName = getLogFileName(process.getID(), process.getName());
+        ProcessLogWriter writer = getProcessLogWriter();
+        long discarded = writer.close(logFileName);
+        List<File> logFiles = writer.getLogFiles(logsDir, logFileName);
+        if (!logFiles.isEmpty()) {
+            List<InputStream> streams = new ArrayList<>();
+            if (discarded > 0) {
+                // Mark the output that was rolled out of the retained files, see ProcessLogWriter#readStored
+                streams.add(IOUtils.toInputStream(ProcessLogWriter.getDiscardedLine(discarded) + "\n",
+                                                  StandardCharsets.UTF_8));
             }
-        } finally {
-            out.close();
+            for (File logFile : logFiles) {
+                streams.add(FileUtils.openInputStream(logFile));
+            }
+            Enumeration<InputStream> enumeration = Collections.enumeration(streams);
+            try (InputStream inputStream = new SequenceInputStream(enumeration)) {
+                appendFile(context, process, inputStream, Process.OUTPUT_TYPE, logFileName);
+            }
+            writer.delete(logsDir, logFileName);
         }
     }
 
     @Override
-    public void createLogBitstream(Context context, Process process)
+    public ProcessLogChunk readLog(Context context, Process process, long offset, int maxBytes)
             throws IOException, SQLException, AuthorizeException {
         File logsDir = getLogsDirectory();
-        File tempFile = new File(logsDir, process.getID() + "-" + process.getName() + ".log");
-        if (tempFile.exists()) {
-            FileInputStream inputStream = FileUtils.openInputStream(tempFile);
-            appendFile(context, process, inputStream, Process.OUTPUT_TYPE,
-                       process.getID() + "-" + process.getName() + ".log");
-            inputStream.close();
-            tempFile.delete();
+        String logFileName = getLogFileName(process.getID(), process.getName());
+        if (new File(logsDir, logFileName).exists()) {
+            return getProcessLogWriter().read(logsDir, logFileName, offset, maxBytes);
+        }
+        Bitstream bitstream = getBitstream(context, process, Process.OUTPUT_TYPE);
+        boolean finished = process.getProcessStatus() == ProcessStatus.COMPLETED
+            || process.getProcessStatus() == ProcessStatus.FAILED;
+        if (bitstream == null) {
+            return new ProcessLogChunk(offset, "", finished);
+        }
+        try (InputStream inputStream = bitstreamService.retrieve(context, bitstream)) {
+            return ProcessLogWriter.readStored(inputStream, bitstream.getSizeBytes(), offset, maxBytes);
         }
     }
 
@@ -363,6 +389,35 @@ public class ProcessServiceImpl implements ProcessService {
         return  sb.toString();
     }
 
+    private String getLogFileName(int processId, String scriptName) {
+        return processId + "-" + scriptName + ".log";
+    }
+
+    /**
+     * Lazily create the shared {@link ProcessLogWriter}, so that it picks up the configuration of the running
+     * instance.
+     */
+    private ProcessLogWriter getProcessLogWriter() {
+        if (processLogWriter == null) {
+            synchronized (this) {
+                if (processLogWriter == null) {
+                    processLogWriter = new ProcessLogWriter(
+                        configurationService.getLongProperty("process.log.flush-interval", 1000),
+                        configurationService.getLongProperty("process.log.max-size", 104857600),
+                        configurationService.getIntProperty("process.log.max-backups", 5));
+                }
+            }
+        }
+        return processLogWriter;
+    }
+
+    @Override
+    public void destroy() {
+        if (processLogWriter != null) {
+            processLogWriter.shutdown();
+        }
+    }
+
     private File getLogsDirectory() {
         String pathStr = configurationService.getProperty("dspace.dir")
             + File.separator + "log" + File.separator + "processes";
@@ -22,6 +22,7 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.scripts.DSpaceCommandLineParameter;
 import org.dspace.scripts.Process;
+import org.dspace.scripts.ProcessLogChunk;
 import org.dspace.scripts.ProcessLogLevel;
 import org.dspace.scripts.ProcessQueryParameterContainer;
 
@@ -243,6 +244,22 @@ public interface ProcessService {
     void createLogBitstream(Context context, Process process)
              throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * This method will read the log output of the given {@link Process} incrementally, starting at the given offset.
+     * While the process is running the output is read from its log file, afterwards from its output
+     * {@link Bitstream}. Callers follow the log by passing {@link ProcessLogChunk#getNextOffset()} on the next call.
+     * @param context       The relevant DSpace context
+     * @param process       The {@link Process} for which to read the log
+     * @param offset        The offset to start reading from
+     * @param maxBytes      The maximum number of bytes to return
+     * @return The chunk of log output that was read
+     * @throws IOException  If something goes wrong
+     * @throws SQLException If something goes wrong
+     * @throws AuthorizeException   If something goes wrong
+     */
+    ProcessLogChunk readLog(Context context, Process process, long offset, int maxBytes)
+        throws IOException, SQLException, AuthorizeException;
+
     /**
      * Find all the processes with one of the given status and with a creation time
      * older than the specified date.
@@ -69,6 +69,7 @@ import org.apache.solr.client.solrj.request.LukeRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.LukeResponse;
+import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
@@ -1080,23 +1081,79 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             solrQuery.setFacetLimit(max);
         }
 
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
+
+        if (sort != null) {
+            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
+        }
+
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+
+        QueryResponse response;
+        try {
+            // solr.set
+            response = solr.query(solrQuery);
+        } catch (SolrServerException | IOException e) {
+            log.error("Error searching Solr usage events using query {}", query, e);
+            throw e;
+        }
+        return response;
+    }
+
+    @Override
+    public List<PivotField> queryFacetPivot(String query, String filterQuery, String pivotFields)
+        throws SolrServerException, IOException {
+        if (solr == null) {
+            return new ArrayList<>();
+        }
+
+        SolrQuery solrQuery = new SolrQuery().setRows(0).setQuery(query)
+                                             .setFacet(true)
+                                             .setFacetMinCount(1)
+                                             .setFacetLimit(-1)
+                                             .setFacetMissing(true);
+        solrQuery.addFacetPivotField(pivotFields);
+        addAdditionalSolrYearCores(solrQuery);
+        addDefaultFilterQueries(solrQuery);
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+
+        QueryResponse response;
+        try {
+            response = solr.query(solrQuery);
+        } catch (SolrServerException | IOException e) {
+            log.error("Error searching Solr usage events using query {}", query, e);
+            throw e;
+        }
+        List<PivotField> pivot = response.getFacetPivot() != null ? response.getFacetPivot().get(pivotFields) : null;
+        return pivot != null ? pivot : new ArrayList<>();
+    }
+
+    /**
+     * Add the filter queries applied to all statistics queries by default: skip the usage events of bots and
+     * bitstreams outside of the configured bundles.
+     *
+     * @param solrQuery the query
+     */
+    protected void addDefaultFilterQueries(SolrQuery solrQuery) {
         // A filter is used instead of a regular query to improve
         // performance and ensure the search result ordering will
         // not be influenced
 
         // Choose to filter by isBot field, may be overridden in future
         // to allow views on stats based on bots.
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
+        if (configurationService.getBooleanProperty(
                 "solr-statistics.query.filter.isBot", true)) {
             solrQuery.addFilterQuery("-isBot:true");
         }
 
-        if (sort != null) {
-            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
-        }
-
         String[] bundles = configurationService.getArrayProperty("solr-statistics.query.filter.bundles");
-        if (defaultFilterQueries && bundles != null && bundles.length > 0) {
+        if (bundles != null && bundles.length > 0) {
 
             /**
              * The code below creates a query that will allow only records which do not have a bundle name
@@ -1117,20 +1174,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrQuery.addFilterQuery(bundleQuery.toString());
         }
-
-        if (filterQuery != null) {
-            solrQuery.addFilterQuery(filterQuery);
-        }
-
-        QueryResponse response;
-        try {
-            // solr.set
-            response = solr.query(solrQuery);
-        } catch (SolrServerException | IOException e) {
-            log.error("Error searching Solr usage events using query {}", query, e);
-            throw e;
-        }
-        return response;
     }
 
     @Override
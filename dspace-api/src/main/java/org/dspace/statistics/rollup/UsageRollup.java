@@ -0,0 +1,138 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.HibernateProxyHelper;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * The number of views of one object on one day from one country, aggregated from the usage events of the
+ * statistics core by the {@link org.dspace.statistics.rollup.service.UsageRollupService}.
+ * <p>
+ * The object is stored with the id it has in the statistics core, which is a UUID or, for old usage events, a
+ * legacy integer id. Views of bitstreams also keep the item owning the bitstream at the time of the view.
+ */
+@Entity
+@Table(name = "usage_rollup")
+public class UsageRollup implements ReloadableEntity<Integer> {
+
+    @Id
+    @Column(name = "rollup_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usage_rollup_seq")
+    @SequenceGenerator(name = "usage_rollup_seq", sequenceName = "usage_rollup_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "dso_id", length = 64, nullable = false)
+    private String dsoId;
+
+    @Column(name = "dso_type", nullable = false)
+    private int dsoType;
+
+    @Column(name = "owning_item", length = 64)
+    private String owningItem;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "country_code", length = 16)
+    private String countryCode;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+    protected UsageRollup() {
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getDsoId() {
+        return dsoId;
+    }
+
+    public void setDsoId(String dsoId) {
+        this.dsoId = dsoId;
+    }
+
+    public int getDsoType() {
+        return dsoType;
+    }
+
+    public void setDsoType(int dsoType) {
+        this.dsoType = dsoType;
+    }
+
+    /**
+     * @return the id of the item owning the viewed bitstream, null for other objects
+     */
+    public String getOwningItem() {
+        return owningItem;
+    }
+
+    public void setOwningItem(String owningItem) {
+        this.owningItem = owningItem;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    /**
+     * @return the country the views came from, null if it could not be determined
+     */
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    public void setCountryCode(String countryCode) {
+        this.countryCode = countryCode;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Class<?> objClass = HibernateProxyHelper.getClassWithoutInitializingProxy(o);
+        if (getClass() != objClass) {
+            return false;
+        }
+        final UsageRollup that = (UsageRollup) o;
+        return this.getID() != null && this.getID().equals(that.getID());
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + (this.getID() == null ? 0 : this.getID());
+        return hash;
+    }
+}
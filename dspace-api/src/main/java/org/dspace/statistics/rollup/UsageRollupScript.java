@@ -0,0 +1,107 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import org.apache.commons.cli.ParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.service.UsageRollupService;
+import org.dspace.utils.DSpace;
+
+/**
+ * {@link DSpaceRunnable} implementation aggregating the usage events of the statistics core into the usage rollups
+ * read by the usage reports. By default all whole days (in UTC) since the last rolled up day are aggregated.
+ */
+public class UsageRollupScript extends DSpaceRunnable<UsageRollupScriptConfiguration<UsageRollupScript>> {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private UsageRollupService usageRollupService;
+
+    private boolean help = false;
+    private boolean rebuild = false;
+    private LocalDate day;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public UsageRollupScriptConfiguration<UsageRollupScript> getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+                           .getServiceByName("usage-rollup", UsageRollupScriptConfiguration.class);
+    }
+
+    /**
+     * Aggregate all days since the last rolled up day, used for the scheduled rollup configured by
+     * {@code usage-statistics.rollup.cron}.
+     */
+    public static void runScheduled() throws Exception {
+        UsageRollupScript script = new UsageRollupScript();
+        script.setup();
+        script.internalRun();
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        usageRollupService = StatisticsServiceFactory.getInstance().getUsageRollupService();
+        if (commandLine == null) {
+            return;
+        }
+        help = commandLine.hasOption('h');
+        rebuild = commandLine.hasOption('r');
+        if (commandLine.hasOption('d')) {
+            try {
+                day = LocalDate.parse(commandLine.getOptionValue('d'));
+            } catch (DateTimeParseException e) {
+                throw new ParseException("Invalid day " + commandLine.getOptionValue('d') + ", expected yyyy-MM-dd");
+            }
+        }
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+        if (!usageRollupService.isEnabled()) {
+            logInfo("Usage rollups are disabled, see usage-statistics.rollup.enabled");
+            return;
+        }
+
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        try {
+            if (day != null) {
+                int created = usageRollupService.rollupDay(context, day);
+                logInfo("Rolled up usage events of " + day + " into " + created + " rollups");
+            } else {
+                LocalDate today = LocalDate.now(ZoneOffset.UTC);
+                int days = usageRollupService.rollup(context, today, rebuild);
+                logInfo("Rolled up the usage events of " + days + " days");
+            }
+            context.complete();
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    private void logInfo(String message) {
+        if (handler != null) {
+            handler.logInfo(message);
+        } else {
+            log.info(message);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.PivotField;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.DSpaceObjectLegacySupport;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.statistics.SolrLoggerServiceImpl;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.dao.UsageRollupDAO;
+import org.dspace.statistics.rollup.service.UsageRollupService;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Service implementation for the UsageRollup object.
+ * This class is responsible for all business logic calls for the UsageRollup object and is autowired by spring.
+ * This class should never be accessed directly.
+ * <p>
+ * Usage events are counted like the usage reports count them: only views (or old events without a statistics type)
+ * are counted, and the default filter queries of the {@link SolrLoggerService} skip bots and bitstreams outside of
+ * the configured bundles.
+ * <p>
+ * Only one rollup runs at a time, even when the scheduled rollup runs on several nodes sharing the database: a rollup
+ * holds the lock row of the {@code usage_rollup_lock} table while it runs, and renews it before every day. A lock
+ * that was not renewed for {@link #LOCK_TIMEOUT}, e.g. because its node died, is taken over by the next rollup.
+ */
+public class UsageRollupServiceImpl implements UsageRollupService {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * Only count views, including old usage events without a statistics type. Solr doesn't explicitly apply boolean
+     * logic, so this query cannot be simplified to an OR query.
+     */
+    private static final String VIEW_FILTER = "-(statistics_type:[* TO *] AND -statistics_type:"
+        + SolrLoggerServiceImpl.StatisticsType.VIEW.text() + ")";
+
+    /**
+     * The number of rollups created between two commits.
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * The maximum number of ids in one database query.
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    /**
+     * How long the rollup lock is held without being renewed.
+     */
+    private static final Duration LOCK_TIMEOUT = Duration.ofHours(1);
+
+    @Autowired(required = true)
+    protected UsageRollupDAO usageRollupDAO;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    protected UsageRollupServiceImpl() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("usage-statistics.rollup.enabled", false);
+    }
+
+    @Override
+    public boolean isAvailable(Context context) throws SQLException {
+        return isEnabled() && getRolledUpUntil(context) != null;
+    }
+
+    @Override
+    public LocalDate getRolledUpUntil(Context context) throws SQLException {
+        LocalDate lastDay = usageRollupDAO.findLastDay(context);
+        return lastDay != null ? lastDay.plusDays(1) : null;
+    }
+
+    @Override
+    public int rollupDay(Context context, LocalDate day) throws SQLException, SolrServerException, IOException {
+        String owner = UUID.randomUUID().toString();
+        if (!lock(context, owner)) {
+            return 0;
+        }
+        try {
+            return aggregateDay(context, day);
+        } finally {
+            unlock(context, owner);
+        }
+    }
+
+    @Override
+    public int rollup(Context context, LocalDate until, boolean rebuild)
+        throws SQLException, SolrServerException, IOException {
+        String owner = UUID.randomUUID().toString();
+        if (!lock(context, owner)) {
+            return 0;
+        }
+        try {
+            LocalDate from = null;
+            if (rebuild) {
+                usageRollupDAO.deleteAll(context);
+                context.commit();
+            } else {
+                // the last day is aggregated again in case its rollup was interrupted
+                from = usageRollupDAO.findLastDay(context);
+            }
+            if (from == null) {
+                from = findFirstEventDay();
+                if (from == null) {
+                    return 0;
+                }
+            }
+
+            int days = 0;
+            for (LocalDate day = from; day.isBefore(until); day = day.plusDays(1)) {
+                if (!lock(context, owner)) {
+                    log.warn("The usage rollup lock was taken over, stopping before {}", day);
+                    break;
+                }
+                int created = aggregateDay(context, day);
+                log.info("Rolled up usage events of {} into {} rollups", day, created);
+                days++;
+            }
+            return days;
+        } finally {
+            unlock(context, owner);
+        }
+    }
+
+    /**
+     * Replace the rollups of one day, committing them in batches. The caller holds the rollup lock.
+     */
+    protected int aggregateDay(Context context, LocalDate day) throws SQLException, SolrServerException, IOException {
+        String filter = timeRange(day, day.plusDays(1)) + " AND " + VIEW_FILTER;
+
+        // The item owning a bitstream when it was viewed
+        Map<String, String> owningItems = new HashMap<>();
+        for (PivotField idField : getSolrLoggerService()
+            .queryFacetPivot("type:" + Constants.BITSTREAM, filter, "id,owningItem")) {
+            if (idField.getValue() != null && idField.getPivot() != null) {
+                for (PivotField owningItemField : idField.getPivot()) {
+                    if (owningItemField.getValue() != null) {
+                        owningItems.put(String.valueOf(idField.getValue()), String.valueOf(owningItemField.getValue()));
+                        break;
+                    }
+                }
+            }
+        }
+
+        usageRollupDAO.deleteByDay(context, day);
+        int created = 0;
+        for (PivotField typeField : getSolrLoggerService().queryFacetPivot("*:*", filter, "type,id,countryCode")) {
+            if (typeField.getValue() == null || typeField.getPivot() == null) {
+                continue;
+            }
+            int dsoType = Integer.parseInt(String.valueOf(typeField.getValue()));
+            for (PivotField idField : typeField.getPivot()) {
+                String dsoId = idField.getValue() != null ? String.valueOf(idField.getValue()) : null;
+                if (dsoId == null || dsoId.length() > 64) {
+                    continue;
+                }
+                List<PivotField> countryFields = idField.getPivot();
+                if (countryFields == null) {
+                    createRollup(context, dsoId, dsoType, owningItems.get(dsoId), day, null, idField.getCount());
+                    created++;
+                } else {
+                    for (PivotField countryField : countryFields) {
+                        String countryCode = countryField.getValue() != null
+                            ? String.valueOf(countryField.getValue()) : null;
+                        createRollup(context, dsoId, dsoType, owningItems.get(dsoId), day, countryCode,
+                                     countryField.getCount());
+                        created++;
+                        if (created % BATCH_SIZE == 0) {
+                            context.commit();
+                            context.uncacheEntities();
+                        }
+                    }
+                }
+            }
+        }
+        context.commit();
+        context.uncacheEntities();
+        return created;
+    }
+
+    @Override
+    public long getViews(Context context, DSpaceObject dso) throws SQLException, SolrServerException, IOException {
+        LocalDate until = getRolledUpUntil(context);
+        List<String> ids = getIds(dso);
+        long views = until != null ? usageRollupDAO.sumViews(context, ids, dso.getType()) : 0;
+        return views + getSolrLoggerService().queryTotal(getQuery(dso), getTailFilter(until), 0).getCount();
+    }
+
+    @Override
+    public Map<YearMonth, Long> getViewsPerMonth(Context context, DSpaceObject dso, YearMonth from, YearMonth to)
+        throws SQLException, SolrServerException, IOException {
+        LocalDate until = getRolledUpUntil(context);
+        List<String> ids = getIds(dso);
+
+        Map<YearMonth, Long> views = new LinkedHashMap<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            views.put(month, 0L);
+        }
+        if (until != null) {
+            usageRollupDAO.sumViewsByMonth(context, ids, dso.getType(), from.atDay(1))
+                          .forEach((month, count) -> views.computeIfPresent(month, (m, v) -> v + count));
+        }
+
+        // count the tail month by month, it usually only covers the current month
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        for (YearMonth month : views.keySet()) {
+            LocalDate start = month.atDay(1);
+            LocalDate end = month.plusMonths(1).atDay(1);
+            if (until != null && until.isAfter(start)) {
+                start = until;
+            }
+            if (month.isAfter(currentMonth) || !start.isBefore(end)) {
+                continue;
+            }
+            long count = getSolrLoggerService().queryTotal(getQuery(dso),
+                                                           timeRange(start, end) + " AND " + VIEW_FILTER, 0)
+                                               .getCount();
+            views.put(month, views.get(month) + count);
+        }
+        return views;
+    }
+
+    @Override
+    public Map<String, Long> getViewsPerCountry(Context context, DSpaceObject dso, int limit)
+        throws SQLException, SolrServerException, IOException {
+        LocalDate until = getRolledUpUntil(context);
+        Map<String, Long> views = new HashMap<>();
+        if (until != null) {
+            views.putAll(usageRollupDAO.sumViewsByCountry(context, getIds(dso), dso.getType(), Integer.MAX_VALUE));
+        }
+        getTailCounts(getQuery(dso), until, "countryCode").forEach((country, count) -> views.merge(country, count,
+                                                                                                 Long::sum));
+        return getTop(views, limit);
+    }
+
+    @Override
+    public Map<String, Long> getMostViewed(Context context, int dsoType, int limit)
+        throws SQLException, SolrServerException, IOException {
+        LocalDate until = getRolledUpUntil(context);
+        Map<String, Long> tail = getTailCounts("type:" + dsoType, until, "id");
+        Map<String, Long> views = new HashMap<>();
+        if (until != null) {
+            // An object is only among the most viewed if it is among the most viewed of the rollups or was viewed
+            // in the tail, so only those need to be counted
+            views.putAll(usageRollupDAO.sumViewsByObject(context, dsoType, null, limit));
+            List<String> missing = new ArrayList<>();
+            for (String id : tail.keySet()) {
+                if (!views.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            for (int i = 0; i < missing.size(); i += MAX_IDS_PER_QUERY) {
+                views.putAll(usageRollupDAO.sumViewsOfObjects(context, dsoType,
+                    missing.subList(i, Math.min(i + MAX_IDS_PER_QUERY, missing.size()))));
+            }
+        }
+        tail.forEach((id, count) -> views.merge(id, count, Long::sum));
+        return getTop(views, limit);
+    }
+
+    @Override
+    public Map<String, Long> getBitstreamViews(Context context, Item item, int limit)
+        throws SQLException, SolrServerException, IOException {
+        LocalDate until = getRolledUpUntil(context);
+        List<String> itemIds = getIds(item);
+        Map<String, Long> views = new HashMap<>();
+        if (until != null) {
+            views.putAll(usageRollupDAO.sumViewsByObject(context, Constants.BITSTREAM, itemIds, Integer.MAX_VALUE));
+        }
+        getTailCounts("type:" + Constants.BITSTREAM + " AND " + getIdQuery("owningItem", itemIds), until, "id")
+            .forEach((id, count) -> views.merge(id, count, Long::sum));
+        return getTop(views, limit);
+    }
+
+    /**
+     * Take or renew the rollup lock for the given owner, committed right away so that other nodes see it.
+     *
+     * @return true if the lock is held by the owner, false if another rollup holds it
+     */
+    protected boolean lock(Context context, String owner) throws SQLException {
+        Instant now = Instant.now();
+        boolean locked = usageRollupDAO.lock(context, owner, now, now.plus(LOCK_TIMEOUT));
+        context.commit();
+        if (!locked) {
+            log.info("Another usage rollup is running, skipping this one");
+        }
+        return locked;
+    }
+
+    /**
+     * Release the rollup lock held by the given owner. A lock that cannot be released expires after
+     * {@link #LOCK_TIMEOUT}.
+     */
+    protected void unlock(Context context, String owner) {
+        try {
+            usageRollupDAO.unlock(context, owner);
+            context.commit();
+        } catch (SQLException e) {
+            log.warn("Unable to release the usage rollup lock, it expires after {}", LOCK_TIMEOUT, e);
+        }
+    }
+
+    protected void createRollup(Context context, String dsoId, int dsoType, String owningItem, LocalDate day,
+                                String countryCode, long views) throws SQLException {
+        UsageRollup rollup = new UsageRollup();
+        rollup.setDsoId(dsoId);
+        rollup.setDsoType(dsoType);
+        rollup.setOwningItem(owningItem != null && owningItem.length() <= 64 ? owningItem : null);
+        rollup.setDay(day);
+        rollup.setCountryCode(countryCode != null && countryCode.length() <= 16 ? countryCode : null);
+        rollup.setViews(views);
+        usageRollupDAO.create(context, rollup);
+    }
+
+    /**
+     * @return the day of the oldest view, or null if there are none
+     */
+    protected LocalDate findFirstEventDay() throws SolrServerException, IOException {
+        QueryResponse response = getSolrLoggerService().query("*:*", VIEW_FILTER, null, 1, -1, null, null, null,
+                                                              null, "time", true, 0);
+        if (response == null || response.getResults().isEmpty()) {
+            return null;
+        }
+        Object time = response.getResults().get(0).getFieldValue("time");
+        return time instanceof Date ? ((Date) time).toInstant().atZone(ZoneOffset.UTC).toLocalDate() : null;
+    }
+
+    /**
+     * Count the views after the last rolled up day per value of the given field.
+     */
+    protected Map<String, Long> getTailCounts(String query, LocalDate until, String field)
+        throws SolrServerException, IOException {
+        Map<String, Long> counts = new HashMap<>();
+        for (PivotField valueField : getSolrLoggerService().queryFacetPivot(query, getTailFilter(until), field)) {
+            if (valueField.getValue() != null) {
+                counts.put(String.valueOf(valueField.getValue()), (long) valueField.getCount());
+            }
+        }
+        return counts;
+    }
+
+    protected String getTailFilter(LocalDate until) {
+        if (until == null) {
+            return VIEW_FILTER;
+        }
+        return "time:[" + toSolrTime(until) + " TO *] AND " + VIEW_FILTER;
+    }
+
+    /**
+     * Same as the query used by the usage reports for the object itself, see StatisticsDataVisits.
+     */
+    protected String getQuery(DSpaceObject dso) {
+        return "type:" + dso.getType() + " AND " + getIdQuery("id", getIds(dso));
+    }
+
+    protected String getIdQuery(String field, List<String> ids) {
+        List<String> clauses = new ArrayList<>();
+        for (String id : ids) {
+            clauses.add(field + ":" + ClientUtils.escapeQueryChars(id));
+        }
+        return clauses.size() == 1 ? clauses.get(0) : "(" + String.join(" OR ", clauses) + ")";
+    }
+
+    /**
+     * @return the UUID of the object and its legacy id, if any, as stored in the statistics core
+     */
+    protected List<String> getIds(DSpaceObject dso) {
+        List<String> ids = new ArrayList<>();
+        ids.add(dso.getID().toString());
+        if (dso instanceof DSpaceObjectLegacySupport && ((DSpaceObjectLegacySupport) dso).getLegacyId() != null) {
+            ids.add(((DSpaceObjectLegacySupport) dso).getLegacyId().toString());
+        }
+        return ids;
+    }
+
+    private String timeRange(LocalDate start, LocalDate end) {
+        return "time:[" + toSolrTime(start) + " TO " + toSolrTime(end) + "}";
+    }
+
+    private String toSolrTime(LocalDate day) {
+        Instant instant = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        return instant.toString();
+    }
+
+    private Map<String, Long> getTop(Map<String, Long> counts, int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+              .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                               .thenComparing(Map.Entry.comparingByKey()))
+              .limit(limit)
+              .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    private SolrLoggerService getSolrLoggerService() {
+        // loaded lazily like in the StatisticsServiceFactory, the statistics core may be unavailable at startup
+        return StatisticsServiceFactory.getInstance().getSolrLoggerService();
+    }
+}
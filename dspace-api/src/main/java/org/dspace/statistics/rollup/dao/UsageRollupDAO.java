@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Map;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.statistics.rollup.UsageRollup;
+
+/**
+ * Database Access Object interface class for the UsageRollup object.
+ * The implementation of this class is responsible for all database calls for the UsageRollup object and is
+ * autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface UsageRollupDAO extends GenericDAO<UsageRollup> {
+
+    /**
+     * Delete the rollups of one day.
+     *
+     * @param context the DSpace context
+     * @param day     the day
+     * @return the number of deleted rollups
+     * @throws SQLException if database error
+     */
+    public int deleteByDay(Context context, LocalDate day) throws SQLException;
+
+    /**
+     * Delete all rollups.
+     *
+     * @param context the DSpace context
+     * @throws SQLException if database error
+     */
+    public void deleteAll(Context context) throws SQLException;
+
+    /**
+     * Take or renew the lock of the rollups, unless another owner holds it and it did not expire yet.
+     *
+     * @param context the DSpace context
+     * @param owner   identifies the rollup taking the lock
+     * @param now     the current time
+     * @param until   when the lock expires if it is not renewed
+     * @return true if the lock is held by the given owner
+     * @throws SQLException if database error
+     */
+    public boolean lock(Context context, String owner, Instant now, Instant until) throws SQLException;
+
+    /**
+     * Release the lock of the rollups, if it is held by the given owner.
+     *
+     * @param context the DSpace context
+     * @param owner   identifies the rollup that took the lock
+     * @throws SQLException if database error
+     */
+    public void unlock(Context context, String owner) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @return the last day that was rolled up, or null if there are no rollups
+     * @throws SQLException if database error
+     */
+    public LocalDate findLastDay(Context context) throws SQLException;
+
+    /**
+     * Sum the views of the given object.
+     *
+     * @param context the DSpace context
+     * @param dsoIds  the ids of the object (its UUID and possibly its legacy id)
+     * @param dsoType the type of the object
+     * @return the number of views
+     * @throws SQLException if database error
+     */
+    public long sumViews(Context context, Collection<String> dsoIds, int dsoType) throws SQLException;
+
+    /**
+     * Sum the views of the given object per month, starting with the given day.
+     *
+     * @param context the DSpace context
+     * @param dsoIds  the ids of the object (its UUID and possibly its legacy id)
+     * @param dsoType the type of the object
+     * @param from    the first day to count
+     * @return the number of views per month, months without views are missing
+     * @throws SQLException if database error
+     */
+    public Map<YearMonth, Long> sumViewsByMonth(Context context, Collection<String> dsoIds, int dsoType,
+                                                LocalDate from) throws SQLException;
+
+    /**
+     * Sum the views of the given object per country, most views first. Views without a country are ignored.
+     *
+     * @param context the DSpace context
+     * @param dsoIds  the ids of the object (its UUID and possibly its legacy id)
+     * @param dsoType the type of the object
+     * @param limit   the maximum number of countries
+     * @return the number of views per country code
+     * @throws SQLException if database error
+     */
+    public Map<String, Long> sumViewsByCountry(Context context, Collection<String> dsoIds, int dsoType, int limit)
+        throws SQLException;
+
+    /**
+     * Sum the views of the objects of a type, most viewed first.
+     *
+     * @param context     the DSpace context
+     * @param dsoType     the type of the objects
+     * @param owningItems if not null, only count bitstreams owned by one of these items
+     * @param limit       the maximum number of objects
+     * @return the number of views per object id
+     * @throws SQLException if database error
+     */
+    public Map<String, Long> sumViewsByObject(Context context, int dsoType, Collection<String> owningItems,
+                                              int limit) throws SQLException;
+
+    /**
+     * Sum the views of each of the given objects.
+     *
+     * @param context the DSpace context
+     * @param dsoType the type of the objects
+     * @param dsoIds  the object ids
+     * @return the number of views per object id, objects without views are missing
+     * @throws SQLException if database error
+     */
+    public Map<String, Long> sumViewsOfObjects(Context context, int dsoType, Collection<String> dsoIds)
+        throws SQLException;
+}
@@ -0,0 +1,151 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.statistics.rollup.UsageRollup;
+import org.dspace.statistics.rollup.dao.UsageRollupDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the UsageRollup object.
+ * This class is responsible for all database calls for the UsageRollup object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class UsageRollupDAOImpl extends AbstractHibernateDAO<UsageRollup> implements UsageRollupDAO {
+
+    protected UsageRollupDAOImpl() {
+        super();
+    }
+
+    @Override
+    public int deleteByDay(Context context, LocalDate day) throws SQLException {
+        Query query = createQuery(context, "DELETE FROM UsageRollup WHERE day = :day");
+        query.setParameter("day", day);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public void deleteAll(Context context) throws SQLException {
+        createQuery(context, "DELETE FROM UsageRollup").executeUpdate();
+    }
+
+    @Override
+    public boolean lock(Context context, String owner, Instant now, Instant until) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "UPDATE usage_rollup_lock SET lock_owner = :owner, locked_until = :until WHERE lock_id = 1 " +
+            "AND (lock_owner IS NULL OR lock_owner = :owner OR locked_until < :now)");
+        query.setParameter("owner", owner);
+        query.setParameter("until", until);
+        query.setParameter("now", now);
+        return query.executeUpdate() == 1;
+    }
+
+    @Override
+    public void unlock(Context context, String owner) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "UPDATE usage_rollup_lock SET lock_owner = NULL, locked_until = NULL WHERE lock_id = 1 " +
+            "AND lock_owner = :owner");
+        query.setParameter("owner", owner);
+        query.executeUpdate();
+    }
+
+    @Override
+    public LocalDate findLastDay(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT max(r.day) FROM UsageRollup r");
+        return (LocalDate) query.getSingleResult();
+    }
+
+    @Override
+    public long sumViews(Context context, Collection<String> dsoIds, int dsoType) throws SQLException {
+        Query query = createQuery(context, "SELECT sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoId IN (:dsoIds) AND r.dsoType = :dsoType");
+        query.setParameter("dsoIds", dsoIds);
+        query.setParameter("dsoType", dsoType);
+        Long views = (Long) query.getSingleResult();
+        return views == null ? 0 : views;
+    }
+
+    @Override
+    public Map<YearMonth, Long> sumViewsByMonth(Context context, Collection<String> dsoIds, int dsoType,
+                                                LocalDate from) throws SQLException {
+        Query query = createQuery(context, "SELECT year(r.day), month(r.day), sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoId IN (:dsoIds) AND r.dsoType = :dsoType AND r.day >= :from " +
+            "GROUP BY year(r.day), month(r.day)");
+        query.setParameter("dsoIds", dsoIds);
+        query.setParameter("dsoType", dsoType);
+        query.setParameter("from", from);
+        Map<YearMonth, Long> result = new LinkedHashMap<>();
+        for (Object[] row : getRows(query)) {
+            result.put(YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue()), (Long) row[2]);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> sumViewsByCountry(Context context, Collection<String> dsoIds, int dsoType, int limit)
+        throws SQLException {
+        Query query = createQuery(context, "SELECT r.countryCode, sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoId IN (:dsoIds) AND r.dsoType = :dsoType AND r.countryCode IS NOT NULL " +
+            "GROUP BY r.countryCode ORDER BY sum(r.views) DESC, r.countryCode");
+        query.setParameter("dsoIds", dsoIds);
+        query.setParameter("dsoType", dsoType);
+        query.setMaxResults(limit);
+        return toMap(getRows(query));
+    }
+
+    @Override
+    public Map<String, Long> sumViewsByObject(Context context, int dsoType, Collection<String> owningItems,
+                                              int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT r.dsoId, sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoType = :dsoType" + (owningItems != null ? " AND r.owningItem IN (:owningItems)" : "") +
+            " GROUP BY r.dsoId ORDER BY sum(r.views) DESC, r.dsoId");
+        query.setParameter("dsoType", dsoType);
+        if (owningItems != null) {
+            query.setParameter("owningItems", owningItems);
+        }
+        query.setMaxResults(limit);
+        return toMap(getRows(query));
+    }
+
+    @Override
+    public Map<String, Long> sumViewsOfObjects(Context context, int dsoType, Collection<String> dsoIds)
+        throws SQLException {
+        if (dsoIds.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        Query query = createQuery(context, "SELECT r.dsoId, sum(r.views) FROM UsageRollup r " +
+            "WHERE r.dsoType = :dsoType AND r.dsoId IN (:dsoIds) GROUP BY r.dsoId");
+        query.setParameter("dsoType", dsoType);
+        query.setParameter("dsoIds", dsoIds);
+        return toMap(getRows(query));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> getRows(Query query) {
+        return query.getResultList();
+    }
+
+    private Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            result.put((String) row[0], (Long) row[1]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.service;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+
+/**
+ * Service maintaining and reading the usage rollups: the views of every object per day and country, aggregated from
+ * the usage events of the statistics core.
+ * <p>
+ * Whole days (in UTC) are rolled up by the "usage-rollup" script. All read methods combine the rollups with a live
+ * query of the statistics core for the usage events after the last rolled up day (the "tail"), so their results
+ * match queries of the raw usage events while only the tail has to be counted by Solr.
+ */
+public interface UsageRollupService {
+
+    /**
+     * @return true if the usage reports should be read from the rollups, as configured by
+     * {@code usage-statistics.rollup.enabled}
+     */
+    public boolean isEnabled();
+
+    /**
+     * @param context the DSpace context
+     * @return true if the rollups are enabled and at least one day was rolled up
+     * @throws SQLException if database error
+     */
+    public boolean isAvailable(Context context) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @return the first day that was not rolled up yet, i.e. where the tail starts, or null if nothing was rolled up
+     * @throws SQLException if database error
+     */
+    public LocalDate getRolledUpUntil(Context context) throws SQLException;
+
+    /**
+     * Aggregate the usage events of one day, replacing any rollups of that day. Nothing is aggregated while another
+     * rollup is running, e.g. on another node.
+     *
+     * @param context the DSpace context
+     * @param day     the day
+     * @return the number of rollups created, 0 if another rollup is running
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core cannot be queried
+     * @throws IOException         if the statistics core cannot be queried
+     */
+    public int rollupDay(Context context, LocalDate day) throws SQLException, SolrServerException, IOException;
+
+    /**
+     * Aggregate all days that were not rolled up yet, up to (excluding) the given day. The last rolled up day is
+     * aggregated again, in case it was interrupted. Every day is committed on its own. Nothing is aggregated while
+     * another rollup is running, e.g. on another node.
+     *
+     * @param context the DSpace context
+     * @param until   the first day not to aggregate, usually today
+     * @param rebuild delete all rollups first and aggregate all days since the first usage event
+     * @return the number of days aggregated, 0 if another rollup is running
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core cannot be queried
+     * @throws IOException         if the statistics core cannot be queried
+     */
+    public int rollup(Context context, LocalDate until, boolean rebuild)
+        throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     the object
+     * @return the number of views of the object
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core cannot be queried
+     * @throws IOException         if the statistics core cannot be queried
+     */
+    public long getViews(Context context, DSpaceObject dso) throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     the object
+     * @param from    the first month
+     * @param to      the last month
+     * @return the number of views of the object in every month from the first to the last month, including months
+     * without views
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core cannot be queried
+     * @throws IOException         if the statistics core cannot be queried
+     */
+    public Map<YearMonth, Long> getViewsPerMonth(Context context, DSpaceObject dso, YearMonth from, YearMonth to)
+        throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     the object
+     * @param limit   the maximum number of countries
+     * @return the number of views of the object per country code, most views first
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core cannot be queried
+     * @throws IOException         if the statistics core cannot be queried
+     */
+    public Map<String, Long> getViewsPerCountry(Context context, DSpaceObject dso, int limit)
+        throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoType the type of the objects
+     * @param limit   the maximum number of objects
+     * @return the number of views of the most viewed objects of the type per object id, most views first
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core cannot be queried
+     * @throws IOException         if the statistics core cannot be queried
+     */
+    public Map<String, Long> getMostViewed(Context context, int dsoType, int limit)
+        throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param context the DSpace context
+     * @param item    the item
+     * @param limit   the maximum number of bitstreams
+     * @return the number of views of the bitstreams of the item per bitstream id, most views first
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core cannot be queried
+     * @throws IOException         if the statistics core cannot be queried
+     */
+    public Map<String, Long> getBitstreamViews(Context context, Item item, int limit)
+        throws SQLException, SolrServerException, IOException;
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
@@ -208,6 +209,20 @@ public interface SolrLoggerService {
     public ObjectCount queryTotal(String query, String filterQuery, int facetMinCount)
         throws SolrServerException, IOException;
 
+    /**
+     * Query used to count the usage events grouped by a hierarchy of fields (a facet pivot). The default filter
+     * queries are applied, all values are returned and missing values are included with a null value.
+     *
+     * @param query       the query to be used
+     * @param filterQuery filter query
+     * @param pivotFields comma separated list of the fields to pivot on, e.g. "type,id"
+     * @return the counts of the values of the first field, each with the pivot of the remaining fields
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws java.io.IOException passed through.
+     */
+    public List<PivotField> queryFacetPivot(String query, String filterQuery, String pivotFields)
+        throws SolrServerException, IOException;
+
     /**
      * Perform a solr query.
      *
@@ -294,10 +294,9 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                     }
 
 
-                    // Since versioning allows for multiple bitstreams, check if the internal
-                    // identifier isn't used on
-                    // another place
-                    if (bitstreamService.findDuplicateInternalIdentifier(context, bitstream).isEmpty()) {
+                    // Bitstreams cloned for a new item version share the stored file, so only remove it once
+                    // no other bitstream references it
+                    if (bitstreamService.countAssetReferences(context, bitstream, bitstream.getStoreNumber()) == 0) {
                         this.getStore(bitstream.getStoreNumber()).remove(bitstream);
 
                         String message = ("Deleted bitstreamID " + bid + ", internalID " + bitstream.getInternalId());
@@ -413,12 +412,18 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                          "Name:" + bitstream
                 .getName() + ", SizeBytes:" + bitstream.getSizeBytes());
 
-            InputStream inputStream = retrieve(context, bitstream);
-            this.getStore(assetstoreDestination).put(bitstream, inputStream);
+            // Bitstreams cloned for a new item version share the stored file, which only has to be copied for the
+            // first of them and may only be removed once the last of them was migrated
+            boolean copied = bitstreamService.countAssetReferences(context, bitstream, assetstoreDestination) > 0;
+            boolean shared = bitstreamService.countAssetReferences(context, bitstream, assetstoreSource) > 0;
+            if (!copied) {
+                InputStream inputStream = retrieve(context, bitstream);
+                this.getStore(assetstoreDestination).put(bitstream, inputStream);
+            }
             bitstream.setStoreNumber(assetstoreDestination);
             bitstreamService.update(context, bitstream);
 
-            if (deleteOld) {
+            if (deleteOld && !shared) {
                 log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
                 this.getStore(assetstoreSource).remove(bitstream);
             }
@@ -144,6 +144,8 @@ public interface BitstreamStorageService {
     /**
      * Clone the given bitstream to a new bitstream with a new ID.
      * Metadata of the given bitstream are also copied to the new bitstream.
+     * The stored file is not copied: the clone shares it with the given bitstream. As the content of a bitstream
+     * is never changed in place, the file is only removed by the cleanup once no bitstream references it anymore.
      * 
      * @param context
      *            DSpace context object
@@ -900,6 +900,10 @@ public class XmlWorkflowServiceImpl implements XmlWorkflowService {
         throws AuthorizeException, SQLException {
         if (epa != null) {
             authorizeService.addPolicy(context, item, action, epa, policyType);
+            if (isItemOnlyPolicy(policyType)) {
+                // bundles and bitstreams are authorized through the policies of the item
+                return;
+            }
             List<Bundle> bundles = item.getBundles();
             for (Bundle bundle : bundles) {
                 authorizeService.addPolicy(context, bundle, action, epa, policyType);
@@ -915,6 +919,10 @@ public class XmlWorkflowServiceImpl implements XmlWorkflowService {
         throws AuthorizeException, SQLException {
         if (group != null) {
             authorizeService.addPolicy(context, item, action, group, policyType);
+            if (isItemOnlyPolicy(policyType)) {
+                // bundles and bitstreams are authorized through the policies of the item
+                return;
+            }
             List<Bundle> bundles = item.getBundles();
             for (Bundle bundle : bundles) {
                 authorizeService.addPolicy(context, bundle, action, group, policyType);
@@ -926,6 +934,20 @@ public class XmlWorkflowServiceImpl implements XmlWorkflowService {
         }
     }
 
+    /**
+     * Workflow policies are granted on the item only if {@code workflow.policies.item-only} is enabled. The
+     * bundles and bitstreams of an item in workflow are then authorized by
+     * {@link org.dspace.authorize.service.AuthorizeService} through the workflow policies of the item, instead of
+     * copies of these policies on every bundle and bitstream.
+     *
+     * @param policyType the type of the policy to grant
+     * @return true if the policy should only be added to the item
+     */
+    protected boolean isItemOnlyPolicy(String policyType) {
+        return ResourcePolicy.TYPE_WORKFLOW.equals(policyType)
+            && configurationService.getBooleanProperty("workflow.policies.item-only", false);
+    }
+
     @Override
     public void removeUserItemPolicies(Context context, Item item, EPerson e) throws SQLException, AuthorizeException {
         if (e != null && item.getSubmitter() != null) {
@@ -0,0 +1,21 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table item_access_status, the anonymous access status of items computed
+-- when they change, read instead of computing the status on every request
+-----------------------------------------------------------------------------------
+
+CREATE TABLE item_access_status (
+  item_id UUID NOT NULL REFERENCES item(uuid) ON DELETE CASCADE,
+  status VARCHAR(64) NOT NULL,
+  availability_date DATE,
+  CONSTRAINT pk_item_access_status PRIMARY KEY (item_id)
+);
+
+CREATE INDEX item_access_status_date_idx ON item_access_status(availability_date);
@@ -0,0 +1,43 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table usage_rollup, the views per object, day and country aggregated from
+-- the usage events of the statistics core
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE IF NOT EXISTS usage_rollup_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE usage_rollup (
+  rollup_id INTEGER NOT NULL,
+  dso_id VARCHAR(64) NOT NULL,
+  dso_type INTEGER NOT NULL,
+  owning_item VARCHAR(64),
+  rollup_day DATE NOT NULL,
+  country_code VARCHAR(16),
+  views BIGINT NOT NULL,
+  CONSTRAINT pk_usage_rollup PRIMARY KEY (rollup_id)
+);
+
+CREATE INDEX usage_rollup_dso_idx ON usage_rollup(dso_id, dso_type);
+CREATE INDEX usage_rollup_day_idx ON usage_rollup(rollup_day);
+CREATE INDEX usage_rollup_owning_item_idx ON usage_rollup(owning_item);
+
+-----------------------------------------------------------------------------------
+-- Create table usage_rollup_lock, holding the single row locked by the running
+-- rollup, so that only one node rolls up the usage events at a time
+-----------------------------------------------------------------------------------
+
+CREATE TABLE usage_rollup_lock (
+  lock_id INTEGER NOT NULL,
+  lock_owner VARCHAR(64),
+  locked_until TIMESTAMP,
+  CONSTRAINT pk_usage_rollup_lock PRIMARY KEY (lock_id)
+);
+
+INSERT INTO usage_rollup_lock (lock_id) VALUES (1);
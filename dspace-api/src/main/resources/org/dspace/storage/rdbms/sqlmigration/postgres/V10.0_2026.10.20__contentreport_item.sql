@@ -0,0 +1,18 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table contentreport_item, the results of the Filtered Collections report
+-- filters stored per item as a bit mask
+-----------------------------------------------------------------------------------
+
+CREATE TABLE contentreport_item (
+  item_id UUID NOT NULL REFERENCES item(uuid) ON DELETE CASCADE,
+  filters BIGINT NOT NULL,
+  CONSTRAINT pk_contentreport_item PRIMARY KEY (item_id)
+);
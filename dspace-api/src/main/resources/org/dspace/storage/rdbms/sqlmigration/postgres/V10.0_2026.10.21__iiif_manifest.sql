@@ -0,0 +1,19 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table iiif_manifest, the persistent store of the IIIF manifests of items
+-----------------------------------------------------------------------------------
+
+CREATE TABLE iiif_manifest (
+  item_id UUID NOT NULL REFERENCES item(uuid) ON DELETE CASCADE,
+  manifest TEXT,
+  created TIMESTAMP NOT NULL,
+  version BIGINT NOT NULL,
+  CONSTRAINT pk_iiif_manifest PRIMARY KEY (item_id)
+);
@@ -50,6 +50,7 @@ SELECT setval('resourcepolicy_seq', max(policy_id)) FROM resourcepolicy;
 SELECT setval('subscription_parameter_seq', max(subscription_id)) FROM subscription_parameter;
 SELECT setval('subscription_seq', max(subscription_id)) FROM subscription;
 SELECT setval('supervision_orders_seq', max(id)) FROM supervision_orders;
+SELECT setval('usage_rollup_seq', max(rollup_id)) FROM usage_rollup;
 SELECT setval('versionhistory_seq', max(versionhistory_id)) FROM versionhistory;
 SELECT setval('versionitem_seq', max(versionitem_id)) FROM versionitem;
 SELECT setval('webapp_seq', max(webapp_id)) FROM webapp;
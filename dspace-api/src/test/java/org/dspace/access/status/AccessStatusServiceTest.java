@@ -7,6 +7,7 @@
  */
 package org.dspace.access.status;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
@@ -16,12 +17,16 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
 import org.dspace.access.status.factory.AccessStatusServiceFactory;
 import org.dspace.access.status.service.AccessStatusService;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
@@ -37,6 +42,11 @@ import org.dspace.content.service.InstallItemService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -70,6 +80,12 @@ public class AccessStatusServiceTest extends AbstractUnitTest {
             ContentServiceFactory.getInstance().getInstallItemService();
     protected AccessStatusService accessStatusService =
             AccessStatusServiceFactory.getInstance().getAccessStatusService();
+    protected ResourcePolicyService resourcePolicyService =
+            AuthorizeServiceFactory.getInstance().getResourcePolicyService();
+    protected GroupService groupService =
+            EPersonServiceFactory.getInstance().getGroupService();
+    protected ConfigurationService configurationService =
+            DSpaceServicesFactory.getInstance().getConfigurationService();
 
     /**
      * This method will be run before every test as per @Before. It will
@@ -180,4 +196,34 @@ public class AccessStatusServiceTest extends AbstractUnitTest {
         assertNotEquals("testGetAccessStatusBitstream 0", status, DefaultAccessStatusHelper.UNKNOWN);
         assertNull("testGetAccessStatusBitstream 1", availabilityDate);
     }
+
+    @Test
+    public void testStoredAccessStatusItem() throws Exception {
+        configurationService.setProperty("access.status.store.enabled", true);
+        try {
+            context.turnOffAuthorisationSystem();
+            LocalDate startDate = LocalDate.now().plusDays(10);
+            Group group = groupService.findByName(context, Group.ANONYMOUS);
+            ResourcePolicy policy = resourcePolicyService.create(context, null, group);
+            policy.setRpName("Embargo");
+            policy.setAction(Constants.READ);
+            policy.setStartDate(startDate);
+            authorizeService.removeAllPolicies(context, bitstream);
+            authorizeService.addPolicies(context, List.of(policy), bitstream);
+            context.restoreAuthSystemState();
+            // the status is stored by the consumer when the changes are committed
+            context.commit();
+
+            AccessStatus accessStatus = accessStatusService.getAccessStatus(context, item);
+            assertEquals("testStoredAccessStatusItem 0", DefaultAccessStatusHelper.EMBARGO, accessStatus.getStatus());
+            assertEquals("testStoredAccessStatusItem 1", startDate, accessStatus.getAvailabilityDate());
+            // the stored status is only updated once the embargo ended
+            assertEquals("testStoredAccessStatusItem 2", 0,
+                accessStatusService.updateAvailableAccessStatus(context, LocalDate.now()));
+            assertEquals("testStoredAccessStatusItem 3", 1,
+                accessStatusService.updateAvailableAccessStatus(context, startDate));
+        } finally {
+            configurationService.setProperty("access.status.store.enabled", false);
+        }
+    }
 }
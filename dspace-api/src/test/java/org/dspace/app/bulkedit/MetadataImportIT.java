@@ -43,6 +43,8 @@ import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.configuration.ScriptConfiguration;
 import org.dspace.scripts.factory.ScriptServiceFactory;
 import org.dspace.scripts.service.ScriptService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -54,6 +56,8 @@ public class MetadataImportIT extends AbstractIntegrationTestWithDatabase {
             = EPersonServiceFactory.getInstance().getEPersonService();
     private final RelationshipService relationshipService
             = ContentServiceFactory.getInstance().getRelationshipService();
+    private final ConfigurationService configurationService
+            = DSpaceServicesFactory.getInstance().getConfigurationService();
 
     private Collection collection;
     private Collection publicationCollection;
@@ -262,6 +266,39 @@ public class MetadataImportIT extends AbstractIntegrationTestWithDatabase {
         assertEquals(0, itemService.getMetadata(item, "dc", "contributor", "author", Item.ANY).size());
     }
 
+    @Test
+    public void metadataImportPrefetchingItemsInBatchesTest() throws Exception {
+        configurationService.setProperty("bulkedit.prefetch.count", 2);
+        configurationService.setProperty("bulkedit.change.commit.count", 2);
+        context.turnOffAuthorisationSystem();
+        Item[] items = new Item[5];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = ItemBuilder.createItem(context, collection).withTitle("Prefetched item " + i).build();
+        }
+        context.restoreAuthSystemState();
+
+        String[] csv = new String[items.length + 3];
+        csv[0] = "id,collection,dc.title";
+        for (int i = 0; i < items.length; i++) {
+            csv[i + 1] = items[i].getID() + "," + collection.getHandle() + ",Prefetched item " + i + " updated";
+        }
+        csv[items.length + 1] = "+," + collection.getHandle() + ",New prefetched item 1";
+        csv[items.length + 2] = "+," + collection.getHandle() + ",New prefetched item 2";
+        performImportScript(csv);
+
+        for (int i = 0; i < items.length; i++) {
+            Item item = context.reloadEntity(items[i]);
+            assertEquals("Prefetched item " + i + " updated", item.getName());
+        }
+        for (String name : new String[] {"New prefetched item 1", "New prefetched item 2"}) {
+            Item importedItem = findItemByName(name);
+            assertEquals(collection, importedItem.getOwningCollection());
+            context.turnOffAuthorisationSystem();
+            itemService.delete(context, importedItem);
+            context.restoreAuthSystemState();
+        }
+    }
+
     private Item findItemByName(String name) throws Exception {
         List<Item> items =
             IteratorUtils.toList(itemService.findByMetadataField(context, "dc", "title", null, name));
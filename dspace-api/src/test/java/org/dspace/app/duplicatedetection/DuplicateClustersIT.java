@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.duplicatedetection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.opencsv.CSVReader;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.launcher.ScriptLauncher;
+import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+
+/**
+ * Integration tests of the duplicate-clusters script ({@link DuplicateClusters}).
+ */
+public class DuplicateClustersIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    @Test
+    public void testClustersOfNearDuplicates() throws Exception {
+        configurationService.setProperty("duplicate.enable", true);
+        configurationService.setProperty("duplicate.signature.enable", true);
+        configurationService.setProperty("duplicate.signature.threshold", 0.7);
+
+        context.turnOffAuthorisationSystem();
+        context.setDispatcher("default");
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        Item original = ItemBuilder.createItem(context, collection)
+                .withTitle("A MinHash signature finds near duplicate titles in a large repository")
+                .withIssueDate("2020-05-01")
+                .withAuthor("Doe, Jane")
+                .build();
+        Item nearDuplicate = ItemBuilder.createItem(context, collection)
+                .withTitle("A MinHash Signature finds near-duplicate titles in a very large repository!")
+                .withIssueDate("2020")
+                .withAuthor("Doe, J.")
+                .build();
+        Item exactDuplicate = ItemBuilder.createItem(context, collection)
+                .withTitle("A minhash signature finds near duplicate titles in a large repository.")
+                .withIssueDate("2020-06-01")
+                .withAuthor("Doe, Jane")
+                .build();
+        ItemBuilder.createItem(context, collection)
+                .withTitle("Completely unrelated study of soil bacteria")
+                .withIssueDate("1999")
+                .withAuthor("Roe, Richard")
+                .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        File file = File.createTempFile("duplicate-clusters-test", ".csv");
+        try {
+            TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+            ScriptLauncher.handleScript(new String[] {"duplicate-clusters", "-f", file.getAbsolutePath()},
+                                        ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl);
+            assertNull(handler.getException());
+            assertTrue(handler.getErrorMessages().isEmpty());
+            assertTrue(handler.getInfoMessages().contains("Found 1 clusters of potential duplicates"));
+
+            List<String[]> lines;
+            try (CSVReader reader = new CSVReader(new FileReader(file, StandardCharsets.UTF_8))) {
+                lines = reader.readAll();
+            }
+            assertArrayEquals(new String[] {"cluster", "id", "handle", "title"}, lines.get(0));
+            // the three near duplicates form the only cluster, the unrelated item is not reported
+            assertEquals(4, lines.size());
+            Set<String> clusteredIds = new HashSet<>();
+            for (String[] line : lines.subList(1, lines.size())) {
+                assertEquals("1", line[0]);
+                clusteredIds.add(line[1]);
+            }
+            assertEquals(Set.of(original.getID().toString(), nearDuplicate.getID().toString(),
+                                exactDuplicate.getID().toString()), clusteredIds);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testSignaturesDisabled() throws Exception {
+        configurationService.setProperty("duplicate.signature.enable", false);
+
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+        ScriptLauncher.handleScript(new String[] {"duplicate-clusters"}, ScriptLauncher.getConfig(kernelImpl),
+                                    handler, kernelImpl);
+
+        assertEquals(List.of("The signatures of items are not indexed, see duplicate.signature.enable"),
+                     handler.getWarningMessages());
+    }
+}
@@ -8,20 +8,26 @@
 package org.dspace.app.itemexport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.file.PathUtils;
 import org.apache.commons.lang3.Strings;
 import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.itemexport.factory.ItemExportServiceFactory;
+import org.dspace.app.itemexport.service.ItemExportService;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
@@ -52,6 +58,7 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
     private static final String titleAlternative = "J'aime les Printemps";
 
     private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private ItemExportService itemExportService = ItemExportServiceFactory.getInstance().getItemExportService();
     private CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
     private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
     private Collection collection;
@@ -227,6 +234,81 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkZip(zipFileName);
     }
 
+    @Test
+    public void exportZipItemWithBitstreamsWithoutWorkDir() throws Exception {
+        // create item
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                .withTitle(title)
+                .withMetadata("dc", "date", "issued", dateIssued)
+                .build();
+        // create bitstreams with the same name
+        String bitstreamContent = "TEST TEST TEST";
+        for (int i = 0; i < 2; i++) {
+            try (InputStream is = IOUtils.toInputStream(bitstreamContent + i, CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, item, is)
+                        .withName("Bitstream")
+                        .withMimeType("text/plain")
+                        .build();
+            }
+        }
+        context.restoreAuthSystemState();
+
+        String[] args = new String[] { "export", "-t", "ITEM",
+                "-i", item.getHandle(), "-d", tempDir.toString(), "-z", zipFileName, "-n", "1" };
+        perfomExportScript(args);
+
+        checkZip(zipFileName);
+        // the items are written straight into the zip file, without a working directory
+        assertFalse(Files.exists(workDir.resolve(zipFileName)));
+        try (ZipFile zip = new ZipFile(tempDir.resolve(zipFileName).toFile())) {
+            assertNotNull(zip.getEntry("1/dublin_core.xml"));
+            assertNotNull(zip.getEntry("1/collections"));
+            assertEquals(item.getHandle() + System.lineSeparator(), readEntry(zip, "1/handle"));
+            assertEquals(bitstreamContent + "0", readEntry(zip, "1/Bitstream"));
+            assertEquals(bitstreamContent + "1", readEntry(zip, "1/1_Bitstream"));
+            String contents = readEntry(zip, "1/contents");
+            assertTrue(contents.contains("Bitstream\tbundle:ORIGINAL"));
+            assertTrue(contents.contains("1_Bitstream\tbundle:ORIGINAL"));
+        }
+    }
+
+    @Test
+    public void exportZipCollectionInVolumes() throws Exception {
+        // create items
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, collection)
+                .withTitle(title)
+                .build();
+        ItemBuilder.createItem(context, collection)
+                .withTitle(title + " 2")
+                .build();
+        context.restoreAuthSystemState();
+
+        // with the smallest volume size, every item gets its own volume
+        List<File> volumes = itemExportService.exportAsZip(context, itemService.findByCollection(context, collection),
+                tempDir.toString(), zipFileName, 1, false, false, 1);
+
+        assertEquals(2, volumes.size());
+        assertEquals(tempDir.resolve(zipFileName).toFile(), volumes.get(0));
+        assertEquals(tempDir.resolve("saf-export_2.zip").toFile(), volumes.get(1));
+        try (ZipFile zip = new ZipFile(volumes.get(0))) {
+            assertNotNull(zip.getEntry("1/dublin_core.xml"));
+            assertNull(zip.getEntry("2/dublin_core.xml"));
+        }
+        try (ZipFile zip = new ZipFile(volumes.get(1))) {
+            assertNull(zip.getEntry("1/dublin_core.xml"));
+            assertNotNull(zip.getEntry("2/dublin_core.xml"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void exportZipBadVolumeSize() throws Exception {
+        String[] args = new String[] { "export", "-t", "COLLECTION", "-i", collection.getHandle(),
+                "-d", tempDir.toString(), "-z", zipFileName, "-n", "1", "-s", "0" };
+        perfomExportScript(args);
+    }
+
     @Test
     public void migrateCollection() throws Exception {
         // create items
@@ -356,6 +438,12 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         assertNotNull(itemService.find(context, item.getID()));
     }
 
+    private String readEntry(ZipFile zip, String name) throws Exception {
+        try (InputStream is = zip.getInputStream(zip.getEntry(name))) {
+            return IOUtils.toString(is, CharEncoding.UTF_8);
+        }
+    }
+
     private void perfomExportScript(String[] args)
             throws Exception {
         runDSpaceScript(args);
@@ -188,6 +188,55 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkRelationship();
     }
 
+    @Test
+    public void importItemsBySafInParallelWithRelationships() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // create collection that contains person
+        Collection collectionPerson = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Collection Person")
+                .withEntityType("Person")
+                .build();
+        context.restoreAuthSystemState();
+        // create simple SAF
+        Path safDir = Files.createDirectory(Path.of(tempDir.toString() + "/test"));
+        Path publicationDir = Files.createDirectory(Path.of(safDir.toString() + "/item_000"));
+        Files.writeString(Path.of(publicationDir.toString() + "/collections"),
+                collection.getID().toString());
+        Files.copy(getClass().getResourceAsStream("dublin_core.xml"),
+                Path.of(publicationDir.toString() + "/dublin_core.xml"));
+        Files.copy(getClass().getResourceAsStream("relationships"),
+                Path.of(publicationDir.toString() + "/relationships"));
+        Path personDir = Files.createDirectory(Path.of(safDir.toString() + "/item_001"));
+        Files.writeString(Path.of(personDir.toString() + "/collections"),
+                collectionPerson.getID().toString());
+        Files.copy(getClass().getResourceAsStream("dublin_core-person.xml"),
+                Path.of(personDir.toString() + "/dublin_core.xml"));
+        // add bitstream
+        Files.writeString(Path.of(publicationDir.toString() + "/contents"), "file1.txt");
+        Files.writeString(Path.of(publicationDir.toString() + "/file1.txt"), "TEST TEST TEST");
+
+        Path mapFile = Path.of(tempDir.toString() + "/mapfile.out");
+        String[] args = new String[] { "import", "-a", "-p", "-t", "2", "-e", admin.getEmail(),
+                "-s", safDir.toString(), "-m", mapFile.toString() };
+        perfomImportScript(args);
+
+        checkMetadata();
+        checkBitstream();
+        checkRelationship();
+        // the mapfile lists the items in the order of their directories
+        List<String> lines = Files.readAllLines(mapFile);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("item_000 "));
+        assertTrue(lines.get(1).startsWith("item_001 "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void importItemsBadThreads() throws Exception {
+        String[] args = new String[] { "import", "-a", "-t", "x", "-e", admin.getEmail(), "-c",
+                collection.getID().toString(), "-s", tempDir.toString(), "-m", tempDir.toString() + "/mapfile.out" };
+        perfomImportScript(args);
+    }
+
     @Test
     public void importItemsBySafWithRelationshipsByRelationSchema() throws Exception {
         context.turnOffAuthorisationSystem();
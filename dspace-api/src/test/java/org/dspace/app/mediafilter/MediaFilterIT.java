@@ -142,6 +142,26 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void mediaFilterScriptAllItemsInParallelTest() throws Exception {
+        runDSpaceScript("filter-media", "-t", "4", "-s", col1_2_1.getHandle() + "," + item2_1_b.getHandle());
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = context.reloadEntity(items.next());
+            if (item.getOwningCollection().getID().equals(col1_2_1.getID())
+                    || item.getID().equals(item2_1_b.getID())) {
+                checkItemHasBeenNotProcessed(item);
+            } else {
+                checkItemHasBeenProcessed(item);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mediaFilterScriptBadThreadsTest() throws Exception {
+        runDSpaceScript("filter-media", "-t", "0");
+    }
+
     @Test
     public void mediaFilterScriptIdentifiersTest() throws Exception {
         // process the item 1_1_a and verify that no other items has been processed using the "closer" one
@@ -182,6 +182,34 @@ public class SolrDatabaseResyncIT extends AbstractIntegrationTestWithDatabase {
         context.restoreAuthSystemState();
     }
 
+    @Test
+    public void solrPreDBStatusExistingItemWithThreadsTest() throws Exception {
+        configurationService.setProperty("script.solr-database-resync.threads", 2);
+        // The workers have their own contexts, which only see committed items
+        context.commit();
+
+        assertHasPreDBStatus(item1);
+        assertHasPreDBStatus(item6);
+        assertHasPreDBStatus(item11);
+
+        performSolrDatabaseResyncScript();
+
+        // All pages were processed by the workers, their predb status should be removed
+        assertHasNoPreDBStatus(item1);
+        assertHasNoPreDBStatus(item2);
+        assertHasNoPreDBStatus(item3);
+        assertHasNoPreDBStatus(item4);
+        assertHasNoPreDBStatus(item5);
+        assertHasNoPreDBStatus(item6);
+        assertHasNoPreDBStatus(item7);
+        assertHasNoPreDBStatus(item8);
+        assertHasNoPreDBStatus(item9);
+        assertHasNoPreDBStatus(item10);
+        assertHasNoPreDBStatus(item11);
+
+        configurationService.setProperty("script.solr-database-resync.threads", null);
+        context.restoreAuthSystemState();
+    }
 
     public void assertHasNoPreDBStatus(Item item) throws Exception {
         assertNotEquals(STATUS_FIELD_PREDB, getStatus(item));
@@ -432,4 +432,54 @@ public class DuplicateDetectionIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    /**
+     * Test that the signature based duplicate detection finds items with a similar title, author and year, and only
+     * those, most similar first
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSearchDuplicatesBySignature() throws Exception {
+        configurationService.setProperty("duplicate.signature.enable", true);
+        configurationService.setProperty("duplicate.signature.threshold", 0.7);
+
+        context.turnOffAuthorisationSystem();
+        Item original = ItemBuilder.createItem(context, col)
+                .withTitle("A MinHash signature finds near duplicate titles in a large repository")
+                .withIssueDate("2020-05-01")
+                .withAuthor("Doe, Jane")
+                .build();
+        // Same title with different punctuation and case, and one more word
+        Item nearDuplicate = ItemBuilder.createItem(context, col)
+                .withTitle("A MinHash Signature finds near-duplicate titles in a very large repository!")
+                .withIssueDate("2020")
+                .withAuthor("Doe, J.")
+                .build();
+        Item exactDuplicate = ItemBuilder.createItem(context, col)
+                .withTitle("A minhash signature finds near duplicate titles in a large repository.")
+                .withIssueDate("2020-06-01")
+                .withAuthor("Doe, Jane")
+                .build();
+        Item unrelated = ItemBuilder.createItem(context, col)
+                .withTitle("Completely unrelated study of soil bacteria")
+                .withIssueDate("1999")
+                .withAuthor("Roe, Richard")
+                .build();
+        context.restoreAuthSystemState();
+
+        DuplicateSignature signature = duplicateDetectionService.buildSignature(context, original);
+        assertThat("The near duplicate should be similar", signature.similarity(
+                duplicateDetectionService.buildSignature(context, nearDuplicate)) >= 0.7);
+        assertThat("The unrelated item should not be similar", signature.similarity(
+                duplicateDetectionService.buildSignature(context, unrelated)) < 0.3);
+
+        List<PotentialDuplicate> potentialDuplicates =
+                duplicateDetectionService.getPotentialDuplicates(context, original);
+        assertEquals("The exact and the near duplicate should be found", 2, potentialDuplicates.size());
+        assertEquals("The exact duplicate should be found first",
+                exactDuplicate.getID(), potentialDuplicates.get(0).getUuid());
+        assertEquals("The near duplicate should be found second",
+                nearDuplicate.getID(), potentialDuplicates.get(1).getUuid());
+    }
+
 }
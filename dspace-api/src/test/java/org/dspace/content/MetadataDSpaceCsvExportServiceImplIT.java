@@ -7,9 +7,14 @@
  */
 package org.dspace.content;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 
@@ -19,9 +24,13 @@ import org.dspace.app.bulkedit.DSpaceCSVLine;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EntityTypeBuilder;
 import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.RelationshipBuilder;
+import org.dspace.builder.RelationshipTypeBuilder;
 import org.dspace.content.service.MetadataDSpaceCsvExportService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -116,4 +125,125 @@ public class MetadataDSpaceCsvExportServiceImplIT
         assertEquals("One item mapped twice should produce one line",
                 1, csvLines.size());
     }
+
+    /**
+     * Test of the streaming export of a collection, loading the items in batches.
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testExportToStream()
+            throws Exception {
+        DSpaceServicesFactory.getInstance().getConfigurationService()
+                .setProperty("bulkedit.export.batch.size", 2);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                .withName("Community")
+                .build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Collection")
+                .build();
+        Item item1 = ItemBuilder.createItem(context, collection)
+                .withTitle("Item 1")
+                .build();
+        Item item2 = ItemBuilder.createItem(context, collection)
+                .withTitle("Item 2")
+                .withIssueDate("1957")
+                .build();
+        Item item3 = ItemBuilder.createItem(context, collection)
+                .withTitle("Item 3")
+                .withSubject("Subject")
+                .build();
+        context.restoreAuthSystemState();
+
+        MetadataDSpaceCsvExportService instance = new DSpace()
+                .getServiceManager()
+                .getServiceByName(MetadataDSpaceCsvExportServiceImpl.class.getCanonicalName(),
+                        MetadataDSpaceCsvExportService.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        instance.handleExport(context, false, false, collection.getHandle(), out, testDSpaceRunnableHandler);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("One heading line and one line per item", 4, lines.length);
+        // The columns of all items are known before the first line is written
+        assertTrue(lines[0].startsWith("id,collection,"));
+        assertTrue(lines[0].contains("dc.title"));
+        assertTrue(lines[0].contains("dc.date.issued"));
+        assertTrue(lines[0].contains("dc.subject"));
+        assertFalse("Ignored fields are not exported", lines[0].contains("dc.date.accessioned"));
+        int columns = lines[0].split(",").length;
+        Item[] items = {item1, item2, item3};
+        for (int n = 0; n < items.length; n++) {
+            String title = "Item " + (n + 1);
+            boolean found = false;
+            for (int i = 1; i < lines.length; i++) {
+                if (lines[i].startsWith("\"" + items[n].getID() + "\"")) {
+                    found = true;
+                    assertTrue(lines[i].contains(title));
+                    assertEquals(columns, lines[i].split(",", -1).length);
+                }
+            }
+            assertTrue("Missing line of " + title, found);
+        }
+    }
+
+    /**
+     * Test that the streaming export of related entities has the same columns and lines as the export built in
+     * memory, including the virtual metadata of the relationships.
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testExportEntitiesToStream()
+            throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                .withName("Community")
+                .build();
+        Collection publications = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Publications")
+                .withEntityType("Publication")
+                .build();
+        Collection authors = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Authors")
+                .withEntityType("Author")
+                .build();
+        EntityType publicationEntityType = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        EntityType authorEntityType = EntityTypeBuilder.createEntityTypeBuilder(context, "Author").build();
+        Item publication = ItemBuilder.createItem(context, publications)
+                .withTitle("Publication")
+                .build();
+        Item author = ItemBuilder.createItem(context, authors)
+                .withTitle("Author")
+                .withPersonIdentifierLastName("familyName")
+                .withPersonIdentifierFirstName("firstName")
+                .build();
+        RelationshipType isAuthorOfPublication = RelationshipTypeBuilder
+                .createRelationshipTypeBuilder(context, publicationEntityType, authorEntityType,
+                        "isAuthorOfPublication", "isPublicationOfAuthor", null, null, null, null)
+                .build();
+        RelationshipBuilder.createRelationshipBuilder(context, publication, author, isAuthorOfPublication).build();
+        context.restoreAuthSystemState();
+
+        MetadataDSpaceCsvExportService instance = new DSpace()
+                .getServiceManager()
+                .getServiceByName(MetadataDSpaceCsvExportServiceImpl.class.getCanonicalName(),
+                        MetadataDSpaceCsvExportService.class);
+        String[] expected = instance.handleExport(context, false, false, parentCommunity.getHandle(),
+                testDSpaceRunnableHandler).getCSVLinesAsStringArray();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        instance.handleExport(context, false, false, parentCommunity.getHandle(), out, testDSpaceRunnableHandler);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        // The virtual metadata are only stored as relationships, their columns must still be exported
+        assertTrue(lines[0].contains("dc.contributor.author"));
+        assertTrue(lines[0].contains("relation.isAuthorOfPublication"));
+        assertTrue(lines[0].contains("relation.isPublicationOfAuthor"));
+        assertArrayEquals(expected, lines);
+        for (String line : lines) {
+            if (line.startsWith("\"" + publication.getID() + "\"")) {
+                assertTrue(line.contains("familyName, firstName"));
+                assertTrue(line.contains(author.getID().toString()));
+            }
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.crosswalk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.transform.Transformer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.jdom2.Content;
+import org.jdom2.Document;
+import org.jdom2.output.XMLOutputter;
+import org.jdom2.transform.JDOMResult;
+import org.jdom2.transform.JDOMSource;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the {@link XSLTDisseminationCrosswalk}, checking that the streamed DIM is transformed like
+ * the DIM tree and that the crosswalk can be used by several threads at once. The throughput of the concurrent
+ * transformations is logged.
+ */
+public class XSLTDisseminationCrosswalkIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String DIRECTION = "dissemination";
+
+    private static final int THREADS = 4;
+
+    private static final int ITERATIONS = 250;
+
+    private XSLTDisseminationCrosswalk crosswalk;
+
+    private Item item;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        crosswalk = (XSLTDisseminationCrosswalk) CoreServiceFactory.getInstance().getPluginService()
+            .getNamedPlugin(DisseminationCrosswalk.class, "marc");
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+            .withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection)
+            .withTitle("Crosswalked item")
+            .withAuthor("Smith, Donald")
+            .withAuthor("Doe, Jane")
+            .withIssueDate("2020-01-01")
+            .withSubject("Subject \u0001with a control character")
+            .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testStreamedDIMIsTransformedLikeDIMTree() throws Exception {
+        Transformer transformer = crosswalk.getTransformer(DIRECTION);
+        JDOMResult expected = new JDOMResult();
+        transformer.transform(new JDOMSource(new Document(XSLTDisseminationCrosswalk.createDIM(item))), expected);
+
+        transformer = crosswalk.getTransformer(DIRECTION);
+        JDOMResult actual = new JDOMResult();
+        transformer.transform(XSLTDisseminationCrosswalk.createDIMSource(item, false), actual);
+
+        XMLOutputter outputter = new XMLOutputter();
+        assertEquals(outputter.outputString(expected.getDocument()), outputter.outputString(actual.getDocument()));
+
+        expected = new JDOMResult();
+        crosswalk.getTransformer(DIRECTION)
+                 .transform(new JDOMSource(XSLTDisseminationCrosswalk.createDIM(item).getChildren()), expected);
+        actual = new JDOMResult();
+        crosswalk.getTransformer(DIRECTION).transform(XSLTDisseminationCrosswalk.createDIMSource(item, true), actual);
+        assertEquals(outputString(expected.getResult()), outputString(actual.getResult()));
+    }
+
+    @Test
+    public void testConcurrentDissemination() throws Exception {
+        // the metadata is read by this thread, as entities must not be shared between threads
+        List<MetadataValueDTO> metadata = XSLTDisseminationCrosswalk.item2Metadata(item);
+        String expected = transform(metadata);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<List<String>>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                tasks.add(() -> {
+                    List<String> results = new ArrayList<>();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        results.add(transform(metadata));
+                    }
+                    return results;
+                });
+            }
+            long start = System.nanoTime();
+            List<Future<List<String>>> futures = executor.invokeAll(tasks);
+            long elapsed = System.nanoTime() - start;
+            for (Future<List<String>> future : futures) {
+                List<String> results = future.get();
+                assertEquals(ITERATIONS, results.size());
+                for (String result : results) {
+                    assertEquals(expected, result);
+                }
+            }
+            log.info("Crosswalked {} items with {} threads in {} ms ({} items/s)", THREADS * ITERATIONS, THREADS,
+                     elapsed / 1_000_000, (long) (THREADS * ITERATIONS / (elapsed / 1e9)));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(expected.isEmpty());
+    }
+
+    private String transform(List<MetadataValueDTO> metadata) throws Exception {
+        JDOMResult result = new JDOMResult();
+        crosswalk.getTransformer(DIRECTION)
+                 .transform(XSLTDisseminationCrosswalk.createDIMSource(item, metadata, true), result);
+        return outputString(result.getResult());
+    }
+
+    private static String outputString(List<Content> content) {
+        return new XMLOutputter().outputString(content);
+    }
+}
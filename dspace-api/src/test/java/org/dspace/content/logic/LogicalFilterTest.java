@@ -7,7 +7,9 @@
  */
 package org.dspace.content.logic;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -38,6 +40,7 @@ import org.dspace.content.logic.condition.BitstreamCountCondition;
 import org.dspace.content.logic.condition.Condition;
 import org.dspace.content.logic.condition.InCollectionCondition;
 import org.dspace.content.logic.condition.InCommunityCondition;
+import org.dspace.content.logic.condition.IsArchivedCondition;
 import org.dspace.content.logic.condition.IsWithdrawnCondition;
 import org.dspace.content.logic.condition.MetadataValueMatchCondition;
 import org.dspace.content.logic.condition.MetadataValuesMatchCondition;
@@ -626,6 +629,50 @@ public class LogicalFilterTest extends AbstractUnitTest {
         }
     }
 
+    /**
+     * Test the compilation of statements into Discovery filter queries: exact where all sub-statements can be
+     * compiled, a superset or no query at all where they cannot
+     */
+    @Test
+    public void testCompileStatements() {
+        Condition withdrawn = new IsWithdrawnCondition();
+        Condition archived = new IsArchivedCondition();
+        And and = new And();
+        Or or = new Or();
+
+        try {
+            // AND of compiled statements, with a negation: exact
+            and.setStatements(List.of(archived, new Not(withdrawn)));
+            CompiledStatement compiled = and.compile(context);
+            assertTrue("AND of conditions was not compiled exactly", compiled.isExact());
+            assertEquals("((archived:true) AND ((*:* AND NOT (withdrawn:true))))", compiled.getQuery());
+
+            // AND with a statement that cannot be compiled: superset, still to be evaluated
+            and.setStatements(List.of(withdrawn, trueStatementOne));
+            compiled = and.compile(context);
+            assertFalse("AND with an uncompiled statement was compiled exactly", compiled.isExact());
+            assertEquals("withdrawn:true", compiled.getQuery());
+
+            // OR and NOT with a statement that cannot be compiled: all items, still to be evaluated
+            or.setStatements(List.of(withdrawn, trueStatementOne));
+            compiled = or.compile(context);
+            assertFalse("OR with an uncompiled statement was compiled exactly", compiled.isExact());
+            assertNull("OR with an uncompiled statement was compiled to a query", compiled.getQuery());
+            compiled = new Not(trueStatementOne).compile(context);
+            assertFalse("NOT of an uncompiled statement was compiled exactly", compiled.isExact());
+            assertNull("NOT of an uncompiled statement was compiled to a query", compiled.getQuery());
+
+            // OR of compiled statements: exact
+            or.setStatements(List.of(withdrawn, archived));
+            compiled = or.compile(context);
+            assertTrue("OR of conditions was not compiled exactly", compiled.isExact());
+            assertEquals("((withdrawn:true) OR (archived:true))", compiled.getQuery());
+        } catch (LogicalStatementException e) {
+            log.error(e.getMessage());
+            fail("LogicalStatementException thrown compiling statements" + e.getMessage());
+        }
+    }
+
     /**
      * Set up some simple statements for testing out operators
      */
@@ -11,13 +11,19 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -576,6 +582,76 @@ public class ITDSpaceAIP extends AbstractIntegrationTest {
         log.info("testRestoreCollectionHierarchy() - END");
     }
 
+    /**
+     * Test restoration from AIP of a Collection with a logo and an Item with several files, which are all read
+     * from their zipped packages
+     */
+    @Test
+    public void testRestoreCollectionWithLogoAndFiles() throws Exception {
+        log.info("testRestoreCollectionWithLogoAndFiles() - BEGIN");
+
+        // Locate the collection (from our test data)
+        Collection testCollection = (Collection) handleService.resolveToObject(context, testCollectionHandle);
+        Community parent = (Community) collectionService.getParentObject(context, testCollection);
+
+        // Give the collection a logo
+        try (InputStream logo = new FileInputStream(testProps.get("test.bitstream").toString())) {
+            collectionService.setLogo(context, testCollection, logo);
+        }
+        collectionService.update(context, testCollection);
+        String logoCheckSum = testCollection.getLogo().getChecksum();
+
+        // Add an Item with several files to the collection
+        WorkspaceItem wsItem = workspaceItemService.create(context, testCollection, false);
+        Item item = installItemService.installItem(context, wsItem);
+        itemService.addMetadata(context, item, "dc", "title", null, null, "Item with several files");
+        Bundle bundle = bundleService.create(context, item, Constants.CONTENT_BUNDLE_NAME);
+        HashMap<String, String> bitstreamCheckSums = new HashMap<>();
+        for (int i = 1; i <= 3; i++) {
+            Bitstream bitstream = bitstreamService.create(context, bundle,
+                new ByteArrayInputStream(("Test file " + i).getBytes(StandardCharsets.UTF_8)));
+            bitstream.setName(context, "file-" + i + ".txt");
+            bitstreamService.update(context, bitstream);
+            bitstreamCheckSums.put(bitstream.getName(), bitstream.getChecksum());
+        }
+        itemService.update(context, item);
+        String itemHandle = item.getHandle();
+
+        // Save basic info about collection (and children) to an infoMap
+        HashMap<String, String> infoMap = new HashMap<String, String>();
+        saveObjectInfo(testCollection, infoMap);
+
+        // Export collection & child AIPs, delete and restore them
+        log.info("testRestoreCollectionWithLogoAndFiles() - CREATE AIPs");
+        File aipFile = createAIP(testCollection, null, true);
+        log.info("testRestoreCollectionWithLogoAndFiles() - DELETE Collection Hierarchy");
+        communityService.removeCollection(context, parent, testCollection);
+        assertObjectsNotExist(infoMap);
+        log.info("testRestoreCollectionWithLogoAndFiles() - RESTORE Collection Hierarchy");
+        restoreFromAIP(parent, aipFile, null, true);
+        assertObjectsExist(infoMap);
+
+        // Assert the logo is restored
+        Collection restoredCollection = (Collection) handleService.resolveToObject(context, testCollectionHandle);
+        assertThat("testRestoreCollectionWithLogoAndFiles() logo exists", restoredCollection.getLogo(),
+                   notNullValue());
+        assertEquals("testRestoreCollectionWithLogoAndFiles() logo checksum", logoCheckSum,
+                     restoredCollection.getLogo().getChecksum());
+
+        // Assert all files of the Item are restored
+        Item restoredItem = (Item) handleService.resolveToObject(context, itemHandle);
+        List<Bundle> restoredBundles = itemService.getBundles(restoredItem, Constants.CONTENT_BUNDLE_NAME);
+        for (String name : bitstreamCheckSums.keySet()) {
+            Bitstream restoredBitstream = bundleService.getBitstreamByName(restoredBundles.get(0), name);
+            assertThat("testRestoreCollectionWithLogoAndFiles() bitstream " + name + " exists", restoredBitstream,
+                       notNullValue());
+            assertEquals("testRestoreCollectionWithLogoAndFiles() bitstream " + name + " checksum",
+                         bitstreamCheckSums.get(name), restoredBitstream.getChecksum());
+        }
+
+        log.info("testRestoreCollectionWithLogoAndFiles() - END");
+    }
+
     /**
      * Test restoration from AIP of an access restricted Collection
      */
@@ -999,6 +1075,82 @@ public class ITDSpaceAIP extends AbstractIntegrationTest {
         log.info("testRestoreMappedItem() - END");
     }
 
+    /**
+     * Test the export of a Community Hierarchy to AIPs on several threads, keeping a checkpoint
+     */
+    @Test
+    public void testCreateCommunityHierarchyWithThreadsAndCheckpoint() throws Exception {
+        log.info("testCreateCommunityHierarchyWithThreadsAndCheckpoint() - BEGIN");
+
+        // Locate the top level community (from our test data)
+        Community topCommunity = (Community) handleService.resolveToObject(context, topCommunityHandle);
+
+        // Export community & child AIPs on a single thread
+        createAIP(topCommunity, null, true);
+        List<String> expectedPackages = listAIPs();
+        for (String name : expectedPackages) {
+            new File(aipTempFolder.getRoot(), name).delete();
+        }
+
+        // Export them again on several threads, keeping a checkpoint
+        File checkpointFile = new File(uploadTempFolder.getRoot(), "aip-checkpoint.txt");
+        checkpointFile.delete();
+        PackageParameters pkgParams = new PackageParameters();
+        pkgParams.addProperty("threads", "3");
+        pkgParams.addProperty("checkpoint", checkpointFile.getAbsolutePath());
+        createAIP(topCommunity, pkgParams, true);
+        assertEquals("testCreateCommunityHierarchyWithThreadsAndCheckpoint() packages", expectedPackages,
+                     listAIPs());
+
+        // Every Item package is in the checkpoint
+        List<String> checkpoint = Files.readAllLines(checkpointFile.toPath());
+        long itemPackages = expectedPackages.stream().filter(name -> name.startsWith("ITEM@")).count();
+        assertEquals("testCreateCommunityHierarchyWithThreadsAndCheckpoint() checkpoint", itemPackages,
+                     checkpoint.size());
+
+        // The Item packages are current, so a second run writes none of them
+        createAIP(topCommunity, pkgParams, true);
+        assertEquals("testCreateCommunityHierarchyWithThreadsAndCheckpoint() packages after second run",
+                     expectedPackages, listAIPs());
+        assertEquals("testCreateCommunityHierarchyWithThreadsAndCheckpoint() checkpoint after second run",
+                     checkpoint, Files.readAllLines(checkpointFile.toPath()));
+
+        log.info("testCreateCommunityHierarchyWithThreadsAndCheckpoint() - END");
+    }
+
+    /**
+     * Test that the export of a Community Hierarchy to AIPs rejects a bad number of threads
+     */
+    @Test
+    public void testCreateCommunityHierarchyWithBadThreads() throws Exception {
+        log.info("testCreateCommunityHierarchyWithBadThreads() - BEGIN");
+
+        // Locate the top level community (from our test data)
+        Community topCommunity = (Community) handleService.resolveToObject(context, topCommunityHandle);
+
+        PackageParameters pkgParams = new PackageParameters();
+        pkgParams.addProperty("threads", "0");
+        PackageException exception = assertThrows(PackageException.class,
+                                                  () -> createAIP(topCommunity, pkgParams, true));
+        assertEquals("testCreateCommunityHierarchyWithBadThreads() message",
+                     "Bad number of threads '0': a positive number is required", exception.getMessage());
+        assertEquals("testCreateCommunityHierarchyWithBadThreads() packages", List.of(), listAIPs());
+
+        log.info("testCreateCommunityHierarchyWithBadThreads() - END");
+    }
+
+    /**
+     * @return the sorted names of the AIP files in the AIP folder
+     */
+    private List<String> listAIPs() {
+        List<String> names = new ArrayList<>();
+        for (File file : aipTempFolder.getRoot().listFiles()) {
+            names.add(file.getName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
     /**
      * Create AIP(s) based on a given DSpaceObject. This is a simple utility method
      * to avoid having to rewrite this code into several tests.
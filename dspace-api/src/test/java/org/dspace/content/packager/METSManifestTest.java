@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.packager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.content.crosswalk.MetadataValidationException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link METSManifest}.
+ */
+public class METSManifestTest extends AbstractDSpaceTest {
+
+    private static final String MANIFEST = "<mets xmlns=\"http://www.loc.gov/METS/\">"
+        + "<dmdSec ID=\"dmd_1\" GROUPID=\"first\"/>"
+        + "<dmdSec ID=\"dmd_1\" GROUPID=\"second\"/>"
+        + "<amdSec ID=\"amd_1\"><techMD ID=\"tech_1\"/></amdSec>"
+        + "<fileSec>"
+        + "<fileGrp USE=\"ORIGINAL\"><file ID=\"file_1\" GROUPID=\"first\"/><file ID=\"file_2\"/></fileGrp>"
+        + "<fileGrp USE=\"THUMBNAIL\"><fileGrp><file ID=\"file_1\" GROUPID=\"second\"/>"
+        + "<file ID=\"file_3\"/></fileGrp></fileGrp>"
+        + "</fileSec>"
+        + "<structMap><div><dmdSec ID=\"dmd_nested\"/><amdSec ID=\"amd_nested\"/></div></structMap>"
+        + "</mets>";
+
+    private METSManifest manifest;
+
+    @Before
+    public void setUp() throws Exception {
+        manifest = METSManifest.create(new ByteArrayInputStream(MANIFEST.getBytes(StandardCharsets.UTF_8)),
+                                       false, "dspaceAIP");
+    }
+
+    /**
+     * Test that the first of several elements with the same ID is found, as an XPath expression would
+     */
+    @Test
+    public void testGetElementByDuplicateId() throws Exception {
+        assertEquals("first", manifest.getElementById("dmdSec", "dmd_1", false).getAttributeValue("GROUPID"));
+        assertEquals("first", manifest.getElementById("file", "file_1", false).getAttributeValue("GROUPID"));
+    }
+
+    /**
+     * Test that files are found at any depth, but metadata sections only as direct children of the mets element
+     */
+    @Test
+    public void testGetElementByIdScope() throws Exception {
+        assertNotNull(manifest.getElementById("amdSec", "amd_1", false));
+        assertNotNull(manifest.getElementById("file", "file_3", false));
+        assertNull(manifest.getElementById("dmdSec", "dmd_nested", true));
+        assertNull(manifest.getElementById("amdSec", "amd_nested", true));
+        // the ID of a techMD or of another kind of element does not match
+        assertNull(manifest.getElementById("amdSec", "tech_1", true));
+        assertNull(manifest.getElementById("amdSec", "dmd_1", true));
+    }
+
+    @Test(expected = MetadataValidationException.class)
+    public void testGetMissingElementById() throws Exception {
+        manifest.getElementById("dmdSec", "dmd_nested", false);
+    }
+}
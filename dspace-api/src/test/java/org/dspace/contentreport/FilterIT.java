@@ -0,0 +1,46 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.contentreport;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Period;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.junit.Test;
+
+/**
+ * Integration tests of the permission filters of {@link Filter}.
+ */
+public class FilterIT extends AbstractIntegrationTestWithDatabase {
+
+    @Test
+    public void testRestrictedMetadata() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item publicItem = ItemBuilder.createItem(context, collection).withTitle("Public").build();
+        Item embargoedItem = ItemBuilder.createItem(context, collection).withTitle("Embargoed")
+                                        .withEmbargoPeriod(Period.ofMonths(6)).build();
+
+        // the filters check anonymous access, whatever the state of the caller's context
+        assertFalse(Filter.HAS_RESTRICTED_METADATA.testItem(context, publicItem));
+        assertTrue(Filter.HAS_RESTRICTED_METADATA.testItem(context, embargoedItem));
+        context.restoreAuthSystemState();
+
+        context.setCurrentUser(admin);
+        assertFalse(Filter.HAS_RESTRICTED_METADATA.testItem(context, publicItem));
+        assertTrue(Filter.HAS_RESTRICTED_METADATA.testItem(context, embargoedItem));
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link MailOutbox}, sending to a {@link FakeSmtpServer}.
+ */
+public class MailOutboxTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FakeSmtpServer smtpServer;
+
+    private Session session;
+
+    private File outboxDir;
+
+    @Before
+    public void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer();
+        Properties props = new Properties();
+        props.put("mail.transport.protocol", "smtp");
+        props.put("mail.smtp.host", "localhost");
+        props.put("mail.smtp.port", String.valueOf(smtpServer.getPort()));
+        session = Session.getInstance(props);
+        outboxDir = folder.newFolder("outbox");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    public void testQueuedMessagesAreSentOverOneConnection() throws Exception {
+        MailOutbox outbox = new MailOutbox(outboxDir, 100, 0, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            outbox.enqueue(createMessage("Message " + i));
+        }
+        assertThat(outbox.getPendingCount(), is(3));
+
+        assertThat(outbox.drain(session), is(3));
+        assertThat(outbox.getPendingCount(), is(0));
+        assertThat(smtpServer.getConnectionCount(), is(1));
+        assertThat(smtpServer.getMessages(), hasSize(3));
+        // Messages are sent in the order they were queued
+        assertThat(smtpServer.getMessages().get(0), containsString("Subject: Message 0"));
+        assertThat(smtpServer.getMessages().get(2), containsString("Subject: Message 2"));
+    }
+
+    @Test
+    public void testBatchSizeLimitsMessagesPerDrain() throws Exception {
+        MailOutbox outbox = new MailOutbox(outboxDir, 2, 0, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            outbox.enqueue(createMessage("Message " + i));
+        }
+
+        assertThat(outbox.drain(session), is(2));
+        assertThat(outbox.getPendingCount(), is(1));
+        assertThat(outbox.drain(session), is(1));
+        assertThat(outbox.getPendingCount(), is(0));
+    }
+
+    @Test
+    public void testFailedMessagesAreRetriedAndGivenUp() throws Exception {
+        MailOutbox outbox = new MailOutbox(outboxDir, 100, 0, 2, 0);
+        outbox.enqueue(createMessage("Retry me"));
+        smtpServer.setRejectConnections(true);
+
+        assertThat(outbox.drain(session), is(0));
+        assertThat(outbox.getPendingCount(), is(1));
+        assertThat(outbox.getFailedCount(), is(0));
+
+        assertThat(outbox.drain(session), is(0));
+        assertThat(outbox.getPendingCount(), is(0));
+        assertThat(outbox.getFailedCount(), is(1));
+        assertThat(smtpServer.getMessages(), hasSize(0));
+    }
+
+    @Test
+    public void testRetriedMessageIsSentWhenServerRecovers() throws Exception {
+        MailOutbox outbox = new MailOutbox(outboxDir, 100, 0, 5, 0);
+        outbox.enqueue(createMessage("Eventually"));
+        smtpServer.setRejectConnections(true);
+        assertThat(outbox.drain(session), is(0));
+
+        smtpServer.setRejectConnections(false);
+        assertThat(outbox.drain(session), is(1));
+        assertThat(outbox.getPendingCount(), is(0));
+        assertThat(smtpServer.getMessages().get(0), containsString("Subject: Eventually"));
+    }
+
+    @Test
+    public void testSendersSharingTheOutboxSendEachMessageOnce() throws Exception {
+        // Two outboxes over the same directory stand for the senders of two processes
+        MailOutbox first = new MailOutbox(outboxDir, 100, 0, 3, 0);
+        MailOutbox second = new MailOutbox(outboxDir, 100, 0, 3, 0);
+        for (int i = 0; i < 20; i++) {
+            first.enqueue(createMessage("Message " + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> sentByFirst = executor.submit(() -> first.drain(session));
+            Future<Integer> sentBySecond = executor.submit(() -> second.drain(session));
+            assertThat(sentByFirst.get(30, TimeUnit.SECONDS) + sentBySecond.get(30, TimeUnit.SECONDS), is(20));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(first.getPendingCount(), is(0));
+        assertThat(smtpServer.getMessages(), hasSize(20));
+    }
+
+    @Test
+    public void testClaimedMessageIsSkippedUntilItsClaimIsStale() throws Exception {
+        MailOutbox outbox = new MailOutbox(outboxDir, 100, 0, 3, 0);
+        outbox.enqueue(createMessage("Claimed"));
+        File pending = outboxDir.listFiles()[0];
+        File claimed = new File(outboxDir, pending.getName() + ".1234-other.claimed");
+        assertThat(pending.renameTo(claimed), is(true));
+
+        assertThat(outbox.drain(session), is(0));
+        assertThat(smtpServer.getMessages(), hasSize(0));
+
+        // The process holding the claim died
+        assertThat(claimed.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2)), is(true));
+        assertThat(outbox.drain(session), is(1));
+        assertThat(claimed.exists(), is(false));
+        assertThat(smtpServer.getMessages().get(0), containsString("Subject: Claimed"));
+    }
+
+    @Test
+    public void testMessageQueuedByCommandLineToolIsSentByRunningSender() throws Exception {
+        // A command-line tool only queues the message, the sender of the webapp delivers it
+        MailOutbox commandLine = new MailOutbox(outboxDir, 100, 0, 3, 0);
+        commandLine.enqueue(createMessage("From the command line"));
+        MailOutbox webapp = new MailOutbox(outboxDir, 100, 0, 3, 0);
+        webapp.start(() -> session, 1000);
+        try {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            while (smtpServer.getMessages().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+        } finally {
+            webapp.stop();
+        }
+        assertThat(smtpServer.getMessages(), hasSize(1));
+        assertThat(smtpServer.getMessages().get(0), containsString("Subject: From the command line"));
+        assertThat(webapp.getPendingCount(), is(0));
+    }
+
+    @Test
+    public void testRateIsKeptAcrossDrains() throws Exception {
+        // Two messages per second, one message per drain
+        MailOutbox outbox = new MailOutbox(outboxDir, 1, 2, 3, 0);
+        outbox.enqueue(createMessage("First"));
+        outbox.enqueue(createMessage("Second"));
+
+        assertThat(outbox.drain(session), is(1));
+        long firstSent = System.currentTimeMillis();
+        assertThat(outbox.drain(session), is(1));
+        assertThat(System.currentTimeMillis() - firstSent, greaterThanOrEqualTo(400L));
+        assertThat(smtpServer.getMessages(), hasSize(2));
+    }
+
+    private MimeMessage createMessage(String subject) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress("dspace@example.com"));
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress("user@example.com"));
+        message.setSubject(subject);
+        message.setText("Body of " + subject);
+        return message;
+    }
+}
@@ -10,6 +10,7 @@ package org.dspace.core;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mockStatic;
 
 import java.net.InetAddress;
@@ -132,4 +133,19 @@ public class UtilsTest extends AbstractUnitTest {
         // remove the config we added
         configurationService.setProperty(configName, null);
     }
+
+    /**
+     * Test of parsePositiveInt method, of class Utils
+     */
+    @Test
+    public void testParsePositiveInt() {
+        assertEquals(4, Utils.parsePositiveInt("4", "number of threads"));
+        assertEquals(4, Utils.parsePositiveInt(" 4 ", "number of threads"));
+
+        for (String bad : new String[] {"0", "-2", "four", "", null}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Utils.parsePositiveInt(bad, "number of threads"));
+            assertEquals("Bad number of threads '" + bad + "': a positive number is required", e.getMessage());
+        }
+    }
 }
@@ -7,17 +7,30 @@
  */
 package org.dspace.curate;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.configuration.ScriptConfiguration;
 import org.dspace.scripts.factory.ScriptServiceFactory;
 import org.dspace.scripts.service.ScriptService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Test;
 
 public class CurationIT extends AbstractIntegrationTestWithDatabase {
@@ -75,4 +88,51 @@ public class CurationIT extends AbstractIntegrationTestWithDatabase {
             }
         }
     }
+
+    @Test
+    public void curateCollectionItemsInParallelTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .build();
+        // the lines reported for the items
+        List<String> reported = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String title = (i == 5 ? TitleCheckTask.BAD_TITLE_PREFIX + " item " : "Item ") + i;
+            Item item = ItemBuilder.createItem(context, collection).withTitle(title).build();
+            reported.add("Title of " + item.getHandle() + ": " + title);
+        }
+        context.restoreAuthSystemState();
+        // the workers only see committed data
+        context.commit();
+
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        String pluginProperty = "plugin.named." + CurationTask.class.getName();
+        String[] plugins = configurationService.getArrayProperty(pluginProperty);
+        try {
+            CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+            configurationService.setProperty(pluginProperty, TitleCheckTask.class.getName() + " = titlecheck");
+
+            StringBuilder report = new StringBuilder();
+            Curator curator = new Curator();
+            curator.setReporter(report);
+            curator.setThreads(4);
+            curator.addTask("titlecheck");
+            curator.curate(context, collection);
+
+            // every item was performed upon exactly once
+            for (String line : reported) {
+                assertThat(StringUtils.countMatches(report, line), is(1));
+            }
+            // the worst outcome is kept, whatever the order in which the workers ended
+            assertThat(curator.getStatus("titlecheck"), is(Curator.CURATE_FAIL));
+            assertThat(curator.getResult("titlecheck"), is(reported.get(5)));
+            assertThat(curator.getTaskSummaries().get(0), startsWith(
+                "Curation task: titlecheck performed on 9 objects (success: 7, fail: 1, skip: 1, error: 0)"));
+        } finally {
+            configurationService.setProperty(pluginProperty, plugins);
+            CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+        }
+    }
 }
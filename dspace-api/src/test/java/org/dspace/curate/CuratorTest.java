@@ -8,6 +8,7 @@
 package org.dspace.curate;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -116,4 +117,30 @@ public class CuratorTest extends AbstractUnitTest {
         assertEquals(Curator.CURATE_SUCCESS, curator.getStatus(TASK_NAME));
         assertEquals("No operation performed on testHandle", reporterOutput.toString());
     }
+
+    @Test
+    public void testTaskSummaries() throws Exception {
+
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+
+        final String TASK_NAME = "noop";
+
+        ConfigurationService cfg = kernelImpl.getConfigurationService();
+        cfg.setProperty("plugin.named.org.dspace.curate.CurationTask",
+            NoOpCurationTask.class.getName() + " = " + TASK_NAME);
+
+        Curator curator = new Curator();
+        curator.setReporter(new StringBuilder());
+        curator.setThreads(4);
+        curator.addTask(TASK_NAME);
+        Item item = mock(Item.class);
+        when(item.getType()).thenReturn(2);
+        when(item.getHandle()).thenReturn("testHandle");
+        curator.curate(context, item);
+        curator.curate(context, item);
+
+        assertEquals(1, curator.getTaskSummaries().size());
+        assertTrue(curator.getTaskSummaries().get(0).startsWith(
+            "Curation task: noop performed on 2 objects (success: 2, fail: 0, skip: 0, error: 0)"));
+    }
 }
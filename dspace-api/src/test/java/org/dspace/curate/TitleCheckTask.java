@@ -0,0 +1,36 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+
+/**
+ * Fails items whose title starts with {@link #BAD_TITLE_PREFIX} and skips other objects. Reports and sets as result
+ * the title of every item, so the outcome of every item can be inspected.
+ */
+@Concurrent
+public class TitleCheckTask extends AbstractCurationTask {
+
+    static final String BAD_TITLE_PREFIX = "Bad";
+
+    @Override
+    public int perform(DSpaceObject dso) throws IOException {
+        if (!(dso instanceof Item)) {
+            setResult("Object skipped");
+            return Curator.CURATE_SKIP;
+        }
+        String title = dso.getName();
+        String result = "Title of " + dso.getHandle() + ": " + title;
+        report(result);
+        setResult(result);
+        return title.startsWith(BAD_TITLE_PREFIX) ? Curator.CURATE_FAIL : Curator.CURATE_SUCCESS;
+    }
+}
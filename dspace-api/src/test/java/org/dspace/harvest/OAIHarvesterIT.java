@@ -0,0 +1,182 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.List;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.harvest.factory.HarvestServiceFactory;
+import org.dspace.harvest.service.HarvestedCollectionService;
+import org.dspace.harvest.service.HarvestedItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of {@link OAIHarvester}, harvesting from a local OAI-PMH server that returns two pages of
+ * records, the first one listing the same record twice.
+ */
+public class OAIHarvesterIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String OAI_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\""
+        + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+        + " xsi:schemaLocation=\"http://www.openarchives.org/OAI/2.0/"
+        + " http://www.openarchives.org/OAI/2.0/OAI-PMH.xsd\">"
+        + "<responseDate>2024-01-01T00:00:00Z</responseDate>";
+
+    private static final String OAI_FOOTER = "</OAI-PMH>";
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final HarvestedCollectionService harvestedCollectionService =
+        HarvestServiceFactory.getInstance().getHarvestedCollectionService();
+
+    private final HarvestedItemService harvestedItemService =
+        HarvestServiceFactory.getInstance().getHarvestedItemService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private MockWebServer oaiServer;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        oaiServer = new MockWebServer();
+        oaiServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setHeader("Content-Type", "text/xml")
+                                         .setBody(OAI_HEADER + respond(request) + OAI_FOOTER);
+            }
+        });
+        oaiServer.start();
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        configurationService.setProperty("oai.harvester.ingestThreads", null);
+        configurationService.setProperty("oai.harvester.prefetch", null);
+        oaiServer.shutdown();
+        super.destroy();
+    }
+
+    @Test
+    public void testSequentialHarvest() throws Exception {
+        configurationService.setProperty("oai.harvester.ingestThreads", 1);
+        runHarvestAndCheckItems();
+    }
+
+    @Test
+    public void testParallelHarvest() throws Exception {
+        configurationService.setProperty("oai.harvester.ingestThreads", 4);
+        runHarvestAndCheckItems();
+    }
+
+    @Test
+    public void testParallelHarvestWithPrefetch() throws Exception {
+        configurationService.setProperty("oai.harvester.ingestThreads", 4);
+        configurationService.setProperty("oai.harvester.prefetch", true);
+        runHarvestAndCheckItems();
+    }
+
+    private void runHarvestAndCheckItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Harvested collection").build();
+        HarvestedCollection harvestRow = harvestedCollectionService.create(context, collection);
+        harvestRow.setHarvestParams(HarvestedCollection.TYPE_DMD, oaiServer.url("/oai/request").toString(),
+                                    "all", "dc");
+        harvestRow.setHarvestStatus(HarvestedCollection.STATUS_READY);
+        harvestedCollectionService.update(context, harvestRow);
+        context.setCurrentUser(admin);
+        context.restoreAuthSystemState();
+        // the ingest workers only see committed data
+        context.commit();
+
+        new OAIHarvester(context, collection, harvestRow).runHarvest();
+
+        context.uncacheEntities();
+        harvestRow = harvestedCollectionService.find(context, context.reloadEntity(collection));
+        assertEquals(harvestRow.getHarvestMessage(), HarvestedCollection.STATUS_READY,
+                     harvestRow.getHarvestStatus());
+        collection = context.reloadEntity(collection);
+        assertEquals(4, itemService.countItems(context, collection));
+        // the second listing of the same record updates the item created by the first one
+        assertEquals("Record one, second version", getTitle(harvestedItemService.getItemByOAIId(context,
+            "oai:remote:1", collection)));
+        for (int i = 2; i <= 4; i++) {
+            assertEquals("Record " + i, getTitle(harvestedItemService.getItemByOAIId(context,
+                "oai:remote:" + i, collection)));
+        }
+    }
+
+    private String getTitle(Item item) {
+        assertNotNull(item);
+        List<String> titles = itemService.getMetadata(item, "dc", "title", null, Item.ANY).stream()
+                                         .map(value -> value.getValue()).toList();
+        assertEquals(1, titles.size());
+        return titles.get(0);
+    }
+
+    private String respond(RecordedRequest request) {
+        String verb = request.getRequestUrl().queryParameter("verb");
+        String token = request.getRequestUrl().queryParameter("resumptionToken");
+        if ("Identify".equals(verb)) {
+            return "<request verb=\"Identify\"/><Identify><repositoryName>Remote</repositoryName>"
+                + "<granularity>YYYY-MM-DDThh:mm:ssZ</granularity></Identify>";
+        } else if ("ListMetadataFormats".equals(verb)) {
+            return "<request verb=\"ListMetadataFormats\"/><ListMetadataFormats><metadataFormat>"
+                + "<metadataPrefix>oai_dc</metadataPrefix>"
+                + "<schema>http://www.openarchives.org/OAI/2.0/oai_dc.xsd</schema>"
+                + "<metadataNamespace>http://www.openarchives.org/OAI/2.0/oai_dc/</metadataNamespace>"
+                + "</metadataFormat></ListMetadataFormats>";
+        } else if ("ListRecords".equals(verb) && token == null) {
+            return "<request verb=\"ListRecords\"/><ListRecords>"
+                + record("oai:remote:1", "2020-01-01T00:00:00Z", "Record one, first version")
+                + record("oai:remote:2", "2020-01-01T00:00:00Z", "Record 2")
+                + record("oai:remote:1", "2099-01-01T00:00:00Z", "Record one, second version")
+                + "<resumptionToken completeListSize=\"5\" cursor=\"0\">page2</resumptionToken>"
+                + "</ListRecords>";
+        } else if ("ListRecords".equals(verb) && "page2".equals(token)) {
+            return "<request verb=\"ListRecords\"/><ListRecords>"
+                + record("oai:remote:3", "2020-01-01T00:00:00Z", "Record 3")
+                + record("oai:remote:4", "2020-01-01T00:00:00Z", "Record 4")
+                + "<resumptionToken completeListSize=\"5\" cursor=\"3\"/>"
+                + "</ListRecords>";
+        }
+        return "<request/><error code=\"badVerb\">Unexpected request</error>";
+    }
+
+    private static String record(String identifier, String datestamp, String title) {
+        return "<record><header><identifier>" + identifier + "</identifier><datestamp>" + datestamp
+            + "</datestamp></header><metadata>"
+            + "<oai_dc:dc xmlns:oai_dc=\"http://www.openarchives.org/OAI/2.0/oai_dc/\""
+            + " xmlns:dc=\"http://purl.org/dc/elements/1.1/\">"
+            + "<dc:title>" + title + "</dc:title></oai_dc:dc></metadata></record>";
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.DOIBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.identifier.DOI;
+import org.dspace.identifier.DOIIdentifierProvider;
+import org.dspace.identifier.factory.IdentifierServiceFactory;
+import org.dspace.identifier.service.DOIService;
+import org.dspace.kernel.ServiceManager;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of {@link DOIOrganiser}, against a mocked DOI registration agency.
+ */
+public class DOIOrganiserIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ServiceManager serviceManager = DSpaceServicesFactory.getInstance().getServiceManager();
+
+    private final DOIService doiService = IdentifierServiceFactory.getInstance().getDOIService();
+
+    private DOIIdentifierProvider provider;
+
+    private DOIConnector connector;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        provider = serviceManager.getServiceByName(DOIIdentifierProvider.class.getName(),
+                                                   DOIIdentifierProvider.class);
+        connector = mock(DOIConnector.class);
+        provider.setDOIConnector(connector);
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        provider.setDOIConnector(serviceManager.getServiceByName(DOIConnector.class.getName(), DOIConnector.class));
+        super.destroy();
+    }
+
+    @Test
+    public void testUpdateAllWithFailingDOI() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        List<String> dois = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Item item = ItemBuilder.createItem(context, collection).withTitle("Item " + i).build();
+            String doi = "10.5072/dspace-organiser-failing-" + i;
+            DOIBuilder.createDOI(context).withDoi(doi).withDSpaceObject(item)
+                      .withStatus(DOIIdentifierProvider.UPDATE_REGISTERED).build();
+            dois.add(doi);
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // the update of one DOI in the middle of the batch fails after a change of it reached the database
+        String failingDoi = dois.get(2);
+        doAnswer(invocation -> {
+            Context organiserContext = invocation.getArgument(0);
+            DOI doiRow = doiService.findByDoi(organiserContext, failingDoi);
+            doiRow.setStatus(DOIIdentifierProvider.DELETED);
+            doiService.update(organiserContext, doiRow);
+            // the query flushes the change
+            doiService.getDOIsByStatus(organiserContext, List.of(DOIIdentifierProvider.DELETED));
+            throw new IllegalStateException("The registration agency is not available");
+        }).when(connector).updateMetadata(any(Context.class), any(DSpaceObject.class), eq(DOI.SCHEME + failingDoi));
+
+        DOIOrganiser organiser = new DOIOrganiser(context, provider);
+        DOIOrganiser.runCLI(context, organiser, new String[] {"-u", "-q"});
+
+        context.uncacheEntities();
+        for (String doi : dois) {
+            Integer expectedStatus = doi.equals(failingDoi) ? DOIIdentifierProvider.UPDATE_REGISTERED
+                : DOIIdentifierProvider.IS_REGISTERED;
+            assertEquals(doi, expectedStatus, doiService.findByDoi(context, doi).getStatus());
+        }
+    }
+
+    @Test
+    public void testUpdateAllWithThreads() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        List<String> dois = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = ItemBuilder.createItem(context, collection).withTitle("Item " + i).build();
+            String doi = "10.5072/dspace-organiser-" + i;
+            DOIBuilder.createDOI(context).withDoi(doi).withDSpaceObject(item)
+                      .withStatus(DOIIdentifierProvider.UPDATE_REGISTERED).build();
+            dois.add(doi);
+        }
+        context.restoreAuthSystemState();
+        // the workers of the organiser only see committed data
+        context.commit();
+
+        DOIOrganiser organiser = new DOIOrganiser(context, provider);
+        DOIOrganiser.runCLI(context, organiser, new String[] {"-u", "-q", "-t", "4"});
+
+        context.uncacheEntities();
+        for (String doi : dois) {
+            assertEquals(DOIIdentifierProvider.IS_REGISTERED, doiService.findByDoi(context, doi).getStatus());
+            verify(connector).updateMetadata(any(Context.class), any(DSpaceObject.class), eq(DOI.SCHEME + doi));
+        }
+    }
+}
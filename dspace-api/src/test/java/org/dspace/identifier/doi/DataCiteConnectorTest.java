@@ -0,0 +1,112 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.identifier.DOI;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of the HTTP requests of {@link DataCiteConnector}, against a local HTTP server.
+ */
+public class DataCiteConnectorTest extends AbstractDSpaceTest {
+
+    private static final String DOI_NAME = DOI.SCHEME + "10.5072/dspace-connector";
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private MockWebServer mockServer;
+
+    private DataCiteConnector connector;
+
+    @Before
+    public void setUp() throws Exception {
+        mockServer = new MockWebServer();
+        mockServer.start();
+        configurationService.setProperty(DataCiteConnector.CFG_USER, "user");
+        configurationService.setProperty(DataCiteConnector.CFG_PASSWORD, "password");
+
+        connector = new DataCiteConnector();
+        connector.setConfigurationService(configurationService);
+        connector.setDATACITE_SCHEME("http");
+        connector.setDATACITE_HOST(mockServer.getHostName() + ":" + mockServer.getPort());
+        connector.setDATACITE_DOI_PATH("doi");
+        connector.setDATACITE_METADATA_PATH("metadata");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        configurationService.setProperty(DataCiteConnector.CFG_USER, null);
+        configurationService.setProperty(DataCiteConnector.CFG_PASSWORD, null);
+        configurationService.setProperty(DataCiteConnector.CFG_MAX_CONNECTIONS, null);
+        configurationService.setProperty(DataCiteConnector.CFG_RATE, null);
+        mockServer.shutdown();
+    }
+
+    /**
+     * Test that all requests share one pooled client, and that every response is closed: with a single connection
+     * in the pool, a response left open would block the next request, and each request is sent over the same
+     * connection.
+     */
+    @Test(timeout = 30000)
+    public void testPooledClient() throws Exception {
+        configurationService.setProperty(DataCiteConnector.CFG_MAX_CONNECTIONS, 1);
+        for (int i = 0; i < 3; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(200).setBody("<resource/>"));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(connector.isDOIReserved(null, DOI_NAME));
+        }
+
+        assertSame(connector.getHttpClient(), connector.getHttpClient());
+        assertEquals(3, mockServer.getRequestCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("/metadata/10.5072/dspace-connector", mockServer.takeRequest().getPath());
+        }
+        // the sequence number counts the requests sent over the same connection
+        mockServer.enqueue(new MockResponse().setResponseCode(404));
+        connector.isDOIReserved(null, DOI_NAME);
+        assertEquals(3, mockServer.takeRequest().getSequenceNumber());
+    }
+
+    /**
+     * Test that the requests are spread to respect the configured rate.
+     */
+    @Test(timeout = 30000)
+    public void testThrottle() throws Exception {
+        configurationService.setProperty(DataCiteConnector.CFG_RATE, 10);
+        for (int i = 0; i < 5; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(404));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            connector.isDOIReserved(null, DOI_NAME);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // the first request is sent at once, the next four 100 ms apart
+        assertTrue("Requests were sent after " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms",
+                   elapsed >= TimeUnit.MILLISECONDS.toNanos(400));
+        assertEquals(5, mockServer.getRequestCount());
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.canvasdimension;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.event.Event;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of {@link IIIFCanvasDimensionConsumer}.
+ */
+public class IIIFCanvasDimensionConsumerIT extends AbstractIntegrationTestWithDatabase {
+
+    private final static String METADATA_IIIF_HEIGHT = "iiif.image.height";
+    private final static String METADATA_IIIF_WIDTH = "iiif.image.width";
+
+    private Collection collection;
+
+    private IIIFCanvasDimensionConsumer consumer;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection").build();
+        context.restoreAuthSystemState();
+
+        consumer = new IIIFCanvasDimensionConsumer();
+        consumer.initialize();
+    }
+
+    @Test
+    public void testDimensionsSetWhenItemIsInstalled() throws Exception {
+        Item item = createIIIFItem();
+        Bitstream bitstream = createImage(item, "cat.jpg", "image/jpeg");
+
+        consumer.consume(context, new Event(Event.INSTALL, Constants.ITEM, item.getID(), null));
+        consumer.end(context);
+
+        // The test image is small so the canvas dimension should be doubled, e.g. height 200 -> height 400
+        assertEquals(List.of("600"), getValues(bitstream, METADATA_IIIF_WIDTH));
+        assertEquals(List.of("400"), getValues(bitstream, METADATA_IIIF_HEIGHT));
+        // The change of the bitstream is dispatched with the events of the current transaction
+        assertTrue(context.hasEvents());
+        assertTrue(context.getEvents().stream()
+                          .anyMatch(e -> e.getSubjectType() == Constants.BITSTREAM
+                              && e.getEventType() == Event.MODIFY_METADATA
+                              && e.getSubjectID().equals(bitstream.getID())));
+    }
+
+    @Test
+    public void testDimensionsSetWhenImageIsAdded() throws Exception {
+        Item item = createIIIFItem();
+        Bitstream bitstream = createImage(item, "cat.jpg", "image/jpeg");
+
+        consumer.consume(context, new Event(Event.ADD, Constants.BUNDLE, bitstream.getBundles().get(0).getID(),
+                                            Constants.BITSTREAM, bitstream.getID(), null));
+        consumer.end(context);
+
+        assertEquals(List.of("600"), getValues(bitstream, METADATA_IIIF_WIDTH));
+        assertEquals(List.of("400"), getValues(bitstream, METADATA_IIIF_HEIGHT));
+    }
+
+    @Test
+    public void testImageServerNotQueried() throws Exception {
+        Item item = createIIIFItem();
+        // Not readable by ImageIO, the mock image server would answer 64 x 64
+        Bitstream bitstream = createImage(item, "cat.jp2", "image/jp2");
+
+        consumer.consume(context, new Event(Event.INSTALL, Constants.ITEM, item.getID(), null));
+        consumer.end(context);
+
+        assertEquals(List.of(), getValues(bitstream, METADATA_IIIF_WIDTH));
+        assertEquals(List.of(), getValues(bitstream, METADATA_IIIF_HEIGHT));
+    }
+
+    @Test
+    public void testItemWithoutIIIFSkipped() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Test Item").build();
+        context.restoreAuthSystemState();
+        Bitstream bitstream = createImage(item, "cat.jpg", "image/jpeg");
+
+        consumer.consume(context, new Event(Event.INSTALL, Constants.ITEM, item.getID(), null));
+        consumer.end(context);
+
+        assertEquals(List.of(), getValues(bitstream, METADATA_IIIF_WIDTH));
+    }
+
+    private Item createIIIFItem() {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Test Item")
+                               .enableIIIF()
+                               .build();
+        context.restoreAuthSystemState();
+        return item;
+    }
+
+    private Bitstream createImage(Item item, String resource, String mimeType) throws Exception {
+        context.turnOffAuthorisationSystem();
+        try (InputStream input = getClass().getResourceAsStream(resource)) {
+            return BitstreamBuilder.createBitstream(context, item, input)
+                                   .withName(resource)
+                                   .withMimeType(mimeType)
+                                   .build();
+        } finally {
+            context.restoreAuthSystemState();
+        }
+    }
+
+    private List<String> getValues(Bitstream bitstream, String field) {
+        return bitstream.getMetadata().stream()
+                        .filter(m -> m.getMetadataField().toString('.').contentEquals(field))
+                        .map(m -> m.getValue())
+                        .collect(Collectors.toList());
+    }
+}
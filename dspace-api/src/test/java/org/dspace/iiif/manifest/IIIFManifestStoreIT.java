@@ -0,0 +1,91 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.iiif.manifest.service.IIIFManifestStore;
+import org.dspace.utils.DSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of {@link IIIFManifestStoreImpl}.
+ */
+public class IIIFManifestStoreIT extends AbstractIntegrationTestWithDatabase {
+
+    private final IIIFManifestStore manifestStore = new DSpace().getServiceManager()
+        .getServicesByType(IIIFManifestStore.class).get(0);
+
+    private Item item;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Test Item").build();
+        context.restoreAuthSystemState();
+        // the store works in transactions of its own, which only see committed data
+        context.commit();
+    }
+
+    @Test
+    public void testStore() throws Exception {
+        assertNull(manifestStore.find(context, item.getID()));
+
+        manifestStore.store(item.getID(), "manifest", manifestStore.getVersion(item.getID()));
+
+        assertEquals("manifest", manifestStore.find(context, item.getID()));
+    }
+
+    @Test
+    public void testStoreSkippedWhenInvalidatedMeanwhile() throws Exception {
+        long version = manifestStore.getVersion(item.getID());
+        // the item changes while its manifest is generated
+        manifestStore.invalidate(context, item.getID());
+        context.commit();
+
+        manifestStore.store(item.getID(), "outdated manifest", version);
+        assertNull(manifestStore.find(context, item.getID()));
+
+        long newVersion = manifestStore.getVersion(item.getID());
+        assertNotEquals(version, newVersion);
+        manifestStore.store(item.getID(), "manifest", newVersion);
+        assertEquals("manifest", manifestStore.find(context, item.getID()));
+    }
+
+    @Test
+    public void testStoreSkippedWhenAllInvalidatedMeanwhile() throws Exception {
+        long version = manifestStore.getVersion(item.getID());
+        manifestStore.invalidateAll(context);
+        context.commit();
+
+        manifestStore.store(item.getID(), "outdated manifest", version);
+
+        assertNull(manifestStore.find(context, item.getID()));
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        manifestStore.store(item.getID(), "manifest", manifestStore.getVersion(item.getID()));
+
+        manifestStore.invalidate(context, item.getID());
+        context.commit();
+
+        assertNull(manifestStore.find(context, item.getID()));
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.rdf;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.event.Event;
+import org.dspace.rdf.factory.RDFFactory;
+import org.dspace.rdf.factory.RDFFactoryImpl;
+import org.dspace.rdf.storage.MemoryRDFStorage;
+import org.dspace.rdf.storage.RDFStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the {@link RDFConsumer}, storing into an in-memory dataset instead of a triple store.
+ */
+public class RDFConsumerIT extends AbstractIntegrationTestWithDatabase {
+
+    private RDFFactoryImpl rdfFactory;
+    private RDFStorage originalStorage;
+    private MemoryRDFStorage storage;
+
+    private Item item;
+
+    private RDFConsumer consumer;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        rdfFactory = (RDFFactoryImpl) RDFFactory.getInstance();
+        originalStorage = rdfFactory.getRDFStorage();
+        storage = new MemoryRDFStorage();
+        rdfFactory.setStorage(storage);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Test Item").build();
+        context.restoreAuthSystemState();
+
+        consumer = new RDFConsumer();
+        consumer.initialize();
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        rdfFactory.setStorage(originalStorage);
+        super.destroy();
+    }
+
+    @Test
+    public void testEventsOfOneItemStoredOnce() throws Exception {
+        consumer.consume(context, new Event(Event.CREATE, Constants.ITEM, item.getID(), null));
+        consumer.consume(context, new Event(Event.MODIFY_METADATA, Constants.ITEM, item.getID(), null));
+        consumer.consume(context, new Event(Event.MODIFY, Constants.ITEM, item.getID(), null));
+        consumer.consume(context, new Event(Event.MODIFY_METADATA, Constants.ITEM, item.getID(), null));
+        consumer.end(context);
+
+        // the item is converted once and stored by a single request
+        assertEquals(1, storage.getRequests());
+        assertEquals(List.of(RDFUtil.generateIdentifier(context, item)), storage.getAllStoredGraphs());
+    }
+
+    @Test
+    public void testEventsOfOneItemStoredOnceInEveryTransaction() throws Exception {
+        consumer.consume(context, new Event(Event.MODIFY_METADATA, Constants.ITEM, item.getID(), null));
+        consumer.consume(context, new Event(Event.MODIFY_METADATA, Constants.ITEM, item.getID(), null));
+        consumer.end(context);
+        consumer.consume(context, new Event(Event.MODIFY_METADATA, Constants.ITEM, item.getID(), null));
+        consumer.end(context);
+
+        assertEquals(2, storage.getRequests());
+    }
+}
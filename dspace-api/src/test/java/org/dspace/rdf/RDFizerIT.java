@@ -0,0 +1,135 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.rdf;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Context;
+import org.dspace.rdf.factory.RDFFactory;
+import org.dspace.rdf.factory.RDFFactoryImpl;
+import org.dspace.rdf.storage.MemoryRDFStorage;
+import org.dspace.rdf.storage.RDFStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the bulk conversion of the {@link RDFizer}, storing into an in-memory dataset instead of a
+ * triple store.
+ */
+public class RDFizerIT extends AbstractIntegrationTestWithDatabase {
+
+    private RDFFactoryImpl rdfFactory;
+    private RDFStorage originalStorage;
+    private MemoryRDFStorage storage;
+
+    private Collection collection;
+    private final List<Item> items = new ArrayList<>();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        rdfFactory = (RDFFactoryImpl) RDFFactory.getInstance();
+        originalStorage = rdfFactory.getRDFStorage();
+        storage = new MemoryRDFStorage();
+        rdfFactory.setStorage(storage);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection").build();
+        for (int i = 0; i < 3; i++) {
+            items.add(ItemBuilder.createItem(context, collection).withTitle("Item " + i).build());
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        rdfFactory.setStorage(originalStorage);
+        super.destroy();
+    }
+
+    @Test
+    public void testConvertAllInParallelBatches() throws Exception {
+        Context rdfContext = new Context(Context.Mode.READ_ONLY);
+        try {
+            RDFizer rdfizer = new RDFizer();
+            rdfizer.overrideContext(rdfContext);
+            rdfizer.setThreads(2);
+            rdfizer.setBatchSize(2);
+            rdfizer.convertAll();
+        } finally {
+            rdfContext.abort();
+        }
+
+        assertThat(storage.getAllStoredGraphs(), containsInAnyOrder(expectedGraphs().toArray()));
+        // the site, the community, the collection and the three items are stored in batches of two
+        assertEquals(3, storage.getRequests());
+    }
+
+    @Test
+    public void testConvertAllToNQuads() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Context rdfContext = new Context(Context.Mode.READ_ONLY);
+        try {
+            RDFizer rdfizer = new RDFizer();
+            rdfizer.overrideContext(rdfContext);
+            rdfizer.setThreads(2);
+            rdfizer.setNQuadsOutput(output);
+            rdfizer.convertAll();
+            rdfizer.finishNQuads();
+        } finally {
+            rdfContext.abort();
+        }
+
+        assertThat(storage.getAllStoredGraphs(), empty());
+        Dataset dataset = DatasetFactory.create();
+        RDFDataMgr.read(dataset, new ByteArrayInputStream(output.toByteArray()), Lang.NQUADS);
+        List<String> graphs = new ArrayList<>();
+        Iterator<String> names = dataset.listNames();
+        while (names.hasNext()) {
+            graphs.add(names.next());
+        }
+        assertThat(graphs, containsInAnyOrder(expectedGraphs().toArray()));
+    }
+
+    private List<String> expectedGraphs() throws Exception {
+        List<String> graphs = new ArrayList<>();
+        graphs.add(RDFUtil.generateIdentifier(context, ContentServiceFactory.getInstance().getSiteService()
+                                                                            .findSite(context)));
+        graphs.add(RDFUtil.generateIdentifier(context, context.reloadEntity(parentCommunity)));
+        graphs.add(RDFUtil.generateIdentifier(context, context.reloadEntity(collection)));
+        for (Item item : items) {
+            graphs.add(RDFUtil.generateIdentifier(context, context.reloadEntity(item)));
+        }
+        return graphs;
+    }
+}
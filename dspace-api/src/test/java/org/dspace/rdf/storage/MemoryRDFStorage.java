@@ -0,0 +1,97 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.rdf.storage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.system.Txn;
+
+/**
+ * {@link RDFStorage} keeping the named graphs in an in-memory transactional dataset, standing in for a triple store
+ * in tests. It counts the requests a remote triple store would get: {@link #storeAll(Map)} counts as one request, like
+ * the single SPARQL update sent by {@link RDFStorageImpl} when an update endpoint is configured (see
+ * RDFStorageImplTest).
+ */
+public class MemoryRDFStorage implements RDFStorage {
+
+    private final Dataset dataset = DatasetFactory.createTxnMem();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Override
+    public void store(String uri, Model model) {
+        requests.incrementAndGet();
+        put(uri, model);
+    }
+
+    @Override
+    public void storeAll(Map<String, Model> models) {
+        requests.incrementAndGet();
+        for (Map.Entry<String, Model> entry : models.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void put(String uri, Model model) {
+        Txn.executeWrite(dataset, () -> dataset.replaceNamedModel(uri, model));
+    }
+
+    @Override
+    public Model load(String uri) {
+        return Txn.calculateRead(dataset, () -> {
+            if (!dataset.containsNamedModel(uri)) {
+                return null;
+            }
+            return ModelFactory.createDefaultModel().add(dataset.getNamedModel(uri));
+        });
+    }
+
+    @Override
+    public void delete(String uri) {
+        requests.incrementAndGet();
+        Txn.executeWrite(dataset, () -> dataset.removeNamedModel(uri));
+    }
+
+    @Override
+    public void deleteAll() {
+        requests.incrementAndGet();
+        Txn.executeWrite(dataset, () -> {
+            for (String graph : getAllStoredGraphs()) {
+                dataset.removeNamedModel(graph);
+            }
+            dataset.getDefaultModel().removeAll();
+        });
+    }
+
+    @Override
+    public List<String> getAllStoredGraphs() {
+        return Txn.calculateRead(dataset, () -> {
+            List<String> graphs = new ArrayList<>();
+            Iterator<String> names = dataset.listNames();
+            while (names.hasNext()) {
+                graphs.add(names.next());
+            }
+            return graphs;
+        });
+    }
+
+    /**
+     * @return the number of requests sent to this storage
+     */
+    public int getRequests() {
+        return requests.get();
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.rdf.storage;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.sparql.modify.request.UpdateDrop;
+import org.apache.jena.update.Update;
+import org.apache.jena.update.UpdateRequest;
+import org.dspace.rdf.RDFUtil;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link RDFStorageImpl#storeAll(Map)}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RDFStorageImplTest {
+
+    private static final String FIRST_URI = "http://localhost/rdf/resource/123456789/1";
+    private static final String SECOND_URI = "http://localhost/rdf/resource/123456789/2";
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private RDFConnection connection;
+
+    @Mock
+    private RDFConnection updateConnection;
+
+    private RDFStorageImpl storage;
+
+    private final Map<String, Model> models = new LinkedHashMap<>();
+
+    @Before
+    public void setUp() {
+        storage = new RDFStorageImpl();
+        storage.configurationService = configurationService;
+        storage.connection = connection;
+        storage.updateConnection = updateConnection;
+
+        models.put(FIRST_URI, createModel(FIRST_URI, "First item"));
+        models.put(SECOND_URI, createModel(SECOND_URI, "Second item"));
+    }
+
+    @Test
+    public void testStoreAllWithOneUpdateRequest() {
+        when(configurationService.getProperty(RDFUtil.STORAGE_UPDATE_ENDPOINT_KEY))
+            .thenReturn("http://localhost/sparql/update");
+
+        storage.storeAll(models);
+
+        ArgumentCaptor<UpdateRequest> captor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(updateConnection).update(captor.capture());
+        verifyNoInteractions(connection);
+
+        // the named graphs are dropped and all data is inserted again by the same request
+        List<Update> operations = captor.getValue().getOperations();
+        assertThat(operations.size(), is(3));
+        assertDrop(operations.get(0), FIRST_URI);
+        assertDrop(operations.get(1), SECOND_URI);
+        assertThat(operations.get(2), instanceOf(UpdateDataInsert.class));
+        List<Quad> expectedQuads = new ArrayList<>(quadsOf(FIRST_URI));
+        expectedQuads.addAll(quadsOf(SECOND_URI));
+        assertThat(((UpdateDataInsert) operations.get(2)).getQuads(), containsInAnyOrder(expectedQuads.toArray()));
+    }
+
+    @Test
+    public void testStoreAllWithoutUpdateEndpoint() {
+        storage.storeAll(models);
+
+        // every graph is put into the graph store on its own
+        verify(connection).put(FIRST_URI, models.get(FIRST_URI));
+        verify(connection).put(SECOND_URI, models.get(SECOND_URI));
+        verifyNoInteractions(updateConnection);
+    }
+
+    private void assertDrop(Update operation, String uri) {
+        assertThat(operation, instanceOf(UpdateDrop.class));
+        assertThat(((UpdateDrop) operation).getGraph(), is(NodeFactory.createURI(uri)));
+        assertThat(((UpdateDrop) operation).isSilent(), is(true));
+    }
+
+    private List<Quad> quadsOf(String uri) {
+        Node graph = NodeFactory.createURI(uri);
+        return models.get(uri).getGraph().find().mapWith(triple -> new Quad(graph, triple)).toList();
+    }
+
+    private Model createModel(String uri, String title) {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource(uri).addProperty(model.createProperty("http://purl.org/dc/terms/title"), title);
+        return model;
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.scripts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ProcessLogWriter}.
+ */
+public class ProcessLogWriterTest {
+
+    private static final String LOG_NAME = "1-test.log";
+
+    private static final Pattern DISCARDED = Pattern.compile("^\\[(\\d+) bytes of earlier log output discarded\\]$");
+
+    /**
+     * The length of the lines written by {@link #appendLines(int, int)}, including the line separator
+     */
+    private static final int LINE_LENGTH = "line 00".length() + System.lineSeparator().length();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ProcessLogWriter writer;
+
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = folder.newFolder("processes");
+        writer = new ProcessLogWriter(60000, 0, 5);
+    }
+
+    @After
+    public void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    public void testAppendIsWrittenOnClose() throws IOException {
+        writer.append(dir, LOG_NAME, "first line");
+        writer.append(dir, LOG_NAME, "second line");
+        writer.close(LOG_NAME);
+
+        List<String> lines = FileUtils.readLines(new File(dir, LOG_NAME), StandardCharsets.UTF_8);
+        assertThat(lines, hasSize(2));
+        assertThat(lines.get(0), is("first line"));
+        assertThat(lines.get(1), is("second line"));
+    }
+
+    @Test
+    public void testReadFollowsRunningLog() throws IOException {
+        writer.append(dir, LOG_NAME, "first line");
+        ProcessLogChunk chunk = writer.read(dir, LOG_NAME, 0, 1024);
+        assertThat(chunk.getContent(), containsString("first line"));
+        assertThat(chunk.isComplete(), is(false));
+
+        writer.append(dir, LOG_NAME, "second line");
+        ProcessLogChunk next = writer.read(dir, LOG_NAME, chunk.getNextOffset(), 1024);
+        assertThat(next.getContent(), not(containsString("first line")));
+        assertThat(next.getContent(), containsString("second line"));
+
+        writer.close(LOG_NAME);
+        ProcessLogChunk last = writer.read(dir, LOG_NAME, next.getNextOffset(), 1024);
+        assertThat(last.getContent(), is(""));
+        assertThat(last.isComplete(), is(true));
+    }
+
+    @Test
+    public void testReadOnlyReturnsCompleteLines() throws IOException {
+        writer.append(dir, LOG_NAME, "0123456789");
+        writer.append(dir, LOG_NAME, "abcdefghij");
+        ProcessLogChunk chunk = writer.read(dir, LOG_NAME, 0, 15);
+        assertThat(chunk.getContent().trim(), is("0123456789"));
+    }
+
+    @Test
+    public void testRollingBySize() throws IOException {
+        writer.shutdown();
+        writer = new ProcessLogWriter(60000, 30, 2);
+        for (int i = 0; i < 10; i++) {
+            writer.append(dir, LOG_NAME, "line number " + i);
+        }
+        writer.close(LOG_NAME);
+
+        List<File> files = writer.getLogFiles(dir, LOG_NAME);
+        assertThat(files, hasSize(3));
+        assertThat(files.get(2).getName(), is(LOG_NAME));
+        String current = FileUtils.readFileToString(files.get(2), StandardCharsets.UTF_8);
+        assertThat(current, containsString("line number 9"));
+
+        writer.delete(dir, LOG_NAME);
+        assertThat(writer.getLogFiles(dir, LOG_NAME), hasSize(0));
+    }
+
+    @Test
+    public void testPagedReadAcrossRolls() throws IOException {
+        writer.shutdown();
+        // Three lines per file, the current file and one backup are retained
+        writer = new ProcessLogWriter(60000, 30, 1);
+        appendLines(0, 20);
+        StringBuilder live = new StringBuilder();
+        ProcessLogChunk chunk = writer.read(dir, LOG_NAME, 0, 2 * LINE_LENGTH);
+        live.append(chunk.getContent());
+        // Roll the lines the reader is about to read out of the retained files
+        appendLines(20, 40);
+        long offset = chunk.getNextOffset();
+        do {
+            chunk = writer.read(dir, LOG_NAME, offset, 2 * LINE_LENGTH);
+            live.append(chunk.getContent());
+            offset = chunk.getNextOffset();
+        } while (!chunk.getContent().isEmpty());
+        assertLinesFollowEachOther(live.toString(), 40);
+
+        long discarded = writer.close(LOG_NAME);
+        assertThat(discarded, greaterThan(0L));
+        ProcessLogChunk closed = writer.read(dir, LOG_NAME, offset, 2 * LINE_LENGTH);
+        assertThat(closed.getContent(), is(""));
+        assertThat(closed.getNextOffset(), is(offset));
+        assertThat(closed.isComplete(), is(true));
+
+        // The stored log keeps the offsets of the live log and starts with the marker of the discarded output
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write((ProcessLogWriter.getDiscardedLine(discarded) + "\n").getBytes(StandardCharsets.UTF_8));
+        for (File file : writer.getLogFiles(dir, LOG_NAME)) {
+            out.write(FileUtils.readFileToByteArray(file));
+        }
+        byte[] stored = out.toByteArray();
+        StringBuilder read = new StringBuilder();
+        offset = 0;
+        do {
+            chunk = ProcessLogWriter.readStored(new ByteArrayInputStream(stored), stored.length, offset,
+                                                2 * LINE_LENGTH);
+            read.append(chunk.getContent());
+            offset = chunk.getNextOffset();
+        } while (!chunk.isComplete());
+        assertThat(read.toString(), startsWith(ProcessLogWriter.getDiscardedLine(discarded)));
+        assertLinesFollowEachOther(read.toString(), 40);
+        assertThat(offset, is(40L * LINE_LENGTH));
+    }
+
+    private void appendLines(int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            writer.append(dir, LOG_NAME, String.format("line %02d", i));
+        }
+    }
+
+    /**
+     * Check that the given log output holds every line up to {@code count}, without duplicates, where a discarded
+     * marker stands for the lines it skips.
+     */
+    private void assertLinesFollowEachOther(String output, int count) {
+        int expected = 0;
+        for (String line : output.split("\n")) {
+            Matcher matcher = DISCARDED.matcher(line);
+            if (matcher.matches()) {
+                expected += Long.parseLong(matcher.group(1)) / LINE_LENGTH;
+            } else {
+                assertThat(line, is(String.format("line %02d", expected)));
+                expected++;
+            }
+        }
+        assertThat(expected, is(count));
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import static java.util.Arrays.asList;
+import static org.dspace.core.Constants.BITSTREAM;
+import static org.dspace.core.Constants.ITEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.statistics.SolrStatisticsCore;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.dao.UsageRollupDAO;
+import org.dspace.statistics.rollup.service.UsageRollupService;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration test for the {@link UsageRollupService}.
+ */
+public class UsageRollupServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final UsageRollupService usageRollupService =
+        StatisticsServiceFactory.getInstance().getUsageRollupService();
+
+    private final SolrStatisticsCore solrStatisticsCore = new DSpace().getSingletonService(SolrStatisticsCore.class);
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    private Item item;
+    private String bitstreamId;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("usage-statistics.rollup.enabled", true);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+
+        bitstreamId = UUID.randomUUID().toString();
+        String itemId = item.getID().toString();
+        addView(ITEM, itemId, null, "US", today.minusDays(3));
+        addView(ITEM, itemId, null, "US", today.minusDays(1));
+        addView(ITEM, itemId, null, "NL", today.minusDays(1));
+        addView(ITEM, itemId, null, "BE", today);
+        addView(BITSTREAM, bitstreamId, itemId, "US", today.minusDays(1));
+
+        // searches and bots are not counted
+        addSolrDocument(asList(
+            Pair.of("id", itemId),
+            Pair.of("type", ITEM),
+            Pair.of("statistics_type", "search"),
+            Pair.of("time", toTime(today.minusDays(1)))
+        ));
+        addSolrDocument(asList(
+            Pair.of("id", itemId),
+            Pair.of("type", ITEM),
+            Pair.of("isBot", true),
+            Pair.of("time", toTime(today.minusDays(1)))
+        ));
+        solrStatisticsCore.getSolr().commit();
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        // the statistics core still contains the usage events, so only remove the rollups
+        usageRollupService.rollup(context, today.minusDays(10), true);
+        super.destroy();
+    }
+
+    @Test
+    public void testRollup() throws Exception {
+        assertFalse(usageRollupService.isAvailable(context));
+
+        assertEquals(3, usageRollupService.rollup(context, today, false));
+
+        assertTrue(usageRollupService.isAvailable(context));
+        assertEquals(today, usageRollupService.getRolledUpUntil(context));
+        assertEquals(4, usageRollupService.getViews(context, item));
+
+        Map<String, Long> countries = usageRollupService.getViewsPerCountry(context, item, 10);
+        assertEquals(List.of("US", "BE", "NL"), List.copyOf(countries.keySet()));
+        assertEquals(Long.valueOf(2), countries.get("US"));
+        assertEquals(1, usageRollupService.getViewsPerCountry(context, item, 1).size());
+
+        assertEquals(Map.of(item.getID().toString(), 4L), usageRollupService.getMostViewed(context, ITEM, 10));
+        assertEquals(Map.of(bitstreamId, 1L), usageRollupService.getBitstreamViews(context, item, 10));
+
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        Map<YearMonth, Long> months = usageRollupService.getViewsPerMonth(context, item, month.minusMonths(1), month);
+        assertEquals(List.of(month.minusMonths(1), month), List.copyOf(months.keySet()));
+        assertEquals(4, months.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void testRollupAgain() throws Exception {
+        usageRollupService.rollup(context, today, false);
+
+        // only the last rolled up day is aggregated again, without counting its views twice
+        assertEquals(1, usageRollupService.rollup(context, today, false));
+        assertEquals(4, usageRollupService.getViews(context, item));
+
+        assertEquals(3, usageRollupService.rollup(context, today, true));
+        assertEquals(4, usageRollupService.getViews(context, item));
+    }
+
+    @Test
+    public void testTailOnly() throws Exception {
+        usageRollupService.rollupDay(context, today.minusDays(3));
+
+        // the views of the days after the rolled up day are counted by Solr
+        assertEquals(today.minusDays(2), usageRollupService.getRolledUpUntil(context));
+        assertEquals(4, usageRollupService.getViews(context, item));
+        assertEquals(Long.valueOf(2), usageRollupService.getViewsPerCountry(context, item, 10).get("US"));
+        assertEquals(Map.of(bitstreamId, 1L), usageRollupService.getBitstreamViews(context, item, 10));
+    }
+
+    @Test
+    public void testOnlyOneRollupRunsAtATime() throws Exception {
+        UsageRollupDAO usageRollupDAO = new DSpace().getServiceManager()
+                                                    .getServicesByType(UsageRollupDAO.class).get(0);
+        Instant now = Instant.now();
+        // another node is rolling up
+        assertTrue(usageRollupDAO.lock(context, "other-node", now, now.plus(Duration.ofHours(1))));
+        context.commit();
+        try {
+            assertEquals(0, usageRollupService.rollup(context, today, false));
+            assertEquals(0, usageRollupService.rollupDay(context, today.minusDays(1)));
+            assertFalse(usageRollupService.isAvailable(context));
+        } finally {
+            usageRollupDAO.unlock(context, "other-node");
+            context.commit();
+        }
+
+        assertEquals(3, usageRollupService.rollup(context, today, false));
+        assertEquals(4, usageRollupService.getViews(context, item));
+    }
+
+    @Test
+    public void testExpiredLockIsTakenOver() throws Exception {
+        UsageRollupDAO usageRollupDAO = new DSpace().getServiceManager()
+                                                    .getServicesByType(UsageRollupDAO.class).get(0);
+        Instant now = Instant.now();
+        // a node died while rolling up
+        assertTrue(usageRollupDAO.lock(context, "dead-node", now.minus(Duration.ofHours(2)),
+                                       now.minus(Duration.ofHours(1))));
+        context.commit();
+
+        assertEquals(3, usageRollupService.rollup(context, today, false));
+        assertEquals(4, usageRollupService.getViews(context, item));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        usageRollupService.rollup(context, today, false);
+        configurationService.setProperty("usage-statistics.rollup.enabled", false);
+
+        assertFalse(usageRollupService.isAvailable(context));
+    }
+
+    private void addView(int type, String id, String owningItem, String countryCode, LocalDate day)
+        throws IOException, SolrServerException {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", id);
+        document.addField("type", type);
+        document.addField("statistics_type", "view");
+        document.addField("countryCode", countryCode);
+        document.addField("time", toTime(day));
+        if (owningItem != null) {
+            document.addField("owningItem", owningItem);
+        }
+        solrStatisticsCore.getSolr().add(document);
+    }
+
+    private void addSolrDocument(List<Pair<String, Object>> fields) throws IOException, SolrServerException {
+        SolrInputDocument document = new SolrInputDocument();
+        for (Pair<String, Object> field : fields) {
+            document.addField(field.getKey(), field.getValue());
+        }
+        solrStatisticsCore.getSolr().add(document);
+    }
+
+    private String toTime(LocalDate day) {
+        return day.atTime(LocalTime.NOON).toInstant(ZoneOffset.UTC).toString();
+    }
+}
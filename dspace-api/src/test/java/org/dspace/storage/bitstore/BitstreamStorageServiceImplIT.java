@@ -10,11 +10,14 @@ package org.dspace.storage.bitstore;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -185,6 +188,74 @@ public class BitstreamStorageServiceImplIT extends AbstractIntegrationTestWithDa
         assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(3));
     }
 
+    /**
+     * Test that bitstreams cloned for a new item version share the stored file, which is copied once during a
+     * migration and only removed from the source assetstore when the last of them was migrated.
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testMigrateClonedBitstreams() throws Exception {
+        LimitedTempDSBitStoreService destinationStore = new LimitedTempDSBitStoreService(tempStoreDir,
+                                                                                         Integer.MAX_VALUE);
+        bitstreamStorageService.getStores().put(DEST_STORE, destinationStore);
+
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Shared bitstream");
+        Bitstream clone = bitstreamStorageService.clone(context, bitstream);
+        context.commit();
+
+        bitstreamStorageService.migrate(context, SOURCE_STORE, DEST_STORE, true, 1);
+        context.commit();
+
+        assertThat(destinationStore.putCallCount, equalTo(1));
+        assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(2));
+        DSBitStoreService sourceStore = (DSBitStoreService) bitstreamStorageService.getStores().get(SOURCE_STORE);
+        assertThat(sourceStore.getFile(bitstream).exists(), is(false));
+        assertThat(read(context.reloadEntity(bitstream)), equalTo("Shared bitstream"));
+        assertThat(read(context.reloadEntity(clone)), equalTo("Shared bitstream"));
+
+        bitstreamService.delete(context, context.reloadEntity(clone));
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    /**
+     * Test that the cleanup only removes a stored file shared by cloned bitstreams once all of them are deleted.
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testCleanupClonedBitstreams() throws Exception {
+        DSBitStoreService sourceStore = (DSBitStoreService) bitstreamStorageService.getStores().get(SOURCE_STORE);
+
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Shared bitstream");
+        Bitstream clone = bitstreamStorageService.clone(context, bitstream);
+        // files modified in the last hour are skipped by the cleanup
+        sourceStore.getFile(bitstream).setLastModified(Instant.now().minus(2, ChronoUnit.HOURS).toEpochMilli());
+
+        bitstreamService.delete(context, bitstream);
+        context.commit();
+        bitstreamStorageService.cleanup(true, false);
+
+        assertThat(sourceStore.getFile(clone).exists(), is(true));
+        assertThat(read(context.reloadEntity(clone)), equalTo("Shared bitstream"));
+
+        bitstreamService.delete(context, context.reloadEntity(clone));
+        context.restoreAuthSystemState();
+        context.commit();
+        bitstreamStorageService.cleanup(true, false);
+
+        assertThat(sourceStore.getFile(clone).exists(), is(false));
+    }
+
+    private String read(Bitstream bitstream) throws SQLException, IOException {
+        try (InputStream inputStream = bitstreamStorageService.retrieve(context, bitstream)) {
+            return IOUtils.toString(inputStream, UTF_8);
+        }
+    }
+
     private void createBitstreams(Context context, int numBitstreams)
         throws SQLException {
         context.turnOffAuthorisationSystem();
@@ -7,13 +7,16 @@
  */
 package org.dspace.xmlworkflow;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.List;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.io.IOUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.ResourcePolicy;
@@ -24,6 +27,8 @@ import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.EPersonBuilder;
 import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.WorkflowItemBuilder;
+import org.dspace.content.Bitstream;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
@@ -40,6 +45,7 @@ import org.dspace.xmlworkflow.service.XmlWorkflowService;
 import org.dspace.xmlworkflow.state.Workflow;
 import org.dspace.xmlworkflow.state.actions.processingaction.SelectReviewerAction;
 import org.dspace.xmlworkflow.storedcomponents.ClaimedTask;
+import org.dspace.xmlworkflow.storedcomponents.XmlWorkflowItem;
 import org.junit.After;
 import org.junit.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -197,6 +203,47 @@ public class XmlWorkflowServiceIT extends AbstractIntegrationTestWithDatabase {
         assertTrue(this.containsRPForUser(task.getWorkflowItem().getItem(), reviewer2, Constants.WRITE));
     }
 
+    /**
+     * Test to verify that with workflow.policies.item-only the workflow policies are only granted on the item, and
+     * the reviewers can still access the bitstreams of the workflow item through the policies of the item
+     */
+    @Test
+    public void workflowPoliciesItemOnly_BitstreamsAuthorizedThroughItem() throws Exception {
+        configurationService.setProperty("workflow.policies.item-only", true);
+        context.turnOffAuthorisationSystem();
+        EPerson submitter = EPersonBuilder.createEPerson(context).withEmail("submitter@example.org").build();
+        EPerson reviewer = EPersonBuilder.createEPerson(context).withEmail("reviewer@example.org").build();
+        EPerson other = EPersonBuilder.createEPerson(context).withEmail("other@example.org").build();
+        context.setCurrentUser(submitter);
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection colWithWorkflow = CollectionBuilder.createCollection(context, community)
+                                                      .withName("Collection WITH workflow")
+                                                      .withWorkflowGroup(1, reviewer)
+                                                      .build();
+        XmlWorkflowItem workflowItem;
+        try (InputStream is = IOUtils.toInputStream("Test file", "UTF-8")) {
+            workflowItem = WorkflowItemBuilder.createWorkflowItem(context, colWithWorkflow)
+                                              .withTitle("Test workflow item")
+                                              .withFulltext("test.txt", "test", is)
+                                              .build();
+        }
+        context.restoreAuthSystemState();
+
+        Item item = workflowItem.getItem();
+        Bitstream bitstream = item.getBundles("ORIGINAL").get(0).getBitstreams().get(0);
+        for (ResourcePolicy rp : authorizeService.getPolicies(context, bitstream)) {
+            assertFalse(ResourcePolicy.TYPE_WORKFLOW.equals(rp.getRpType()));
+        }
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, reviewer, bitstream, Constants.READ, true));
+        assertTrue(authorizeService.authorizeActionBoolean(context, reviewer, bitstream, Constants.WRITE, true));
+        assertTrue(authorizeService.authorizeActionBoolean(context, reviewer, bitstream.getBundles().get(0),
+                                                           Constants.ADD, true));
+        assertFalse(authorizeService.authorizeActionBoolean(context, other, bitstream, Constants.READ, true));
+    }
+
     private boolean containsRPForUser(Item item, EPerson user, int action) throws SQLException {
         List<ResourcePolicy> rps = authorizeService.getPolicies(context, item);
         for (ResourcePolicy rp : rps) {
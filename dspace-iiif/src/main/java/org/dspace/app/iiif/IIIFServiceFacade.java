@@ -19,6 +19,7 @@ import org.dspace.content.Item;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
+import org.dspace.iiif.manifest.service.IIIFManifestStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -55,6 +56,9 @@ public class IIIFServiceFacade {
     @Autowired
     IIIFUtils utils;
 
+    @Autowired
+    IIIFManifestStore manifestStore;
+
     /**
      * The manifest response contains sufficient information for the client to initialize itself
      * and begin to display something quickly to the user. The manifest resource represents a single
@@ -62,17 +66,29 @@ public class IIIFServiceFacade {
      * includes the descriptive, rights and linking information for the object. It then embeds
      * the sequence(s) of canvases that should be rendered to the user.
      *
-     * Returns manifest for single DSpace item.
+     * Returns manifest for single DSpace item. The manifest is kept in the node-local "manifests" cache, or in the
+     * persistent manifest store shared by all nodes if enabled.
      *
      * @param id DSpace Item uuid
      * @return manifest as JSON
      */
-    @Cacheable(key = "#id.toString()", cacheNames = "manifests")
+    @Cacheable(key = "#id.toString()", cacheNames = "manifests", condition = "#root.target.isManifestCacheEnabled()")
     @PreAuthorize("hasPermission(#id, 'ITEM', 'READ')")
     public String getManifest(Context context, UUID id)
             throws ResourceNotFoundException {
+        String manifest = null;
+        long version = IIIFManifestStore.NO_VERSION;
         Item item;
         try {
+            if (manifestStore.isEnabled()) {
+                manifest = manifestStore.find(context, id);
+                if (manifest == null) {
+                    // Read before the item, so that the manifest is not stored if the item changes meanwhile
+                    version = manifestStore.getVersion(id);
+                    // The item may have been loaded by the authorization check already
+                    context.uncacheEntity(itemService.find(context, id));
+                }
+            }
             item = itemService.find(context, id);
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage(), e);
@@ -80,7 +96,24 @@ public class IIIFServiceFacade {
         if (item == null || !utils.isIIIFEnabled(item)) {
             throw new ResourceNotFoundException("IIIF manifest for  id " + id + " not found");
         }
-        return manifestService.getManifest(item, context);
+        if (!manifestStore.isEnabled()) {
+            return manifestService.getManifest(item, context);
+        }
+        if (manifest == null) {
+            manifest = manifestService.getManifest(item, context);
+            manifestStore.store(id, manifest, version);
+        }
+        return manifest;
+    }
+
+    /**
+     * The node-local manifests cache is not used with the persistent manifest store, as it could not be
+     * invalidated on the other nodes.
+     *
+     * @return true if manifests are kept in the "manifests" cache
+     */
+    public boolean isManifestCacheEnabled() {
+        return !manifestStore.isEnabled();
     }
 
     /**
@@ -58,6 +58,11 @@ public class CanvasService extends AbstractResourceService {
 
     protected String[] BITSTREAM_METADATA_FIELDS;
 
+    /**
+     * Whether image dimensions missing from the bitstream metadata are retrieved from the image server.
+     */
+    protected boolean DIMENSIONS_LOOKUP;
+
     /**
      * Used when default dimensions are set to -1 in configuration.
      */
@@ -73,6 +78,7 @@ public class CanvasService extends AbstractResourceService {
     public CanvasService(ConfigurationService configurationService) {
         setConfiguration(configurationService);
         BITSTREAM_METADATA_FIELDS = configurationService.getArrayProperty("iiif.metadata.bitstream");
+        DIMENSIONS_LOOKUP = configurationService.getBooleanProperty("iiif.canvas.dimensions.lookup", true);
         // Set default dimensions in parent class.
         setDefaultCanvasDimensions();
     }
@@ -81,7 +87,8 @@ public class CanvasService extends AbstractResourceService {
      * Checks for "iiif.image.width" metadata in IIIF bundles. When bitstream
      * metadata is not found for the first image in the bundle this method updates the
      * default canvas dimensions for the request based on the actual image dimensions,
-     * using the IIIF image service. Called once for each manifest.
+     * using the IIIF image service, unless "iiif.canvas.dimensions.lookup" is disabled.
+     * Called once for each manifest.
      * @param bundles IIIF bundles for this item
      */
     protected void guessCanvasDimensions(Context context, List<Bundle> bundles) {
@@ -95,7 +102,7 @@ public class CanvasService extends AbstractResourceService {
                         // check for width dimension
                         if (!utils.hasWidthMetadata(bitstream)) {
                             // get the dimensions of the image.
-                            int[] imageDims = utils.getImageDimensions(bitstream);
+                            int[] imageDims = DIMENSIONS_LOOKUP ? utils.getImageDimensions(bitstream) : null;
                             if (imageDims != null && imageDims.length == 2) {
                                 // update the fallback dimensions
                                 defaultCanvasWidthFallback = imageDims[0];
@@ -123,7 +130,11 @@ public class CanvasService extends AbstractResourceService {
         if (DEFAULT_CANVAS_HEIGHT == -1 && DEFAULT_CANVAS_WIDTH == -1) {
             // When the default dimension is -1, update default dimensions when the
             // image has no width metadata.
-            if (bitstream.getMetadata().stream().noneMatch(m -> m.getMetadataField().toString('.')
+            if (!DIMENSIONS_LOOKUP) {
+                // the dimensions are only taken from the metadata, use fallback otherwise.
+                dynamicDefaultWidth = defaultCanvasWidthFallback;
+                dynamicDefaultHeight = defaultCanvasHeightFallback;
+            } else if (bitstream.getMetadata().stream().noneMatch(m -> m.getMetadataField().toString('.')
                                                                  .contentEquals(METADATA_IMAGE_WIDTH))) {
                 int[] imageDims = utils.getImageDimensions(bitstream);
                 if (imageDims != null && imageDims.length == 2) {
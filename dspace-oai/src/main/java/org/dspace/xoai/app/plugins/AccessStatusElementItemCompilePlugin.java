@@ -58,7 +58,7 @@ public class AccessStatusElementItemCompilePlugin implements XOAIExtensionItemCo
             String accessStatusType = accessStatusResult.getStatus();
             LocalDate availabilityDate = accessStatusResult.getAvailabilityDate();
             String embargoFromItem = null;
-            if (accessStatusType == DefaultAccessStatusHelper.EMBARGO && availabilityDate != null) {
+            if (DefaultAccessStatusHelper.EMBARGO.equals(accessStatusType) && availabilityDate != null) {
                 embargoFromItem = availabilityDate.toString();
             }
 
@@ -0,0 +1,81 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFIER_AS_DIGIT;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.dspace.app.rest.exception.DSpaceBadRequestException;
+import org.dspace.app.rest.model.ProcessRest;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.authorize.AuthorizeException;
+import org.dspace.core.Context;
+import org.dspace.scripts.Process;
+import org.dspace.scripts.ProcessLogChunk;
+import org.dspace.scripts.service.ProcessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This controller allows following the log output of a {@link Process} incrementally, so that clients don't need to
+ * re-read the whole output bitstream to show progress.
+ * The log is returned as plain text, starting at the given offset. The offset to use on the next call is returned in
+ * the {@link #NEXT_OFFSET_HEADER} header, and {@link #COMPLETE_HEADER} is true once the log won't grow anymore.
+ * <pre>
+ * curl -X GET /api/system/processes/{id}/log?offset=0&amp;size=65536
+ * </pre>
+ */
+@RestController
+@RequestMapping("/api/" + ProcessRest.CATEGORY + "/" + ProcessRest.PLURAL_NAME
+    + REGEX_REQUESTMAPPING_IDENTIFIER_AS_DIGIT + "/log")
+public class ProcessLogRestController {
+
+    public static final String NEXT_OFFSET_HEADER = "DSpace-Log-Next-Offset";
+
+    public static final String COMPLETE_HEADER = "DSpace-Log-Complete";
+
+    private static final int MAX_SIZE = 1024 * 1024;
+
+    @Autowired
+    private ProcessService processService;
+
+    @GetMapping(produces = MediaType.TEXT_PLAIN_VALUE)
+    @PreAuthorize("hasPermission(#id, 'PROCESS', 'READ')")
+    public ResponseEntity<String> tail(@PathVariable Integer id,
+                                       @RequestParam(name = "offset", defaultValue = "0") long offset,
+                                       @RequestParam(name = "size", defaultValue = "65536") int size,
+                                       HttpServletRequest request)
+        throws SQLException, IOException, AuthorizeException {
+        if (offset < 0 || size <= 0) {
+            throw new DSpaceBadRequestException("The offset must not be negative and the size must be positive");
+        }
+        Context context = ContextUtil.obtainContext(request);
+        Process process = processService.find(context, id);
+        if (process == null) {
+            throw new ResourceNotFoundException("Process with id " + id + " was not found");
+        }
+        ProcessLogChunk chunk = processService.readLog(context, process, offset, Math.min(size, MAX_SIZE));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(NEXT_OFFSET_HEADER, String.valueOf(chunk.getNextOffset()));
+        headers.add(COMPLETE_HEADER, String.valueOf(chunk.isComplete()));
+        headers.setCacheControl("no-store");
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.TEXT_PLAIN).body(chunk.getContent());
+    }
+}
@@ -15,6 +15,7 @@ import java.util.TimeZone;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.Filter;
+import org.dspace.access.status.AccessStatusUpdate;
 import org.dspace.app.ldn.LDNQueueExtractor;
 import org.dspace.app.ldn.LDNQueueTimeoutChecker;
 import org.dspace.app.rest.filter.DSpaceRequestContextFilter;
@@ -25,12 +26,16 @@ import org.dspace.app.rest.utils.DSpaceAPIRequestLoggingFilter;
 import org.dspace.app.sitemap.GenerateSitemaps;
 import org.dspace.app.solrdatabaseresync.SolrDatabaseResyncCli;
 import org.dspace.app.util.DSpaceContextListener;
+import org.dspace.core.MailOutbox;
 import org.dspace.google.GoogleAsyncEventListener;
+import org.dspace.statistics.rollup.UsageRollupScript;
 import org.dspace.utils.servlet.DSpaceWebappServletFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.hateoas.server.LinkRelationProvider;
 import org.springframework.lang.NonNull;
@@ -88,11 +93,30 @@ public class WebApplication {
         SolrDatabaseResyncCli.runScheduled();
     }
 
+    @Scheduled(cron = "${usage-statistics.rollup.cron:-}")
+    public void usageRollup() throws Exception {
+        UsageRollupScript.runScheduled();
+    }
+
+    @Scheduled(cron = "${access.status.store.cron:-}")
+    public void updateAccessStatus() throws Exception {
+        AccessStatusUpdate.runScheduled();
+    }
+
     @Scheduled(cron = "${google.analytics.cron:-}")
     public void sendGoogleAnalyticsEvents() {
         googleAsyncEventListener.sendCollectedEvents();
     }
 
+    /**
+     * Start sending the mail queued in the outbox once the webapp is up, instead of waiting for the first mail sent
+     * by the webapp itself, as command-line tools only queue their mail.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMailOutbox() {
+        MailOutbox.startIfEnabled();
+    }
+
     /**
      * Register the "DSpaceContextListener" so that it is loaded
      * for this Application.
@@ -185,7 +209,9 @@ public class WebApplication {
                                 "X-Requested-With", "X-XSRF-TOKEN", "X-CORRELATION-ID", "X-REFERRER",
                                 "x-captcha-payload")
                             // Allow list of response headers allowed to be sent by us (the server) to the client
-                            .exposedHeaders("Authorization", "DSPACE-XSRF-TOKEN", "Location", "WWW-Authenticate");
+                            .exposedHeaders("Authorization", "DSPACE-XSRF-TOKEN", "Location", "WWW-Authenticate",
+                                ProcessLogRestController.NEXT_OFFSET_HEADER,
+                                ProcessLogRestController.COMPLETE_HEADER);
                 }
                 if (iiifAllowedOrigins != null) {
                     registry.addMapping("/iiif/**").allowedMethods(CorsConfiguration.ALL)
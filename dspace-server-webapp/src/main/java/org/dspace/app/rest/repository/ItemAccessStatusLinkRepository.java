@@ -56,7 +56,7 @@ public class ItemAccessStatusLinkRepository extends AbstractDSpaceRestRepository
             AccessStatusRest accessStatusRest = new AccessStatusRest();
             AccessStatus accessStatus = accessStatusService.getAccessStatus(context, item);
             String status = accessStatus.getStatus();
-            if (status == DefaultAccessStatusHelper.EMBARGO) {
+            if (DefaultAccessStatusHelper.EMBARGO.equals(status)) {
                 LocalDate availabilityDate = accessStatus.getAvailabilityDate();
                 String embargoDate = availabilityDate.toString();
                 accessStatusRest.setEmbargoDate(embargoDate);
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.text.ParseException;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 import com.nimbusds.jose.CompressionAlgorithm;
 import com.nimbusds.jose.EncryptionMethod;
@@ -30,6 +31,9 @@ import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.util.DateUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
@@ -76,9 +80,17 @@ public abstract class JWTTokenHandler {
     @Autowired
     private ClientInfoService clientInfoService;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
+    private volatile VerifiedTokenCache verifiedTokenCache;
+
+    // The server keys the cached tokens were verified with
+    private volatile String cachedServerKeys;
+
     /**
      * Get the configuration property key for the token secret.
      * @return the configuration property key
@@ -109,6 +121,18 @@ public abstract class JWTTokenHandler {
      */
     protected abstract String getCompressionEnabledConfigurationKey();
 
+    /**
+     * Get the configuration property key for the time verified tokens are cached.
+     * @return the configuration property key
+     */
+    protected abstract String getCacheTimeToLiveConfigurationKey();
+
+    /**
+     * Get the configuration property key for the maximum number of verified tokens cached.
+     * @return the configuration property key
+     */
+    protected abstract String getCacheSizeConfigurationKey();
+
     /**
      * Retrieve EPerson from a JSON Web Token (JWT)
      *
@@ -125,6 +149,31 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+        // a token verified recently is resolved from the cache, without parsing its claims
+        VerifiedTokenCache cache = getVerifiedTokenCache();
+        String tokenDigest = null;
+        if (cache.isEnabled()) {
+            checkServerKeys(cache);
+            tokenDigest = VerifiedTokenCache.digest(token);
+            VerifiedTokenCache.VerifiedToken verifiedToken = cache.get(tokenDigest);
+            if (verifiedToken != null) {
+                EPerson ePerson = ePersonService.find(context, verifiedToken.getEPersonId());
+                // an empty session salt means the EPerson logged out, possibly on another node
+                if (ePerson != null && StringUtils.isNotBlank(ePerson.getSessionSalt())) {
+                    log.debug("Received cached valid token for username: {}", ePerson::getEmail);
+
+                    context.setCurrentUser(ePerson);
+                    for (UUID groupId : verifiedToken.getSpecialGroups()) {
+                        context.setSpecialGroup(groupId);
+                    }
+                    context.setAuthenticationMethod(verifiedToken.getAuthenticationMethod());
+
+                    return ePerson;
+                }
+                cache.invalidate(tokenDigest);
+            }
+        }
+
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -140,6 +189,10 @@ public abstract class JWTTokenHandler {
             for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
                 jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
             }
+            if (tokenDigest != null) {
+                cache.put(tokenDigest, ePerson.getID(), context.getSpecialGroupUuids(),
+                          context.getAuthenticationMethod(), jwtClaimsSet.getExpirationTime().toInstant());
+            }
 
             return ePerson;
         } else {
@@ -198,11 +251,53 @@ public abstract class JWTTokenHandler {
             EPerson ePerson = parseEPersonFromToken(token, request, context);
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
+                // the new session salt invalidates all tokens of the EPerson
+                getVerifiedTokenCache().invalidateEPerson(ePerson.getID());
             }
 
         }
     }
 
+    /**
+     * Get the cache of verified tokens, creating it on first use from the configured time to live and size.
+     * @return the cache of verified tokens
+     */
+    public VerifiedTokenCache getVerifiedTokenCache() {
+        if (verifiedTokenCache == null) {
+            synchronized (this) {
+                if (verifiedTokenCache == null) {
+                    VerifiedTokenCache cache = new VerifiedTokenCache(
+                        configurationService.getLongProperty(getCacheTimeToLiveConfigurationKey(), 60000),
+                        configurationService.getIntProperty(getCacheSizeConfigurationKey(), 10000));
+                    registerMetrics(cache);
+                    verifiedTokenCache = cache;
+                }
+            }
+        }
+        return verifiedTokenCache;
+    }
+
+    /**
+     * Register the statistics of the cache of verified tokens as metrics, if metrics are available.
+     * @param cache the cache of verified tokens
+     */
+    private void registerMetrics(VerifiedTokenCache cache) {
+        if (meterRegistry == null || !cache.isEnabled()) {
+            return;
+        }
+        String handler = getClass().getSimpleName();
+        FunctionCounter.builder("dspace.jwt.cache.requests", cache, VerifiedTokenCache::getHits)
+                       .tag("handler", handler).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("dspace.jwt.cache.requests", cache, VerifiedTokenCache::getMisses)
+                       .tag("handler", handler).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("dspace.jwt.cache.evictions", cache, VerifiedTokenCache::getEvictions)
+                       .tag("handler", handler).register(meterRegistry);
+        FunctionCounter.builder("dspace.jwt.cache.invalidations", cache, VerifiedTokenCache::getInvalidations)
+                       .tag("handler", handler).register(meterRegistry);
+        Gauge.builder("dspace.jwt.cache.size", cache, VerifiedTokenCache::size)
+             .tag("handler", handler).register(meterRegistry);
+    }
+
     /**
      * Retrieve the token secret key from configuration. If not specified, generate and cache a random 32 byte key
      * @return configuration value or random 32 byte key
@@ -280,11 +375,35 @@ public abstract class JWTTokenHandler {
             JWSVerifier verifier = new MACVerifier(buildSigningKey(ePerson));
 
             //If token is valid and not expired return eperson in token
-            java.util.Date expirationTime = jwtClaimsSet.getExpirationTime();
-            return signedJWT.verify(verifier)
-                && expirationTime != null
-                //Ensure expiration timestamp is after the current time, with a minute of acceptable clock skew.
-                && DateUtils.isAfter(expirationTime, java.util.Date.from(Instant.now()), MAX_CLOCK_SKEW_SECONDS);
+            return signedJWT.verify(verifier) && isNotExpired(jwtClaimsSet);
+        }
+    }
+
+    /**
+     * Determine if the expiration time of a JWT is still to come.
+     * @param jwtClaimsSet claims set of the JWT
+     * @return true if the JWT has an expiration time after the current time
+     */
+    protected boolean isNotExpired(JWTClaimsSet jwtClaimsSet) {
+        java.util.Date expirationTime = jwtClaimsSet.getExpirationTime();
+        return expirationTime != null
+            //Ensure expiration timestamp is after the current time, with a minute of acceptable clock skew.
+            && DateUtils.isAfter(expirationTime, java.util.Date.from(Instant.now()), MAX_CLOCK_SKEW_SECONDS);
+    }
+
+    /**
+     * Empty the cache of verified tokens if the server keys changed since the cached tokens were verified: the server
+     * part of the signing key and, if tokens are encrypted, the encryption key.
+     * @param cache the cache of verified tokens
+     */
+    private void checkServerKeys(VerifiedTokenCache cache) {
+        String serverKeys = getJwtKey();
+        if (isEncryptionEnabled()) {
+            serverKeys += new String(getEncryptionKey());
+        }
+        if (!serverKeys.equals(cachedServerKeys)) {
+            cache.invalidateAll();
+            cachedServerKeys = serverKeys;
         }
     }
 
@@ -416,6 +535,7 @@ public abstract class JWTTokenHandler {
                 log.debug("Regenerating auth token as session salt was either empty or expired..");
                 ePerson.setSessionSalt(generateRandomKey());
                 ePersonService.update(context, ePerson);
+                getVerifiedTokenCache().invalidateEPerson(ePerson.getID());
             }
 
         } catch (AuthorizeException e) {
@@ -39,4 +39,14 @@ public class LoginJWTTokenHandler extends JWTTokenHandler {
     protected String getCompressionEnabledConfigurationKey() {
         return "jwt.login.compression.enabled";
     }
+
+    @Override
+    protected String getCacheTimeToLiveConfigurationKey() {
+        return "jwt.login.cache.ttl";
+    }
+
+    @Override
+    protected String getCacheSizeConfigurationKey() {
+        return "jwt.login.cache.size";
+    }
 }
@@ -48,14 +48,23 @@ public class ShortLivedJWTTokenHandler extends JWTTokenHandler {
             JWSVerifier verifier = new MACVerifier(buildSigningKey(ePerson));
 
             //If token is valid and not expired return eperson in token
-            java.util.Date expirationTime = jwtClaimsSet.getExpirationTime();
-            return signedJWT.verify(verifier)
-                && expirationTime != null
-                //Ensure expiration timestamp is after the current time
-                && DateUtils.isAfter(expirationTime, java.util.Date.from(Instant.now()), 0);
+            return signedJWT.verify(verifier) && isNotExpired(jwtClaimsSet);
         }
     }
 
+    /**
+     * Determine if the expiration time of a JWT is still to come, without any clock skew.
+     * @param jwtClaimsSet claims set of the JWT
+     * @return true if the JWT has an expiration time after the current time
+     */
+    @Override
+    protected boolean isNotExpired(JWTClaimsSet jwtClaimsSet) {
+        java.util.Date expirationTime = jwtClaimsSet.getExpirationTime();
+        return expirationTime != null
+            //Ensure expiration timestamp is after the current time
+            && DateUtils.isAfter(expirationTime, java.util.Date.from(Instant.now()), 0);
+    }
+
     /**
      * The session salt doesn't need to be updated for short lived tokens.
      * @param context current DSpace Context
@@ -91,4 +100,14 @@ public class ShortLivedJWTTokenHandler extends JWTTokenHandler {
     protected String getCompressionEnabledConfigurationKey() {
         return "jwt.shortLived.compression.enabled";
     }
+
+    @Override
+    protected String getCacheTimeToLiveConfigurationKey() {
+        return "jwt.shortLived.cache.ttl";
+    }
+
+    @Override
+    protected String getCacheSizeConfigurationKey() {
+        return "jwt.shortLived.cache.size";
+    }
 }
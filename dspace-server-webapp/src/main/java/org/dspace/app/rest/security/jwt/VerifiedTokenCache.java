@@ -0,0 +1,215 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of tokens whose signature was verified recently, so that the many requests made with the same token
+ * in a short time do not parse, decrypt and verify it again, nor parse its claims.
+ * <p>
+ * Tokens are only kept as a SHA-256 digest, see {@link #digest(String)}. Every entry holds what the verification of
+ * the token resolved: the EPerson, the special groups and the authentication method, which are set on the context
+ * instead of calling the {@link JWTClaimProvider}s again. Entries expire after the
+ * configured time to live, or when the token expires if that comes first. The least recently used entries are
+ * evicted when the cache is full. The tokens of an EPerson are removed when the EPerson logs out or gets a new
+ * session salt, all tokens are removed when the server key changes.
+ */
+public class VerifiedTokenCache {
+
+    private final long timeToLive;
+    private final int maxSize;
+    private final Map<String, VerifiedToken> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param timeToLive the time in milliseconds a verified token is cached
+     * @param maxSize    the maximum number of tokens cached
+     */
+    public VerifiedTokenCache(long timeToLive, int maxSize) {
+        this.timeToLive = timeToLive;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                if (size() > VerifiedTokenCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return true if tokens are cached at all
+     */
+    public boolean isEnabled() {
+        return timeToLive > 0 && maxSize > 0;
+    }
+
+    /**
+     * Get a cached token.
+     *
+     * @param tokenDigest the digest of the token
+     * @return what the verification of the token resolved, or null if the token is not cached or expired
+     */
+    public VerifiedToken get(String tokenDigest) {
+        VerifiedToken verifiedToken;
+        synchronized (entries) {
+            verifiedToken = entries.get(tokenDigest);
+            if (verifiedToken != null && verifiedToken.expires < System.currentTimeMillis()) {
+                entries.remove(tokenDigest);
+                evictions.incrementAndGet();
+                verifiedToken = null;
+            }
+        }
+        if (verifiedToken == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return verifiedToken;
+    }
+
+    /**
+     * Cache a token that was verified.
+     *
+     * @param tokenDigest          the digest of the token
+     * @param ePersonId            the EPerson of the token
+     * @param specialGroups        the special groups of the token
+     * @param authenticationMethod the authentication method of the token
+     * @param expirationTime       the expiration time of the token
+     */
+    public void put(String tokenDigest, UUID ePersonId, Set<UUID> specialGroups, String authenticationMethod,
+                    Instant expirationTime) {
+        long expires = Math.min(System.currentTimeMillis() + timeToLive, expirationTime.toEpochMilli());
+        VerifiedToken verifiedToken = new VerifiedToken(ePersonId, Set.copyOf(specialGroups), authenticationMethod,
+                                                        expires);
+        synchronized (entries) {
+            entries.put(tokenDigest, verifiedToken);
+        }
+    }
+
+    /**
+     * Remove a token from the cache.
+     *
+     * @param tokenDigest the digest of the token
+     */
+    public void invalidate(String tokenDigest) {
+        synchronized (entries) {
+            if (entries.remove(tokenDigest) != null) {
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove all tokens of an EPerson from the cache, e.g. on logout.
+     *
+     * @param ePersonId the EPerson
+     */
+    public void invalidateEPerson(UUID ePersonId) {
+        synchronized (entries) {
+            entries.values().removeIf(verifiedToken -> {
+                if (verifiedToken.ePersonId.equals(ePersonId)) {
+                    invalidations.incrementAndGet();
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Remove all tokens from the cache, e.g. when the server key changed.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @param token the token
+     * @return the digest of the token the cache is looked up with
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * What the verification of a cached token resolved.
+     */
+    public static class VerifiedToken {
+        private final UUID ePersonId;
+        private final Set<UUID> specialGroups;
+        private final String authenticationMethod;
+        private final long expires;
+
+        VerifiedToken(UUID ePersonId, Set<UUID> specialGroups, String authenticationMethod, long expires) {
+            this.ePersonId = ePersonId;
+            this.specialGroups = specialGroups;
+            this.authenticationMethod = authenticationMethod;
+            this.expires = expires;
+        }
+
+        public UUID getEPersonId() {
+            return ePersonId;
+        }
+
+        public Set<UUID> getSpecialGroups() {
+            return specialGroups;
+        }
+
+        public String getAuthenticationMethod() {
+            return authenticationMethod;
+        }
+    }
+}
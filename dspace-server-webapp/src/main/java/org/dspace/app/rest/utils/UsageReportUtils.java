@@ -10,8 +10,13 @@ package org.dspace.app.rest.utils;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.text.ParseException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -24,6 +29,8 @@ import org.dspace.content.Bitstream;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.Site;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.handle.service.HandleService;
@@ -35,6 +42,9 @@ import org.dspace.statistics.content.DatasetTypeGenerator;
 import org.dspace.statistics.content.StatisticsDataVisits;
 import org.dspace.statistics.content.StatisticsListing;
 import org.dspace.statistics.content.StatisticsTable;
+import org.dspace.statistics.rollup.service.UsageRollupService;
+import org.dspace.statistics.util.LocationUtils;
+import org.dspace.util.UUIDUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Component;
@@ -53,6 +63,15 @@ public class UsageReportUtils {
     @Autowired
     private HandleService handleService;
 
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BitstreamService bitstreamService;
+
+    @Autowired
+    private UsageRollupService usageRollupService;
+
     public static final String TOTAL_VISITS_REPORT_ID = "TotalVisits";
     public static final String TOTAL_VISITS_PER_MONTH_REPORT_ID = "TotalVisitsPerMonth";
     public static final String TOTAL_DOWNLOADS_REPORT_ID = "TotalDownloads";
@@ -140,6 +159,24 @@ public class UsageReportUtils {
     private UsageReportRest resolveGlobalUsageReport(Context context)
         throws SQLException, IOException, ParseException, SolrServerException {
         int topItemsLimit = configurationService.getIntProperty("usage-statistics.topItemsLimit", 10);
+        if (usageRollupService.isAvailable(context)) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (Map.Entry<String, Long> views : usageRollupService
+                .getMostViewed(context, Constants.ITEM, topItemsLimit).entrySet()) {
+                UUID uuid = UUIDUtils.fromString(views.getKey());
+                Item item = uuid != null ? itemService.find(context, uuid) : null;
+                if (item != null) {
+                    UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
+                    totalVisitPoint.setType("item");
+                    totalVisitPoint.setId(item.getID().toString());
+                    totalVisitPoint.setLabel(item.getName());
+                    totalVisitPoint.addValue("views", views.getValue().intValue());
+                    usageReportRest.addPoint(totalVisitPoint);
+                }
+            }
+            usageReportRest.setReportType(TOTAL_VISITS_REPORT_ID);
+            return usageReportRest;
+        }
 
         StatisticsListing statListing = new StatisticsListing(
             new StatisticsDataVisits());
@@ -181,12 +218,18 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTotalVisits(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
-        Dataset dataset = this.getDSOStatsDataset(context, dso, 1, dso.getType());
-
         UsageReportRest usageReportRest = new UsageReportRest();
         UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
         totalVisitPoint.setType(StringUtils.substringAfterLast(dso.getClass().getName().toLowerCase(), "."));
         totalVisitPoint.setId(dso.getID().toString());
+        if (usageRollupService.isAvailable(context)) {
+            totalVisitPoint.setLabel(dso.getName());
+            totalVisitPoint.addValue("views", (int) usageRollupService.getViews(context, dso));
+            usageReportRest.addPoint(totalVisitPoint);
+            return usageReportRest;
+        }
+
+        Dataset dataset = this.getDSOStatsDataset(context, dso, 1, dso.getType());
         if (!dataset.getColLabels().isEmpty()) {
             totalVisitPoint.setLabel(dso.getName());
             totalVisitPoint.addValue("views", Integer.valueOf(dataset.getMatrix()[0][0]));
@@ -215,6 +258,24 @@ public class UsageReportUtils {
         String endDateInterval =
             configurationService.getProperty("usage-statistics.endDateInterval", "+1");
 
+        if (usageRollupService.isAvailable(context)) {
+            // same months as the date facet from NOW/MONTH+start to (excluding) NOW/MONTH+end
+            YearMonth now = YearMonth.now(ZoneOffset.UTC);
+            YearMonth from = now.plusMonths(Integer.parseInt(startDateInterval));
+            YearMonth to = now.plusMonths(Integer.parseInt(endDateInterval) - 1);
+            DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MMMM yyyy");
+
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (Map.Entry<YearMonth, Long> views : usageRollupService
+                .getViewsPerMonth(context, dso, from, to).entrySet()) {
+                UsageReportPointDateRest monthPoint = new UsageReportPointDateRest();
+                monthPoint.setId(monthFormat.format(views.getKey()));
+                monthPoint.addValue("views", views.getValue().intValue());
+                usageReportRest.addPoint(monthPoint);
+            }
+            return usageReportRest;
+        }
+
         StatisticsTable statisticsTable = new StatisticsTable(new StatisticsDataVisits(dso));
         DatasetTimeGenerator timeAxis = new DatasetTimeGenerator();
         timeAxis.setDateInterval("month", startDateInterval, endDateInterval);
@@ -253,6 +314,22 @@ public class UsageReportUtils {
             return this.resolveTotalVisits(context, dso);
         }
 
+        if (dso instanceof org.dspace.content.Item && usageRollupService.isAvailable(context)) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (Map.Entry<String, Long> views : usageRollupService
+                .getBitstreamViews(context, (Item) dso, 10).entrySet()) {
+                UUID uuid = UUIDUtils.fromString(views.getKey());
+                Bitstream bitstream = uuid != null ? bitstreamService.find(context, uuid) : null;
+                UsageReportPointDsoTotalVisitsRest totalDownloadsPoint = new UsageReportPointDsoTotalVisitsRest();
+                totalDownloadsPoint.setType("bitstream");
+                totalDownloadsPoint.setId(views.getKey());
+                totalDownloadsPoint.setLabel(bitstream != null ? bitstream.getName() : views.getKey());
+                totalDownloadsPoint.addValue("views", views.getValue().intValue());
+                usageReportRest.addPoint(totalDownloadsPoint);
+            }
+            return usageReportRest;
+        }
+
         if (dso instanceof org.dspace.content.Item) {
             Dataset dataset = this.getDSOStatsDataset(context, dso, 1, Constants.BITSTREAM);
 
@@ -287,6 +364,18 @@ public class UsageReportUtils {
         int topCountriesLimit =
             configurationService.getIntProperty("usage-statistics.topCountriesLimit", 100);
 
+        if (usageRollupService.isAvailable(context)) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            for (Map.Entry<String, Long> views : usageRollupService
+                .getViewsPerCountry(context, dso, topCountriesLimit).entrySet()) {
+                UsageReportPointCountryRest countryPoint = new UsageReportPointCountryRest();
+                countryPoint.setLabel(LocationUtils.getCountryName(views.getKey(), context.getCurrentLocale()));
+                countryPoint.addValue("views", views.getValue().intValue());
+                usageReportRest.addPoint(countryPoint);
+            }
+            return usageReportRest;
+        }
+
         Dataset dataset = this.getTypeStatsDataset(context, dso, "countryCode", topCountriesLimit, 1);
 
         UsageReportRest usageReportRest = new UsageReportRest();
@@ -33,6 +33,7 @@ import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.ItemBuilder;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
+import org.dspace.content.factory.ContentReportServiceFactory;
 import org.dspace.contentreport.Filter;
 import org.dspace.contentreport.FilteredCollection;
 import org.dspace.contentreport.QueryOperator;
@@ -89,6 +90,50 @@ public class ContentReportRestRepositoryIT extends AbstractControllerIntegration
                            Matchers.containsString("/api/contentreport/filteredcollections")));
     }
 
+    @Test
+    public void testStoredFilteredCollections() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        configurationService.setProperty("contentreport.enable", Boolean.TRUE);
+        configurationService.setProperty("contentreport.filteredcollections.stored", Boolean.TRUE);
+
+        try {
+            TestKit testKit = setupCollectionsAndItems();
+            Collection col1 = testKit.collections.get(0);
+            Collection col2 = testKit.collections.get(1);
+
+            ContentReportServiceFactory.getInstance().getContentReportService()
+                    .storeFilteredCollections(context, 2);
+            context.commit();
+
+            context.restoreAuthSystemState();
+            String token = getAuthToken(admin.getEmail(), password);
+
+            Map<Filter, Integer> valuesCol1 = Map.of(Filter.IS_DISCOVERABLE, 1, Filter.IS_WITHDRAWN, 0);
+            FilteredCollection fcol1 = FilteredCollection.of(col1.getName(), col1.getHandle(),
+                    parentCommunity.getName(), parentCommunity.getHandle(),
+                    1, 0, valuesCol1, true);
+            Map<Filter, Integer> valuesCol2 = Map.of(Filter.IS_DISCOVERABLE, 2, Filter.IS_WITHDRAWN, 0);
+            FilteredCollection fcol2 = FilteredCollection.of(col2.getName(), col2.getHandle(),
+                    parentCommunity.getName(), parentCommunity.getHandle(),
+                    2, 0, valuesCol2, true);
+
+            FilteredCollectionsQuery query =
+                    FilteredCollectionsQuery.of(Set.of(Filter.IS_DISCOVERABLE, Filter.IS_WITHDRAWN));
+
+            getClient(token).perform(get("/api/contentreport/filteredcollections?" + query.toQueryString()))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$.collections", Matchers.containsInAnyOrder(
+                               ContentReportMatcher.matchFilteredCollectionProperties(fcol1),
+                               ContentReportMatcher.matchFilteredCollectionProperties(fcol2)
+                       )))
+                       .andExpect(jsonPath("$.summary",
+                               ContentReportMatcher.matchFilteredCollectionSummary(3, 0)));
+        } finally {
+            configurationService.setProperty("contentreport.filteredcollections.stored", Boolean.FALSE);
+        }
+    }
+
     @Test
     public void testFilteredCollectionsUnauthorized() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -9,14 +9,21 @@ package org.dspace.app.rest;
 
 import static org.dspace.app.rest.matcher.ProcessMatcher.matchProcess;
 import static org.dspace.content.ProcessStatus.SCHEDULED;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -35,20 +42,26 @@ import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.builder.ProcessBuilder;
 import org.dspace.content.Bitstream;
 import org.dspace.content.ProcessStatus;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.scripts.DSpaceCommandLineParameter;
 import org.dspace.scripts.Process;
 import org.dspace.scripts.ProcessLogLevel;
+import org.dspace.scripts.ProcessLogWriter;
 import org.dspace.scripts.service.ProcessService;
 import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class ProcessRestRepositoryIT extends AbstractControllerIntegrationTest {
 
     @Autowired
     private ProcessService processService;
 
+    @Autowired
+    private BitstreamService bitstreamService;
+
     Process process;
 
     LinkedList<DSpaceCommandLineParameter> parameters = new LinkedList<>();
@@ -953,4 +966,76 @@ public class ProcessRestRepositoryIT extends AbstractControllerIntegrationTest {
                                             is("script_output")));
 
     }
+
+    @Test
+    public void tailProcessLog() throws Exception {
+        context.setCurrentUser(eperson);
+        Process process1 = ProcessBuilder.createProcess(context, eperson, "mock-script", parameters)
+                .withProcessStatus(ProcessStatus.RUNNING)
+                .build();
+
+        processService.appendLog(process1.getID(), process1.getName(), "first line", ProcessLogLevel.INFO);
+
+        String token = getAuthToken(eperson.getEmail(), password);
+        String firstOffset = getClient(token)
+            .perform(get("/api/system/processes/" + process1.getID() + "/log"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("first line")))
+            .andExpect(header().string(ProcessLogRestController.COMPLETE_HEADER, "false"))
+            .andReturn().getResponse().getHeader(ProcessLogRestController.NEXT_OFFSET_HEADER);
+
+        processService.appendLog(process1.getID(), process1.getName(), "second line", ProcessLogLevel.INFO);
+
+        getClient(token).perform(get("/api/system/processes/" + process1.getID() + "/log")
+                                     .param("offset", firstOffset))
+                        .andExpect(status().isOk())
+                        .andExpect(content().string(containsString("second line")))
+                        .andExpect(content().string(not(containsString("first line"))));
+
+        processService.createLogBitstream(context, process1);
+
+        getClient().perform(get("/api/system/processes/" + process1.getID() + "/log"))
+                   .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void readRolledProcessLog() throws Exception {
+        context.setCurrentUser(eperson);
+        Process process1 = ProcessBuilder.createProcess(context, eperson, "mock-script", parameters)
+                .withProcessStatus(ProcessStatus.RUNNING)
+                .build();
+
+        // Roll the log every few lines and only keep one backup, so the first lines are discarded
+        ProcessLogWriter writer = new ProcessLogWriter(60000, 200, 1);
+        ReflectionTestUtils.setField(processService, "processLogWriter", writer);
+        try {
+            for (int i = 0; i < 50; i++) {
+                processService.appendLog(process1.getID(), process1.getName(), String.format("line %02d", i),
+                                         ProcessLogLevel.INFO);
+            }
+            processService.createLogBitstream(context, process1);
+        } finally {
+            ReflectionTestUtils.setField(processService, "processLogWriter", null);
+            writer.shutdown();
+        }
+
+        Bitstream bitstream = processService.getBitstream(context, process1, Process.OUTPUT_TYPE);
+        String stored;
+        try (InputStream inputStream = bitstreamService.retrieve(context, bitstream)) {
+            stored = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+        String[] lines = stored.split("\n");
+        assertThat(lines[0], startsWith("["));
+        assertThat(lines[0], containsString("bytes of earlier log output discarded]"));
+        assertThat(stored, not(containsString("line 00")));
+        assertThat(lines[lines.length - 1], containsString("line 49"));
+
+        // Reading the stored log from the start returns the marker, followed by the retained output
+        String token = getAuthToken(eperson.getEmail(), password);
+        getClient(token).perform(get("/api/system/processes/" + process1.getID() + "/log"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().string(startsWith(lines[0] + "\n")))
+                        .andExpect(content().string(containsString("line 49")))
+                        .andExpect(header().string(ProcessLogRestController.COMPLETE_HEADER, "true"));
+    }
 }
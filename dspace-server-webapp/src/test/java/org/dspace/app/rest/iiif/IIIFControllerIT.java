@@ -7,7 +7,10 @@
  */
 package org.dspace.app.rest.iiif;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -21,6 +24,7 @@ import java.util.UUID;
 import jakarta.ws.rs.core.MediaType;
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.io.IOUtils;
+import org.dspace.app.iiif.service.utils.IIIFUtils;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.BundleBuilder;
@@ -34,12 +38,16 @@ import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.iiif.IIIFApiQueryService;
+import org.dspace.iiif.manifest.service.IIIFManifestStore;
 import org.dspace.services.ConfigurationService;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class IIIFControllerIT extends AbstractControllerIntegrationTest {
 
@@ -51,6 +59,12 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    private IIIFManifestStore manifestStore;
+
+    @Autowired
+    private IIIFUtils iiifUtils;
+
     @Test
     public void disabledTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -1400,6 +1414,121 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
                    .andExpect(jsonPath("$.metadata[0].value", is("Public item (revised)")));
     }
 
+    @Test
+    public void findOneWithStoredManifestRemovedAfterItemUpdate() throws Exception {
+        String patchRequestBody =
+                "[{\"op\": \"replace\",\"path\": \"/metadata/dc.title/0/value\",\"value\": \"Public item (revised)\"}]";
+
+        configurationService.setProperty("iiif.manifest.store.enabled", true);
+        try {
+            context.turnOffAuthorisationSystem();
+
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+            Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1")
+                                               .build();
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .enableIIIF()
+                                          .build();
+
+            try (InputStream is = IOUtils.toInputStream("ThisIsSomeDummyText", CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, publicItem1, is)
+                                .withName("Bitstream1.jpg")
+                                .withMimeType("image/jpeg")
+                                .build();
+            }
+
+            context.restoreAuthSystemState();
+
+            getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$.metadata[0].value", is("Public item 1")));
+
+            // The manifest is stored in the database
+            try (Context storeContext = new Context()) {
+                assertThat(manifestStore.find(storeContext, publicItem1.getID()),
+                           Matchers.containsString("Public item 1"));
+            }
+
+            String token = getAuthToken(admin.getEmail(), password);
+
+            // The Item update should remove the stored manifest.
+            getClient(token).perform(patch("/api/core/items/" + publicItem1.getID())
+                                    .content(patchRequestBody)
+                                    .contentType(MediaType.APPLICATION_JSON_PATCH_JSON))
+                            .andExpect(status().isOk());
+            try (Context storeContext = new Context()) {
+                assertThat(manifestStore.find(storeContext, publicItem1.getID()), Matchers.nullValue());
+            }
+
+            getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$.metadata[0].value", is("Public item (revised)")));
+        } finally {
+            configurationService.setProperty("iiif.manifest.store.enabled", false);
+        }
+    }
+
+    @Test
+    public void findOneWithoutDimensionsLookup() throws Exception {
+        IIIFApiQueryService imageServer = mock(IIIFApiQueryService.class);
+        Object originalImageServer = ReflectionTestUtils.getField(iiifUtils, "iiifApiQueryService");
+        ReflectionTestUtils.setField(iiifUtils, "iiifApiQueryService", imageServer);
+        configurationService.setProperty("iiif.canvas.dimensions.lookup", false);
+        configurationService.setProperty("iiif.canvas.default-width", 1200);
+        configurationService.setProperty("iiif.canvas.default-height", 1600);
+        try {
+            context.turnOffAuthorisationSystem();
+
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+            Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1")
+                                               .build();
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .enableIIIF()
+                                          .build();
+
+            // Images without dimension metadata
+            try (InputStream is = IOUtils.toInputStream("ThisIsSomeDummyText", CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, publicItem1, is)
+                                .withName("Bitstream1.jpg")
+                                .withMimeType("image/jpeg")
+                                .build();
+            }
+            try (InputStream is = IOUtils.toInputStream("ThisIsSomeDummyText", CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, publicItem1, is)
+                                .withName("Bitstream2.jp2")
+                                .withMimeType("image/jp2")
+                                .build();
+            }
+
+            context.restoreAuthSystemState();
+
+            // The default canvas size is used, without asking the image server.
+            getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$.sequences[0].canvases", Matchers.hasSize(2)))
+                       .andExpect(jsonPath("$.sequences[0].canvases[0].width", is(1200)))
+                       .andExpect(jsonPath("$.sequences[0].canvases[0].height", is(1600)))
+                       .andExpect(jsonPath("$.sequences[0].canvases[1].width", is(1200)))
+                       .andExpect(jsonPath("$.sequences[0].canvases[1].height", is(1600)));
+            verifyNoInteractions(imageServer);
+        } finally {
+            ReflectionTestUtils.setField(iiifUtils, "iiifApiQueryService", originalImageServer);
+            configurationService.setProperty("iiif.canvas.dimensions.lookup", null);
+            configurationService.setProperty("iiif.canvas.default-width", null);
+            configurationService.setProperty("iiif.canvas.default-height", null);
+        }
+    }
+
     @Test
     public void setDefaultCanvasDimensionCustomBundle() throws Exception {
 
@@ -8,7 +8,10 @@
 package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -17,6 +20,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
@@ -153,4 +157,53 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testCachedToken() throws Exception {
+        UUID ePersonId = UUID.randomUUID();
+        when(configurationService.getLongProperty("jwt.login.cache.ttl", 60000)).thenReturn(60000L);
+        when(configurationService.getIntProperty("jwt.login.cache.size", 10000)).thenReturn(100);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        when(ePerson.getID()).thenReturn(ePersonId);
+        when(ePersonService.find(context, ePersonId)).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        // the first request verifies the token, the second one finds it in the cache
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        VerifiedTokenCache cache = loginJWTTokenHandler.getVerifiedTokenCache();
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHits());
+
+        // the cache hit neither verified the token nor parsed its claims again
+        verify(loginJWTTokenHandler, times(1)).isValidToken(any(), any(), any(), any());
+        verify(ePersonClaimProvider, times(1)).getEPerson(any(Context.class), any(JWTClaimsSet.class));
+        verify(ePersonClaimProvider, times(1)).parseClaim(any(), any(), any());
+        verify(context).setCurrentUser(ePerson);
+
+        // a logout removes the tokens of the EPerson
+        loginJWTTokenHandler.invalidateToken(token, httpServletRequest, context);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCachedTokenRejectedAfterServerKeyChange() throws Exception {
+        when(configurationService.getLongProperty("jwt.login.cache.ttl", 60000)).thenReturn(60000L);
+        when(configurationService.getIntProperty("jwt.login.cache.size", 10000)).thenReturn(100);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        when(ePerson.getID()).thenReturn(UUID.randomUUID());
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        VerifiedTokenCache cache = loginJWTTokenHandler.getVerifiedTokenCache();
+        assertEquals(1, cache.size());
+
+        when(configurationService.getProperty("jwt.login.token.secret")).thenReturn("a new server key");
+        assertNull(loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
 }
@@ -13,18 +13,28 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.UUID;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.dspace.app.rest.test.AbstractWebClientIntegrationTest;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.ItemBuilder;
 import org.dspace.builder.WorkflowItemBuilder;
 import org.dspace.builder.WorkspaceItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
 import org.dspace.content.WorkspaceItem;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.core.Constants;
 import org.dspace.services.ConfigurationService;
 import org.dspace.xmlworkflow.storedcomponents.XmlWorkflowItem;
 import org.junit.Assume;
@@ -43,6 +53,7 @@ import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.util.LinkedMultiValueMap;
+import org.swordapp.server.UriRegistry;
 
 /**
  * Integration test to verify the /swordv2 endpoint is responding as a valid SWORDv2 endpoint.
@@ -61,6 +72,10 @@ public class Swordv2IT extends AbstractWebClientIntegrationTest {
     @Autowired
     private ConfigurationService configurationService;
 
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private final WorkspaceItemService workspaceItemService =
+        ContentServiceFactory.getInstance().getWorkspaceItemService();
+
     // All SWORD v2 paths that we test against
     private final String SWORD_PATH = "/swordv2";
     private final String SERVICE_DOC_PATH = SWORD_PATH + "/servicedocument";
@@ -326,6 +341,89 @@ public class Swordv2IT extends AbstractWebClientIntegrationTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    /**
+     * Test that a binary deposit is streamed into the bitstore, without a temporary copy in the upload directory,
+     * and that its Content-MD5 is checked.
+     */
+    @Test
+    public void depositBinaryViaSwordTest() throws Exception {
+        Collection collection = createDepositCollection();
+
+        List<String> uploadedFiles = List.of(uploadTempFolder.getRoot().list());
+        byte[] content = "Test SWORDv2 binary deposit".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = binaryHeaders("test.txt", MediaType.TEXT_PLAIN,
+                                            "http://purl.org/net/sword/package/Binary",
+                                            DigestUtils.md5Hex(content));
+        ResponseEntity<String> response = postResponseAsString(COLLECTION_PATH + "/" + collection.getHandle(),
+                                                               eperson.getEmail(), password,
+                                                               new HttpEntity<>(content, headers));
+
+        // Expect a 201 CREATED response, with the location of the created item
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getHeaders().getLocation());
+        String editLink = response.getHeaders().getLocation().toString();
+        Item item = itemService.find(context, UUID.fromString(editLink.substring(editLink.lastIndexOf('/') + 1)));
+        assertNotNull(item);
+
+        // The file is the content of the item
+        List<Bundle> bundles = itemService.getBundles(item, Constants.CONTENT_BUNDLE_NAME);
+        assertEquals(1, bundles.size());
+        Bitstream bitstream = bundles.get(0).getBitstreams().get(0);
+        assertEquals("test.txt", bitstream.getName());
+        assertEquals(DigestUtils.md5Hex(content), bitstream.getChecksum());
+        // and it was not copied to the upload directory
+        assertEquals(uploadedFiles, List.of(uploadTempFolder.getRoot().list()));
+    }
+
+    /**
+     * Test that a binary deposit which does not match its Content-MD5 is rejected, leaving no item behind.
+     */
+    @Test
+    public void depositBinaryWithChecksumMismatchViaSwordTest() throws Exception {
+        Collection collection = createDepositCollection();
+
+        byte[] content = "Test SWORDv2 binary deposit".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = binaryHeaders("test.txt", MediaType.TEXT_PLAIN,
+                                            "http://purl.org/net/sword/package/Binary",
+                                            DigestUtils.md5Hex("Some other content"));
+        ResponseEntity<String> response = postResponseAsString(COLLECTION_PATH + "/" + collection.getHandle(),
+                                                               eperson.getEmail(), password,
+                                                               new HttpEntity<>(content, headers));
+
+        // Expect a 412 PRECONDITION FAILED response, with the checksum mismatch error
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertThat(response.getBody(), containsString(UriRegistry.ERROR_CHECKSUM_MISMATCH));
+        // and no item, in progress or not, in the collection
+        collection = context.reloadEntity(collection);
+        assertEquals(0, itemService.countAllItems(context, collection));
+        assertEquals(0, workspaceItemService.findByCollection(context, collection).size());
+    }
+
+    /**
+     * Test that a package deposit is read from a temporary copy in the upload directory, which is deleted once the
+     * package is ingested.
+     */
+    @Test
+    public void depositPackageViaSwordTest() throws Exception {
+        Collection collection = createDepositCollection();
+
+        List<String> uploadedFiles = List.of(uploadTempFolder.getRoot().list());
+        byte[] content = Files.readAllBytes(Path.of("src", "test", "resources",
+                                                    "org", "dspace", "app", "sword2", "example.zip"));
+        HttpHeaders headers = binaryHeaders("example.zip", MediaType.valueOf("application/zip"),
+                                            "http://purl.org/net/sword/package/METSDSpaceSIP",
+                                            DigestUtils.md5Hex(content));
+        ResponseEntity<String> response = postResponseAsString(COLLECTION_PATH + "/" + collection.getHandle(),
+                                                               eperson.getEmail(), password,
+                                                               new HttpEntity<>(content, headers));
+
+        // Expect a 201 CREATED response, with the metadata of the package
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertThat(response.getBody(), containsString("Attempts to detect retrotransposition"));
+        // and the temporary copy of the package deleted
+        assertEquals(uploadedFiles, List.of(uploadTempFolder.getRoot().list()));
+    }
+
     @Test
     public void deleteWorkspaceItemViaSwordTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -528,5 +626,34 @@ public class Swordv2IT extends AbstractWebClientIntegrationTest {
         assertThat(response.getBody(),
                    containsString("<category term=\"http://dspace.org/state/archived\""));
     }
-}
 
+    /**
+     * @return a committed Collection, in a new top level Community, which the eperson may deposit into
+     */
+    private Collection createDepositCollection() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Test SWORDv2 Collection")
+                                                 .withSubmitterGroup(eperson)
+                                                 .build();
+        context.commit();
+        context.restoreAuthSystemState();
+        return collection;
+    }
+
+    /**
+     * @return the headers of a binary deposit of a file with the given name, type, packaging and MD5 checksum
+     */
+    private HttpHeaders binaryHeaders(String filename, MediaType contentType, String packaging, String md5) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        headers.set("Packaging", packaging);
+        headers.set("Content-MD5", md5);
+        headers.setAccept(List.of(MediaType.APPLICATION_ATOM_XML));
+        return headers;
+    }
+}
@@ -97,6 +97,9 @@ public class CollectionDepositManagerDSpace extends DSpaceSwordAPI
                                                    sc.getOnBehalfOf().getEmail());
             }
 
+            // read the content of the deposit, once
+            this.readDepositContent(deposit, config);
+
             DepositResult result = null;
             try {
                 if (deposit.isBinaryOnly()) {
@@ -160,6 +163,7 @@ public class CollectionDepositManagerDSpace extends DSpaceSwordAPI
             if (sc != null) {
                 sc.abort();
             }
+            this.deleteDepositContent(deposit);
         }
     }
 
@@ -183,6 +187,7 @@ public class CollectionDepositManagerDSpace extends DSpaceSwordAPI
         // do the deposit
         DepositResult result = si
             .ingest(context, deposit, collection, this.verboseDescription);
+        this.checkDepositContent(deposit);
         this.verboseDescription.append("Archive ingest completed successfully");
 
         // store the originals (this code deals with the possibility that that's not required)
@@ -264,6 +269,7 @@ public class CollectionDepositManagerDSpace extends DSpaceSwordAPI
             this.verboseDescription
                 .append("Archive ingest completed successfully");
         }
+        this.checkDepositContent(deposit);
 
         // store the originals (this code deals with the possibility that that's not required)
         this.storeOriginals(swordConfig, context, this.verboseDescription,
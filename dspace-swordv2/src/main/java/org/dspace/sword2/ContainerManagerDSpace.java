@@ -285,6 +285,9 @@ public class ContainerManagerDSpace extends DSpaceSwordAPI
                                                    sc.getOnBehalfOf().getEmail());
             }
 
+            // read the content of the deposit, once
+            this.readDepositContent(deposit, config);
+
             DepositResult result = null;
             try {
                 result = this.replaceFromMultipart(
@@ -329,6 +332,7 @@ public class ContainerManagerDSpace extends DSpaceSwordAPI
             if (sc != null) {
                 sc.abort();
             }
+            this.deleteDepositContent(deposit);
         }
     }
 
@@ -671,6 +675,7 @@ public class ContainerManagerDSpace extends DSpaceSwordAPI
             this.verboseDescription.append(
                 "Archive ingest completed successfully");
         }
+        this.checkDepositContent(deposit);
 
         // store the originals (this code deals with the possibility that that's not required)
         this.storeOriginals(
@@ -19,6 +19,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -245,6 +248,102 @@ public class DSpaceSwordAPI {
         }
     }
 
+    /**
+     * Read the content of a binary or multipart deposit from the request, once, computing its MD5 checksum on the
+     * way.
+     * <p>
+     * Binary files (packaging {@link UriRegistry#PACKAGE_BINARY}) are streamed by the ingester straight into the
+     * bitstore, and their checksum is checked by {@link #checkDepositContent} once ingested. Packages, which are read
+     * as files by their ingesters, and deposits which must be kept if their ingest fails are copied to a temporary
+     * file in swordv2-server.upload.tempdir, and their checksum is checked before ingest.
+     *
+     * @param deposit the deposit
+     * @param config  SWORD configuration
+     * @throws DSpaceSwordException if the content cannot be read
+     * @throws SwordError           if the content does not match the MD5 checksum of the deposit
+     * @throws SwordServerException if the content cannot be obtained from the deposit
+     */
+    protected void readDepositContent(Deposit deposit, SwordConfigurationDSpace config)
+        throws DSpaceSwordException, SwordError, SwordServerException {
+        if (deposit.isEntryOnly() || deposit.getFile() != null || deposit.getInputStream() == null) {
+            return;
+        }
+        DigestInputStream content;
+        try {
+            content = new DigestInputStream(deposit.getInputStream(), MessageDigest.getInstance("MD5"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new DSpaceSwordException(e);
+        }
+        if (UriRegistry.PACKAGE_BINARY.equals(deposit.getPackaging()) && !config.isKeepPackageOnFailedIngest()) {
+            deposit.setInputStream(content);
+            return;
+        }
+
+        File file = null;
+        try {
+            String tempDir = config.getTempDirectory();
+            file = File.createTempFile("sword-", ".tmp", tempDir == null ? null : new File(tempDir));
+            try (InputStream is = content; OutputStream os = new FileOutputStream(file)) {
+                Utils.bufferedCopy(is, os);
+            }
+            checkChecksum(deposit, content);
+            deposit.setFile(file);
+            deposit.setInputStream(new FileInputStream(file));
+            file = null;
+        } catch (IOException e) {
+            throw new DSpaceSwordException(e);
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Check the MD5 checksum of the content of a deposit streamed by {@link #readDepositContent}, once ingested.
+     *
+     * @param deposit the deposit
+     * @throws SwordError           if the content does not match the MD5 checksum of the deposit
+     * @throws SwordServerException if the content cannot be obtained from the deposit
+     */
+    protected void checkDepositContent(Deposit deposit) throws SwordError, SwordServerException {
+        if (deposit.getFile() == null && deposit.getInputStream() instanceof DigestInputStream) {
+            checkChecksum(deposit, (DigestInputStream) deposit.getInputStream());
+        }
+    }
+
+    private void checkChecksum(Deposit deposit, DigestInputStream content) throws SwordError {
+        String md5 = Utils.toHex(content.getMessageDigest().digest());
+        if (deposit.getMd5() != null && !deposit.getMd5().equalsIgnoreCase(md5)) {
+            log.warn("Checksum mismatch of deposit " + deposit.getFilename() + ": expected " + deposit.getMd5() +
+                         ", received " + md5);
+            throw new SwordError(UriRegistry.ERROR_CHECKSUM_MISMATCH,
+                                 "The received content does not match the Content-MD5 of the deposit");
+        }
+    }
+
+    /**
+     * Close and delete the temporary file of a deposit read by {@link #readDepositContent}, if any.
+     *
+     * @param deposit the deposit, may be null
+     */
+    protected void deleteDepositContent(Deposit deposit) {
+        if (deposit == null || deposit.getFile() == null) {
+            return;
+        }
+        try {
+            InputStream is = deposit.getInputStream();
+            if (is != null) {
+                is.close();
+            }
+        } catch (IOException | SwordServerException e) {
+            log.warn("Unable to close the temporary file of the deposit: " + deposit.getFile(), e);
+        }
+        if (deposit.getFile().exists() && !deposit.getFile().delete()) {
+            log.warn("Unable to delete the temporary file of the deposit: " + deposit.getFile());
+        }
+    }
+
     public void storeOriginals(SwordConfigurationDSpace swordConfig,
                                Context context, VerboseDescription verboseDescription,
                                Deposit deposit, DepositResult result)
@@ -310,7 +409,14 @@ public class DSpaceSwordAPI {
                     Bitstream bitstream;
                     InputStream fis = null;
                     try {
-                        fis = deposit.getInputStream();
+                        if (deposit.getFile() != null) {
+                            fis = new FileInputStream(deposit.getFile());
+                        } else if (result.getOriginalDeposit() != null) {
+                            // the deposit was streamed into the ingested bitstream, copy it from there
+                            fis = bitstreamService.retrieve(context, result.getOriginalDeposit());
+                        } else {
+                            fis = deposit.getInputStream();
+                        }
                         bitstream = bitstreamService
                             .create(context, swordBundle, fis);
                     } finally {
@@ -425,6 +531,9 @@ public class DSpaceSwordAPI {
             throw new IOException(
                 "Directory does not exist for writing packages on ingest error.");
         }
+        if (deposit.getFile() == null) {
+            throw new IOException("The content of the deposit was not kept in a file.");
+        }
 
         String filenameBase =
             "sword-" + auth.getUsername() + "-" + Instant.now().toEpochMilli();
@@ -303,6 +303,9 @@ public class MediaResourceManagerDSpace extends DSpaceSwordAPI
                                                        sc.getOnBehalfOf().getEmail());
                 }
 
+                // read the content of the deposit, once
+                this.readDepositContent(deposit, config);
+
                 DepositResult result = null;
                 try {
                     result = this
@@ -365,6 +368,9 @@ public class MediaResourceManagerDSpace extends DSpaceSwordAPI
                                                        sc.getOnBehalfOf().getEmail());
                 }
 
+                // read the content of the deposit, once
+                this.readDepositContent(deposit, config);
+
                 try {
                     this.replaceContent(sc, item, deposit, authCredentials,
                                         config);
@@ -414,6 +420,7 @@ public class MediaResourceManagerDSpace extends DSpaceSwordAPI
             if (sc != null) {
                 sc.abort();
             }
+            this.deleteDepositContent(deposit);
         }
     }
 
@@ -605,6 +612,9 @@ public class MediaResourceManagerDSpace extends DSpaceSwordAPI
                                                    sc.getOnBehalfOf().getEmail());
             }
 
+            // read the content of the deposit, once
+            this.readDepositContent(deposit, config);
+
             DepositResult result;
             try {
                 result = this
@@ -669,6 +679,7 @@ public class MediaResourceManagerDSpace extends DSpaceSwordAPI
             if (sc != null) {
                 sc.abort();
             }
+            this.deleteDepositContent(deposit);
         }
     }
 
@@ -742,6 +753,7 @@ public class MediaResourceManagerDSpace extends DSpaceSwordAPI
         // do the deposit
         DepositResult result = si
             .ingest(context, deposit, item, this.verboseDescription);
+        this.checkDepositContent(deposit);
         this.verboseDescription.append("Replace completed successfully");
 
         // store the originals (this code deals with the possibility that that's not required)
@@ -835,6 +847,7 @@ public class MediaResourceManagerDSpace extends DSpaceSwordAPI
         // do the deposit
         DepositResult result = si
             .ingest(context, deposit, item, this.verboseDescription);
+        this.checkDepositContent(deposit);
         this.verboseDescription.append("Add completed successfully");
 
         // store the originals (this code deals with the possibility that that's not required)
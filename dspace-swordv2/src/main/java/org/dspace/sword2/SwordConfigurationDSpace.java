@@ -206,8 +206,15 @@ public class SwordConfigurationDSpace implements SwordConfiguration {
                                       new String[] {"Basic", "None"});
     }
 
+    /**
+     * The content of binary and multipart deposits is not stored and checked by the swordapp library, which would
+     * copy every deposit to a temporary file and read it again for its checksum. DSpace reads the request stream
+     * once instead, see {@link DSpaceSwordAPI#readDepositContent}.
+     *
+     * @return false
+     */
     public boolean storeAndCheckBinary() {
-        return true;
+        return false;
     }
 
     public String getTempDirectory() {